@@ -0,0 +1,70 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.benchmarks;
+
+import com.redhat.darcy.ui.By;
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.elements.Label;
+import com.redhat.darcy.ui.internal.SequenceProbe;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds all the elements of a sequence, either checking each element in turn until one is not
+ * present, or galloping to the end of the sequence.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BySequenceBenchmark {
+    @Param({"0", "1000"})
+    public long latencyNanos;
+
+    @Param({"10", "500"})
+    public int length;
+
+    @Param({"oneByOne", "galloping"})
+    public String probe;
+
+    private FakeContext context;
+    private Locator sequence;
+
+    @Setup
+    public void setUp() {
+        context = new FakeContext(latencyNanos).withSequence("item", length);
+        sequence = By.sequence(i -> By.id("item" + i)).probedBy("galloping".equals(probe)
+                ? SequenceProbe.galloping()
+                : SequenceProbe.oneByOne());
+    }
+
+    @Benchmark
+    public int findAll() {
+        return sequence.findAll(Label.class, context).size();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.benchmarks;
+
+import com.redhat.darcy.ui.By;
+import com.redhat.darcy.ui.api.HasElementContext;
+import com.redhat.darcy.ui.api.elements.Button;
+import com.redhat.darcy.ui.api.elements.Label;
+import com.redhat.darcy.ui.internal.DelegatingElementFactory;
+import com.redhat.darcy.ui.internal.ElementFactory;
+import com.redhat.darcy.ui.internal.ProxyElementFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calls methods of elements created by {@link ProxyElementFactory} and
+ * {@link DelegatingElementFactory}, which each find the element in the context and then forward
+ * the call to it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ElementDispatchBenchmark {
+    @Param({"0", "1000"})
+    public long latencyNanos;
+
+    private Button proxyButton;
+    private Label proxyLabel;
+    private Button delegatingButton;
+    private Label delegatingLabel;
+
+    @Setup
+    public void setUp() {
+        FakeContext context = new FakeContext(latencyNanos).with("button").with("label");
+        ElementFactory proxies = new ProxyElementFactory();
+        ElementFactory delegates = new DelegatingElementFactory();
+
+        proxyButton = inContext(proxies.element(Button.class, By.id("button")), context);
+        proxyLabel = inContext(proxies.element(Label.class, By.id("label")), context);
+        delegatingButton = inContext(delegates.element(Button.class, By.id("button")), context);
+        delegatingLabel = inContext(delegates.element(Label.class, By.id("label")), context);
+    }
+
+    @Benchmark
+    public void proxyClick() {
+        proxyButton.click();
+    }
+
+    @Benchmark
+    public void delegatingClick() {
+        delegatingButton.click();
+    }
+
+    @Benchmark
+    public String proxyGetText() {
+        return proxyLabel.getText();
+    }
+
+    @Benchmark
+    public String delegatingGetText() {
+        return delegatingLabel.getText();
+    }
+
+    private static <T> T inContext(T element, FakeContext context) {
+        ((HasElementContext) element).setContext(context);
+        return element;
+    }
+}
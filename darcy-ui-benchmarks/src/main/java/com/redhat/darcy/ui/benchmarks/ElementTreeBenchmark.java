@@ -0,0 +1,90 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.benchmarks;
+
+import com.redhat.darcy.ui.By;
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.elements.Label;
+import com.redhat.darcy.ui.inmemory.ElementTree;
+import com.redhat.darcy.ui.inmemory.ElementTreeContext;
+import com.redhat.darcy.ui.inmemory.Node;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds elements in a large {@link ElementTree}, of rows of a few cells each.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ElementTreeBenchmark {
+    @Param({"1000", "100000"})
+    public int nodes;
+
+    private ElementTreeContext context;
+    private Locator byId;
+    private Locator byText;
+    private Locator byAttribute;
+
+    @Setup
+    public void setUp() {
+        ElementTree tree = new ElementTree();
+        Node body = new Node("body");
+        int rows = nodes / 4;
+
+        for (int i = 0; i < rows; i++) {
+            body.append(new Node("tr").setAttribute("id", "row" + i).append(
+                    new Node("td").setAttribute("class", "name").setText("name" + i),
+                    new Node("td").setAttribute("class", "value").setText("value" + i),
+                    new Node("td").setAttribute("class", i % 2 == 0 ? "even" : "odd")));
+        }
+
+        tree.root().append(body);
+
+        context = tree.context();
+        byId = By.id("row" + rows / 2);
+        byText = By.textContent("value" + rows / 2);
+        byAttribute = By.attribute("class", "odd");
+    }
+
+    @Benchmark
+    public String findById() {
+        return byId.find(Label.class, context).getText();
+    }
+
+    @Benchmark
+    public String findByTextContent() {
+        return byText.find(Label.class, context).getText();
+    }
+
+    @Benchmark
+    public int findAllByAttribute() {
+        return byAttribute.findAll(Label.class, context).size();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.benchmarks;
+
+import com.redhat.darcy.ui.api.ElementContext;
+import com.redhat.darcy.ui.internal.FindsById;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An in-memory context that finds {@link FakeElement}s by id. Each find, and each call to a found
+ * element, simulates the latency of a round trip to a real user interface. Ids which were not
+ * given an element find one that is not present.
+ */
+public class FakeContext implements ElementContext, FindsById {
+    private final long latencyNanos;
+    private final Map<String, FakeElement> elements = new HashMap<>();
+
+    /**
+     * @param latencyNanos Time each round trip takes, in nanoseconds.
+     */
+    public FakeContext(long latencyNanos) {
+        this.latencyNanos = latencyNanos;
+    }
+
+    /**
+     * Adds a present, displayed element with the specified id, whose text is its id.
+     */
+    public FakeContext with(String id) {
+        elements.put(id, new FakeElement(id, true, latencyNanos));
+        return this;
+    }
+
+    /**
+     * Adds elements with ids of the specified prefix followed by 0 through count - 1.
+     */
+    public FakeContext withSequence(String prefix, int count) {
+        for (int i = 0; i < count; i++) {
+            with(prefix + i);
+        }
+
+        return this;
+    }
+
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> findAllById(Class<T> type, String id) {
+        Latency.simulate(latencyNanos);
+
+        FakeElement element = elements.get(id);
+
+        return element == null
+                ? Collections.emptyList()
+                : Collections.singletonList((T) element);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T findById(Class<T> type, String id) {
+        Latency.simulate(latencyNanos);
+
+        FakeElement element = elements.get(id);
+
+        return (T) (element == null ? new FakeElement(id, false, latencyNanos) : element);
+    }
+}
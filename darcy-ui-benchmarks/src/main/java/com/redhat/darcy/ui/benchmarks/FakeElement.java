@@ -0,0 +1,79 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.benchmarks;
+
+import com.redhat.darcy.ui.api.elements.Button;
+import com.redhat.darcy.ui.api.elements.Label;
+
+/**
+ * An element found by a {@link FakeContext}. Every call simulates the context's latency.
+ */
+public class FakeElement implements Button, Label {
+    private final String id;
+    private final boolean present;
+    private final long latencyNanos;
+
+    private int clicks;
+
+    FakeElement(String id, boolean present, long latencyNanos) {
+        this.id = id;
+        this.present = present;
+        this.latencyNanos = latencyNanos;
+    }
+
+    public int getClicks() {
+        return clicks;
+    }
+
+    @Override
+    public void click() {
+        Latency.simulate(latencyNanos);
+        clicks++;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        Latency.simulate(latencyNanos);
+        return present;
+    }
+
+    @Override
+    public String getText() {
+        Latency.simulate(latencyNanos);
+        return id;
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        Latency.simulate(latencyNanos);
+        return present;
+    }
+
+    @Override
+    public boolean isPresent() {
+        Latency.simulate(latencyNanos);
+        return present;
+    }
+
+    @Override
+    public String toString() {
+        return "FakeElement: {id: " + id + ", present: " + present + "}";
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.benchmarks;
+
+import com.redhat.darcy.ui.api.ElementContext;
+import com.redhat.darcy.ui.api.elements.Table;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A table of a fixed number of rows, whose row count and cells each take a round trip to read.
+ * Round trips are counted, so benchmarks can report how many lookups an operation took.
+ */
+public class FakeTable implements Table<FakeTable> {
+    /**
+     * The text of each cell, which is "row" followed by its row index, read one cell per round
+     * trip.
+     */
+    public static final Column<FakeTable, String> TEXT = (table, row) -> {
+        table.roundTrip();
+        return "row" + row;
+    };
+
+    /**
+     * The same text as {@link #TEXT}, but which can also read any number of cells in a single
+     * round trip.
+     */
+    public static final BulkColumn<FakeTable, String> BULK_TEXT =
+            new BulkColumn<FakeTable, String>() {
+                @Override
+                public List<String> getCells(FakeTable table, int fromRow, int toRow) {
+                    table.roundTrip();
+
+                    List<String> cells = new ArrayList<>();
+
+                    for (int row = fromRow; row <= toRow; row++) {
+                        cells.add("row" + row);
+                    }
+
+                    return cells;
+                }
+
+                @Override
+                public String getCell(FakeTable table, int rowIndex) {
+                    return TEXT.getCell(table, rowIndex);
+                }
+            };
+
+    private final int rowCount;
+    private final long latencyNanos;
+
+    private final AtomicLong lookups = new AtomicLong();
+
+    private ElementContext context;
+
+    public FakeTable(int rowCount, long latencyNanos) {
+        this.rowCount = rowCount;
+        this.latencyNanos = latencyNanos;
+    }
+
+    @Override
+    public int getRowCount() {
+        roundTrip();
+        return rowCount;
+    }
+
+    /**
+     * @return How many round trips have been taken to read this table.
+     */
+    public long lookups() {
+        return lookups.get();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getRowCount() == 0;
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return true;
+    }
+
+    @Override
+    public boolean isPresent() {
+        return true;
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return true;
+    }
+
+    @Override
+    public void setContext(ElementContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public ElementContext getContext() {
+        return context;
+    }
+
+    private void roundTrip() {
+        lookups.incrementAndGet();
+        Latency.simulate(latencyNanos);
+    }
+}
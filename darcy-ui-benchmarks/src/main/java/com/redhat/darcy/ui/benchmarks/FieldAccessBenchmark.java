@@ -0,0 +1,78 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.benchmarks;
+
+import com.redhat.darcy.ui.internal.FieldAccessor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads and writes a view field through a {@link FieldAccessor}, as views are bound, compared to
+ * through {@link Field} reflection.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FieldAccessBenchmark {
+    static class Target {
+        private Object value = new Object();
+    }
+
+    private Target target;
+    private Field field;
+    private FieldAccessor accessor;
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        target = new Target();
+        field = Target.class.getDeclaredField("value");
+        field.setAccessible(true);
+        accessor = new FieldAccessor(field);
+    }
+
+    @Benchmark
+    public Object reflectionGet() throws IllegalAccessException {
+        return field.get(target);
+    }
+
+    @Benchmark
+    public Object accessorGet() {
+        return accessor.get(target);
+    }
+
+    @Benchmark
+    public void reflectionSet() throws IllegalAccessException {
+        field.set(target, target);
+    }
+
+    @Benchmark
+    public void accessorSet() {
+        accessor.set(target, target);
+    }
+}
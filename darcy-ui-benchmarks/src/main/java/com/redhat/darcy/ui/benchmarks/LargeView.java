@@ -0,0 +1,95 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.benchmarks;
+
+import static com.redhat.darcy.ui.Elements.element;
+import static com.redhat.darcy.ui.Elements.elements;
+
+import com.redhat.darcy.ui.AbstractView;
+import com.redhat.darcy.ui.By;
+import com.redhat.darcy.ui.annotations.Require;
+import com.redhat.darcy.ui.annotations.RequireAll;
+import com.redhat.darcy.ui.api.elements.Label;
+
+import java.util.List;
+
+/**
+ * A page object with many elements and a required list, like a dashboard. Its elements have ids of
+ * "label" followed by 0 through {@link #LABELS} - 1, and its list has one element with the id
+ * "row".
+ */
+@RequireAll
+public class LargeView extends AbstractView {
+    public static final int LABELS = 50;
+
+    @Require(atLeast = 1)
+    private List<Label> rows = elements(Label.class, By.id("row"));
+
+    private Label label0 = element(Label.class, By.id("label0"));
+    private Label label1 = element(Label.class, By.id("label1"));
+    private Label label2 = element(Label.class, By.id("label2"));
+    private Label label3 = element(Label.class, By.id("label3"));
+    private Label label4 = element(Label.class, By.id("label4"));
+    private Label label5 = element(Label.class, By.id("label5"));
+    private Label label6 = element(Label.class, By.id("label6"));
+    private Label label7 = element(Label.class, By.id("label7"));
+    private Label label8 = element(Label.class, By.id("label8"));
+    private Label label9 = element(Label.class, By.id("label9"));
+    private Label label10 = element(Label.class, By.id("label10"));
+    private Label label11 = element(Label.class, By.id("label11"));
+    private Label label12 = element(Label.class, By.id("label12"));
+    private Label label13 = element(Label.class, By.id("label13"));
+    private Label label14 = element(Label.class, By.id("label14"));
+    private Label label15 = element(Label.class, By.id("label15"));
+    private Label label16 = element(Label.class, By.id("label16"));
+    private Label label17 = element(Label.class, By.id("label17"));
+    private Label label18 = element(Label.class, By.id("label18"));
+    private Label label19 = element(Label.class, By.id("label19"));
+    private Label label20 = element(Label.class, By.id("label20"));
+    private Label label21 = element(Label.class, By.id("label21"));
+    private Label label22 = element(Label.class, By.id("label22"));
+    private Label label23 = element(Label.class, By.id("label23"));
+    private Label label24 = element(Label.class, By.id("label24"));
+    private Label label25 = element(Label.class, By.id("label25"));
+    private Label label26 = element(Label.class, By.id("label26"));
+    private Label label27 = element(Label.class, By.id("label27"));
+    private Label label28 = element(Label.class, By.id("label28"));
+    private Label label29 = element(Label.class, By.id("label29"));
+    private Label label30 = element(Label.class, By.id("label30"));
+    private Label label31 = element(Label.class, By.id("label31"));
+    private Label label32 = element(Label.class, By.id("label32"));
+    private Label label33 = element(Label.class, By.id("label33"));
+    private Label label34 = element(Label.class, By.id("label34"));
+    private Label label35 = element(Label.class, By.id("label35"));
+    private Label label36 = element(Label.class, By.id("label36"));
+    private Label label37 = element(Label.class, By.id("label37"));
+    private Label label38 = element(Label.class, By.id("label38"));
+    private Label label39 = element(Label.class, By.id("label39"));
+    private Label label40 = element(Label.class, By.id("label40"));
+    private Label label41 = element(Label.class, By.id("label41"));
+    private Label label42 = element(Label.class, By.id("label42"));
+    private Label label43 = element(Label.class, By.id("label43"));
+    private Label label44 = element(Label.class, By.id("label44"));
+    private Label label45 = element(Label.class, By.id("label45"));
+    private Label label46 = element(Label.class, By.id("label46"));
+    private Label label47 = element(Label.class, By.id("label47"));
+    private Label label48 = element(Label.class, By.id("label48"));
+    private Label label49 = element(Label.class, By.id("label49"));
+}
@@ -0,0 +1,43 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.benchmarks;
+
+/**
+ * Simulates the latency of a round trip to a user interface, such as a remote browser.
+ */
+final class Latency {
+    private Latency() {}
+
+    /**
+     * Spins, rather than sleeps, for the specified time, since sleeping is far less precise than
+     * the microsecond latencies benchmarks are usually configured with.
+     */
+    static void simulate(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+
+        long end = System.nanoTime() + nanos;
+
+        while (System.nanoTime() - end < 0) {
+            // Spin
+        }
+    }
+}
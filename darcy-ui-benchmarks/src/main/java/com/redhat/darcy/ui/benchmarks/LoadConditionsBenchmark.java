@@ -0,0 +1,105 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.benchmarks;
+
+import com.redhat.darcy.ui.internal.Analyzer;
+import com.redhat.darcy.ui.internal.ViewBinders;
+import com.redhat.synq.Condition;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates the load conditions of page objects whose elements are all present, so every
+ * condition is evaluated, and of one whose last element is missing, as while polling a page which
+ * is still loading.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoadConditionsBenchmark {
+    @Param({"0", "1000"})
+    public long latencyNanos;
+
+    private SmallView smallView;
+    private LargeView largeView;
+    private LargeView loadingView;
+    private Analyzer largeAnalyzer;
+
+    @Setup
+    public void setUp() {
+        FakeContext context = new FakeContext(latencyNanos)
+                .withSequence("label", LargeView.LABELS)
+                .with("row");
+
+        for (String id : SmallView.IDS) {
+            context.with(id);
+        }
+
+        FakeContext loadingContext = new FakeContext(latencyNanos)
+                .withSequence("label", LargeView.LABELS - 1)
+                .with("row");
+
+        smallView = new SmallView();
+        smallView.setContext(context);
+
+        largeView = new LargeView();
+        largeView.setContext(context);
+
+        loadingView = new LargeView();
+        loadingView.setContext(loadingContext);
+
+        largeAnalyzer = new Analyzer(largeView, ViewBinders.forClass(LargeView.class));
+    }
+
+    @Benchmark
+    public boolean smallViewIsLoaded() {
+        return smallView.isLoaded();
+    }
+
+    @Benchmark
+    public boolean largeViewIsLoaded() {
+        return largeView.isLoaded();
+    }
+
+    @Benchmark
+    public boolean largeViewIsNotLoaded() {
+        return loadingView.isLoaded();
+    }
+
+    @Benchmark
+    public boolean largeViewLoadConditions() {
+        for (Condition<?> condition : largeAnalyzer.getLoadConditions()) {
+            if (!condition.isMet()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.benchmarks;
+
+import static com.redhat.darcy.ui.matchers.DarcyMatchers.displayed;
+import static com.redhat.darcy.ui.matchers.RequiredListMatcher.hasCorrectNumberOfItemsMatching;
+
+import com.redhat.darcy.ui.api.elements.Label;
+import com.redhat.darcy.ui.matchers.RequiredListMatcher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matches large lists of displayed elements against the bounds of a required list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RequiredListMatcherBenchmark {
+    @Param({"0", "1000"})
+    public long latencyNanos;
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private List<Label> list;
+    private RequiredListMatcher atLeastOne;
+    private RequiredListMatcher exactlyAll;
+
+    @Setup
+    public void setUp() {
+        FakeContext context = new FakeContext(latencyNanos).withSequence("item", size);
+
+        list = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            list.add(context.findById(Label.class, "item" + i));
+        }
+
+        atLeastOne = hasCorrectNumberOfItemsMatching(1, Integer.MAX_VALUE, displayed());
+        exactlyAll = hasCorrectNumberOfItemsMatching(size, size, displayed());
+    }
+
+    @Benchmark
+    public boolean atLeastOne() {
+        return atLeastOne.matches(list);
+    }
+
+    @Benchmark
+    public boolean exactlyAll() {
+        return exactlyAll.matches(list);
+    }
+}
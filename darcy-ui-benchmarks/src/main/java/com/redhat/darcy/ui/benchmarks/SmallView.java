@@ -0,0 +1,40 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.benchmarks;
+
+import static com.redhat.darcy.ui.Elements.element;
+
+import com.redhat.darcy.ui.AbstractView;
+import com.redhat.darcy.ui.By;
+import com.redhat.darcy.ui.annotations.RequireAll;
+import com.redhat.darcy.ui.api.elements.Button;
+import com.redhat.darcy.ui.api.elements.Label;
+
+/**
+ * A page object with a handful of elements, like a login form.
+ */
+@RequireAll
+public class SmallView extends AbstractView {
+    public static final String[] IDS = {"username", "password", "submit"};
+
+    private Label username = element(Label.class, By.id("username"));
+    private Label password = element(Label.class, By.id("password"));
+    private Button submit = element(Button.class, By.id("submit"));
+}
@@ -0,0 +1,123 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.benchmarks;
+
+import com.redhat.darcy.ui.api.elements.Table.Column;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scans every row of a table for cells which match, and for the first cell which matches, reading
+ * the column either one cell at a time or in bulk, and either sequentially or in parallel chunks.
+ * The round trips taken during each iteration are reported as the "lookups" secondary result;
+ * divided by the operations in the iteration, that is the number of lookups per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TableBenchmark {
+    @Param({"0", "1000"})
+    public long latencyNanos;
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    @Param({"perCell", "bulk"})
+    public String column;
+
+    private ExecutorService executor;
+    private FakeTable table;
+    private Column<FakeTable, String> text;
+    private String last;
+
+    @Setup
+    public void setUp() {
+        table = new FakeTable(rows, latencyNanos);
+        table.setContext(new FakeContext(latencyNanos));
+        text = "bulk".equals(column) ? FakeTable.BULK_TEXT : FakeTable.TEXT;
+        last = "row" + rows;
+        executor = Executors.newFixedThreadPool(16);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public long getRowsWhere(Lookups lookups) {
+        long before = table.lookups();
+        long count = table.getRowsWhere(text, s -> s.endsWith("7")).count();
+        lookups.lookups += table.lookups() - before;
+        return count;
+    }
+
+    @Benchmark
+    public long getRowsWhereParallel(Lookups lookups) {
+        long before = table.lookups();
+        long count = table.getRowsWhere(text, s -> s.endsWith("7"), executor).count();
+        lookups.lookups += table.lookups() - before;
+        return count;
+    }
+
+    @Benchmark
+    public long getCellsWhere(Lookups lookups) {
+        long before = table.lookups();
+        long count = table.getCellsWhere(text, s -> s.endsWith("7")).count();
+        lookups.lookups += table.lookups() - before;
+        return count;
+    }
+
+    @Benchmark
+    public boolean getFirstRowWhere(Lookups lookups) {
+        long before = table.lookups();
+        boolean present = table.getFirstRowWhere(text, last::equals).isPresent();
+        lookups.lookups += table.lookups() - before;
+        return present;
+    }
+
+    /**
+     * Counts the round trips taken by each benchmark operation.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Lookups {
+        public long lookups;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            lookups = 0;
+        }
+    }
+}
@@ -0,0 +1,500 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.processor;
+
+import com.redhat.darcy.ui.AbstractView;
+import com.redhat.darcy.ui.annotations.Context;
+import com.redhat.darcy.ui.annotations.NotRequired;
+import com.redhat.darcy.ui.annotations.Require;
+import com.redhat.darcy.ui.annotations.RequireAll;
+import com.redhat.darcy.ui.api.HasElementContext;
+import com.redhat.darcy.ui.api.View;
+import com.redhat.darcy.ui.api.elements.Findable;
+import com.redhat.darcy.ui.internal.ViewBinders;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a {@link com.redhat.darcy.ui.internal.ViewBinder} for each concrete
+ * {@link com.redhat.darcy.ui.AbstractView} being compiled. The generated binder reads and assigns
+ * the view's fields with straight-line code, so views compiled with this processor need not be
+ * analyzed reflectively at runtime. {@link com.redhat.darcy.ui.internal.ViewBinders} finds
+ * generated binders at runtime.
+ *
+ * <p>Because the binder is a separate class in the view's package, it can only reference fields
+ * directly that are not private (and, for fields declared in a super class in another package, that
+ * are public). Other fields are accessed through a
+ * {@link com.redhat.darcy.ui.internal.FieldAccessor} that the binder creates once, when it is
+ * loaded. Local, anonymous, and private views are skipped with a note; they are still bound
+ * reflectively at runtime, so they behave the same either way.
+ */
+@SupportedAnnotationTypes("*")
+public class ViewBinderProcessor extends AbstractProcessor {
+    private static final String FIELD_ACCESSOR = "com.redhat.darcy.ui.internal.FieldAccessor";
+    private static final String REQUIRED_LIST = "com.redhat.darcy.ui.internal.RequiredList";
+    private static final String HAS_ELEMENT_CONTEXT = "com.redhat.darcy.ui.api.HasElementContext";
+
+    private Types types;
+    private Elements elements;
+
+    private TypeMirror abstractView;
+    private TypeMirror view;
+    private TypeMirror element;
+    private TypeMirror findable;
+    private TypeMirror list;
+    private TypeMirror hasElementContext;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+
+        types = processingEnv.getTypeUtils();
+        elements = processingEnv.getElementUtils();
+
+        abstractView = erasureOf(AbstractView.class);
+        view = erasureOf(View.class);
+        element = erasureOf(com.redhat.darcy.ui.api.elements.Element.class);
+        findable = erasureOf(Findable.class);
+        list = erasureOf(List.class);
+        hasElementContext = erasureOf(HasElementContext.class);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            processType(type);
+        }
+
+        // Never claim annotations; other processors may be interested in them too.
+        return false;
+    }
+
+    private void processType(TypeElement type) {
+        if (type.getKind() == ElementKind.CLASS
+                && !type.getModifiers().contains(Modifier.ABSTRACT)
+                && types.isSubtype(types.erasure(type.asType()), abstractView)) {
+            generateBinder(type);
+        }
+
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            processType(nested);
+        }
+    }
+
+    private void generateBinder(TypeElement type) {
+        PackageElement pkg = elements.getPackageOf(type);
+
+        if (!isAccessible(type, pkg)) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Not generating a view "
+                    + "binder for a view which is not accessible from its own package; it will be "
+                    + "bound reflectively.", type);
+            return;
+        }
+
+        String binderName = elements.getBinaryName(type).toString() + ViewBinders.SUFFIX;
+        BinderWriter binder = new BinderWriter(pkg, type, binderName.substring(
+                pkg.isUnnamed() ? 0 : pkg.getQualifiedName().length() + 1));
+
+        analyze(binder, type, pkg);
+
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler()
+                .createSourceFile(binderName, type).openWriter())) {
+            binder.writeTo(out);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Couldn't write view binder, " + binderName + ": " + e.getMessage(), type);
+        }
+    }
+
+    /**
+     * Gathers the fields of the view in the same order
+     * {@link com.redhat.darcy.ui.internal.ViewMetadata} does reflectively: starting with the view's
+     * class, and then each super class.
+     */
+    private void analyze(BinderWriter binder, TypeElement type, PackageElement pkg) {
+        TypeElement current = type;
+
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                analyzeField(binder, current, field, pkg);
+            }
+
+            TypeMirror superclass = current.getSuperclass();
+
+            current = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) types.asElement(superclass)
+                    : null;
+        }
+    }
+
+    private void analyzeField(BinderWriter binder, TypeElement declaringClass,
+            VariableElement field, PackageElement pkg) {
+        TypeMirror fieldType = types.erasure(field.asType());
+        boolean isContext = field.getAnnotation(Context.class) != null;
+        boolean isList = isAssignable(fieldType, list);
+        boolean setsContext = isAssignable(fieldType, hasElementContext)
+                || isAssignable(fieldType, element)
+                || isList;
+        boolean isRequired = !isContext
+                && (isAssignable(fieldType, view)
+                        || isAssignable(fieldType, element)
+                        || isAssignable(fieldType, findable)
+                        || isList)
+                && isRequired(declaringClass, field);
+
+        if (!isContext && !setsContext && !isRequired) {
+            return;
+        }
+
+        FieldReference reference = isAccessible(field, declaringClass, pkg)
+                ? new DirectReference(declaringClass, field)
+                : binder.accessorFor(declaringClass, field);
+
+        if (isContext) {
+            boolean assignable = reference instanceof DirectReference
+                    && !field.getModifiers().contains(Modifier.FINAL)
+                    && fieldType.getKind() == TypeKind.DECLARED
+                    && isAccessible((TypeElement) types.asElement(fieldType), pkg);
+
+            binder.assignContext(assignable
+                    ? reference
+                    : binder.accessorFor(declaringClass, field), fieldType.toString(),
+                    declaringClass.getQualifiedName() + "." + field.getSimpleName());
+        }
+
+        if (setsContext) {
+            binder.setContext(reference);
+        }
+
+        if (isRequired) {
+            if (!isList) {
+                binder.requireObject(reference);
+                return;
+            }
+
+            TypeElement genericType = genericTypeOf(field);
+
+            if (genericType == null) {
+                // Let the runtime fail the same way it would reflectively
+                binder.requireList(reference, "com.redhat.darcy.util.ReflectionUtil"
+                        + ".getGenericTypeOfCollectionField("
+                        + binder.accessorFor(declaringClass, field).name() + ".field())",
+                        field.getAnnotation(Require.class));
+            } else if (isAssignable(genericType.asType(), element)
+                    || isAssignable(genericType.asType(), view)
+                    || isAssignable(genericType.asType(), findable)) {
+                binder.requireList(reference, isAccessible(genericType, pkg)
+                        ? types.erasure(genericType.asType()).toString() + ".class"
+                        : "com.redhat.darcy.util.ReflectionUtil.getGenericTypeOfCollectionField("
+                        + binder.accessorFor(declaringClass, field).name() + ".field())",
+                        field.getAnnotation(Require.class));
+            }
+        }
+    }
+
+    /**
+     * Mirrors {@link com.redhat.darcy.util.ReflectionUtil#getGenericTypeOfCollectionField}, which
+     * only accepts a list parameterized by a single class.
+     *
+     * @return null if the field is not a list parameterized by a single class.
+     */
+    private TypeElement genericTypeOf(VariableElement field) {
+        TypeMirror type = field.asType();
+
+        if (type.getKind() == TypeKind.DECLARED) {
+            List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+
+            if (arguments.size() == 1 && arguments.get(0).getKind() == TypeKind.DECLARED) {
+                return (TypeElement) types.asElement(arguments.get(0));
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Mirrors {@link com.redhat.darcy.ui.internal.ViewMetadata}'s interpretation of
+     * {@link Require}, {@link RequireAll}, and {@link NotRequired}.
+     */
+    private boolean isRequired(TypeElement declaringClass, VariableElement field) {
+        return field.getAnnotation(Require.class) != null
+                || (declaringClass.getAnnotation(RequireAll.class) != null
+                && field.getAnnotation(NotRequired.class) == null);
+    }
+
+    private boolean isAccessible(VariableElement field, TypeElement declaringClass,
+            PackageElement pkg) {
+        Set<Modifier> modifiers = field.getModifiers();
+
+        return !modifiers.contains(Modifier.PRIVATE)
+                && (modifiers.contains(Modifier.PUBLIC)
+                || elements.getPackageOf(declaringClass).equals(pkg))
+                && isAccessible(declaringClass, pkg);
+    }
+
+    private boolean isAccessible(TypeElement type, PackageElement pkg) {
+        for (Element current = type; current instanceof TypeElement;
+                current = current.getEnclosingElement()) {
+            TypeElement currentType = (TypeElement) current;
+            Set<Modifier> modifiers = currentType.getModifiers();
+
+            if (currentType.getNestingKind() == NestingKind.LOCAL
+                    || currentType.getNestingKind() == NestingKind.ANONYMOUS
+                    || modifiers.contains(Modifier.PRIVATE)
+                    || (!modifiers.contains(Modifier.PUBLIC)
+                    && !elements.getPackageOf(currentType).equals(pkg))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isAssignable(TypeMirror type, TypeMirror to) {
+        return types.isAssignable(types.erasure(type), to);
+    }
+
+    private TypeMirror erasureOf(Class<?> type) {
+        return types.erasure(elements.getTypeElement(type.getCanonicalName()).asType());
+    }
+
+    /**
+     * Source code which reads and writes a particular field of the view.
+     */
+    private interface FieldReference {
+        String get();
+
+        String set(String value);
+    }
+
+    private class DirectReference implements FieldReference {
+        private final String reference;
+
+        DirectReference(TypeElement declaringClass, VariableElement field) {
+            String declaringType = types.erasure(declaringClass.asType()).toString();
+
+            reference = field.getModifiers().contains(Modifier.STATIC)
+                    ? declaringType + "." + field.getSimpleName()
+                    : "((" + declaringType + ") view)." + field.getSimpleName();
+        }
+
+        @Override
+        public String get() {
+            return reference;
+        }
+
+        @Override
+        public String set(String value) {
+            return reference + " = " + value;
+        }
+    }
+
+    private static class AccessorReference implements FieldReference {
+        private final String name;
+        private final String declaringClass;
+        private final String field;
+
+        AccessorReference(String name, String declaringClass, String field) {
+            this.name = name;
+            this.declaringClass = declaringClass;
+            this.field = field;
+        }
+
+        String name() {
+            return name;
+        }
+
+        @Override
+        public String get() {
+            return name + ".get(view)";
+        }
+
+        @Override
+        public String set(String value) {
+            return name + ".set(view, " + value + ")";
+        }
+    }
+
+    private class BinderWriter {
+        private final PackageElement pkg;
+        private final TypeElement view;
+        private final String simpleName;
+
+        private final List<AccessorReference> accessors = new ArrayList<>();
+        private final List<String> initializeFields = new ArrayList<>();
+        private final List<String> assignContext = new ArrayList<>();
+        private final List<String> requiredObjects = new ArrayList<>();
+        private final List<String> requiredLists = new ArrayList<>();
+
+        BinderWriter(PackageElement pkg, TypeElement view, String simpleName) {
+            this.pkg = pkg;
+            this.view = view;
+            this.simpleName = simpleName;
+        }
+
+        AccessorReference accessorFor(TypeElement declaringClass, VariableElement field) {
+            String declaringName = elements.getBinaryName(declaringClass).toString();
+            String fieldName = field.getSimpleName().toString();
+
+            for (AccessorReference accessor : accessors) {
+                if (accessor.declaringClass.equals(declaringName)
+                        && accessor.field.equals(fieldName)) {
+                    return accessor;
+                }
+            }
+
+            AccessorReference accessor = new AccessorReference("field" + accessors.size(),
+                    declaringName, fieldName);
+            accessors.add(accessor);
+
+            return accessor;
+        }
+
+        void setContext(FieldReference field) {
+            initializeFields.add("        value = " + field.get() + ";\n"
+                    + "        if (value instanceof " + HAS_ELEMENT_CONTEXT + ") {\n"
+                    + "            ((" + HAS_ELEMENT_CONTEXT + ") value).setContext(context);\n"
+                    + "        }\n");
+        }
+
+        void assignContext(FieldReference field, String type, String description) {
+            String assignment = field instanceof AccessorReference
+                    ? field.set("context")
+                    : field.set("(" + type + ") context");
+
+            assignContext.add("        try {\n"
+                    + "            " + assignment + ";\n"
+                    + "        } catch (ClassCastException | UnsupportedOperationException e) {\n"
+                    + "            throw new com.redhat.darcy.ui.DarcyException(\"Couldn't assign "
+                    + "context to field," + description + "\", e);\n"
+                    + "        }\n");
+        }
+
+        void requireObject(FieldReference field) {
+            requiredObjects.add("        objects.add(" + field.get() + ");\n");
+        }
+
+        void requireList(FieldReference field, String genericType, Require require) {
+            int atLeast;
+            int atMost;
+
+            if (require == null) {
+                atLeast = Require.DEFAULT_AT_LEAST;
+                atMost = Require.DEFAULT_AT_MOST;
+            } else if (require.exactly() >= 0) {
+                atLeast = atMost = require.exactly();
+            } else {
+                atLeast = require.atLeast();
+                atMost = require.atMost();
+            }
+
+            requiredLists.add("        lists.add(new " + REQUIRED_LIST + "<Object>("
+                    + "(java.util.List) " + field.get() + ", " + genericType + ", " + atLeast
+                    + ", " + atMost + "));\n");
+        }
+
+        void writeTo(PrintWriter out) {
+            String viewClass = types.erasure(view.asType()).toString() + ".class";
+
+            if (!pkg.isUnnamed()) {
+                out.println("package " + pkg.getQualifiedName() + ";");
+                out.println();
+            }
+
+            out.println("/**");
+            out.println(" * Generated by " + ViewBinderProcessor.class.getName() + " for "
+                    + view.getQualifiedName() + ".");
+            out.println(" */");
+            out.println("@SuppressWarnings({\"rawtypes\", \"unchecked\", \"static-access\"})");
+            out.println("public final class " + simpleName
+                    + " implements com.redhat.darcy.ui.internal.ViewBinder<Object> {");
+
+            for (AccessorReference accessor : accessors) {
+                out.println("    private static final " + FIELD_ACCESSOR + " " + accessor.name()
+                        + " = " + FIELD_ACCESSOR + ".forDeclaredField(" + viewClass + ", \""
+                        + accessor.declaringClass + "\", \"" + accessor.field + "\");");
+            }
+
+            if (!accessors.isEmpty()) {
+                out.println();
+            }
+
+            out.println("    @Override");
+            out.println("    public void initializeFields(Object view, "
+                    + "com.redhat.darcy.ui.api.ElementContext context) {");
+            if (!initializeFields.isEmpty()) {
+                out.println("        Object value;");
+                out.println();
+            }
+            initializeFields.forEach(out::print);
+            assignContext.forEach(out::print);
+            out.println("    }");
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public java.util.List<Object> getRequiredObjects(Object view) {");
+            out.println("        java.util.List<Object> objects = new java.util.ArrayList<>("
+                    + requiredObjects.size() + ");");
+            requiredObjects.forEach(out::print);
+            out.println("        return objects;");
+            out.println("    }");
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public java.util.List<" + REQUIRED_LIST + "<Object>> "
+                    + "getRequiredLists(Object view) {");
+            out.println("        java.util.List<" + REQUIRED_LIST + "<Object>> lists = "
+                    + "new java.util.ArrayList<>(" + requiredLists.size() + ");");
+            requiredLists.forEach(out::print);
+            out.println("        return lists;");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.redhat.darcy.ui.api.ElementContext;
+import com.redhat.darcy.ui.api.View;
+import com.redhat.darcy.ui.internal.ReflectiveViewBinder;
+import com.redhat.darcy.ui.internal.ViewBinders;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+@RunWith(JUnit4.class)
+public class ViewBinderProcessorTest {
+    private static final String FAKE_ELEMENT = ""
+            + "package test;\n"
+            + "public class FakeElement implements com.redhat.darcy.ui.api.elements.Element,\n"
+            + "        com.redhat.darcy.ui.api.HasElementContext {\n"
+            + "    public com.redhat.darcy.ui.api.ElementContext context;\n"
+            + "    public boolean displayed = true;\n"
+            + "    public void setContext(com.redhat.darcy.ui.api.ElementContext context) {\n"
+            + "        this.context = context;\n"
+            + "    }\n"
+            + "    public boolean isDisplayed() { return displayed; }\n"
+            + "    public boolean isPresent() { return true; }\n"
+            + "}\n";
+
+    private static final String TEST_VIEW = ""
+            + "package test;\n"
+            + "import com.redhat.darcy.ui.annotations.*;\n"
+            + "import com.redhat.darcy.ui.api.ElementContext;\n"
+            + "import com.redhat.darcy.ui.api.elements.Element;\n"
+            + "import java.util.*;\n"
+            + "public class TestView extends com.redhat.darcy.ui.AbstractView\n"
+            + "        implements java.util.function.Supplier<List<Object>> {\n"
+            + "    @Context ElementContext context;\n"
+            + "    @Context private ElementContext privateContext;\n"
+            + "    @Require FakeElement required = new FakeElement();\n"
+            + "    @Require private FakeElement privateRequired = new FakeElement();\n"
+            + "    FakeElement notRequired = new FakeElement();\n"
+            + "    @Require(atLeast = 2) List<Element> list = new ArrayList<>(Arrays.asList(\n"
+            + "            new FakeElement(), new FakeElement()));\n"
+            + "    public List<Object> get() {\n"
+            + "        return Arrays.asList(context, privateContext, required, privateRequired,\n"
+            + "                notRequired, list);\n"
+            + "    }\n"
+            + "}\n";
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void shouldGenerateBinderForView() throws Exception {
+        ClassLoader classLoader = compile(FAKE_ELEMENT, TEST_VIEW);
+
+        Class<?> viewClass = classLoader.loadClass("test.TestView");
+
+        assertEquals("test.TestView_ViewBinder",
+                ViewBinders.forClass(viewClass).getClass().getName());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldAssignContextAndSetContextOnFields() throws Exception {
+        ClassLoader classLoader = compile(FAKE_ELEMENT, TEST_VIEW);
+        View view = (View) classLoader.loadClass("test.TestView").newInstance();
+        ElementContext context = new ElementContext() {};
+
+        view.setContext(context);
+
+        java.util.List<Object> fields = ((Supplier<java.util.List<Object>>) view).get();
+        Class<?> fakeElement = classLoader.loadClass("test.FakeElement");
+
+        assertSame(context, fields.get(0));
+        assertSame(context, fields.get(1));
+        assertSame(context, fakeElement.getField("context").get(fields.get(2)));
+        assertSame(context, fakeElement.getField("context").get(fields.get(3)));
+        assertSame(context, fakeElement.getField("context").get(fields.get(4)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldUseRequiredFieldsForLoadConditions() throws Exception {
+        ClassLoader classLoader = compile(FAKE_ELEMENT, TEST_VIEW);
+        View view = (View) classLoader.loadClass("test.TestView").newInstance();
+
+        assertTrue(view.isLoaded());
+
+        java.util.List<Object> fields = ((Supplier<java.util.List<Object>>) view).get();
+        classLoader.loadClass("test.FakeElement").getField("displayed")
+                .set(fields.get(3), false);
+
+        assertFalse(view.isLoaded());
+    }
+
+    @Test
+    public void shouldNotGenerateBinderForPrivateView() throws Exception {
+        ClassLoader classLoader = compile(FAKE_ELEMENT, ""
+                + "package test;\n"
+                + "public class Outer {\n"
+                + "    private static class PrivateView extends com.redhat.darcy.ui.AbstractView {\n"
+                + "        @com.redhat.darcy.ui.annotations.Require\n"
+                + "        FakeElement required = new FakeElement();\n"
+                + "    }\n"
+                + "}\n");
+
+        Class<?> viewClass = classLoader.loadClass("test.Outer$PrivateView");
+
+        assertTrue(ViewBinders.forClass(viewClass) instanceof ReflectiveViewBinder);
+    }
+
+    private ClassLoader compile(String... sources) throws IOException {
+        File sourceDir = temp.newFolder();
+        File outputDir = temp.newFolder();
+        String[] arguments = new String[sources.length + 6];
+
+        arguments[0] = "-classpath";
+        arguments[1] = System.getProperty("java.class.path");
+        arguments[2] = "-processor";
+        arguments[3] = ViewBinderProcessor.class.getName();
+        arguments[4] = "-d";
+        arguments[5] = outputDir.getPath();
+
+        for (int i = 0; i < sources.length; i++) {
+            String name = sources[i].split("public class ")[1].split("[ {]")[0];
+            File source = new File(sourceDir, name + ".java");
+            Files.write(source.toPath(), sources[i].getBytes(StandardCharsets.UTF_8));
+            arguments[i + 6] = source.getPath();
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        assertEquals("Compilation failed for " + Arrays.toString(arguments), 0,
+                compiler.run(null, null, null, arguments));
+
+        return new URLClassLoader(new URL[] { outputDir.toURI().toURL() },
+                getClass().getClassLoader());
+    }
+}
@@ -27,12 +27,17 @@ import com.redhat.darcy.ui.api.ElementContext;
 import com.redhat.darcy.ui.api.Transition;
 import com.redhat.darcy.ui.api.View;
 import com.redhat.darcy.ui.internal.Analyzer;
+import com.redhat.darcy.ui.internal.ConditionEvaluator;
+import com.redhat.darcy.ui.internal.ConditionEvaluators;
+import com.redhat.darcy.ui.internal.IncrementallyLoadable;
 import com.redhat.darcy.ui.internal.Initializer;
-import com.redhat.darcy.util.ReflectionUtil;
+import com.redhat.darcy.ui.internal.LoadCheckSession;
+import com.redhat.darcy.ui.internal.MetricsRecorder;
+import com.redhat.darcy.ui.internal.MetricsRecorders;
+import com.redhat.darcy.ui.internal.ViewBinder;
+import com.redhat.darcy.ui.internal.ViewBinders;
 import com.redhat.synq.Condition;
 
-import java.lang.reflect.Field;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -47,11 +52,11 @@ import java.util.List;
  * @see #onSetContext()
  * @see #isLoaded()
  */
-public abstract class AbstractView implements View {
+public abstract class AbstractView implements View, IncrementallyLoadable {
     /**
      * The ElementContext for this View, managed by AbstractView.
      */
-    private ElementContext context;
+    private volatile ElementContext context;
 
     /**
      * Analyzes annotations and fields for load conditions. Intentionally package scope for
@@ -64,11 +69,17 @@ public abstract class AbstractView implements View {
      */
     private final Initializer initializer;
 
+    /**
+     * Evaluates the conditions determined by {@link #analyzer}. If null, the
+     * {@link ConditionEvaluators#getDefault() default evaluator} is used.
+     */
+    private volatile ConditionEvaluator conditionEvaluator;
+
     protected AbstractView() {
-        List<Field> declaredFields = ReflectionUtil.getAllDeclaredFields(this);
+        ViewBinder<Object> binder = ViewBinders.forClass(getClass());
 
-        analyzer = new Analyzer(this, declaredFields);
-        initializer = new Initializer(this, declaredFields);
+        analyzer = new Analyzer(this, binder);
+        initializer = new Initializer(this, binder);
     }
 
     /**
@@ -101,7 +112,56 @@ public abstract class AbstractView implements View {
      */
     @Override
     public boolean isLoaded() {
-        return analyzer.getLoadConditions().stream().allMatch(Condition::isMet);
+        return evaluateLoadConditions(null);
+    }
+
+    /**
+     * Determines whether or not the view is loaded, as with {@link #isLoaded()}, but evaluates only
+     * the load conditions which were not met in earlier checks of the session.
+     */
+    @Override
+    public boolean isLoaded(LoadCheckSession session) {
+        return evaluateLoadConditions(session);
+    }
+
+    private boolean evaluateLoadConditions(LoadCheckSession session) {
+        MetricsRecorder metrics = MetricsRecorders.getDefault();
+
+        if (!metrics.isRecording()) {
+            return allMet(analyzer.getLoadConditions(), session);
+        }
+
+        long start = System.nanoTime();
+        List<Condition<?>> conditions = analyzer.getLoadConditions();
+        int metEarlier = session == null ? 0 : session.metCount();
+        boolean loaded = allMet(conditions, session);
+
+        metrics.loadConditionsEvaluated(getClass(), conditions.size() - metEarlier, loaded,
+                System.nanoTime() - start);
+
+        return loaded;
+    }
+
+    private boolean allMet(List<Condition<?>> conditions, LoadCheckSession session) {
+        return session == null
+                ? conditionEvaluator().allMet(conditions)
+                : session.allMet(conditions, conditionEvaluator());
+    }
+
+    /**
+     * Changes how the load conditions of this view are evaluated, such as to evaluate them
+     * concurrently with a {@link com.redhat.darcy.ui.internal.ParallelConditionEvaluator}. By
+     * default, they are evaluated by the {@link ConditionEvaluators#getDefault() default evaluator},
+     * which evaluates them one at a time.
+     */
+    protected final void setConditionEvaluator(ConditionEvaluator conditionEvaluator) {
+        this.conditionEvaluator = conditionEvaluator;
+    }
+
+    final ConditionEvaluator conditionEvaluator() {
+        ConditionEvaluator evaluator = conditionEvaluator;
+
+        return evaluator == null ? ConditionEvaluators.getDefault() : evaluator;
     }
 
     /**
@@ -22,7 +22,6 @@ package com.redhat.darcy.ui;
 import com.redhat.darcy.ui.api.Locator;
 import com.redhat.darcy.ui.api.ViewElement;
 import com.redhat.darcy.ui.api.elements.Element;
-import com.redhat.synq.Condition;
 
 import java.util.Objects;
 import java.util.function.UnaryOperator;
@@ -98,7 +97,7 @@ public abstract class AbstractViewElement<T extends Element> extends AbstractVie
      */
     @Override
     public boolean isDisplayed() {
-        return analyzer.getDisplayConditions().stream().allMatch(Condition::isMet);
+        return conditionEvaluator().allMet(analyzer.getDisplayConditions());
     }
 
     /**
@@ -114,7 +113,7 @@ public abstract class AbstractViewElement<T extends Element> extends AbstractVie
      */
     @Override
     public boolean isPresent() {
-        return analyzer.getIsPresentConditions().stream().allMatch(Condition::isMet);
+        return conditionEvaluator().allMet(analyzer.getIsPresentConditions());
     }
 
     /**
@@ -36,17 +36,21 @@ import com.redhat.darcy.ui.internal.FindsByTextContent;
 import com.redhat.darcy.ui.internal.FindsByTitle;
 import com.redhat.darcy.ui.internal.FindsByView;
 import com.redhat.darcy.ui.internal.FindsByXPath;
+import com.redhat.darcy.ui.internal.IdCache;
+import com.redhat.darcy.ui.internal.IdCaches;
 import com.redhat.darcy.ui.internal.IdOfHandler;
-import com.redhat.darcy.util.LazyList;
+import com.redhat.darcy.ui.internal.ReadsAttributesByBatch;
+import com.redhat.darcy.ui.internal.SequenceProbe;
+import com.redhat.darcy.util.StreamingLazyList;
 
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.function.Function;
-import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * A helper class with static factories for {@link com.redhat.darcy.ui.api.Locator}s, inspired by
@@ -687,34 +691,44 @@ public abstract class By {
         }
     }
 
+    /**
+     * Finds elements by a sequence of locators, one per index, up to but excluding the first whose
+     * element is not present. How the end of the sequence is found is decided by a
+     * {@link SequenceProbe}; by default, {@link SequenceProbe#oneByOne() one index at a time}.
+     * Elements are found only as the list returned by {@link #findAll(Class, Context)} is read.
+     */
     public static class BySequence implements Locator {
         private final Function<Integer, Locator> sequence;
         private final int start;
+        private final SequenceProbe probe;
 
         public BySequence(Function<Integer, Locator> sequence) {
             this(sequence, 0);
         }
 
         public BySequence(Function<Integer, Locator> sequence, int start) {
+            this(sequence, start, SequenceProbe.oneByOne());
+        }
+
+        public BySequence(Function<Integer, Locator> sequence, int start, SequenceProbe probe) {
             this.sequence = Objects.requireNonNull(sequence, "sequence");
             this.start = start;
+            this.probe = Objects.requireNonNull(probe, "probe");
+        }
+
+        /**
+         * @return An equivalent locator which finds the end of the sequence with the specified
+         * probe, such as {@link SequenceProbe#galloping()} or
+         * {@link SequenceProbe#inWindows(int)}, in fewer round trips.
+         */
+        public BySequence probedBy(SequenceProbe probe) {
+            return new BySequence(sequence, start, probe);
         }
 
         @Override
         public <T extends Findable> List<T> findAll(Class<T> type, Context context) {
-            return new LazyList<>(() -> {
-                int i = start;
-                T current = sequence.apply(i).find(type, context);
-                List<T> found = new ArrayList<>();
-
-                while(current.isPresent()) {
-                    found.add(current);
-                    i++;
-                    current = sequence.apply(i).find(type, context);
-                }
-
-                return found;
-            });
+            return new StreamingLazyList<>(() -> probe.iterator(i -> sequence.apply(start + i),
+                    type, context));
         }
 
         @Override
@@ -734,12 +748,13 @@ public abstract class By {
 
             BySequence that = (BySequence) o;
 
-            return sequence.equals(that.sequence) && start == that.start;
+            return sequence.equals(that.sequence) && start == that.start
+                    && probe.equals(that.probe);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(sequence, start);
+            return Objects.hash(sequence, start, probe);
         }
 
         @Override
@@ -747,24 +762,58 @@ public abstract class By {
             return "BySequence: {" +
                     "sequence=" + sequence +
                     ", start=" + start +
+                    ", probe=" + probe +
                     '}';
         }
     }
 
     public static class ByIdOf implements Locator {
         private final Locator locator;
+        private final boolean readIdsInBatch;
 
         /**
          * @param locator The original locator to use. Will not be used for subsequent lookups of
          * Findables if those have id's to use instead.
          */
         public ByIdOf(Locator locator) {
+            this(locator, false);
+        }
+
+        /**
+         * @param locator The original locator to use. Will not be used for subsequent lookups of
+         * Findables if those have id's to use instead.
+         * @param readIdsInBatch Whether lists should read the ids of all their elements in one
+         * batch, in contexts which implement {@link ReadsAttributesByBatch}, rather than reading
+         * ids one at a time as elements are needed.
+         */
+        public ByIdOf(Locator locator, boolean readIdsInBatch) {
             this.locator = locator;
+            this.readIdsInBatch = readIdsInBatch;
+        }
+
+        /**
+         * @return An equivalent locator whose lists read the ids of all their elements in one
+         * batch, in contexts which implement {@link ReadsAttributesByBatch}.
+         */
+        public ByIdOf readingIdsInBatch() {
+            return new ByIdOf(locator, true);
+        }
+
+        /**
+         * Forgets the ids found by this locator in the context, so that they are found again by
+         * the original locator.
+         *
+         * @see IdCache#invalidate(Locator, Context)
+         */
+        public void invalidate(Context context) {
+            IdCaches.getDefault().invalidate(locator, context);
         }
 
         @Override
         public <T extends Findable> List<T> findAll(Class<T> type, Context context) {
-            return new LazyList<>(new IdOfListSupplier<>(locator, type, context));
+            IdCache ids = IdCaches.getDefault();
+
+            return new StreamingLazyList<>(() -> new IdOfIterator<>(type, context, ids));
         }
 
         @SuppressWarnings("unchecked")
@@ -787,56 +836,98 @@ public abstract class By {
 
             ByIdOf that = (ByIdOf) o;
 
-            return locator.equals(that.locator);
+            return locator.equals(that.locator) && readIdsInBatch == that.readIdsInBatch;
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(locator);
+            return Objects.hash(locator, readIdsInBatch);
         }
 
         @Override
         public String toString() {
             return "ByIdOf: {" +
                     "locator=" + locator +
+                    ", readIdsInBatch=" + readIdsInBatch +
                     '}';
         }
 
         /**
-         * Converts from Findables found from one locator, to a list of Findables which each have
-         * their own By.id locator.
+         * Converts from Findables found from one locator, to Findables which each have their own
+         * By.id locator. If the ids of the whole list are already in the {@link IdCache}, the
+         * original locator is not used at all. Otherwise, ids are read from the originally found
+         * Findables only as far as elements are needed, or all at once if reading in batch, and
+         * are cached once all are known.
          * @param <T> The type of Findable being found.
          */
-        private class IdOfListSupplier<T extends Findable> implements Supplier<List<T>> {
-            private final Locator locator;
+        private class IdOfIterator<T extends Findable> implements Iterator<T> {
             private final Class<T> type;
             private final Context context;
+            private final IdCache ids;
 
-            private List<ById> ids;
+            private List<String> known;
+            private boolean complete;
+            private Iterator<T> found;
+            private int index;
 
-            private IdOfListSupplier(Locator locator, Class<T> type, Context context) {
-                this.locator = locator;
+            private IdOfIterator(Class<T> type, Context context, IdCache ids) {
                 this.type = type;
                 this.context = context;
+                this.ids = ids;
             }
 
             @Override
-            public List<T> get() {
-                return ids()
-                        .stream()
-                        .map(l -> l.find(type, context))
-                        .collect(Collectors.toList());
-            }
-
-            private List<ById> ids() {
-                if (ids == null) {
-                    ids = locator.findAll(type, context)
-                            .stream()
-                            .map(f -> By.id(getId(f)))
-                            .collect(Collectors.toList());
+            public boolean hasNext() {
+                if (known == null) {
+                    known = ids.getIds(locator, context);
+                    complete = known != null;
+
+                    if (known == null && readIdsInBatch
+                            && context instanceof ReadsAttributesByBatch) {
+                        known = readAllIds();
+                        complete = true;
+                        ids.putIds(locator, context, known);
+                    } else if (known == null) {
+                        known = new ArrayList<>();
+                    }
+                }
+
+                while (index >= known.size() && !complete) {
+                    if (found == null) {
+                        found = locator.findAll(type, context).iterator();
+                    }
+
+                    if (found.hasNext()) {
+                        known.add(getId(found.next()));
+                    } else {
+                        complete = true;
+                        ids.putIds(locator, context, known);
+                    }
                 }
 
-                return ids;
+                return index < known.size();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return By.id(known.get(index++)).find(type, context);
+            }
+
+            private List<String> readAllIds() {
+                List<T> elements = locator.findAll(type, context);
+                List<String> values = ((ReadsAttributesByBatch) context)
+                        .getAttributeOfAll(elements, "id");
+                List<String> all = new ArrayList<>(values.size());
+
+                for (int i = 0; i < values.size(); i++) {
+                    all.add(checkId(values.get(i), elements.get(i)));
+                }
+
+                return all;
             }
 
             private String getId(Object reference) {
@@ -845,8 +936,10 @@ public abstract class By {
                             + " does not have attributes! Element was " + reference);
                 }
 
-                String id = ((HasAttributes) reference).getAttribute("id");
+                return checkId(((HasAttributes) reference).getAttribute("id"), reference);
+            }
 
+            private String checkId(String id, Object reference) {
                 if (id == null || id.isEmpty()) {
                     throw new DarcyException("Cannot use an id locator for an element if it"
                             + " does not have an id! Element was " + reference);
@@ -0,0 +1,409 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui;
+
+import com.redhat.darcy.ui.api.Context;
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.View;
+import com.redhat.darcy.ui.api.elements.Element;
+import com.redhat.darcy.ui.internal.FindsByAttribute;
+import com.redhat.darcy.ui.internal.FindsByBatch;
+import com.redhat.darcy.ui.internal.FindsById;
+import com.redhat.darcy.ui.internal.FindsByLinkText;
+import com.redhat.darcy.ui.internal.FindsByName;
+import com.redhat.darcy.ui.internal.FindsByNested;
+import com.redhat.darcy.ui.internal.FindsByPartialTextContent;
+import com.redhat.darcy.ui.internal.FindsByTextContent;
+import com.redhat.darcy.ui.internal.FindsByTitle;
+import com.redhat.darcy.ui.internal.FindsByView;
+import com.redhat.darcy.ui.internal.FindsByXPath;
+import com.redhat.darcy.ui.internal.HasGeneration;
+import com.redhat.darcy.ui.internal.LocatorRequest;
+import com.redhat.darcy.util.Caching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Decorates a {@link Context} to remember what was found by each {@link Locator} and type, so
+ * that finding the same thing again costs a map lookup instead of another trip to the automation
+ * library.
+ *
+ * <p>Remembered results belong to a generation. {@link #invalidateCache()} starts a new generation,
+ * after which everything is found again. This should be done whenever the page may have changed
+ * enough that found objects are no longer valid, such as after navigating. Waiting for a
+ * {@link com.redhat.darcy.ui.api.TransitionEvent} in a caching context starts a new generation
+ * once, when the wait begins; checks made while waiting share that generation.
+ *
+ * <p>Many things may be found at once, as a {@link FindsByBatch}. Those which are not already
+ * remembered are found in one call if the decorated context is also a {@link FindsByBatch}.
+ *
+ * <p>Only the ways of finding things which the decorated context supports are supported;
+ * otherwise, {@link LocatorNotSupportedException} is thrown, as the locator would have thrown.
+ *
+ * @see CachingElementContext
+ * @see CachingParentContext
+ */
+public abstract class CachingContext implements Context, Caching, FindsByAttribute, FindsById,
+        FindsByLinkText, FindsByName, FindsByNested, FindsByPartialTextContent, FindsByTextContent,
+        FindsByTitle, FindsByView, FindsByXPath, FindsByBatch, HasGeneration {
+    private final Context context;
+    private final ConcurrentMap<Key, Result> found = new ConcurrentHashMap<>();
+
+    private volatile long generation;
+
+    protected CachingContext(Context context) {
+        this.context = Objects.requireNonNull(context, "context");
+    }
+
+    /**
+     * @return The decorated context.
+     */
+    public Context getWrappedContext() {
+        return context;
+    }
+
+    /**
+     * @return The current generation. Results found in previous generations are not reused.
+     */
+    @Override
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Starts a new {@link #generation() generation}, so that everything is found again.
+     */
+    @Override
+    public void invalidateCache() {
+        synchronized (found) {
+            generation++;
+            found.clear();
+        }
+    }
+
+    @Override
+    public <T> List<T> findAllByAttribute(Class<T> type, String attribute, String value) {
+        Locator locator = By.attribute(attribute, value);
+
+        return find(locator, type, true, () -> as(FindsByAttribute.class, locator)
+                .findAllByAttribute(type, attribute, value));
+    }
+
+    @Override
+    public <T> T findByAttribute(Class<T> type, String attribute, String value) {
+        Locator locator = By.attribute(attribute, value);
+
+        return find(locator, type, false, () -> as(FindsByAttribute.class, locator)
+                .findByAttribute(type, attribute, value));
+    }
+
+    @Override
+    public <T> List<T> findAllById(Class<T> type, String id) {
+        Locator locator = By.id(id);
+
+        return find(locator, type, true, () -> as(FindsById.class, locator)
+                .findAllById(type, id));
+    }
+
+    @Override
+    public <T> T findById(Class<T> type, String id) {
+        Locator locator = By.id(id);
+
+        return find(locator, type, false, () -> as(FindsById.class, locator)
+                .findById(type, id));
+    }
+
+    @Override
+    public <T> List<T> findAllByLinkText(Class<T> type, String linkText) {
+        Locator locator = By.linkText(linkText);
+
+        return find(locator, type, true, () -> as(FindsByLinkText.class, locator)
+                .findAllByLinkText(type, linkText));
+    }
+
+    @Override
+    public <T> T findByLinkText(Class<T> type, String linkText) {
+        Locator locator = By.linkText(linkText);
+
+        return find(locator, type, false, () -> as(FindsByLinkText.class, locator)
+                .findByLinkText(type, linkText));
+    }
+
+    @Override
+    public <T> List<T> findAllByName(Class<T> type, String name) {
+        Locator locator = By.name(name);
+
+        return find(locator, type, true, () -> as(FindsByName.class, locator)
+                .findAllByName(type, name));
+    }
+
+    @Override
+    public <T> T findByName(Class<T> type, String name) {
+        Locator locator = By.name(name);
+
+        return find(locator, type, false, () -> as(FindsByName.class, locator)
+                .findByName(type, name));
+    }
+
+    @Override
+    public <T> List<T> findAllByNested(Class<T> type, Element parent, Locator child) {
+        Locator locator = By.nested(parent, child);
+
+        return find(locator, type, true, () -> as(FindsByNested.class, locator)
+                .findAllByNested(type, parent, child));
+    }
+
+    @Override
+    public <T> T findByNested(Class<T> type, Element parent, Locator child) {
+        Locator locator = By.nested(parent, child);
+
+        return find(locator, type, false, () -> as(FindsByNested.class, locator)
+                .findByNested(type, parent, child));
+    }
+
+    @Override
+    public <T> List<T> findAllByChained(Class<T> type, Locator... locators) {
+        Locator locator = By.chained(locators);
+
+        return find(locator, type, true, () -> as(FindsByNested.class, locator)
+                .findAllByChained(type, locators));
+    }
+
+    @Override
+    public <T> T findByChained(Class<T> type, Locator... locators) {
+        Locator locator = By.chained(locators);
+
+        return find(locator, type, false, () -> as(FindsByNested.class, locator)
+                .findByChained(type, locators));
+    }
+
+    @Override
+    public <T> List<T> findAllByPartialTextContent(Class<T> type, String partialTextContent) {
+        Locator locator = By.partialTextContent(partialTextContent);
+
+        return find(locator, type, true, () -> as(FindsByPartialTextContent.class, locator)
+                .findAllByPartialTextContent(type, partialTextContent));
+    }
+
+    @Override
+    public <T> T findByPartialTextContent(Class<T> type, String partialTextContent) {
+        Locator locator = By.partialTextContent(partialTextContent);
+
+        return find(locator, type, false, () -> as(FindsByPartialTextContent.class, locator)
+                .findByPartialTextContent(type, partialTextContent));
+    }
+
+    @Override
+    public <T> List<T> findAllByTextContent(Class<T> type, String textContent) {
+        Locator locator = By.textContent(textContent);
+
+        return find(locator, type, true, () -> as(FindsByTextContent.class, locator)
+                .findAllByTextContent(type, textContent));
+    }
+
+    @Override
+    public <T> T findByTextContent(Class<T> type, String textContent) {
+        Locator locator = By.textContent(textContent);
+
+        return find(locator, type, false, () -> as(FindsByTextContent.class, locator)
+                .findByTextContent(type, textContent));
+    }
+
+    @Override
+    public <T> List<T> findAllByTitle(Class<T> type, String title) {
+        Locator locator = By.title(title);
+
+        return find(locator, type, true, () -> as(FindsByTitle.class, locator)
+                .findAllByTitle(type, title));
+    }
+
+    @Override
+    public <T> T findByTitle(Class<T> type, String title) {
+        Locator locator = By.title(title);
+
+        return find(locator, type, false, () -> as(FindsByTitle.class, locator)
+                .findByTitle(type, title));
+    }
+
+    @Override
+    public <T> List<T> findAllByView(Class<T> type, View view) {
+        Locator locator = By.view(view);
+
+        return find(locator, type, true, () -> as(FindsByView.class, locator)
+                .findAllByView(type, view));
+    }
+
+    @Override
+    public <T> T findByView(Class<T> type, View view) {
+        Locator locator = By.view(view);
+
+        return find(locator, type, false, () -> as(FindsByView.class, locator)
+                .findByView(type, view));
+    }
+
+    @Override
+    public <T> List<T> findAllByXPath(Class<T> type, String xpath) {
+        Locator locator = By.xpath(xpath);
+
+        return find(locator, type, true, () -> as(FindsByXPath.class, locator)
+                .findAllByXPath(type, xpath));
+    }
+
+    @Override
+    public <T> T findByXPath(Class<T> type, String xpath) {
+        Locator locator = By.xpath(xpath);
+
+        return find(locator, type, false, () -> as(FindsByXPath.class, locator)
+                .findByXPath(type, xpath));
+    }
+
+    @Override
+    public List<Object> findAllBatch(List<LocatorRequest<?>> requests) {
+        if (!(context instanceof FindsByBatch)) {
+            List<Object> results = new ArrayList<>(requests.size());
+
+            for (LocatorRequest<?> request : requests) {
+                results.add(request.resolveIn(this));
+            }
+
+            return results;
+        }
+
+        long currentGeneration = generation;
+        List<Object> results = new ArrayList<>(requests.size());
+        List<LocatorRequest<?>> missing = new ArrayList<>();
+        List<Integer> missingIndexes = new ArrayList<>();
+
+        for (LocatorRequest<?> request : requests) {
+            Result result = found.get(new Key(request.locator(), request.type(), request.isList()));
+
+            if (result != null && result.generation == currentGeneration) {
+                results.add(result.value);
+            } else {
+                results.add(null);
+                missing.add(request);
+                missingIndexes.add(results.size() - 1);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return results;
+        }
+
+        List<Object> missingResults = ((FindsByBatch) context).findAllBatch(missing);
+
+        synchronized (found) {
+            for (int i = 0; i < missing.size(); i++) {
+                LocatorRequest<?> request = missing.get(i);
+                Object value = missingResults.get(i);
+
+                results.set(missingIndexes.get(i), value);
+
+                if (generation == currentGeneration) {
+                    found.put(new Key(request.locator(), request.type(), request.isList()),
+                            new Result(currentGeneration, value));
+                }
+            }
+        }
+
+        return results;
+    }
+
+    @Override
+    public String toString() {
+        return "CachingContext: {context: " + context + ", generation: " + generation + "}";
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T find(Locator locator, Class<?> type, boolean all, Supplier<T> lookup) {
+        Key key = new Key(locator, type, all);
+        long currentGeneration = generation;
+        Result result = found.get(key);
+
+        if (result != null && result.generation == currentGeneration) {
+            return (T) result.value;
+        }
+
+        T value = lookup.get();
+
+        synchronized (found) {
+            // Don't remember results looked up before the generation changed.
+            if (generation == currentGeneration) {
+                found.put(key, new Result(currentGeneration, value));
+            }
+        }
+
+        return value;
+    }
+
+    private <C> C as(Class<C> finder, Locator locator) {
+        if (!finder.isInstance(context)) {
+            throw new LocatorNotSupportedException(locator);
+        }
+
+        return finder.cast(context);
+    }
+
+    private static final class Key {
+        private final Locator locator;
+        private final Class<?> type;
+        private final boolean all;
+
+        Key(Locator locator, Class<?> type, boolean all) {
+            this.locator = locator;
+            this.type = type;
+            this.all = all;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) o;
+
+            return all == other.all && type.equals(other.type) && locator.equals(other.locator);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(locator, type, all);
+        }
+    }
+
+    private static final class Result {
+        private final long generation;
+        private final Object value;
+
+        Result(long generation, Object value) {
+            this.generation = generation;
+            this.value = value;
+        }
+    }
+}
@@ -19,11 +19,8 @@
 
 package com.redhat.darcy.ui;
 
-import com.redhat.darcy.ui.api.HasElementContext;
 import com.redhat.darcy.ui.api.Locator;
-import com.redhat.darcy.ui.api.WrapsElement;
-import com.redhat.darcy.ui.internal.ElementHandler;
-import com.redhat.darcy.ui.internal.ElementListHandler;
+import com.redhat.darcy.ui.internal.ElementFactories;
 import com.redhat.darcy.ui.api.elements.Button;
 import com.redhat.darcy.ui.api.elements.Checkbox;
 import com.redhat.darcy.ui.api.elements.DateInput;
@@ -38,19 +35,20 @@ import com.redhat.darcy.ui.api.elements.Select;
 import com.redhat.darcy.ui.api.elements.Text;
 import com.redhat.darcy.ui.api.elements.TextInput;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Proxy;
 import java.util.List;
 
 /**
- * Static factories for the fundamental UI elements. Specifically, these return proxy instances of
+ * Static factories for the fundamental UI elements. Specifically, these return lazy instances of
  * those elements, so that they may be defined as instance fields in a View that may not yet have
  * a context with which to retrieve element references. This elements can be assigned a context
  * after instantiation.
  *
+ * <p>The instances are created by the {@link com.redhat.darcy.ui.internal.ElementFactory} found by
+ * {@link ElementFactories}.
+ *
  * @see com.redhat.darcy.ui.AbstractView
  * @see com.redhat.darcy.ui.api.HasElementContext
- * @see com.redhat.darcy.ui.internal.ElementHandler
+ * @see com.redhat.darcy.ui.internal.DelegatingElementFactory
  *
  */
 public abstract class Elements {
@@ -58,33 +56,24 @@ public abstract class Elements {
      * Looks up a automation-library-specific implementation for that element type, assuming an
      * implementation is registered for that class.
      */
-    @SuppressWarnings("unchecked")
     public static <T extends Element> T element(Class<T> type, Locator locator) {
         if (!type.isInterface()) {
             throw new IllegalArgumentException("Element type must be an interface, was: " + type);
         }
 
-        InvocationHandler invocationHandler = new ElementHandler(type, locator);
-
-        return (T) Proxy.newProxyInstance(Elements.class.getClassLoader(),
-                new Class[] { type, HasElementContext.class, WrapsElement.class},
-                invocationHandler);
+        return ElementFactories.getDefault().element(type, locator);
     }
+
     /**
      * Looks up a automation-library-specific implementation for that element type, assuming an
      * implementation is registered for that class.
      */
-    @SuppressWarnings("unchecked")
     public static <T extends Element> List<T> elements(Class<T> type, Locator locator) {
         if (!type.isInterface()) {
             throw new IllegalArgumentException("Element type must be an interface, was: " + type);
         }
 
-        InvocationHandler invocationHandler = new ElementListHandler(type, locator);
-
-        return (List<T>) Proxy.newProxyInstance(Elements.class.getClassLoader(),
-                new Class[] { List.class, HasElementContext.class },
-                invocationHandler);
+        return ElementFactories.getDefault().elements(type, locator);
     }
 
     public static Element element(Locator locator) {
@@ -20,6 +20,7 @@
 package com.redhat.darcy.ui.api;
 
 import com.redhat.darcy.ui.internal.DefaultElementSelection;
+import com.redhat.darcy.ui.internal.PollSchedule;
 import com.redhat.darcy.ui.internal.SimpleTransition;
 
 /**
@@ -39,4 +40,13 @@ public interface ElementContext extends Context {
     default Transition transition() {
         return new SimpleTransition(this);
     }
+
+    /**
+     * Creates a {@link Transition}, like {@link #transition()}, whose events check whether their
+     * View has loaded as often as the specified schedule decides, rather than the
+     * {@link com.redhat.darcy.ui.internal.PollSchedules#getDefault() default schedule}.
+     */
+    default Transition transition(PollSchedule schedule) {
+        return new SimpleTransition(this, schedule);
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.api.elements;
+
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterator.SIZED;
+
+import com.redhat.darcy.ui.api.elements.Table.Column;
+import com.redhat.darcy.ui.api.elements.Table.Row;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Filters the rows of a table by the contents of a
+ * {@link com.redhat.darcy.ui.api.elements.Table.BulkColumn}, reading the whole column at once when
+ * the stream's terminal operation begins, rather than one cell per row.
+ */
+final class BulkCells {
+    private BulkCells() {}
+
+    static <T extends Table<T>, U> Stream<Row<T>> rowsWhere(T table, Column<T, U> column,
+            Predicate<? super U> predicate) {
+        return StreamSupport.stream(() -> {
+            List<U> cells = table.getCells(column, 1, table.getRowCount());
+
+            return IntStream.range(0, cells.size())
+                    .filter(i -> predicate.test(cells.get(i)))
+                    .mapToObj(i -> table.getRow(i + 1))
+                    .spliterator();
+        }, ORDERED, false);
+    }
+
+    static <T extends Table<T>, U> Stream<U> cellsWhere(T table, Column<T, U> column,
+            Predicate<? super U> predicate) {
+        return StreamSupport.stream(
+                () -> table.getCells(column, 1, table.getRowCount()).spliterator(),
+                ORDERED | SIZED, false)
+                .filter(predicate);
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.api.elements;
+
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+
+import com.redhat.darcy.ui.api.elements.Table.Column;
+import com.redhat.darcy.ui.api.elements.Table.Row;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Scans the cells of a column for those which match a predicate, by splitting the table's rows
+ * into chunks and reading and testing each chunk's cells on an executor. Since reading cells is
+ * usually bound by round trips to the UI, rather than by CPU, chunks can be read concurrently on
+ * many more threads than there are processors.
+ *
+ * <p>The scan begins when the stream's terminal operation begins. Matches are streamed in table
+ * order, each chunk as soon as it and all the chunks before it are done. Chunks are read with
+ * {@link Table#getCells(Table.Column, int, int)}, so a
+ * {@link com.redhat.darcy.ui.api.elements.Table.BulkColumn} is read once per chunk.
+ *
+ * <p>Chunks are submitted as the stream is consumed, at most a fixed number ahead of the chunk
+ * being streamed, so a stream which stops early, as with {@code findFirst()}, reads at most that
+ * many more chunks. If a lookup or the predicate fails, or the stream is closed, chunks which have
+ * not started yet are cancelled, and no more are submitted.
+ */
+final class ParallelRowScan<T extends Table<T>, U> {
+    /**
+     * How many rows each chunk has, by default.
+     */
+    static final int DEFAULT_CHUNK_SIZE = 16;
+
+    /**
+     * How many chunks may be submitted ahead of the chunk being streamed, by default.
+     */
+    static final int DEFAULT_CHUNKS_AHEAD = 8;
+
+    private final T table;
+    private final Column<T, U> column;
+    private final Predicate<? super U> predicate;
+    private final Executor executor;
+    private final int chunkSize;
+    private final int chunksAhead;
+
+    ParallelRowScan(T table, Column<T, U> column, Predicate<? super U> predicate,
+            Executor executor, int chunkSize) {
+        this(table, column, predicate, executor, chunkSize, DEFAULT_CHUNKS_AHEAD);
+    }
+
+    ParallelRowScan(T table, Column<T, U> column, Predicate<? super U> predicate,
+            Executor executor, int chunkSize, int chunksAhead) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be 1 or greater, was: "
+                    + chunkSize);
+        }
+
+        if (chunksAhead < 1) {
+            throw new IllegalArgumentException("Chunks ahead must be 1 or greater, was: "
+                    + chunksAhead);
+        }
+
+        this.table = Objects.requireNonNull(table, "table");
+        this.column = Objects.requireNonNull(column, "column");
+        this.predicate = Objects.requireNonNull(predicate, "predicate");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.chunkSize = chunkSize;
+        this.chunksAhead = chunksAhead;
+    }
+
+    Stream<Row<T>> rows() {
+        return matches().map(m -> table.getRow(m.rowIndex));
+    }
+
+    Stream<U> cells() {
+        return matches().map(m -> m.cell);
+    }
+
+    private Stream<Match<U>> matches() {
+        Scan scan = new Scan();
+
+        return StreamSupport.stream(scan, false).onClose(scan::cancel);
+    }
+
+    private List<Match<U>> matchesIn(int first, int last) {
+        List<U> cells = table.getCells(column, first, last);
+        List<Match<U>> matches = new ArrayList<>();
+
+        for (int i = 0; i < cells.size(); i++) {
+            U cell = cells.get(i);
+
+            if (predicate.test(cell)) {
+                matches.add(new Match<>(first + i, cell));
+            }
+        }
+
+        return matches;
+    }
+
+    /**
+     * Waits for a chunk, rethrowing whatever a cell lookup or the predicate threw.
+     */
+    private static <V> V join(CompletableFuture<V> chunk) {
+        try {
+            return chunk.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Streams the matches of each chunk in turn, submitting chunks as it goes. The scan is not
+     * split, since its chunks are already read concurrently.
+     */
+    private final class Scan implements Spliterator<Match<U>> {
+        private final Deque<CompletableFuture<List<Match<U>>>> pending = new ArrayDeque<>();
+
+        private int rowCount = -1;
+        private int nextRow = 1;
+        private Iterator<Match<U>> current = Collections.emptyIterator();
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Match<U>> action) {
+            try {
+                while (!current.hasNext()) {
+                    submitAhead();
+
+                    CompletableFuture<List<Match<U>>> chunk = pending.poll();
+
+                    if (chunk == null) {
+                        return false;
+                    }
+
+                    current = join(chunk).iterator();
+                }
+
+                action.accept(current.next());
+                return true;
+            } catch (RuntimeException | Error e) {
+                cancel();
+                throw e;
+            }
+        }
+
+        /**
+         * Cancels chunks which have not started, and stops submitting more.
+         */
+        void cancel() {
+            for (CompletableFuture<List<Match<U>>> chunk : pending) {
+                chunk.cancel(false);
+            }
+
+            pending.clear();
+            current = Collections.emptyIterator();
+            rowCount = 0;
+            nextRow = 1;
+        }
+
+        private void submitAhead() {
+            if (rowCount < 0) {
+                rowCount = table.getRowCount();
+            }
+
+            while (pending.size() < chunksAhead && nextRow <= rowCount) {
+                int first = nextRow;
+                int last = Math.min(first + chunkSize - 1, rowCount);
+
+                pending.add(CompletableFuture.supplyAsync(() -> matchesIn(first, last), executor));
+                nextRow = last + 1;
+            }
+        }
+
+        @Override
+        public Spliterator<Match<U>> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+    }
+
+    private static final class Match<U> {
+        final int rowIndex;
+        final U cell;
+
+        Match(int rowIndex, U cell) {
+            this.rowIndex = rowIndex;
+            this.cell = cell;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.api.elements;
+
+import com.redhat.darcy.ui.api.elements.Table.Row;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Traverses the rows of a table in index order.
+ *
+ * <p>By default, the row count is read once, when traversal begins, so that a traversal of n rows
+ * costs one lookup of the row count rather than n. The spliterator is then sized, and splits its
+ * range of rows in half for parallel traversal. In live mode, the row count is read again before
+ * each row instead, so that rows added to a growing table during traversal are included; a live
+ * spliterator is neither sized nor splittable.
+ *
+ * <p>Rows are {@link Comparable} by index, so a traversal in index order is also
+ * {@link #SORTED sorted} by their natural order.
+ *
+ * @param <T> The type of table whose rows are traversed.
+ */
+final class RowSpliterator<T extends Table<T>> implements Spliterator<Row<T>> {
+    /**
+     * The characteristics of a spliterator which is not live.
+     */
+    static final int CHARACTERISTICS = ORDERED | DISTINCT | SORTED | NONNULL | SIZED | SUBSIZED;
+
+    private static final int UNKNOWN = -1;
+
+    private final T table;
+    private final boolean live;
+
+    /**
+     * The index of the next row.
+     */
+    private int index;
+
+    /**
+     * The index of the last row, inclusive, or {@link #UNKNOWN} until traversal begins.
+     */
+    private int last;
+
+    static <T extends Table<T>> RowSpliterator<T> of(T table) {
+        return new RowSpliterator<>(table, false, 1, UNKNOWN);
+    }
+
+    static <T extends Table<T>> RowSpliterator<T> live(T table) {
+        return new RowSpliterator<>(table, true, 1, UNKNOWN);
+    }
+
+    private RowSpliterator(T table, boolean live, int index, int last) {
+        this.table = Objects.requireNonNull(table, "table");
+        this.live = live;
+        this.index = index;
+        this.last = last;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Row<T>> action) {
+        if (index > last()) {
+            return false;
+        }
+
+        action.accept(table.getRow(index++));
+
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Row<T>> action) {
+        if (live) {
+            while (tryAdvance(action)) {
+                // Advance
+            }
+
+            return;
+        }
+
+        int end = last();
+
+        while (index <= end) {
+            action.accept(table.getRow(index++));
+        }
+    }
+
+    @Override
+    public Spliterator<Row<T>> trySplit() {
+        if (live) {
+            return null;
+        }
+
+        int end = last();
+        int mid = index + (end - index + 1) / 2;
+
+        if (mid <= index) {
+            return null;
+        }
+
+        RowSpliterator<T> prefix = new RowSpliterator<>(table, false, index, mid - 1);
+        index = mid;
+
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        if (live) {
+            return Long.MAX_VALUE;
+        }
+
+        return Math.max(last() - index + 1, 0);
+    }
+
+    @Override
+    public int characteristics() {
+        return live ? CHARACTERISTICS & ~(SIZED | SUBSIZED) : CHARACTERISTICS;
+    }
+
+    /**
+     * @return null, since rows are sorted by their natural order.
+     */
+    @Override
+    public Comparator<? super Row<T>> getComparator() {
+        return null;
+    }
+
+    private int last() {
+        if (live) {
+            return table.getRowCount();
+        }
+
+        if (last == UNKNOWN) {
+            last = table.getRowCount();
+        }
+
+        return last;
+    }
+}
@@ -19,19 +19,19 @@
 
 package com.redhat.darcy.ui.api.elements;
 
-import static java.util.Spliterator.DISTINCT;
-import static java.util.Spliterator.NONNULL;
-import static java.util.Spliterator.ORDERED;
-import static java.util.Spliterator.SORTED;
-
 import com.redhat.darcy.ui.api.ViewElement;
 
 import org.hamcrest.Matcher;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -89,25 +89,44 @@ public interface Table<T extends Table<T>> extends ViewElement {
      * iterable should match {@link #getRowCount()}.
      *
      * <p>The iterable iterates over {@link com.redhat.darcy.ui.api.elements.Table.Row} objects that
-     * are tied to this table.
+     * are tied to this table. The row count is read once each time iteration begins, so rows
+     * added while iterating are not included; see {@link #liveRows()} for tables that grow while
+     * they are iterated.
      */
     default Iterable<Row<T>> rows() {
-        return () -> new Iterator<Row<T>>() {
-            private int cursor = 0;
-
+        return new Iterable<Row<T>>() {
             @Override
-            public boolean hasNext() {
-                return cursor + 1 <= getRowCount();
+            public Iterator<Row<T>> iterator() {
+                return Spliterators.iterator(spliterator());
             }
 
-            @SuppressWarnings("unchecked")
             @Override
-            public Row<T> next() {
-                return new Row<T>((T) Table.this, ++cursor);
+            public Spliterator<Row<T>> spliterator() {
+                return rowSpliterator();
             }
         };
     }
 
+    /**
+     * Like {@link #rows()}, except the row count is read again before each row, so that rows
+     * added while iterating, such as by a table that loads more rows as it is scrolled, are
+     * included. This costs a lookup of the row count per row.
+     */
+    @SuppressWarnings("unchecked")
+    default Iterable<Row<T>> liveRows() {
+        return () -> Spliterators.iterator(RowSpliterator.live((T) this));
+    }
+
+    /**
+     * @return A {@link java.util.Spliterator} over the currently visible rows, in order, which
+     * reads the row count once when traversal begins. It is sized, and splits for parallel
+     * traversal.
+     */
+    @SuppressWarnings("unchecked")
+    default Spliterator<Row<T>> rowSpliterator() {
+        return RowSpliterator.of((T) this);
+    }
+
     /**
      * @return A specific {@link com.redhat.darcy.ui.api.elements.Table.Row} for this table.
      */
@@ -143,6 +162,46 @@ public interface Table<T extends Table<T>> extends ViewElement {
         return column.getCell((T) this, rowIndex);
     }
 
+    /**
+     * @return The contents of the cells within the specified column, from row index {@code fromRow}
+     * to row index {@code toRow}, both inclusive, in row order. If the column is a
+     * {@link com.redhat.darcy.ui.api.elements.Table.BulkColumn}, they are read all at once,
+     * otherwise they are read one cell at a time.
+     */
+    @SuppressWarnings("unchecked")
+    default <U> List<U> getCells(Column<T, U> column, int fromRow, int toRow) {
+        if (column instanceof BulkColumn) {
+            return ((BulkColumn<T, U>) column).getCells((T) this, fromRow, toRow);
+        }
+
+        List<U> cells = new ArrayList<>(Math.max(toRow - fromRow + 1, 0));
+
+        for (int row = fromRow; row <= toRow; row++) {
+            cells.add(column.getCell((T) this, row));
+        }
+
+        return cells;
+    }
+
+    /**
+     * Captures the row count and the contents of the specified columns in one pass, into an
+     * immutable, in-memory {@link TableSnapshot} which answers the same queries as this table
+     * without further lookups. Prefer a snapshot for assertions or repeated queries over a large
+     * table.
+     */
+    @SuppressWarnings("unchecked")
+    default TableSnapshot<T> snapshot(Column<T, ?>... columns) {
+        return TableSnapshot.of((T) this, Arrays.asList(columns));
+    }
+
+    /**
+     * @see #snapshot(com.redhat.darcy.ui.api.elements.Table.Column[])
+     */
+    @SuppressWarnings("unchecked")
+    default TableSnapshot<T> snapshot(List<? extends Column<T, ?>> columns) {
+        return TableSnapshot.of((T) this, columns);
+    }
+
     /**
      * @return header A specific column's header's contents within this table, as determined by the
      * specified {@link com.redhat.darcy.ui.api.elements.Table.Header}.
@@ -157,13 +216,41 @@ public interface Table<T extends Table<T>> extends ViewElement {
      * @return A filtered {@link java.util.stream.Stream} of the rows in this table where the
      * contents of a particular column match the specified {@link java.util.function.Predicate}.
      */
+    @SuppressWarnings("unchecked")
     default <U> Stream<Row<T>> getRowsWhere(Column<T, U> column, Predicate<? super U> predicate) {
-        return StreamSupport.stream(
-                Spliterators.spliterator(rows().iterator(), getRowCount(),
-                        DISTINCT | ORDERED | SORTED | NONNULL), false)
+        if (column instanceof BulkColumn) {
+            return BulkCells.rowsWhere((T) this, column, predicate);
+        }
+
+        return StreamSupport.stream(this::rowSpliterator, RowSpliterator.CHARACTERISTICS, false)
                 .filter(r -> predicate.test(r.getCell(column)));
     }
 
+    /**
+     * @return A new {@link TableQuery} of this table, for filtering rows by conditions on more than
+     * one column in a single pass.
+     */
+    @SuppressWarnings("unchecked")
+    default TableQuery<T> query() {
+        return new TableQuery<>((T) this);
+    }
+
+    /**
+     * @return Like
+     * {@link #getRowsWhere(com.redhat.darcy.ui.api.elements.Table.Column, java.util.function.Predicate)},
+     * except the rows are split into chunks whose cells are read and tested concurrently on the
+     * specified {@link java.util.concurrent.Executor}. Rows are still streamed in table order.
+     * Since reading cells is usually bound by round trips to the UI, a bounded thread pool with
+     * more threads than processors is appropriate. The column and predicate must be safe to use
+     * from the executor's threads.
+     */
+    @SuppressWarnings("unchecked")
+    default <U> Stream<Row<T>> getRowsWhere(Column<T, U> column, Predicate<? super U> predicate,
+            Executor executor) {
+        return new ParallelRowScan<>((T) this, column, predicate, executor,
+                ParallelRowScan.DEFAULT_CHUNK_SIZE).rows();
+    }
+
     /**
      * @return The first filtered {@link java.util.Optional} of the rows in this table where the
      * contents of a particular column match the specified {@link java.util.function.Predicate}.
@@ -196,11 +283,31 @@ public interface Table<T extends Table<T>> extends ViewElement {
      * of cells that match some range of possible values, and you would like to inspect the actual
      * values.
      */
+    @SuppressWarnings("unchecked")
     default <U> Stream<U> getCellsWhere(Column<T, U> column, Predicate<? super U> predicate) {
+        if (column instanceof BulkColumn) {
+            return BulkCells.cellsWhere((T) this, column, predicate);
+        }
+
         return getRowsWhere(column, predicate)
                 .map(r -> r.getCell(column));
     }
 
+    /**
+     * @return Like
+     * {@link #getCellsWhere(com.redhat.darcy.ui.api.elements.Table.Column, java.util.function.Predicate)},
+     * except cells are read and tested concurrently on the specified
+     * {@link java.util.concurrent.Executor}, as in
+     * {@link #getRowsWhere(com.redhat.darcy.ui.api.elements.Table.Column, java.util.function.Predicate, java.util.concurrent.Executor)}.
+     * Cells are still streamed in table order.
+     */
+    @SuppressWarnings("unchecked")
+    default <U> Stream<U> getCellsWhere(Column<T, U> column, Predicate<? super U> predicate,
+            Executor executor) {
+        return new ParallelRowScan<>((T) this, column, predicate, executor,
+                ParallelRowScan.DEFAULT_CHUNK_SIZE).cells();
+    }
+
     /**
      * @return Like
      * {@link #getRowsWhere(com.redhat.darcy.ui.api.elements.Table.Column, org.hamcrest.Matcher)},
@@ -228,6 +335,25 @@ public interface Table<T extends Table<T>> extends ViewElement {
         U getCell(T table, int rowIndex);
     }
 
+    /**
+     * A column which can also read the contents of many of its cells at once, such as with a
+     * single script or query, rather than one lookup per row. Tables use it automatically when
+     * reading whole columns, as in
+     * {@link #getRowsWhere(com.redhat.darcy.ui.api.elements.Table.Column, java.util.function.Predicate)}
+     * and
+     * {@link #getCellsWhere(com.redhat.darcy.ui.api.elements.Table.Column, java.util.function.Predicate)}.
+     *
+     * @param <T> The class of table with which this column refers to.
+     * @param <U> The class that models the contents within cells of this column.
+     */
+    interface BulkColumn<T extends Table<T>, U> extends Column<T, U> {
+        /**
+         * @return The contents of the cells from row index {@code fromRow} to row index
+         * {@code toRow}, both inclusive, in row order.
+         */
+        List<U> getCells(T table, int fromRow, int toRow);
+    }
+
     /**
      * Like a {@link com.redhat.darcy.ui.api.elements.Table.Column}, but contains the
      * knowledge for locating the header of a particular column. Typically, a column definition
@@ -267,6 +393,14 @@ public interface Table<T extends Table<T>> extends ViewElement {
             return column.getCell(table, rowIndex);
         }
 
+        /**
+         * @return The contents of every cell within this column, in row order.
+         * @see Table#getCells(com.redhat.darcy.ui.api.elements.Table.Column, int, int)
+         */
+        public List<E> getCells() {
+            return table.getCells(column, 1, table.getRowCount());
+        }
+
         public U getTable() {
             return table;
         }
@@ -325,6 +459,14 @@ public interface Table<T extends Table<T>> extends ViewElement {
             return column.getCell(table, rowIndex);
         }
 
+        /**
+         * @return The contents of every cell within this column, in row order.
+         * @see Table#getCells(com.redhat.darcy.ui.api.elements.Table.Column, int, int)
+         */
+        public List<E> getCells() {
+            return table.getCells(column, 1, table.getRowCount());
+        }
+
         public U getTable() {
             return table;
         }
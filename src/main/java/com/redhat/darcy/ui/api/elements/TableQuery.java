@@ -0,0 +1,297 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.api.elements;
+
+import com.redhat.darcy.ui.api.elements.Table.Column;
+import com.redhat.darcy.ui.api.elements.Table.Row;
+import com.redhat.darcy.ui.internal.ConditionCost;
+
+import org.hamcrest.Matcher;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Filters the rows of a table by the contents of any number of its columns in a single pass, as
+ * started by {@link Table#query()}:
+ *
+ * <pre>{@code
+ * table.query()
+ *         .where(STATUS, "Failed"::equals)
+ *         .and(DURATION, d -> d > 60)
+ *         .select(NAME)
+ * }</pre>
+ *
+ * <p>Each row's cells are read at most once per column, however many conditions and selections
+ * refer to that column, and a row's conditions stop being checked at the first that is not met.
+ * Conditions are checked in the order they were added until each has been checked at least once.
+ * After that, the conditions which are quickest to check and most often not met are checked
+ * first, so that rows are rejected with as few cell lookups as possible. What is learned about the
+ * conditions is kept with the query, so a query which is run many times keeps its order.
+ *
+ * <p>Cells are read one at a time, even from a {@link Table.BulkColumn}. A row's conditions stop at
+ * the first that is not met, so most cells of the columns checked later are never read; reading
+ * those columns in bulk would read every cell whether or not it is needed. To read a bulk column
+ * in one lookup, use {@link Table#getRowsWhere(Table.Column, Predicate)} or
+ * {@link Table#snapshot(Table.Column[])} instead.
+ *
+ * <p>Rows are streamed in table order, and the row count is read once per run. Each run reads the
+ * table's rows one after another, even from a parallel stream, since checking a row may require
+ * as many round trips to the UI as it has conditions. Once its conditions and selections are
+ * added, a query may be run from many threads at once; what is learned about its conditions is
+ * shared by every run.
+ *
+ * @param <T> The type of table being queried.
+ */
+public final class TableQuery<T extends Table<T>> {
+    /**
+     * How many rows are checked between each reordering of the conditions.
+     */
+    static final int REORDER_INTERVAL = 16;
+
+    private final T table;
+    private final List<Column<T, ?>> columns = new ArrayList<>();
+    private final List<Condition<?>> conditions = new ArrayList<>();
+
+    public TableQuery(T table) {
+        this.table = Objects.requireNonNull(table, "table");
+    }
+
+    /**
+     * Requires the contents of a row's cell in the column to match the predicate.
+     */
+    public <U> TableQuery<T> where(Column<T, U> column, Predicate<? super U> predicate) {
+        conditions.add(new Condition<>(conditions.size(), slotOf(column),
+                Objects.requireNonNull(predicate, "predicate")));
+        return this;
+    }
+
+    public <U> TableQuery<T> where(Column<T, U> column, Matcher<? super U> matcher) {
+        return where(column, matcher::matches);
+    }
+
+    /**
+     * Same as {@link #where(Table.Column, Predicate)}; reads better after the first condition.
+     */
+    public <U> TableQuery<T> and(Column<T, U> column, Predicate<? super U> predicate) {
+        return where(column, predicate);
+    }
+
+    public <U> TableQuery<T> and(Column<T, U> column, Matcher<? super U> matcher) {
+        return where(column, matcher);
+    }
+
+    /**
+     * @return A lazy {@link java.util.stream.Stream} of the rows which meet every condition, in
+     * table order.
+     */
+    public Stream<Row<T>> rows() {
+        return matches().map(r -> r.row);
+    }
+
+    /**
+     * @return The first row which meets every condition. Rows after it are not read.
+     */
+    public Optional<Row<T>> firstRow() {
+        return rows().findFirst();
+    }
+
+    /**
+     * @return A lazy {@link java.util.stream.Stream} of the contents of the specified column's
+     * cells in the rows which meet every condition, in table order. Cells already read to check a
+     * condition are not read again.
+     */
+    @SuppressWarnings("unchecked")
+    public <U> Stream<U> select(Column<T, U> column) {
+        int slot = slotOf(column);
+
+        return matches().map(r -> (U) r.cell(slot));
+    }
+
+    /**
+     * @return The number of rows which meet every condition.
+     */
+    public long count() {
+        return matches().count();
+    }
+
+    @Override
+    public String toString() {
+        return "TableQuery: {table: " + table + ", conditions: " + conditions.size() + "}";
+    }
+
+    private Stream<RowCells> matches() {
+        return StreamSupport.stream(() -> new Run(table.rowSpliterator()), Run.CHARACTERISTICS,
+                false);
+    }
+
+    private int slotOf(Column<T, ?> column) {
+        Objects.requireNonNull(column, "column");
+
+        int slot = columns.indexOf(column);
+
+        if (slot < 0) {
+            columns.add(column);
+            slot = columns.size() - 1;
+        }
+
+        return slot;
+    }
+
+    /**
+     * One run of the query: streams the rows which meet every condition, keeping its own order in
+     * which to check the conditions. Runs are never split, so only one thread checks a run's rows.
+     */
+    private final class Run implements Spliterator<RowCells> {
+        static final int CHARACTERISTICS = ORDERED | NONNULL;
+
+        private final Spliterator<Row<T>> rows;
+        private final List<Condition<?>> order = new ArrayList<>(conditions);
+
+        private int checked;
+        private RowCells met;
+
+        Run(Spliterator<Row<T>> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super RowCells> action) {
+            while (rows.tryAdvance(this::check)) {
+                if (met != null) {
+                    RowCells row = met;
+                    met = null;
+                    action.accept(row);
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public Spliterator<RowCells> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return rows.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+
+        private void check(Row<T> row) {
+            if (checked++ % REORDER_INTERVAL == 0) {
+                reorder();
+            }
+
+            RowCells cells = new RowCells(row);
+            met = cells.meets(order) ? cells : null;
+        }
+
+        /**
+         * Sorts conditions by a snapshot of their expected cost to reject a row, cheapest first.
+         * Conditions which have not been checked yet come first, in the order they were added.
+         */
+        private void reorder() {
+            double[] costs = new double[order.size()];
+
+            for (Condition<?> condition : order) {
+                costs[condition.index] = condition.cost.expectedCostToFail();
+            }
+
+            order.sort(Comparator.<Condition<?>>comparingDouble(c -> costs[c.index])
+                    .thenComparingInt(c -> c.index));
+        }
+    }
+
+    /**
+     * A row, and the contents of those of its cells which have been read so far.
+     */
+    private final class RowCells {
+        private final Row<T> row;
+        private final Object[] cells = new Object[columns.size()];
+        private final boolean[] read = new boolean[columns.size()];
+
+        RowCells(Row<T> row) {
+            this.row = row;
+        }
+
+        Object cell(int slot) {
+            if (!read[slot]) {
+                cells[slot] = row.getCell(columns.get(slot));
+                read[slot] = true;
+            }
+
+            return cells[slot];
+        }
+
+        boolean meets(List<Condition<?>> order) {
+            for (Condition<?> condition : order) {
+                if (!condition.test(this)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * A predicate on one column, and the {@link ConditionCost} of checking it, including reading
+     * the cell if it had not been read yet.
+     */
+    private final class Condition<U> {
+        private final int index;
+        private final int slot;
+        private final Predicate<? super U> predicate;
+        private final ConditionCost cost = new ConditionCost();
+
+        Condition(int index, int slot, Predicate<? super U> predicate) {
+            this.index = index;
+            this.slot = slot;
+            this.predicate = predicate;
+        }
+
+        @SuppressWarnings("unchecked")
+        boolean test(RowCells row) {
+            boolean met = false;
+            long start = System.nanoTime();
+
+            try {
+                met = predicate.test((U) row.cell(slot));
+                return met;
+            } finally {
+                cost.record(met, System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.api.elements;
+
+import com.redhat.darcy.ui.api.elements.Table.Column;
+import com.redhat.darcy.ui.api.elements.Table.Row;
+
+import org.hamcrest.Matcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * An immutable, in-memory copy of the row count and some of the columns of a table, captured in
+ * one pass by {@link Table#snapshot(Table.Column[])}. Each column is read once, all at once if it
+ * is a {@link com.redhat.darcy.ui.api.elements.Table.BulkColumn}, after which the snapshot answers
+ * the same queries as a table without going back to the UI. This makes it suited to assertions
+ * over large tables, which would otherwise look up every cell at least once per query.
+ *
+ * <p>The rows returned by queries are rows of the live table, so that they may still be used to
+ * interact with the table. Their cells may have changed since the snapshot was taken; use
+ * {@link #getCell(Table.Column, int)} to read the captured contents.
+ *
+ * @param <T> The type of table this is a snapshot of.
+ */
+public final class TableSnapshot<T extends Table<T>> {
+    private final T table;
+    private final int rowCount;
+    private final Map<Column<T, ?>, List<?>> cells;
+
+    /**
+     * Captures the row count and the specified columns of the table.
+     *
+     * @throws IllegalStateException if a column does not return exactly one cell per row, such as
+     * when rows were added or removed while the table was captured.
+     */
+    public static <T extends Table<T>> TableSnapshot<T> of(T table,
+            List<? extends Column<T, ?>> columns) {
+        Objects.requireNonNull(table, "table");
+        Objects.requireNonNull(columns, "columns");
+
+        int rowCount = table.getRowCount();
+        Map<Column<T, ?>, List<?>> cells = new LinkedHashMap<>();
+
+        for (Column<T, ?> column : columns) {
+            if (!cells.containsKey(column)) {
+                List<?> columnCells = table.getCells(column, 1, rowCount);
+
+                if (columnCells.size() != rowCount) {
+                    throw new IllegalStateException("Expected " + rowCount + " cells from column, "
+                            + column + ", but got " + columnCells.size() + ". The table may have "
+                            + "changed while it was captured. Table was, " + table);
+                }
+
+                cells.put(column, Collections.unmodifiableList(new ArrayList<>(columnCells)));
+            }
+        }
+
+        return new TableSnapshot<>(table, rowCount, Collections.unmodifiableMap(cells));
+    }
+
+    private TableSnapshot(T table, int rowCount, Map<Column<T, ?>, List<?>> cells) {
+        this.table = table;
+        this.rowCount = rowCount;
+        this.cells = cells;
+    }
+
+    /**
+     * @return The live table this is a snapshot of.
+     */
+    public T getTable() {
+        return table;
+    }
+
+    /**
+     * @return The number of rows the table had when the snapshot was taken.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public boolean isEmpty() {
+        return rowCount == 0;
+    }
+
+    /**
+     * @return The columns which were captured, in the order they were requested.
+     */
+    public List<Column<T, ?>> getColumns() {
+        return new ArrayList<>(cells.keySet());
+    }
+
+    /**
+     * @return The captured contents of every cell of the column, in row order.
+     * @throws IllegalArgumentException if the column was not captured.
+     */
+    @SuppressWarnings("unchecked")
+    public <U> List<U> getCells(Column<T, U> column) {
+        List<?> columnCells = cells.get(column);
+
+        if (columnCells == null) {
+            throw new IllegalArgumentException("Column was not captured in this snapshot: "
+                    + column);
+        }
+
+        return (List<U>) columnCells;
+    }
+
+    /**
+     * @return The captured contents of a cell, as determined by the column and row index.
+     * @throws IllegalArgumentException if the column was not captured.
+     * @throws IndexOutOfBoundsException if there was no such row.
+     */
+    public <U> U getCell(Column<T, U> column, int rowIndex) {
+        if (rowIndex < 1 || rowIndex > rowCount) {
+            throw new IndexOutOfBoundsException("Row index must be from 1 to " + rowCount
+                    + ", was: " + rowIndex);
+        }
+
+        return getCells(column).get(rowIndex - 1);
+    }
+
+    /**
+     * @see Table#getRowsWhere(Table.Column, Predicate)
+     */
+    public <U> Stream<Row<T>> getRowsWhere(Column<T, U> column, Predicate<? super U> predicate) {
+        List<U> columnCells = getCells(column);
+
+        return IntStream.range(0, rowCount)
+                .filter(i -> predicate.test(columnCells.get(i)))
+                .mapToObj(i -> table.getRow(i + 1));
+    }
+
+    /**
+     * @see Table#getRowsWhere(Table.Column, Matcher)
+     */
+    public <U> Stream<Row<T>> getRowsWhere(Column<T, U> column, Matcher<? super U> matcher) {
+        return getRowsWhere(column, matcher::matches);
+    }
+
+    /**
+     * @see Table#getFirstRowWhere(Table.Column, Predicate)
+     */
+    public <U> Optional<Row<T>> getFirstRowWhere(Column<T, U> column,
+            Predicate<? super U> predicate) {
+        return getRowsWhere(column, predicate).findFirst();
+    }
+
+    /**
+     * @see Table#getFirstRowWhere(Table.Column, Matcher)
+     */
+    public <U> Optional<Row<T>> getFirstRowWhere(Column<T, U> column,
+            Matcher<? super U> matcher) {
+        return getRowsWhere(column, matcher::matches).findFirst();
+    }
+
+    /**
+     * @see Table#getCellsWhere(Table.Column, Predicate)
+     */
+    public <U> Stream<U> getCellsWhere(Column<T, U> column, Predicate<? super U> predicate) {
+        return getCells(column).stream().filter(predicate);
+    }
+
+    /**
+     * @see Table#getCellsWhere(Table.Column, Matcher)
+     */
+    public <U> Stream<U> getCellsWhere(Column<T, U> column, Matcher<? super U> matcher) {
+        return getCellsWhere(column, matcher::matches);
+    }
+
+    @Override
+    public String toString() {
+        return "TableSnapshot: {table: " + table + ", rowCount: " + rowCount + ", columns: "
+                + cells.keySet() + "}";
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(table, rowCount, cells);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof TableSnapshot)) {
+            return false;
+        }
+
+        TableSnapshot other = (TableSnapshot) o;
+
+        return other.table.equals(table) && other.rowCount == rowCount
+                && other.cells.equals(cells);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.inmemory;
+
+import com.redhat.darcy.ui.api.Context;
+import com.redhat.darcy.ui.api.ParentContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link ParentContext} of several {@link ElementTree trees}, such as the windows of a browser.
+ * Its locators find the {@link ElementTree#context() context} of each tree whose root matches, so
+ * {@code By.id("popup")} finds the tree whose root has the id "popup", and {@code By.view(view)}
+ * finds a tree in which the view is loaded.
+ */
+public class ElementForest extends NodeContext implements ParentContext {
+    private final List<ElementTree> trees = new CopyOnWriteArrayList<>();
+
+    public ElementForest add(ElementTree tree) {
+        trees.add(tree);
+        return this;
+    }
+
+    public ElementForest remove(ElementTree tree) {
+        trees.remove(tree);
+        return this;
+    }
+
+    public List<ElementTree> trees() {
+        return new ArrayList<>(trees);
+    }
+
+    @Override
+    void roundTrip() {
+        // Finding windows is local.
+    }
+
+    @Override
+    List<Node> withAttribute(String name, String value) {
+        return roots(r -> value.equals(r.attribute(name)));
+    }
+
+    @Override
+    List<Node> withText(String text) {
+        return roots(r -> r.text().equals(text));
+    }
+
+    @Override
+    List<Node> withTextContaining(String partialText) {
+        return roots(r -> r.text().contains(partialText));
+    }
+
+    @Override
+    List<Node> withXPath(String xpath) {
+        List<Node> found = new ArrayList<>();
+
+        for (ElementTree tree : trees) {
+            if (tree.withXPath(tree.root(), xpath).contains(tree.root())) {
+                found.add(tree.root());
+            }
+        }
+
+        return found;
+    }
+
+    @Override
+    List<ElementTreeContext> viewContexts() {
+        return trees.stream().map(ElementTree::context).collect(Collectors.toList());
+    }
+
+    @Override
+    Context asContext() {
+        return this;
+    }
+
+    @Override
+    <T> T wrap(Class<T> type, Node root) {
+        return castContext(type, root.tree().context());
+    }
+
+    @Override
+    <T> T first(Class<T> type, Supplier<List<Node>> lookup, String description) {
+        List<Node> found = lookup.get();
+
+        return found.isEmpty() ? notFound(type, description) : wrap(type, found.get(0));
+    }
+
+    @Override
+    <T> T notFound(Class<T> type, String description) {
+        return castContext(type, new ElementTreeContext(description));
+    }
+
+    private List<Node> roots(Predicate<Node> predicate) {
+        return trees.stream()
+                .map(ElementTree::root)
+                .filter(predicate)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return "ElementForest: {trees: " + trees + "}";
+    }
+}
@@ -0,0 +1,440 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.inmemory;
+
+import com.redhat.darcy.ui.DarcyException;
+import com.redhat.darcy.ui.internal.ObservableContext;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+/**
+ * An in-memory tree of {@link Node nodes}, which can be automated like a real user interface
+ * through its {@link #context() context}, without a driver. Every attribute and every node's text
+ * is indexed, so finding elements by id, name, attribute, title, text content, or link text takes
+ * about as long in a tree of a hundred thousand nodes as in a tree of ten. Finding by partial text
+ * content scans the distinct texts, and finding by XPath evaluates the expression against a DOM
+ * copy of the tree, which is rebuilt after the tree changes.
+ *
+ * <p>Each find, and each call to a found element, is a simulated round trip, which takes
+ * {@link #setLatency(long) latency} nanoseconds, so that page objects can also be run as if
+ * against a remote user interface.
+ *
+ * <p>The tree and its nodes are thread safe. Lookups and changes are guarded by the tree.
+ *
+ * <p>Contexts of the tree are {@link ObservableContext observable}: transitions within them wait
+ * for the tree to change, rather than polling it.
+ */
+public class ElementTree {
+    private final Node root;
+
+    private final Map<String, Map<String, Set<Node>>> attributeIndex = new HashMap<>();
+    private final Map<String, Set<Node>> textIndex = new HashMap<>();
+
+    private long version;
+    private long structureVersion;
+    private long orderedVersion = -1;
+
+    private long mirroredVersion = -1;
+    private Document mirror;
+    private Map<org.w3c.dom.Node, Node> mirrored;
+    private Map<Node, Element> mirrors;
+
+    private volatile long latencyNanos;
+
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a tree whose root is an {@code html} node.
+     */
+    public ElementTree() {
+        this(new Node("html"));
+    }
+
+    /**
+     * @param root A node which is not part of another tree. Its descendants become part of this
+     * tree too.
+     */
+    public ElementTree(Node root) {
+        if (root.tree() != null || root.parent() != null) {
+            throw new IllegalArgumentException("Root must not have a parent or tree: " + root);
+        }
+
+        this.root = root;
+
+        synchronized (this) {
+            attached(root);
+        }
+    }
+
+    public Node root() {
+        return root;
+    }
+
+    /**
+     * @return A context which finds elements within the whole tree.
+     */
+    public ElementTreeContext context() {
+        return new ElementTreeContext(this, root);
+    }
+
+    /**
+     * @param latencyNanos How long each find, and each call to a found element, takes.
+     */
+    public ElementTree setLatency(long latencyNanos) {
+        if (latencyNanos < 0) {
+            throw new IllegalArgumentException("Latency must not be negative: " + latencyNanos);
+        }
+
+        this.latencyNanos = latencyNanos;
+        return this;
+    }
+
+    public long getLatency() {
+        return latencyNanos;
+    }
+
+    /**
+     * @param listener Run whenever any node of the tree changes, while the tree is locked.
+     * @see ObservableContext#addChangeListener(Runnable)
+     */
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(Runnable listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * @return A number which changes whenever any node of the tree changes.
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Spins for the tree's latency, to simulate a round trip to a user interface. Spinning is far
+     * more precise than sleeping for the microseconds latencies are usually configured with.
+     */
+    void roundTrip() {
+        long nanos = latencyNanos;
+
+        if (nanos <= 0) {
+            return;
+        }
+
+        long end = System.nanoTime() + nanos;
+
+        while (System.nanoTime() - end < 0) {
+            // Spin
+        }
+    }
+
+    synchronized List<Node> withAttribute(Node scope, String name, String value) {
+        Map<String, Set<Node>> values = attributeIndex.get(name);
+
+        return values == null
+                ? Collections.emptyList()
+                : within(scope, values.getOrDefault(value, Collections.emptySet()));
+    }
+
+    synchronized List<Node> withText(Node scope, String text) {
+        return within(scope, textIndex.getOrDefault(text, Collections.emptySet()));
+    }
+
+    synchronized List<Node> withTextContaining(Node scope, String partialText) {
+        List<Node> found = new ArrayList<>();
+
+        for (Map.Entry<String, Set<Node>> entry : textIndex.entrySet()) {
+            if (entry.getKey().contains(partialText)) {
+                found.addAll(entry.getValue());
+            }
+        }
+
+        return within(scope, found);
+    }
+
+    /**
+     * @return Nodes within the scope which match the predicate, in document order. Walks the whole
+     * scope; prefer the indexed lookups.
+     */
+    synchronized List<Node> matching(Node scope, Predicate<Node> predicate) {
+        List<Node> found = new ArrayList<>();
+        Deque<Node> toVisit = new ArrayDeque<>(scope.childrenUnsafe());
+
+        while (!toVisit.isEmpty()) {
+            Node node = toVisit.pollFirst();
+
+            if (predicate.test(node)) {
+                found.add(node);
+            }
+
+            List<Node> children = node.childrenUnsafe();
+
+            for (int i = children.size() - 1; i >= 0; i--) {
+                toVisit.addFirst(children.get(i));
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * @return Nodes selected by the expression, evaluated with the scope as the context node, in
+     * document order. Anything the expression selects which is not a node, such as an attribute, is
+     * ignored.
+     */
+    synchronized List<Node> withXPath(Node scope, String xpath) {
+        updateMirror();
+
+        NodeList result;
+
+        try {
+            result = (NodeList) XPathFactory.newInstance().newXPath()
+                    .evaluate(xpath, mirrors.get(scope), XPathConstants.NODESET);
+        } catch (XPathExpressionException e) {
+            throw new DarcyException("Invalid xpath: " + xpath, e);
+        }
+
+        List<Node> found = new ArrayList<>(result.getLength());
+
+        for (int i = 0; i < result.getLength(); i++) {
+            Node node = mirrored.get(result.item(i));
+
+            if (node != null) {
+                found.add(node);
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Adds the node and its descendants to the tree and its indexes. Callers must hold the tree's
+     * lock.
+     */
+    void attached(Node node) {
+        forEachInSubtree(node, n -> {
+            n.setTree(this);
+
+            n.attributesUnsafe().forEach((name, value) -> index(n, name, value));
+            indexText(n, n.textUnsafe());
+        });
+
+        structureChanged();
+    }
+
+    /**
+     * Removes the node and its descendants from the tree and its indexes. Callers must hold the
+     * tree's lock.
+     */
+    void detached(Node node) {
+        forEachInSubtree(node, n -> {
+            n.attributesUnsafe().forEach((name, value) -> unindex(n, name, value));
+            unindexText(n, n.textUnsafe());
+
+            n.setTree(null);
+        });
+
+        structureChanged();
+    }
+
+    void attributeChanged(Node node, String name, String oldValue, String newValue) {
+        if (oldValue != null) {
+            unindex(node, name, oldValue);
+        }
+
+        if (newValue != null) {
+            index(node, name, newValue);
+        }
+
+        changed();
+    }
+
+    void textChanged(Node node, String oldText, String newText) {
+        unindexText(node, oldText);
+        indexText(node, newText);
+
+        changed();
+    }
+
+    private void structureChanged() {
+        structureVersion++;
+        changed();
+    }
+
+    private void changed() {
+        version++;
+
+        for (Runnable listener : changeListeners) {
+            listener.run();
+        }
+    }
+
+    private void index(Node node, String name, String value) {
+        attributeIndex.computeIfAbsent(name, n -> new HashMap<>())
+                .computeIfAbsent(value, v -> new HashSet<>())
+                .add(node);
+    }
+
+    private void unindex(Node node, String name, String value) {
+        Map<String, Set<Node>> values = attributeIndex.get(name);
+
+        if (values == null) {
+            return;
+        }
+
+        Set<Node> nodes = values.get(value);
+
+        if (nodes != null && nodes.remove(node) && nodes.isEmpty()) {
+            values.remove(value);
+        }
+    }
+
+    private void indexText(Node node, String text) {
+        if (!text.isEmpty()) {
+            textIndex.computeIfAbsent(text, t -> new HashSet<>()).add(node);
+        }
+    }
+
+    private void unindexText(Node node, String text) {
+        Set<Node> nodes = textIndex.get(text);
+
+        if (nodes != null && nodes.remove(node) && nodes.isEmpty()) {
+            textIndex.remove(text);
+        }
+    }
+
+    /**
+     * @return The nodes which are strict descendants of the scope, in document order.
+     */
+    private List<Node> within(Node scope, Iterable<Node> nodes) {
+        List<Node> found = new ArrayList<>();
+
+        for (Node node : nodes) {
+            if (scope == root ? node != root : node.isDescendantOf(scope)) {
+                found.add(node);
+            }
+        }
+
+        if (found.size() > 1) {
+            updateOrder();
+            found.sort(Comparator.comparingInt(n -> n.order));
+        }
+
+        return found;
+    }
+
+    /**
+     * Numbers every node in document order, if the structure of the tree has changed since it was
+     * last numbered.
+     */
+    private void updateOrder() {
+        if (orderedVersion == structureVersion) {
+            return;
+        }
+
+        int[] next = {0};
+        forEachInSubtree(root, n -> n.order = next[0]++);
+
+        orderedVersion = structureVersion;
+    }
+
+    private void updateMirror() {
+        if (mirroredVersion == version) {
+            return;
+        }
+
+        try {
+            mirror = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        } catch (ParserConfigurationException e) {
+            throw new DarcyException("Could not create a document to evaluate xpath with", e);
+        }
+
+        mirrored = new IdentityHashMap<>();
+        mirrors = new IdentityHashMap<>();
+        mirror.appendChild(mirror(root));
+        mirroredVersion = version;
+    }
+
+    private Element mirror(Node node) {
+        Element element = mirror.createElement(node.tag());
+
+        node.attributesUnsafe().forEach(element::setAttribute);
+
+        if (!node.textUnsafe().isEmpty()) {
+            element.appendChild(mirror.createTextNode(node.textUnsafe()));
+        }
+
+        for (Node child : node.childrenUnsafe()) {
+            element.appendChild(mirror(child));
+        }
+
+        mirrored.put(element, node);
+        mirrors.put(node, element);
+
+        return element;
+    }
+
+    private static void forEachInSubtree(Node node, Consumer<Node> action) {
+        Deque<Node> toVisit = new ArrayDeque<>();
+        toVisit.push(node);
+
+        while (!toVisit.isEmpty()) {
+            Node next = toVisit.pop();
+
+            action.accept(next);
+
+            List<Node> children = next.childrenUnsafe();
+
+            for (int i = children.size() - 1; i >= 0; i--) {
+                toVisit.push(children.get(i));
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ElementTree: {root: " + root + "}";
+    }
+}
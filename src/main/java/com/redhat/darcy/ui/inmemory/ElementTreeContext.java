@@ -0,0 +1,230 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.inmemory;
+
+import com.redhat.darcy.ui.DarcyException;
+import com.redhat.darcy.ui.FindableNotPresentException;
+import com.redhat.darcy.ui.api.Context;
+import com.redhat.darcy.ui.api.FindableElementContext;
+import com.redhat.darcy.ui.api.elements.HasAttributes;
+import com.redhat.darcy.ui.internal.HasGeneration;
+import com.redhat.darcy.ui.internal.ObservableContext;
+import com.redhat.darcy.ui.internal.ReadsAttributesByBatch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Finds {@link NodeElement elements} among the descendants of a node of an {@link ElementTree},
+ * with every locator strategy. The context of a whole tree is its {@link ElementTree#context()};
+ * the context of an element, within which nested and chained locators find, is
+ * {@link NodeElement#context()}.
+ *
+ * <p>Contexts are findable, so that an {@link ElementForest} can find the context of a tree,
+ * such as a window. A context is present as long as its node is part of its tree.
+ */
+public class ElementTreeContext extends NodeContext implements FindableElementContext,
+        ObservableContext, ReadsAttributesByBatch, HasGeneration {
+    private final ElementTree tree;
+    private final Node scope;
+    private final String description;
+
+    ElementTreeContext(ElementTree tree, Node scope) {
+        this.tree = tree;
+        this.scope = scope;
+        this.description = null;
+    }
+
+    /**
+     * A context which is not present, because nothing was found.
+     */
+    ElementTreeContext(String description) {
+        this.tree = null;
+        this.scope = null;
+        this.description = description;
+    }
+
+    /**
+     * @return The tree this context finds within, or null if it is not present.
+     */
+    public ElementTree tree() {
+        return tree;
+    }
+
+    /**
+     * @return The node whose descendants this context finds, or null if it is not present.
+     */
+    public Node scope() {
+        return scope;
+    }
+
+    @Override
+    public boolean isPresent() {
+        return scope != null && scope.tree() == tree;
+    }
+
+    /**
+     * @param listener Run whenever any node of the tree changes, not only the nodes within this
+     * context. A context which is not present never changes.
+     */
+    @Override
+    public void addChangeListener(Runnable listener) {
+        if (tree != null) {
+            tree.addChangeListener(listener);
+        }
+    }
+
+    @Override
+    public void removeChangeListener(Runnable listener) {
+        if (tree != null) {
+            tree.removeChangeListener(listener);
+        }
+    }
+
+    /**
+     * @return The tree's {@link ElementTree#version() version}, which changes whenever any node of
+     * the tree changes.
+     */
+    @Override
+    public long generation() {
+        return tree == null ? 0 : tree.version();
+    }
+
+    /**
+     * Reads the attribute of all the elements in a single round trip.
+     */
+    @Override
+    public List<String> getAttributeOfAll(List<?> elements, String attribute) {
+        roundTrip();
+
+        List<String> values = new ArrayList<>(elements.size());
+
+        for (Object element : elements) {
+            if (element instanceof NodeElement) {
+                Node node = ((NodeElement) element).node();
+                values.add(node == null ? null : node.attribute(attribute));
+            } else {
+                values.add(((HasAttributes) element).getAttribute(attribute));
+            }
+        }
+
+        return values;
+    }
+
+    @Override
+    void roundTrip() {
+        if (tree != null) {
+            tree.roundTrip();
+        }
+    }
+
+    @Override
+    List<Node> withAttribute(String name, String value) {
+        return tree().withAttribute(presentScope(), name, value);
+    }
+
+    @Override
+    List<Node> withText(String text) {
+        return tree().withText(presentScope(), text);
+    }
+
+    @Override
+    List<Node> withTextContaining(String partialText) {
+        return tree().withTextContaining(presentScope(), partialText);
+    }
+
+    @Override
+    List<Node> withXPath(String xpath) {
+        return tree().withXPath(presentScope(), xpath);
+    }
+
+    @Override
+    List<ElementTreeContext> viewContexts() {
+        return Collections.singletonList(this);
+    }
+
+    @Override
+    Context asContext() {
+        return this;
+    }
+
+    @Override
+    <T> T wrap(Class<T> type, Node node) {
+        if (type.isAssignableFrom(NodeElement.class)) {
+            return type.cast(new NodeElement(tree, node));
+        }
+
+        if (type.isAssignableFrom(ElementTreeContext.class)) {
+            return type.cast(new ElementTreeContext(tree, node));
+        }
+
+        throw new DarcyException("Element trees find elements as NodeElement, which is not a "
+                + type.getName());
+    }
+
+    /**
+     * Elements found one at a time keep their lookup, and find again if their node is not part of
+     * the tree, as darcy's own elements are found again.
+     */
+    @Override
+    <T> T first(Class<T> type, Supplier<List<Node>> lookup, String description) {
+        if (type.isAssignableFrom(NodeElement.class)) {
+            return type.cast(new NodeElement(tree, () -> {
+                List<Node> found = isPresent() ? lookup.get() : Collections.emptyList();
+                return found.isEmpty() ? null : found.get(0);
+            }, description));
+        }
+
+        List<Node> found = lookup.get();
+
+        return found.isEmpty() ? notFound(type, description) : wrap(type, found.get(0));
+    }
+
+    @Override
+    <T> T notFound(Class<T> type, String description) {
+        if (type.isAssignableFrom(NodeElement.class)) {
+            return type.cast(new NodeElement(tree, () -> null, description));
+        }
+
+        if (type.isAssignableFrom(ElementTreeContext.class)) {
+            return type.cast(new ElementTreeContext(description));
+        }
+
+        throw new DarcyException("Element trees find elements as NodeElement, which is not a "
+                + type.getName());
+    }
+
+    private Node presentScope() {
+        if (!isPresent()) {
+            throw new FindableNotPresentException(this);
+        }
+
+        return scope;
+    }
+
+    @Override
+    public String toString() {
+        return scope == null
+                ? "ElementTreeContext: {not found: " + description + "}"
+                : "ElementTreeContext: {scope: " + scope + "}";
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.inmemory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A node of an {@link ElementTree}, with a tag, attributes, text, and children, much like an
+ * element of an HTML document. Nodes may be changed at any time, whether or not they are part of a
+ * tree, and the tree's indexes are kept up to date.
+ *
+ * <p>The state of form elements is kept in attributes, as in HTML: {@code disabled},
+ * {@code hidden}, {@code checked}, {@code selected}, and {@code value}.
+ */
+public final class Node {
+    private final String tag;
+    private final Map<String, String> attributes = new LinkedHashMap<>();
+    private final List<Node> children = new ArrayList<>();
+    private final Map<String, List<Runnable>> handlers = new HashMap<>();
+
+    private String text = "";
+    private Node parent;
+    private volatile ElementTree tree;
+
+    /**
+     * Document order, as last numbered by the tree.
+     */
+    int order;
+
+    public Node(String tag) {
+        this.tag = Objects.requireNonNull(tag, "tag");
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * @return The value of the attribute, or null if the node has no such attribute.
+     */
+    public String attribute(String name) {
+        synchronized (lock()) {
+            return attributes.get(name);
+        }
+    }
+
+    public boolean hasAttribute(String name) {
+        synchronized (lock()) {
+            return attributes.containsKey(name);
+        }
+    }
+
+    public Map<String, String> attributes() {
+        synchronized (lock()) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+        }
+    }
+
+    /**
+     * @return The node's own text, not including the text of its children.
+     */
+    public String text() {
+        synchronized (lock()) {
+            return text;
+        }
+    }
+
+    /**
+     * @return The parent of this node, or null if it is the root of a tree or has not been added to
+     * one.
+     */
+    public Node parent() {
+        synchronized (lock()) {
+            return parent;
+        }
+    }
+
+    public List<Node> children() {
+        synchronized (lock()) {
+            return Collections.unmodifiableList(new ArrayList<>(children));
+        }
+    }
+
+    /**
+     * @return The tree this node is part of, or null if it has not been added to one, or has been
+     * removed.
+     */
+    public ElementTree tree() {
+        synchronized (lock()) {
+            return tree;
+        }
+    }
+
+    /**
+     * Sets an attribute, or removes it if the value is null.
+     */
+    public Node setAttribute(String name, String value) {
+        Objects.requireNonNull(name, "name");
+
+        synchronized (lock()) {
+            String old = value == null ? attributes.remove(name) : attributes.put(name, value);
+
+            if (tree != null && !Objects.equals(old, value)) {
+                tree.attributeChanged(this, name, old, value);
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Sets an attribute with an empty value, such as {@code disabled} or {@code hidden}.
+     */
+    public Node setAttribute(String name) {
+        return setAttribute(name, "");
+    }
+
+    public Node removeAttribute(String name) {
+        return setAttribute(name, null);
+    }
+
+    public Node setText(String text) {
+        Objects.requireNonNull(text, "text");
+
+        synchronized (lock()) {
+            String old = this.text;
+            this.text = text;
+
+            if (tree != null && !old.equals(text)) {
+                tree.textChanged(this, old, text);
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds children to the end of this node's children, first removing them from their current
+     * parent, if they have one.
+     */
+    public Node append(Node... children) {
+        for (Node child : children) {
+            Objects.requireNonNull(child, "child");
+
+            child.remove();
+
+            synchronized (lock()) {
+                for (Node ancestor = this; ancestor != null; ancestor = ancestor.parent) {
+                    if (ancestor == child) {
+                        throw new IllegalArgumentException("Cannot append a node to itself or "
+                                + "one of its descendants: " + child);
+                    }
+                }
+
+                this.children.add(child);
+                child.parent = this;
+
+                if (tree != null) {
+                    tree.attached(child);
+                }
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Removes this node, and its descendants, from its parent and tree. Elements found for them
+     * are then no longer present.
+     */
+    public Node remove() {
+        synchronized (lock()) {
+            if (parent != null) {
+                parent.children.remove(this);
+                parent = null;
+
+                if (tree != null) {
+                    tree.detached(this);
+                }
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds a handler, which is run when the specified event is fired, such as {@code "click"} when
+     * an element of this node is clicked, or {@code "submit"} when a form is submitted. Handlers
+     * may change the tree, for instance to simulate navigating to another page.
+     */
+    public Node on(String event, Runnable handler) {
+        Objects.requireNonNull(event, "event");
+        Objects.requireNonNull(handler, "handler");
+
+        synchronized (lock()) {
+            handlers.computeIfAbsent(event, e -> new ArrayList<>()).add(handler);
+        }
+
+        return this;
+    }
+
+    /**
+     * Runs the handlers of an event, outside of any lock, so that they may change the tree.
+     */
+    public void fire(String event) {
+        List<Runnable> toRun;
+
+        synchronized (lock()) {
+            toRun = new ArrayList<>(handlers.getOrDefault(event, Collections.emptyList()));
+        }
+
+        toRun.forEach(Runnable::run);
+    }
+
+    /**
+     * @return Whether this node is a strict descendant of the other.
+     */
+    public boolean isDescendantOf(Node other) {
+        synchronized (lock()) {
+            for (Node ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+                if (ancestor == other) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * @return Whether this node, or any of its ancestors, has a {@code hidden} attribute.
+     */
+    public boolean isHidden() {
+        synchronized (lock()) {
+            for (Node node = this; node != null; node = node.parent) {
+                if (node.attributes.containsKey("hidden")) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Nodes which are part of a tree are guarded by the tree, so that lookups see a consistent
+     * tree and indexes.
+     */
+    Object lock() {
+        ElementTree owner = tree;
+        return owner == null ? this : owner;
+    }
+
+    void setTree(ElementTree tree) {
+        this.tree = tree;
+    }
+
+    /**
+     * For the tree to walk without copying; callers must hold the tree's lock.
+     */
+    List<Node> childrenUnsafe() {
+        return children;
+    }
+
+    Map<String, String> attributesUnsafe() {
+        return attributes;
+    }
+
+    String textUnsafe() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return "Node: {tag: " + tag + ", attributes: " + attributes + ", text: " + text + "}";
+    }
+}
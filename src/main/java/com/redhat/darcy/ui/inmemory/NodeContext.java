@@ -0,0 +1,320 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.inmemory;
+
+import com.redhat.darcy.ui.DarcyException;
+import com.redhat.darcy.ui.api.Context;
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.View;
+import com.redhat.darcy.ui.api.elements.Element;
+import com.redhat.darcy.ui.api.elements.Findable;
+import com.redhat.darcy.ui.internal.FindsByAttribute;
+import com.redhat.darcy.ui.internal.FindsById;
+import com.redhat.darcy.ui.internal.FindsByLinkText;
+import com.redhat.darcy.ui.internal.FindsByName;
+import com.redhat.darcy.ui.internal.FindsByNested;
+import com.redhat.darcy.ui.internal.FindsByPartialTextContent;
+import com.redhat.darcy.ui.internal.FindsByTextContent;
+import com.redhat.darcy.ui.internal.FindsByTitle;
+import com.redhat.darcy.ui.internal.FindsByView;
+import com.redhat.darcy.ui.internal.FindsByXPath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Implements every locator strategy in terms of a few lookups of {@link Node nodes}, which
+ * subclasses answer and wrap as whatever they find: elements, for an {@link ElementTreeContext},
+ * or contexts, for an {@link ElementForest}.
+ */
+abstract class NodeContext implements FindsById, FindsByName, FindsByXPath, FindsByAttribute,
+        FindsByTextContent, FindsByPartialTextContent, FindsByLinkText, FindsByTitle,
+        FindsByNested, FindsByView {
+
+    /**
+     * Simulates the latency of a find.
+     */
+    abstract void roundTrip();
+
+    abstract List<Node> withAttribute(String name, String value);
+
+    abstract List<Node> withText(String text);
+
+    abstract List<Node> withTextContaining(String partialText);
+
+    abstract List<Node> withXPath(String xpath);
+
+    /**
+     * @return The contexts in which a view may be loaded, for {@link FindsByView}.
+     */
+    abstract List<ElementTreeContext> viewContexts();
+
+    /**
+     * @return This, as the context the first of chained locators finds within.
+     */
+    abstract Context asContext();
+
+    /**
+     * @return The node as the specified type.
+     * @throws DarcyException if this context cannot find that type.
+     */
+    abstract <T> T wrap(Class<T> type, Node node);
+
+    /**
+     * @return The first node found by the lookup as the specified type, or something which is not
+     * present if nothing was found.
+     * @param description Describes what was being found.
+     */
+    abstract <T> T first(Class<T> type, Supplier<List<Node>> lookup, String description);
+
+    /**
+     * @return Something of the specified type which is not present, for when nothing was found.
+     * @param description Describes what was being found.
+     */
+    abstract <T> T notFound(Class<T> type, String description);
+
+    @Override
+    public <T> List<T> findAllById(Class<T> type, String id) {
+        roundTrip();
+        return wrapAll(type, withAttribute("id", id));
+    }
+
+    @Override
+    public <T> T findById(Class<T> type, String id) {
+        roundTrip();
+        return first(type, () -> withAttribute("id", id), "id: " + id);
+    }
+
+    @Override
+    public <T> List<T> findAllByName(Class<T> type, String name) {
+        roundTrip();
+        return wrapAll(type, withAttribute("name", name));
+    }
+
+    @Override
+    public <T> T findByName(Class<T> type, String name) {
+        roundTrip();
+        return first(type, () -> withAttribute("name", name), "name: " + name);
+    }
+
+    @Override
+    public <T> List<T> findAllByTitle(Class<T> type, String title) {
+        roundTrip();
+        return wrapAll(type, withAttribute("title", title));
+    }
+
+    @Override
+    public <T> T findByTitle(Class<T> type, String title) {
+        roundTrip();
+        return first(type, () -> withAttribute("title", title), "title: " + title);
+    }
+
+    @Override
+    public <T> List<T> findAllByAttribute(Class<T> type, String attribute, String value) {
+        roundTrip();
+        return wrapAll(type, withAttribute(attribute, value));
+    }
+
+    @Override
+    public <T> T findByAttribute(Class<T> type, String attribute, String value) {
+        roundTrip();
+        return first(type, () -> withAttribute(attribute, value), attribute + ": " + value);
+    }
+
+    @Override
+    public <T> List<T> findAllByTextContent(Class<T> type, String textContent) {
+        roundTrip();
+        return wrapAll(type, withText(textContent));
+    }
+
+    @Override
+    public <T> T findByTextContent(Class<T> type, String textContent) {
+        roundTrip();
+        return first(type, () -> withText(textContent), "text content: " + textContent);
+    }
+
+    @Override
+    public <T> List<T> findAllByPartialTextContent(Class<T> type, String partialTextContent) {
+        roundTrip();
+        return wrapAll(type, withTextContaining(partialTextContent));
+    }
+
+    @Override
+    public <T> T findByPartialTextContent(Class<T> type, String partialTextContent) {
+        roundTrip();
+        return first(type, () -> withTextContaining(partialTextContent),
+                "partial text content: " + partialTextContent);
+    }
+
+    @Override
+    public <T> List<T> findAllByLinkText(Class<T> type, String linkText) {
+        roundTrip();
+        return wrapAll(type, links(withText(linkText)));
+    }
+
+    @Override
+    public <T> T findByLinkText(Class<T> type, String linkText) {
+        roundTrip();
+        return first(type, () -> links(withText(linkText)), "link text: " + linkText);
+    }
+
+    @Override
+    public <T> List<T> findAllByXPath(Class<T> type, String xpath) {
+        roundTrip();
+        return wrapAll(type, withXPath(xpath));
+    }
+
+    @Override
+    public <T> T findByXPath(Class<T> type, String xpath) {
+        roundTrip();
+        return first(type, () -> withXPath(xpath), "xpath: " + xpath);
+    }
+
+    @Override
+    public <T> List<T> findAllByNested(Class<T> type, Element parent, Locator child) {
+        return findAll(type, child, contextOf(parent));
+    }
+
+    @Override
+    public <T> T findByNested(Class<T> type, Element parent, Locator child) {
+        return find(type, child, contextOf(parent));
+    }
+
+    @Override
+    public <T> List<T> findAllByChained(Class<T> type, Locator... locators) {
+        List<T> found = new ArrayList<>();
+
+        for (Context context : chain(locators)) {
+            found.addAll(findAll(type, locators[locators.length - 1], context));
+        }
+
+        return found;
+    }
+
+    @Override
+    public <T> T findByChained(Class<T> type, Locator... locators) {
+        for (Context context : chain(locators)) {
+            T found = find(type, locators[locators.length - 1], context);
+
+            if (((Findable) found).isPresent()) {
+                return found;
+            }
+        }
+
+        return notFound(type, "chained: " + Arrays.toString(locators));
+    }
+
+    @Override
+    public <T> List<T> findAllByView(Class<T> type, View view) {
+        List<T> found = new ArrayList<>();
+
+        for (ElementTreeContext context : viewContexts()) {
+            view.setContext(context);
+
+            if (view.isLoaded()) {
+                found.add(castContext(type, context));
+            }
+        }
+
+        return found;
+    }
+
+    @Override
+    public <T> T findByView(Class<T> type, View view) {
+        List<T> found = findAllByView(type, view);
+
+        return found.isEmpty() ? notFound(type, "view: " + view) : found.get(0);
+    }
+
+    /**
+     * @return The context of an element found by an element tree, within which nested locators
+     * find.
+     */
+    static ElementTreeContext contextOf(Object found) {
+        if (found instanceof ElementTreeContext) {
+            return (ElementTreeContext) found;
+        }
+
+        if (found instanceof NodeElement) {
+            return ((NodeElement) found).context();
+        }
+
+        throw new DarcyException("Can only find within elements and contexts found by an "
+                + "element tree, but got: " + found);
+    }
+
+    static <T> T castContext(Class<T> type, ElementTreeContext context) {
+        if (!type.isInstance(context)) {
+            throw new DarcyException("Element trees find contexts as ElementTreeContext, "
+                    + "which is not a " + type.getName());
+        }
+
+        return type.cast(context);
+    }
+
+    /**
+     * Locators only find {@link Findable Findables}, but the FindsBy interfaces find any type;
+     * whatever is found is checked by {@link #wrap(Class, Node)}.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T find(Class<T> type, Locator locator, Context context) {
+        return (T) locator.find((Class<Findable>) type, context);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> findAll(Class<T> type, Locator locator, Context context) {
+        return (List<T>) locator.findAll((Class<Findable>) type, context);
+    }
+
+    /**
+     * @return The contexts found by all but the last locator, each found within those found by
+     * the locator before it.
+     */
+    private List<Context> chain(Locator... locators) {
+        List<Context> contexts = Collections.singletonList(asContext());
+
+        for (int i = 0; i < locators.length - 1; i++) {
+            List<Context> next = new ArrayList<>();
+
+            for (Context context : contexts) {
+                for (Findable found : locators[i].findAll(Findable.class, context)) {
+                    next.add(contextOf(found));
+                }
+            }
+
+            contexts = next;
+        }
+
+        return contexts;
+    }
+
+    private <T> List<T> wrapAll(Class<T> type, List<Node> nodes) {
+        return nodes.stream().map(n -> wrap(type, n)).collect(Collectors.toList());
+    }
+
+
+    private static List<Node> links(List<Node> nodes) {
+        return nodes.stream().filter(n -> "a".equals(n.tag())).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.inmemory;
+
+import com.redhat.darcy.ui.FindableNotPresentException;
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.elements.Button;
+import com.redhat.darcy.ui.api.elements.Checkbox;
+import com.redhat.darcy.ui.api.elements.DateInput;
+import com.redhat.darcy.ui.api.elements.FileSelect;
+import com.redhat.darcy.ui.api.elements.Form;
+import com.redhat.darcy.ui.api.elements.HasAttributes;
+import com.redhat.darcy.ui.api.elements.Label;
+import com.redhat.darcy.ui.api.elements.Link;
+import com.redhat.darcy.ui.api.elements.MultiSelect;
+import com.redhat.darcy.ui.api.elements.Radio;
+import com.redhat.darcy.ui.api.elements.Select;
+import com.redhat.darcy.ui.api.elements.SelectOption;
+import com.redhat.darcy.ui.api.elements.TextInput;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * An element of a {@link Node}, found by an {@link ElementTreeContext}. It implements every
+ * built-in element type, and behaves much like the corresponding HTML element: clicking a checkbox
+ * ({@code <input type="checkbox">}) toggles its {@code checked} attribute, typing into an input
+ * appends to its {@code value} attribute, and so on. Clicking also fires the node's
+ * {@code "click"} event, and submitting a form its {@code "submit"} event; see
+ * {@link Node#on(String, Runnable)}.
+ *
+ * <p>An element is present as long as its node is part of the tree it was found in. Interacting
+ * with an element that is not present throws a {@link FindableNotPresentException}, as it would
+ * for a stale element of a real user interface. Every call is a round trip to the tree, and takes
+ * its latency.
+ */
+public class NodeElement implements Button, Checkbox, DateInput, FileSelect, Form, Label, Link,
+        Radio, SelectOption, TextInput, HasAttributes, Select<NodeElement>,
+        MultiSelect<NodeElement> {
+    private final ElementTree tree;
+    private final Supplier<Node> lookup;
+    private final String description;
+
+    private volatile Node node;
+
+    /**
+     * An element of a node, such as one of many found at once. It is no longer present once its
+     * node is removed from the tree.
+     */
+    NodeElement(ElementTree tree, Node node) {
+        this.tree = Objects.requireNonNull(tree, "tree");
+        this.node = Objects.requireNonNull(node, "node");
+        this.lookup = null;
+        this.description = null;
+    }
+
+    /**
+     * An element of whichever node the lookup finds. It finds its node again whenever it has not
+     * found one yet, or its node has been removed from the tree.
+     *
+     * @param lookup Returns the node, or null if there is none.
+     * @param description Describes what the lookup finds.
+     */
+    NodeElement(ElementTree tree, Supplier<Node> lookup, String description) {
+        this.tree = tree;
+        this.lookup = Objects.requireNonNull(lookup, "lookup");
+        this.description = description;
+        this.node = lookup.get();
+    }
+
+    /**
+     * @return The node of this element, or null if none was found.
+     */
+    public Node node() {
+        Node current = node;
+
+        if (lookup != null && (current == null || current.tree() != tree)) {
+            current = lookup.get();
+            node = current;
+        }
+
+        return current;
+    }
+
+    /**
+     * @return A context which finds elements within this one.
+     */
+    public ElementTreeContext context() {
+        return new ElementTreeContext(tree, presentNode());
+    }
+
+    @Override
+    public boolean isPresent() {
+        roundTrip();
+        return isAttached();
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        roundTrip();
+        return isAttached() && !node().isHidden();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return !current().hasAttribute("disabled");
+    }
+
+    @Override
+    public String getAttribute(String attribute) {
+        return current().attribute(attribute);
+    }
+
+    @Override
+    public String getText() {
+        return current().text();
+    }
+
+    @Override
+    public String getLinkText() {
+        return getText();
+    }
+
+    @Override
+    public String getValue() {
+        String value = current().attribute("value");
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Does nothing if the element is disabled. Otherwise, toggles checkboxes, selects radios and
+     * options, and then fires the node's {@code "click"} event.
+     */
+    @Override
+    public void click() {
+        Node node = current();
+
+        if (node.hasAttribute("disabled")) {
+            return;
+        }
+
+        if (isInput(node, "checkbox")) {
+            toggleAttribute(node, "checked");
+        } else if (isInput(node, "radio") || "option".equals(node.tag())) {
+            select(node);
+        }
+
+        node.fire("click");
+    }
+
+    @Override
+    public void check() {
+        if (!isChecked()) {
+            click();
+        }
+    }
+
+    @Override
+    public void uncheck() {
+        if (isChecked()) {
+            click();
+        }
+    }
+
+    @Override
+    public boolean isChecked() {
+        return current().hasAttribute("checked");
+    }
+
+    @Override
+    public void toggle() {
+        click();
+    }
+
+    @Override
+    public void select() {
+        select(current());
+    }
+
+    @Override
+    public boolean isSelected() {
+        Node node = current();
+
+        return "option".equals(node.tag())
+                ? node.hasAttribute("selected")
+                : node.hasAttribute("checked");
+    }
+
+    @Override
+    public void select(Locator locator) {
+        locator.find(NodeElement.class, context()).select();
+    }
+
+    @Override
+    public List<NodeElement> getOptions() {
+        return options(false);
+    }
+
+    @Override
+    public List<NodeElement> getSelectedOptions() {
+        return options(true);
+    }
+
+    @Override
+    public Optional<NodeElement> getSelectedOption() {
+        return getSelectedOptions().stream().findFirst();
+    }
+
+    @Override
+    public void setDate(LocalDate date) {
+        current().setAttribute("value", date == null ? "" : date.toString());
+    }
+
+    @Override
+    public LocalDate getDate() {
+        String value = getValue();
+        return value.isEmpty() ? null : LocalDate.parse(value);
+    }
+
+    @Override
+    public void setFilePath(String path) {
+        current().setAttribute("value", path);
+    }
+
+    @Override
+    public void submit() {
+        current().fire("submit");
+    }
+
+    @Override
+    public void clearAndType(CharSequence... keysToType) {
+        current().setAttribute("value", String.join("", keysToType));
+    }
+
+    @Override
+    public void type(CharSequence... keysToType) {
+        Node node = current();
+        String value = node.attribute("value");
+
+        node.setAttribute("value", (value == null ? "" : value) + String.join("", keysToType));
+    }
+
+    @Override
+    public void clear() {
+        current().setAttribute("value", "");
+    }
+
+    /**
+     * @return The node, after a round trip.
+     * @throws FindableNotPresentException if the node is not part of the tree.
+     */
+    private Node current() {
+        roundTrip();
+        return presentNode();
+    }
+
+    private Node presentNode() {
+        Node current = node();
+
+        if (current == null || current.tree() != tree) {
+            throw new FindableNotPresentException(this);
+        }
+
+        return current;
+    }
+
+    private boolean isAttached() {
+        Node current = node();
+        return current != null && current.tree() == tree;
+    }
+
+    private void roundTrip() {
+        if (tree != null) {
+            tree.roundTrip();
+        }
+    }
+
+    private List<NodeElement> options(boolean selectedOnly) {
+        return tree.matching(current(), n -> "option".equals(n.tag())
+                && (!selectedOnly || n.hasAttribute("selected")))
+                .stream()
+                .map(n -> new NodeElement(tree, n))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Selects an option or radio. Other options of a select which is not {@code multiple}, and
+     * other radios of the same name, are deselected.
+     */
+    private void select(Node node) {
+        if ("option".equals(node.tag())) {
+            Node select = node.parent();
+
+            while (select != null && !"select".equals(select.tag())) {
+                select = select.parent();
+            }
+
+            if (select != null && !select.hasAttribute("multiple")) {
+                tree.matching(select, n -> "option".equals(n.tag()))
+                        .forEach(n -> n.removeAttribute("selected"));
+            }
+
+            node.setAttribute("selected");
+        } else {
+            String name = node.attribute("name");
+
+            if (name != null) {
+                tree.withAttribute(tree.root(), "name", name).stream()
+                        .filter(n -> isInput(n, "radio"))
+                        .forEach(n -> n.removeAttribute("checked"));
+            }
+
+            node.setAttribute("checked");
+        }
+    }
+
+    private static boolean isInput(Node node, String type) {
+        return "input".equals(node.tag()) && type.equals(node.attribute("type"));
+    }
+
+    private static void toggleAttribute(Node node, String attribute) {
+        if (node.hasAttribute(attribute)) {
+            node.removeAttribute(attribute);
+        } else {
+            node.setAttribute(attribute);
+        }
+    }
+
+    /**
+     * Elements of a single node are equal if they are of the same node. Elements which find their
+     * node again may later be of another node, so are only equal to themselves.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof NodeElement)) {
+            return false;
+        }
+
+        NodeElement other = (NodeElement) o;
+
+        return lookup == null && other.lookup == null && node == other.node
+                && tree == other.tree;
+    }
+
+    @Override
+    public int hashCode() {
+        return lookup == null ? System.identityHashCode(node) : System.identityHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        Node current = node;
+
+        return current == null
+                ? "NodeElement: {not found: " + description + "}"
+                : "NodeElement: {node: " + current + "}";
+    }
+}
@@ -24,202 +24,301 @@ import static com.redhat.darcy.ui.matchers.DarcyMatchers.present;
 import static com.redhat.darcy.ui.matchers.RequiredListMatcher.hasCorrectNumberOfItemsMatching;
 import static com.redhat.synq.HamcrestCondition.match;
 
-import com.redhat.darcy.ui.DarcyException;
 import com.redhat.darcy.ui.NoRequiredElementsException;
-import com.redhat.darcy.ui.annotations.Context;
-import com.redhat.darcy.ui.annotations.NotRequired;
-import com.redhat.darcy.ui.annotations.Require;
-import com.redhat.darcy.ui.annotations.RequireAll;
-import com.redhat.darcy.ui.api.View;
 import com.redhat.darcy.ui.api.elements.Element;
 import com.redhat.darcy.ui.api.elements.Findable;
 import com.redhat.darcy.ui.matchers.LoadConditionMatcher;
 import com.redhat.synq.Condition;
-import com.redhat.synq.HamcrestCondition;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
-
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Determines the conditions under which a view is loaded, displayed, or present, from its required
+ * fields.
+ *
+ * <p>Views may be shared between threads, so an analyzer may be too. Everything it works out is
+ * published without locking: threads which need a result at the same time may each work it out,
+ * but all go on to use whichever result was published first, so that condition statistics are
+ * not split between copies.
+ */
 public class Analyzer {
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Analyzer, List> BATCH_FINDABLES =
+            AtomicReferenceFieldUpdater.newUpdater(Analyzer.class, List.class, "batchFindables");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Analyzer, List> IS_LOADED =
+            AtomicReferenceFieldUpdater.newUpdater(Analyzer.class, List.class, "isLoaded");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Analyzer, List> IS_DISPLAYED =
+            AtomicReferenceFieldUpdater.newUpdater(Analyzer.class, List.class, "isDisplayed");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Analyzer, List> IS_PRESENT =
+            AtomicReferenceFieldUpdater.newUpdater(Analyzer.class, List.class, "isPresent");
+    private static final AtomicReferenceFieldUpdater<Analyzer, Required> REQUIRED =
+            AtomicReferenceFieldUpdater.newUpdater(Analyzer.class, Required.class, "required");
+
     private final Object view;
-    private final List<Field> required;
+    private final ViewBinder<Object> binder;
 
-    private List<RequiredList<Object>> requiredLists;
-    private List<Object> requiredObjects;
+    private volatile Required required;
+    private volatile List<Object> batchFindables;
 
-    private List<Condition<?>> isLoaded;
-    private List<Condition<?>> isDisplayed;
-    private List<Condition<?>> isPresent;
+    private volatile List<MeasuredCondition<?>> isLoaded;
+    private volatile List<MeasuredCondition<?>> isDisplayed;
+    private volatile List<MeasuredCondition<?>> isPresent;
 
     /**
      * @param view A view with at least one field that is an
      * {@link com.redhat.darcy.ui.api.elements.Element}, {@link com.redhat.darcy.ui.api.View},
      * {@link com.redhat.darcy.ui.api.elements.Findable}, or {@link java.util.List} of those types,
      * and is annotated as required.
-     * @param fields All of the fields declared for the specified View (including fields in parent
-     * classes}. Fields are expected to be accessible.
+     * @param binder The {@link ViewBinder} for the specified view's class.
      */
-    public Analyzer(Object view, List<Field> fields) {
+    public Analyzer(Object view, ViewBinder<Object> binder) {
         this.view = Objects.requireNonNull(view, "view");
-        this.required = filterRequired(Objects.requireNonNull(fields, "fields"));
+        this.binder = Objects.requireNonNull(binder, "binder");
     }
 
+    /**
+     * @return Conditions which are all met when the view is loaded. The order adapts to how each
+     * condition has fared before: conditions which are quick to evaluate and often not met come
+     * first, so that checks which stop at the first unmet condition stop sooner.
+     * @see #getLoadConditionStats()
+     */
     public List<Condition<?>> getLoadConditions() {
+        findRequiredInBatch();
+
+        return MeasuredCondition.inCostOrder(loadConditions());
+    }
+
+    /**
+     * @return Conditions which are all met when the view is displayed, ordered as in
+     * {@link #getLoadConditions()}.
+     * @see #getDisplayConditionStats()
+     */
+    public List<Condition<?>> getDisplayConditions() {
+        findRequiredInBatch();
+
+        return MeasuredCondition.inCostOrder(displayConditions());
+    }
+
+    /**
+     * @return Conditions which are all met when the view is present, ordered as in
+     * {@link #getLoadConditions()}.
+     * @see #getIsPresentConditionStats()
+     */
+    public List<Condition<?>> getIsPresentConditions() {
+        findRequiredInBatch();
+
+        return MeasuredCondition.inCostOrder(isPresentConditions());
+    }
+
+    /**
+     * @return How each load condition has fared so far, in the order the conditions would be
+     * evaluated next.
+     */
+    public List<ConditionStats> getLoadConditionStats() {
+        return MeasuredCondition.statsInCostOrder(loadConditions());
+    }
+
+    /**
+     * @return How each display condition has fared so far, in the order the conditions would be
+     * evaluated next.
+     */
+    public List<ConditionStats> getDisplayConditionStats() {
+        return MeasuredCondition.statsInCostOrder(displayConditions());
+    }
+
+    /**
+     * @return How each presence condition has fared so far, in the order the conditions would be
+     * evaluated next.
+     */
+    public List<ConditionStats> getIsPresentConditionStats() {
+        return MeasuredCondition.statsInCostOrder(isPresentConditions());
+    }
+
+    private List<MeasuredCondition<?>> loadConditions() {
+        List<MeasuredCondition<?>> isLoaded = this.isLoaded;
+
         if (isLoaded == null) {
-            isLoaded = new ArrayList<>();
+            Required required = analyze();
 
-            analyze();
+            List<MeasuredCondition<?>> conditions = new ArrayList<>();
 
-            isLoaded.addAll(requiredObjects.stream()
-                    .map(o -> match(o, new LoadConditionMatcher()))
-                    .collect(Collectors.toList()));
+            required.objects.forEach(o -> addMeasured(conditions, o,
+                    match(o, new LoadConditionMatcher())));
 
-            isLoaded.addAll(requiredLists.stream()
-                    .map(l -> match(l.list(),
-                            hasCorrectNumberOfItemsMatching(l.atLeast(), l.atMost(),
-                            new LoadConditionMatcher())))
-                    .collect(Collectors.toList()));
+            required.lists.forEach(l -> addMeasured(conditions, l.list(),
+                    match(l.list(), hasCorrectNumberOfItemsMatching(l.atLeast(), l.atMost(),
+                            new LoadConditionMatcher()))));
 
-            if(isLoaded.isEmpty()) {
+            if(conditions.isEmpty()) {
                 throw new NoRequiredElementsException(view);
             }
+
+            isLoaded = publish(IS_LOADED, conditions);
         }
 
         return isLoaded;
     }
 
-    public List<Condition<?>> getDisplayConditions() {
+    private List<MeasuredCondition<?>> displayConditions() {
+        List<MeasuredCondition<?>> isDisplayed = this.isDisplayed;
+
         if (isDisplayed == null) {
-            isDisplayed = new ArrayList<>();
+            Required required = analyze();
 
-            analyze();
+            List<MeasuredCondition<?>> conditions = new ArrayList<>();
 
-            isDisplayed.addAll(requiredObjects.stream()
+            required.objects.stream()
                     .filter(o -> o instanceof Element) // Should check instance or field type?
-                    .map(e -> match((Element) e, displayed()))
-                    .collect(Collectors.toList()));
+                    .forEach(e -> addMeasured(conditions, e, match((Element) e, displayed())));
 
-            isDisplayed.addAll(requiredLists.stream()
+            required.lists.stream()
                     .filter(l -> Element.class.isAssignableFrom(l.genericType()))
-                    .map(l -> match(l.list(),
-                            hasCorrectNumberOfItemsMatching(l.atLeast(), l.atMost(), displayed())))
-                    .collect(Collectors.toList()));
+                    .forEach(l -> addMeasured(conditions, l.list(),
+                            match(l.list(), hasCorrectNumberOfItemsMatching(l.atLeast(),
+                                    l.atMost(), displayed()))));
 
-            if(isDisplayed.isEmpty()) {
+            if(conditions.isEmpty()) {
                 throw new NoRequiredElementsException(view);
             }
+
+            isDisplayed = publish(IS_DISPLAYED, conditions);
         }
 
         return isDisplayed;
     }
 
-    public List<Condition<?>> getIsPresentConditions() {
+    private List<MeasuredCondition<?>> isPresentConditions() {
+        List<MeasuredCondition<?>> isPresent = this.isPresent;
+
         if (isPresent == null) {
-            isPresent = new ArrayList<>();
+            Required required = analyze();
 
-            analyze();
+            List<MeasuredCondition<?>> conditions = new ArrayList<>();
 
-            isPresent.addAll(requiredObjects.stream()
+            required.objects.stream()
                     .filter(o -> o instanceof Findable) // Should check instance or field type?
-                    .map(f -> match((Findable) f, present()))
-                    .collect(Collectors.toList()));
+                    .forEach(f -> addMeasured(conditions, f, match((Findable) f, present())));
 
-            isPresent.addAll(requiredLists.stream()
+            required.lists.stream()
                     .filter(l -> Findable.class.isAssignableFrom(l.genericType()))
-                    .map(l -> match(l.list(),
-                            hasCorrectNumberOfItemsMatching(l.atLeast(), l.atMost(), present())))
-                    .collect(Collectors.toList()));
+                    .forEach(l -> addMeasured(conditions, l.list(),
+                            match(l.list(), hasCorrectNumberOfItemsMatching(l.atLeast(),
+                                    l.atMost(), present()))));
 
-            if(isPresent.isEmpty()) {
+            if(conditions.isEmpty()) {
                 throw new NoRequiredElementsException(view);
             }
+
+            isPresent = publish(IS_PRESENT, conditions);
         }
 
         return isPresent;
     }
 
     /**
-     * Reflectively examine the view, gathering, filtering, and sorting fields. The results are
-     * assigned to {@link #requiredLists} and {@link #requiredObjects}; fields that are lists and
-     * objects of fields that are not lists, respectively. This method is idempotent; subsequent
-     * calls after the first have no effect (fields need only be analyzed once).
+     * Publishes a result, unless another thread has already published one.
      *
-     * <p>Fields cannot be analyzed before they are assigned, which is why this analyze is delayed
-     * until needed. This way you can instantiate an Analyzer in a constructor or {@code <init>}
-     * without worrying about whether your class or subclass fields are assigned yet.
+     * @return Whichever result was published first.
      */
-    private void analyze() {
-        if (requiredLists != null && requiredObjects != null) {
-            return;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T extends List> T publish(AtomicReferenceFieldUpdater<Analyzer, List> field,
+            T value) {
+        if (field.compareAndSet(this, null, value)) {
+            return value;
         }
 
-        requiredLists = required.stream()
-                .filter(this::isList)
-                .map(f -> new RequiredList<>(f, view))
-                .filter(l -> Element.class.isAssignableFrom(l.genericType()) ||
-                        View.class.isAssignableFrom(l.genericType()) ||
-                        Findable.class.isAssignableFrom(l.genericType()))
-                .collect(Collectors.toList());
-
-        requiredObjects = required.stream()
-                .filter(f -> !isList(f))
-                .map(this::fieldToObject)
-                .collect(Collectors.toList());
-
-        if (requiredLists.isEmpty() && requiredObjects.isEmpty()) {
-            throw new NoRequiredElementsException(view);
-        }
+        return (T) field.get(this);
     }
 
-    private List<Field> filterRequired(List<Field> fields) {
-        return fields.stream()
-                .filter(this::isViewElementFindableOrList)
-                .filter(this::isNotAnnotatedWithContext)
-                .filter(this::isRequired)
-                .collect(Collectors.toList());
+    private static <T> void addMeasured(List<MeasuredCondition<?>> conditions, Object subject,
+            Condition<T> condition) {
+        conditions.add(new MeasuredCondition<>(conditions.size(), subject, condition));
     }
 
-    private boolean isList(Field f) {
-        return List.class.isAssignableFrom(f.getType());
-    }
+    /**
+     * Finds whatever the required elements and element lists have yet to find in a
+     * {@link FindBatch}, so that contexts which implement {@link FindsByBatch} are asked once,
+     * rather than once per element when the conditions are checked.
+     */
+    private void findRequiredInBatch() {
+        Required required = analyze();
+
+        List<Object> batchFindables = this.batchFindables;
+
+        if (batchFindables == null) {
+            List<Object> findables = new ArrayList<>();
+
+            required.objects.stream()
+                    .filter(o -> o instanceof BatchFindable)
+                    .forEach(findables::add);
 
-    private Object fieldToObject(Field f) {
-        try {
-            return f.get(view);
-        } catch (IllegalAccessException e) {
-            throw new DarcyException("Couldn't analyze required fields.", e);
+            required.lists.stream()
+                    .map(RequiredList::list)
+                    .filter(l -> l instanceof BatchFindable)
+                    .forEach(findables::add);
+
+            batchFindables = publish(BATCH_FINDABLES, findables);
         }
-    }
 
-    /**
-     * Those are only supported types which make sense to look at.
-     */
-    private boolean isViewElementFindableOrList(Field field) {
-        Class<?> fieldType = field.getType();
-        return View.class.isAssignableFrom(fieldType)
-                || Element.class.isAssignableFrom(fieldType)
-                || Findable.class.isAssignableFrom(fieldType)
-                || List.class.isAssignableFrom(fieldType);
+        if (!batchFindables.isEmpty()) {
+            FindBatch.findAll(batchFindables);
+        }
     }
 
     /**
-     * Contexts must be implicitly present if anything in this view is is to be present.
+     * Reads the values of the view's required fields, as determined by its {@link ViewBinder}.
+     * The results are published together as one {@link Required}. This method is idempotent;
+     * subsequent calls after the first return the same result (fields need only be analyzed
+     * once).
+     *
+     * <p>Fields cannot be analyzed before they are assigned, which is why this analyze is delayed
+     * until needed. This way you can instantiate an Analyzer in a constructor or {@code <init>}
+     * without worrying about whether your class or subclass fields are assigned yet.
+     *
+     * <p>Threads which analyze at the same time may each read the fields, but all go on to use
+     * whichever result was published first.
+     *
+     * @return The view's required fields.
      */
-    private boolean isNotAnnotatedWithContext(Field field) {
-        return field.getAnnotation(Context.class) == null;
+    private Required analyze() {
+        Required required = this.required;
+
+        if (required != null) {
+            return required;
+        }
+
+        List<RequiredList<Object>> lists = binder.getRequiredLists(view);
+        List<Object> objects = binder.getRequiredObjects(view);
+
+        if (lists.isEmpty() && objects.isEmpty()) {
+            throw new NoRequiredElementsException(view);
+        }
+
+        required = new Required(lists, objects);
+
+        if (REQUIRED.compareAndSet(this, null, required)) {
+            return required;
+        }
+
+        return this.required;
     }
 
     /**
-     * Determines whether a field is required or not based on combination of Require, RequireAll,
-     * and NotRequired annotations.
+     * The values of a view's required fields: those which are lists, and those which are not.
      */
-    private boolean isRequired(Field field) {
-        return field.getAnnotation(Require.class) != null
-                // Use the field's declaring class for RequireAll; may be a super class
-                || (field.getDeclaringClass().getAnnotation(RequireAll.class) != null
-                && field.getAnnotation(NotRequired.class) == null);
+    private static final class Required {
+        final List<RequiredList<Object>> lists;
+        final List<Object> objects;
+
+        Required(List<RequiredList<Object>> lists, List<Object> objects) {
+            this.lists = lists;
+            this.objects = objects;
+        }
     }
 }
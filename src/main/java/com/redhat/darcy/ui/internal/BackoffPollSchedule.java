@@ -0,0 +1,108 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks again soon after the first check, since views often load quickly, and then waits
+ * exponentially longer between each check, up to a maximum. Delays are jittered, so that many
+ * sessions waiting on the same server don't check in lockstep.
+ *
+ * <p>Delays are also kept long enough that checking takes no more than a budgeted fraction of the
+ * time spent waiting. A view whose check takes 200 milliseconds, with a budget of 10%, is checked
+ * at most every 2 seconds, however short the delay would otherwise be.
+ *
+ * <p>By default, the first delay is 10 milliseconds, each delay is twice as long as the last, up
+ * to 1 second, delays vary by up to 25%, and checks may take up to 10% of the time.
+ */
+public class BackoffPollSchedule implements PollSchedule {
+    private final long firstDelayNanos;
+    private final double multiplier;
+    private final long maxDelayNanos;
+    private final double jitter;
+    private final double checkBudget;
+
+    public BackoffPollSchedule() {
+        this(10, 2, 1000, TimeUnit.MILLISECONDS, 0.25, 0.1);
+    }
+
+    /**
+     * @param firstDelay How long to wait after the first check.
+     * @param multiplier How many times longer each delay is than the last; at least 1.
+     * @param maxDelay The longest delay, before the check budget is applied.
+     * @param unit The unit of firstDelay and maxDelay.
+     * @param jitter How much each delay is randomly shortened by, at most, as a fraction of it,
+     * from 0 (not at all) to 1.
+     * @param checkBudget The greatest fraction of time which may be spent checking, greater than 0
+     * and at most 1. 1 does not limit checking at all.
+     */
+    public BackoffPollSchedule(long firstDelay, double multiplier, long maxDelay, TimeUnit unit,
+            double jitter, double checkBudget) {
+        if (firstDelay < 0 || maxDelay < firstDelay) {
+            throw new IllegalArgumentException("Delays must satisfy 0 <= firstDelay <= maxDelay, "
+                    + "were: " + firstDelay + ", " + maxDelay);
+        }
+
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("multiplier must be 1 or greater, was: "
+                    + multiplier);
+        }
+
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("jitter must be from 0 to 1, was: " + jitter);
+        }
+
+        if (checkBudget <= 0 || checkBudget > 1) {
+            throw new IllegalArgumentException("checkBudget must be greater than 0 and at most 1, "
+                    + "was: " + checkBudget);
+        }
+
+        this.firstDelayNanos = unit.toNanos(firstDelay);
+        this.multiplier = multiplier;
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+        this.jitter = jitter;
+        this.checkBudget = checkBudget;
+    }
+
+    @Override
+    public long delayNanos(int checks, long lastCheckNanos) {
+        double backoff = firstDelayNanos * Math.pow(multiplier, Math.max(checks - 1, 0));
+        double delay = Math.min(backoff, maxDelayNanos);
+
+        if (jitter > 0) {
+            delay *= 1 - jitter * ThreadLocalRandom.current().nextDouble();
+        }
+
+        double budgeted = lastCheckNanos * (1 - checkBudget) / checkBudget;
+
+        return (long) Math.max(delay, budgeted);
+    }
+
+    @Override
+    public String toString() {
+        return "BackoffPollSchedule: {firstDelayNanos: " + firstDelayNanos
+                + ", multiplier: " + multiplier
+                + ", maxDelayNanos: " + maxDelayNanos
+                + ", jitter: " + jitter
+                + ", checkBudget: " + checkBudget + "}";
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+/**
+ * Implemented by lazy elements and element lists, so that what they have yet to find can be found
+ * along with others in a {@link FindBatch}.
+ */
+public interface BatchFindable {
+    /**
+     * Adds a request to the batch for what this would otherwise find the next time it is used, if
+     * it has a context and has not already found it.
+     */
+    void addToBatch(FindBatch batch);
+}
@@ -0,0 +1,148 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.DarcyException;
+
+import org.hamcrest.Matcher;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listens to an {@link ObservableContext}, so that something waiting on the context can sleep
+ * until the context changes, rather than for a fixed interval. Without a context to listen to, it
+ * sleeps as a {@link PollSchedule} decides.
+ *
+ * <p>Changes are counted rather than merely flagged, so that a waiter which reads the count
+ * before checking the context cannot miss a change made while it was checking.
+ */
+class ChangeSignal implements Runnable {
+    /**
+     * How long a wait on an {@link ObservableContext} sleeps, at most, without a change, in case a
+     * change was not signalled.
+     */
+    static final PollSchedule FALLBACK_POLL = PollSchedule.fixed(500, TimeUnit.MILLISECONDS);
+
+    private long changes;
+
+    @Override
+    public synchronized void run() {
+        changes++;
+        notifyAll();
+    }
+
+    synchronized long changes() {
+        return changes;
+    }
+
+    /**
+     * Sleeps until the count of changes differs from the specified count, or until the timeout
+     * elapses, whichever is first.
+     */
+    synchronized void awaitChangeSince(long seen, long timeoutNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        long remaining = timeoutNanos;
+
+        while (changes == seen && remaining > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+    }
+
+    /**
+     * @return Whether any of the contexts is an {@link ObservableContext}.
+     */
+    static boolean anyObservable(Object... contexts) {
+        for (Object context : contexts) {
+            if (context instanceof ObservableContext) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Waits for an object to match within whichever of the contexts is the first to be an
+     * {@link ObservableContext}, checking it when that context changes, or at the
+     * {@link #FALLBACK_POLL fallback} interval. If none of the contexts is observable, the object
+     * is checked as the schedule decides.
+     *
+     * @return True if the object matched before the timeout; false otherwise.
+     */
+    static <T> boolean awaitMatchIn(T object, Matcher<? super T> matcher, long timeout,
+            TimeUnit unit, PollSchedule schedule, Object... contexts) {
+        for (Object context : contexts) {
+            if (context instanceof ObservableContext) {
+                return awaitMatch((ObservableContext) context, object, matcher, timeout, unit,
+                        FALLBACK_POLL);
+            }
+        }
+
+        return awaitMatch(null, object, matcher, timeout, unit, schedule);
+    }
+
+    /**
+     * Waits for an object to match, checking it once at first, and then each time the context
+     * changes, or when the schedule's delay elapses without a change.
+     *
+     * @param context The context to listen to, or null if nothing signals changes, in which case
+     * the object is checked only as scheduled.
+     * @return True if the object matched before the timeout; false otherwise.
+     */
+    static <T> boolean awaitMatch(ObservableContext context, T object, Matcher<? super T> matcher,
+            long timeout, TimeUnit unit, PollSchedule schedule) {
+        ChangeSignal signal = new ChangeSignal();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        if (context != null) {
+            context.addChangeListener(signal);
+        }
+
+        try {
+            for (int checks = 1; ; checks++) {
+                long seen = signal.changes();
+                long start = System.nanoTime();
+
+                if (matcher.matches(object)) {
+                    return true;
+                }
+
+                long checked = System.nanoTime();
+                long remaining = deadline - checked;
+
+                if (remaining <= 0) {
+                    return false;
+                }
+
+                long delay = schedule.delayNanos(checks, checked - start);
+
+                signal.awaitChangeSince(seen, Math.min(remaining, delay));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DarcyException("Interrupted while waiting for " + object, e);
+        } finally {
+            if (context != null) {
+                context.removeChangeListener(signal);
+            }
+        }
+    }
+}
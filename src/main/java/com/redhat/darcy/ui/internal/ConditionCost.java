@@ -0,0 +1,89 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.internal;
+
+/**
+ * Keeps moving averages of how often a condition is not met and how long it takes to check, from
+ * which conditions which are all checked with short-circuiting can be ordered so that one which is
+ * not met is usually found sooner. Costs may be recorded and read from many threads at once.
+ *
+ * @see MeasuredCondition
+ * @see com.redhat.darcy.ui.api.elements.TableQuery
+ */
+public final class ConditionCost {
+    /**
+     * Weight of the newest observation in the moving averages.
+     */
+    static final double ALPHA = 0.25;
+
+    /**
+     * Lower bound of the failure rate used to order conditions, so that conditions which have not
+     * failed recently are still ordered by latency.
+     */
+    static final double MIN_FAILURE_RATE = 0.01;
+
+    private long evaluations;
+    private long failures;
+    private double failureRate = 0.5;
+    private double latencyNanos;
+
+    /**
+     * Records one check of the condition.
+     *
+     * @param met Whether the condition was met. Checks which threw count as not met.
+     * @param nanos How long the check took.
+     */
+    public synchronized void record(boolean met, long nanos) {
+        failureRate = ALPHA * (met ? 0 : 1) + (1 - ALPHA) * failureRate;
+        latencyNanos = evaluations == 0 ? nanos : ALPHA * nanos + (1 - ALPHA) * latencyNanos;
+
+        evaluations++;
+
+        if (!met) {
+            failures++;
+        }
+    }
+
+    /**
+     * @return How long the condition is expected to take to check, per time it is not met. Zero if
+     * it has not been checked yet, so that unchecked conditions are checked first.
+     */
+    public synchronized double expectedCostToFail() {
+        if (evaluations == 0) {
+            return 0;
+        }
+
+        return latencyNanos / Math.max(failureRate, MIN_FAILURE_RATE);
+    }
+
+    /**
+     * @param index Position of the condition in declaration order.
+     * @param subject What the condition is about.
+     */
+    synchronized ConditionStats stats(int index, Object subject) {
+        return new ConditionStats(index, subject, evaluations, failures, failureRate,
+                (long) latencyNanos);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ConditionCost: {evaluations: " + evaluations + ", failureRate: " + failureRate
+                + ", latencyNanos: " + (long) latencyNanos + "}";
+    }
+}
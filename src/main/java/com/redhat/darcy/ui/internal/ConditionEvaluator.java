@@ -0,0 +1,44 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.synq.Condition;
+
+import java.util.List;
+
+/**
+ * Determines whether all of a list of conditions are met, such as the load conditions of a view.
+ * Conditions are independent, so they may be evaluated in any order, or concurrently.
+ *
+ * @see ConditionEvaluators
+ * @see ParallelConditionEvaluator
+ */
+@FunctionalInterface
+public interface ConditionEvaluator {
+    boolean allMet(List<? extends Condition<?>> conditions);
+
+    /**
+     * @return An evaluator that checks conditions one at a time, in order, in the calling thread,
+     * stopping at the first which is not met.
+     */
+    static ConditionEvaluator sequential() {
+        return conditions -> conditions.stream().allMatch(Condition::isMet);
+    }
+}
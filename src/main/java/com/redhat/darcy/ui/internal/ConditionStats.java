@@ -0,0 +1,94 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+/**
+ * A snapshot of how a view's condition has fared, used to decide the order in which conditions are
+ * evaluated.
+ *
+ * @see Analyzer#getLoadConditionStats()
+ */
+public final class ConditionStats {
+    private final int index;
+    private final Object subject;
+    private final long evaluations;
+    private final long failures;
+    private final double failureRate;
+    private final long latencyNanos;
+
+    ConditionStats(int index, Object subject, long evaluations, long failures,
+            double failureRate, long latencyNanos) {
+        this.index = index;
+        this.subject = subject;
+        this.evaluations = evaluations;
+        this.failures = failures;
+        this.failureRate = failureRate;
+        this.latencyNanos = latencyNanos;
+    }
+
+    /**
+     * @return The position of the condition in declaration order: required objects in field order,
+     * followed by required lists.
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * @return The required object or list the condition is about.
+     */
+    public Object subject() {
+        return subject;
+    }
+
+    public long evaluations() {
+        return evaluations;
+    }
+
+    /**
+     * @return How many evaluations found the condition not met, or threw.
+     */
+    public long failures() {
+        return failures;
+    }
+
+    /**
+     * @return Moving average of how often the condition is not met, recent evaluations weighing
+     * most.
+     */
+    public double failureRate() {
+        return failureRate;
+    }
+
+    /**
+     * @return Moving average of how long the condition takes to evaluate, in nanoseconds.
+     */
+    public long latencyNanos() {
+        return latencyNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ConditionStats: {index: " + index + ", subject type: "
+                + (subject == null ? null : subject.getClass().getName())
+                + ", evaluations: " + evaluations + ", failures: " + failures
+                + ", failureRate: " + failureRate + ", latencyNanos: " + latencyNanos + "}";
+    }
+}
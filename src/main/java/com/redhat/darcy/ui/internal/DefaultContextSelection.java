@@ -40,12 +40,12 @@ public class DefaultContextSelection implements ContextSelection {
     
     @Override
     public <T extends Context & Findable> T contextOfType(Class<T> contextType, Locator locator) {
-        return locator.find(contextType, parentContext);
+        return Lookups.find(locator, contextType, parentContext);
     }
     
     @Override
     public <T extends Context & Findable> List<T> contextsOfType(Class<T> contextType, Locator locator) {
-        return locator.findAll(contextType, parentContext);
+        return Lookups.findAll(locator, contextType, parentContext);
     }
     
 }
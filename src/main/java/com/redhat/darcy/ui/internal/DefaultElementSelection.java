@@ -25,9 +25,15 @@ import com.redhat.darcy.ui.api.Locator;
 import com.redhat.darcy.ui.api.View;
 import com.redhat.darcy.ui.api.elements.Element;
 
+import java.util.ArrayList;
 import java.util.List;
 
-public class DefaultElementSelection implements ElementSelection {
+/**
+ * Finds elements and views by locators in a context. Also finds many at once, as a
+ * {@link FindsByBatch}; if the context is itself a {@link FindsByBatch}, this is done in one call
+ * to the context, otherwise each request is resolved in turn.
+ */
+public class DefaultElementSelection implements ElementSelection, FindsByBatch {
     private final ElementContext context;
 
     public DefaultElementSelection(ElementContext context) {
@@ -36,12 +42,27 @@ public class DefaultElementSelection implements ElementSelection {
 
     @Override
     public <T extends Element> T elementOfType(Class<T> elementType, Locator locator) {
-        return locator.find(elementType, context);
+        return Lookups.find(locator, elementType, context);
     }
 
     @Override
     public <T extends Element> List<T> elementsOfType(Class<T> elementType, Locator locator) {
-        return locator.findAll(elementType, context);
+        return Lookups.findAll(locator, elementType, context);
+    }
+
+    @Override
+    public List<Object> findAllBatch(List<LocatorRequest<?>> requests) {
+        if (context instanceof FindsByBatch) {
+            return ((FindsByBatch) context).findAllBatch(requests);
+        }
+
+        List<Object> results = new ArrayList<>(requests.size());
+
+        for (LocatorRequest<?> request : requests) {
+            results.add(request.resolveIn(context));
+        }
+
+        return results;
     }
 
     @Override
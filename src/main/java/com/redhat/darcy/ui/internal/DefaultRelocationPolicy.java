@@ -0,0 +1,145 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.FindableNotPresentException;
+import com.redhat.darcy.ui.api.Locator;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Re-locates an element when a call fails with one of a set of exception types, either thrown
+ * directly or as the cause of the exception thrown, up to a maximum number of times per call. By
+ * default, elements are re-located once when they are no longer present, as signified by
+ * {@link FindableNotPresentException}.
+ *
+ * <p>Re-locations are counted, in total and per locator, so that it is possible to see how often
+ * elements go stale. Locators are kept until the counts are {@link #reset()}, so at most
+ * {@link #MAX_LOCATORS_COUNTED} locators are counted separately; re-locations by any other locator
+ * are only counted in the total.
+ */
+public class DefaultRelocationPolicy implements RelocationPolicy {
+    /**
+     * How many distinct locators have their re-locations counted separately, give or take a few
+     * counted by threads re-locating at the same time as the limit is reached.
+     */
+    public static final int MAX_LOCATORS_COUNTED = 1024;
+
+    private final int maxRelocations;
+    private final List<Class<? extends Throwable>> staleTypes;
+
+    private final LongAdder relocations = new LongAdder();
+    private final ConcurrentMap<Locator, LongAdder> relocationsByLocator =
+            new ConcurrentHashMap<>();
+
+    public DefaultRelocationPolicy() {
+        this(1, FindableNotPresentException.class);
+    }
+
+    /**
+     * @param maxRelocations How many times an element may be found again during one call.
+     * @param staleTypes The types of exception that signify an element is stale.
+     */
+    @SafeVarargs
+    public DefaultRelocationPolicy(int maxRelocations, Class<? extends Throwable>... staleTypes) {
+        if (maxRelocations < 0) {
+            throw new IllegalArgumentException("maxRelocations must be 0 or greater, was: "
+                    + maxRelocations);
+        }
+
+        this.maxRelocations = maxRelocations;
+        this.staleTypes = Collections.unmodifiableList(Arrays.asList(staleTypes));
+    }
+
+    @Override
+    public boolean shouldRelocate(Throwable failure, int relocations) {
+        return relocations < maxRelocations && isStale(failure);
+    }
+
+    @Override
+    public void relocating(Locator locator, Throwable failure) {
+        Objects.requireNonNull(locator, "locator");
+
+        relocations.increment();
+
+        LongAdder count = relocationsByLocator.get(locator);
+
+        if (count == null) {
+            if (relocationsByLocator.size() >= MAX_LOCATORS_COUNTED) {
+                return;
+            }
+
+            count = relocationsByLocator.computeIfAbsent(locator, l -> new LongAdder());
+        }
+
+        count.increment();
+    }
+
+    /**
+     * @return The number of times elements have been found again since this policy was created or
+     * last {@link #reset()}.
+     */
+    public long getRelocationCount() {
+        return relocations.sum();
+    }
+
+    /**
+     * @return A snapshot of the number of times elements have been found again, by the locator
+     * used to find them, for up to about {@link #MAX_LOCATORS_COUNTED} locators.
+     */
+    public Map<Locator, Long> getRelocationCounts() {
+        Map<Locator, Long> counts = new HashMap<>();
+
+        relocationsByLocator.forEach((locator, count) -> counts.put(locator, count.sum()));
+
+        return counts;
+    }
+
+    public void reset() {
+        relocations.reset();
+        relocationsByLocator.clear();
+    }
+
+    private boolean isStale(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            for (Class<? extends Throwable> staleType : staleTypes) {
+                if (staleType.isInstance(t)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultRelocationPolicy: {maxRelocations: " + maxRelocations + ", staleTypes: "
+                + staleTypes + "}";
+    }
+}
@@ -0,0 +1,623 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.NullContextException;
+import com.redhat.darcy.ui.api.ElementContext;
+import com.redhat.darcy.ui.api.HasElementContext;
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.WrapsElement;
+import com.redhat.darcy.ui.api.elements.Button;
+import com.redhat.darcy.ui.api.elements.Checkbox;
+import com.redhat.darcy.ui.api.elements.DateInput;
+import com.redhat.darcy.ui.api.elements.Element;
+import com.redhat.darcy.ui.api.elements.FileSelect;
+import com.redhat.darcy.ui.api.elements.Form;
+import com.redhat.darcy.ui.api.elements.Label;
+import com.redhat.darcy.ui.api.elements.Link;
+import com.redhat.darcy.ui.api.elements.MultiSelect;
+import com.redhat.darcy.ui.api.elements.Radio;
+import com.redhat.darcy.ui.api.elements.Select;
+import com.redhat.darcy.ui.api.elements.SelectOption;
+import com.redhat.darcy.ui.api.elements.Text;
+import com.redhat.darcy.ui.api.elements.TextInput;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Creates lazy elements from plain classes, one per element interface, whose methods call straight
+ * through to the located element. This avoids the reflective dispatch of a
+ * {@link java.lang.reflect.Proxy}, which otherwise happens on every method call.
+ *
+ * <p>Classes exist for the element interfaces defined by darcy-ui. Elements of any other type are
+ * created by a fallback factory, which by default is a {@link ProxyElementFactory}. Lists of any
+ * element type are created as a {@link LazyElementList}.
+ *
+ * <p>If a call fails because the found element went stale, the element is found again and the call
+ * retried, as decided by a {@link RelocationPolicy}.
+ *
+ * @see ElementFactories
+ */
+public class DelegatingElementFactory implements ElementFactory {
+    private static final Map<Class<?>,
+            BiFunction<Locator, RelocationPolicy, ? extends LazyElement<?>>> lazyElements;
+
+    static {
+        Map<Class<?>, BiFunction<Locator, RelocationPolicy, ? extends LazyElement<?>>> map =
+                new HashMap<>();
+
+        map.put(Element.class, LazyPlainElement::new);
+        map.put(Button.class, LazyButton::new);
+        map.put(Checkbox.class, LazyCheckbox::new);
+        map.put(DateInput.class, LazyDateInput::new);
+        map.put(FileSelect.class, LazyFileSelect::new);
+        map.put(Form.class, LazyForm::new);
+        map.put(Label.class, LazyLabel::new);
+        map.put(Link.class, LazyLink::new);
+        map.put(MultiSelect.class, LazyMultiSelect::new);
+        map.put(Radio.class, LazyRadio::new);
+        map.put(Select.class, LazySelect::new);
+        map.put(SelectOption.class, LazySelectOption::new);
+        map.put(Text.class, LazyText::new);
+        map.put(TextInput.class, LazyTextInput::new);
+
+        lazyElements = Collections.unmodifiableMap(map);
+    }
+
+    private final ElementFactory fallback;
+    private final Supplier<RelocationPolicy> relocationPolicy;
+
+    /**
+     * Creates elements which use the {@link RelocationPolicies#getDefault() default relocation
+     * policy} at the time they are created.
+     */
+    public DelegatingElementFactory() {
+        this(new ProxyElementFactory());
+    }
+
+    /**
+     * Creates elements which use the {@link RelocationPolicies#getDefault() default relocation
+     * policy} at the time they are created.
+     *
+     * @param fallback Used to create elements of types which this factory has no class for.
+     */
+    public DelegatingElementFactory(ElementFactory fallback) {
+        this.fallback = Objects.requireNonNull(fallback, "fallback");
+        this.relocationPolicy = RelocationPolicies::getDefault;
+    }
+
+    /**
+     * @param fallback Used to create elements of types which this factory has no class for.
+     */
+    public DelegatingElementFactory(ElementFactory fallback, RelocationPolicy relocationPolicy) {
+        Objects.requireNonNull(relocationPolicy, "relocationPolicy");
+
+        this.fallback = Objects.requireNonNull(fallback, "fallback");
+        this.relocationPolicy = () -> relocationPolicy;
+    }
+
+    /**
+     * @return Whether or not elements of this type are created by this factory, as opposed to the
+     * fallback factory.
+     */
+    public static boolean isSupported(Class<? extends Element> type) {
+        return lazyElements.containsKey(type);
+    }
+
+    @Override
+    public <T extends Element> T element(Class<T> type, Locator locator) {
+        Objects.requireNonNull(locator, "locator");
+
+        BiFunction<Locator, RelocationPolicy, ? extends LazyElement<?>> lazyElement =
+                lazyElements.get(type);
+
+        if (lazyElement == null) {
+            return fallback.element(type, locator);
+        }
+
+        return type.cast(lazyElement.apply(locator, relocationPolicy.get()));
+    }
+
+    @Override
+    public <T extends Element> List<T> elements(Class<T> type, Locator locator) {
+        return new LazyElementList<>(type, locator);
+    }
+
+    /**
+     * Finds its element when one of its methods is first called after being given a context, and
+     * then reuses that element until it is given another context, or until a call fails and the
+     * {@link RelocationPolicy} decides the element should be found again.
+     *
+     * <p>Like {@link ElementHandler}, the context and the element found in it are published
+     * together as one immutable {@link Binding}, so elements may be shared between threads without
+     * locks, and a thread never uses an element found in a different context than the one it read.
+     *
+     * @param <T> The element interface this implements.
+     */
+    abstract static class LazyElement<T extends Element> implements Element, HasElementContext,
+            WrapsElement, BatchFindable {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<LazyElement, Binding> BINDING =
+                AtomicReferenceFieldUpdater.newUpdater(LazyElement.class, Binding.class,
+                        "binding");
+
+        private final Class<T> type;
+        private final Locator locator;
+        private final RelocationPolicy relocationPolicy;
+
+        private volatile Binding binding = Binding.UNBOUND;
+
+        LazyElement(Class<T> type, Locator locator, RelocationPolicy relocationPolicy) {
+            this.type = type;
+            this.locator = locator;
+            this.relocationPolicy = relocationPolicy;
+        }
+
+        @Override
+        public void setContext(ElementContext context) {
+            binding = new Binding(context, null);
+        }
+
+        @Override
+        public void addToBatch(FindBatch batch) {
+            Binding current = binding;
+
+            if (current.context != null && current.element == null) {
+                batch.add(current.context, LocatorRequest.find(type, locator),
+                        found -> BINDING.compareAndSet(this, current,
+                                new Binding(current.context, type.cast(found))));
+            }
+        }
+
+        @Override
+        public T getWrappedElement() {
+            return element();
+        }
+
+        @Override
+        public boolean isDisplayed() {
+            return call(e -> e.isDisplayed());
+        }
+
+        @Override
+        public boolean isPresent() {
+            return call(e -> e.isPresent());
+        }
+
+        @Override
+        public String toString() {
+            return type.getSimpleName() + ": {locator: " + locator + "}";
+        }
+
+        protected final T element() {
+            return type.cast(found(bound()).element);
+        }
+
+        /**
+         * Calls a method on the found element, finding the element again and retrying if the
+         * {@link RelocationPolicy} says to.
+         */
+        protected final <R> R call(Function<? super T, R> method) {
+            Binding current = bound();
+
+            for (int relocations = 0; ; relocations++) {
+                current = found(current);
+
+                try {
+                    return method.apply(type.cast(current.element));
+                } catch (RuntimeException e) {
+                    current = relocateOrThrow(e, relocations, current);
+                }
+            }
+        }
+
+        /**
+         * Like {@link #call(Function)}, for methods which return nothing.
+         */
+        protected final void run(Consumer<? super T> method) {
+            Binding current = bound();
+
+            for (int relocations = 0; ; relocations++) {
+                current = found(current);
+
+                try {
+                    method.accept(type.cast(current.element));
+                    return;
+                } catch (RuntimeException e) {
+                    current = relocateOrThrow(e, relocations, current);
+                }
+            }
+        }
+
+        private Binding bound() {
+            Binding current = binding;
+
+            if (current.context == null) {
+                throw new NullContextException();
+            }
+
+            return current;
+        }
+
+        /**
+         * Finds the element for a binding if it has none yet, and caches it unless another thread
+         * has since cached an element or set a new context.
+         *
+         * @return The binding to use for the rest of the call, which is always bound to an element.
+         */
+        private Binding found(Binding current) {
+            if (current.element != null) {
+                MetricsRecorders.getDefault().elementCacheHit(type);
+                return current;
+            }
+
+            MetricsRecorders.getDefault().elementCacheMiss(type);
+
+            Binding withElement = new Binding(current.context,
+                    Lookups.find(locator, type, current.context));
+
+            BINDING.compareAndSet(this, current, withElement);
+
+            return withElement;
+        }
+
+        private Binding relocateOrThrow(RuntimeException failure, int relocations, Binding stale) {
+            if (!relocationPolicy.shouldRelocate(failure, relocations)) {
+                throw failure;
+            }
+
+            relocationPolicy.relocating(locator, failure);
+
+            Binding unfound = new Binding(stale.context, null);
+            BINDING.compareAndSet(this, stale, unfound);
+
+            return unfound;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T extends Element> Class<T> generic(Class<? super T> rawType) {
+            return (Class<T>) rawType;
+        }
+
+        /**
+         * A context and, once found, the element found in it.
+         */
+        private static final class Binding {
+            static final Binding UNBOUND = new Binding(null, null);
+
+            final ElementContext context;
+            final Element element;
+
+            Binding(ElementContext context, Element element) {
+                this.context = context;
+                this.element = element;
+            }
+        }
+    }
+
+    static class LazyPlainElement extends LazyElement<Element> {
+        LazyPlainElement(Locator locator, RelocationPolicy relocationPolicy) {
+            super(Element.class, locator, relocationPolicy);
+        }
+    }
+
+    static class LazyButton extends LazyElement<Button> implements Button {
+        LazyButton(Locator locator, RelocationPolicy relocationPolicy) {
+            super(Button.class, locator, relocationPolicy);
+        }
+
+        @Override
+        public void click() {
+            run(e -> e.click());
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return call(e -> e.isEnabled());
+        }
+    }
+
+    static class LazyCheckbox extends LazyElement<Checkbox> implements Checkbox {
+        LazyCheckbox(Locator locator, RelocationPolicy relocationPolicy) {
+            super(Checkbox.class, locator, relocationPolicy);
+        }
+
+        @Override
+        public void check() {
+            run(e -> e.check());
+        }
+
+        @Override
+        public void uncheck() {
+            run(e -> e.uncheck());
+        }
+
+        @Override
+        public boolean isChecked() {
+            return call(e -> e.isChecked());
+        }
+
+        @Override
+        public void toggle() {
+            run(e -> e.toggle());
+        }
+
+        @Override
+        public void click() {
+            run(e -> e.click());
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return call(e -> e.isEnabled());
+        }
+    }
+
+    static class LazyDateInput extends LazyElement<DateInput> implements DateInput {
+        LazyDateInput(Locator locator, RelocationPolicy relocationPolicy) {
+            super(DateInput.class, locator, relocationPolicy);
+        }
+
+        @Override
+        public void setDate(LocalDate date) {
+            run(e -> e.setDate(date));
+        }
+
+        @Override
+        public LocalDate getDate() {
+            return call(e -> e.getDate());
+        }
+    }
+
+    static class LazyFileSelect extends LazyElement<FileSelect> implements FileSelect {
+        LazyFileSelect(Locator locator, RelocationPolicy relocationPolicy) {
+            super(FileSelect.class, locator, relocationPolicy);
+        }
+
+        @Override
+        public void setFilePath(String path) {
+            run(e -> e.setFilePath(path));
+        }
+
+        @Override
+        public void setFilePath(Path path) {
+            run(e -> e.setFilePath(path));
+        }
+
+        @Override
+        public void clear() {
+            run(e -> e.clear());
+        }
+
+        @Override
+        public String getValue() {
+            return call(e -> e.getValue());
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return call(e -> e.isEnabled());
+        }
+    }
+
+    static class LazyForm extends LazyElement<Form> implements Form {
+        LazyForm(Locator locator, RelocationPolicy relocationPolicy) {
+            super(Form.class, locator, relocationPolicy);
+        }
+
+        @Override
+        public void submit() {
+            run(e -> e.submit());
+        }
+    }
+
+    static class LazyLabel extends LazyElement<Label> implements Label {
+        LazyLabel(Locator locator, RelocationPolicy relocationPolicy) {
+            super(Label.class, locator, relocationPolicy);
+        }
+
+        @Override
+        public String getText() {
+            return call(e -> e.getText());
+        }
+    }
+
+    static class LazyLink extends LazyElement<Link> implements Link {
+        LazyLink(Locator locator, RelocationPolicy relocationPolicy) {
+            super(Link.class, locator, relocationPolicy);
+        }
+
+        @Override
+        @Deprecated
+        public String getLinkText() {
+            return call(e -> e.getLinkText());
+        }
+
+        @Override
+        public String getText() {
+            return call(e -> e.getText());
+        }
+
+        @Override
+        public void click() {
+            run(e -> e.click());
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return call(e -> e.isEnabled());
+        }
+    }
+
+    static class LazyMultiSelect<O extends SelectOption> extends LazyElement<MultiSelect<O>>
+            implements MultiSelect<O> {
+        LazyMultiSelect(Locator locator, RelocationPolicy relocationPolicy) {
+            super(generic(MultiSelect.class), locator, relocationPolicy);
+        }
+
+        @Override
+        public void select(Locator locator) {
+            run(e -> e.select(locator));
+        }
+
+        @Override
+        public List<O> getOptions() {
+            return call(e -> e.getOptions());
+        }
+
+        @Override
+        public List<O> getSelectedOptions() {
+            return call(e -> e.getSelectedOptions());
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return call(e -> e.isEnabled());
+        }
+    }
+
+    static class LazyRadio extends LazyElement<Radio> implements Radio {
+        LazyRadio(Locator locator, RelocationPolicy relocationPolicy) {
+            super(Radio.class, locator, relocationPolicy);
+        }
+
+        @Override
+        public void select() {
+            run(e -> e.select());
+        }
+
+        @Override
+        public boolean isSelected() {
+            return call(e -> e.isSelected());
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return call(e -> e.isEnabled());
+        }
+    }
+
+    static class LazySelect<O extends SelectOption> extends LazyElement<Select<O>>
+            implements Select<O> {
+        LazySelect(Locator locator, RelocationPolicy relocationPolicy) {
+            super(generic(Select.class), locator, relocationPolicy);
+        }
+
+        @Override
+        public void select(Locator locator) {
+            run(e -> e.select(locator));
+        }
+
+        @Override
+        public List<O> getOptions() {
+            return call(e -> e.getOptions());
+        }
+
+        @Override
+        public Optional<O> getSelectedOption() {
+            return call(e -> e.getSelectedOption());
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return call(e -> e.isEnabled());
+        }
+    }
+
+    static class LazySelectOption extends LazyElement<SelectOption> implements SelectOption {
+        LazySelectOption(Locator locator, RelocationPolicy relocationPolicy) {
+            super(SelectOption.class, locator, relocationPolicy);
+        }
+
+        @Override
+        public void select() {
+            run(e -> e.select());
+        }
+
+        @Override
+        public boolean isSelected() {
+            return call(e -> e.isSelected());
+        }
+
+        @Override
+        public String getText() {
+            return call(e -> e.getText());
+        }
+    }
+
+    static class LazyText extends LazyElement<Text> implements Text {
+        LazyText(Locator locator, RelocationPolicy relocationPolicy) {
+            super(Text.class, locator, relocationPolicy);
+        }
+
+        @Override
+        public String getText() {
+            return call(e -> e.getText());
+        }
+    }
+
+    static class LazyTextInput extends LazyElement<TextInput> implements TextInput {
+        LazyTextInput(Locator locator, RelocationPolicy relocationPolicy) {
+            super(TextInput.class, locator, relocationPolicy);
+        }
+
+        @Override
+        public void clearAndType(CharSequence... keysToType) {
+            run(e -> e.clearAndType(keysToType));
+        }
+
+        @Override
+        public void type(CharSequence... keysToType) {
+            run(e -> e.type(keysToType));
+        }
+
+        @Override
+        public void clear() {
+            run(e -> e.clear());
+        }
+
+        @Override
+        public void click() {
+            run(e -> e.click());
+        }
+
+        @Override
+        public String getValue() {
+            return call(e -> e.getValue());
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return call(e -> e.isEnabled());
+        }
+    }
+}
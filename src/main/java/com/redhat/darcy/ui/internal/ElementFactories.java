@@ -0,0 +1,45 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+/**
+ * Finds the {@link ElementFactory} to use. The first factory registered as a service, as
+ * described by {@link ServiceLoader}, is used. If there is none, a
+ * {@link DelegatingElementFactory} is used. The lookup happens once.
+ */
+public abstract class ElementFactories {
+    public static ElementFactory getDefault() {
+        return Holder.factory;
+    }
+
+    private static class Holder {
+        static final ElementFactory factory = load();
+
+        private static ElementFactory load() {
+            Iterator<ElementFactory> services = ServiceLoader.load(ElementFactory.class,
+                    ElementFactories.class.getClassLoader()).iterator();
+
+            return services.hasNext() ? services.next() : new DelegatingElementFactory();
+        }
+    }
+}
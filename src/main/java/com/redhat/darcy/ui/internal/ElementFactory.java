@@ -0,0 +1,49 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.elements.Element;
+
+import java.util.List;
+
+/**
+ * Creates the lazy element and element list instances returned by
+ * {@link com.redhat.darcy.ui.Elements}. The objects created must also implement
+ * {@link com.redhat.darcy.ui.api.HasElementContext}, and should not use their locator until
+ * they are given a context and one of their methods is called. Element instances must also
+ * implement {@link com.redhat.darcy.ui.api.WrapsElement}.
+ *
+ * <p>An alternative implementation may be registered as a service, as described by
+ * {@link java.util.ServiceLoader}. Otherwise, {@link DelegatingElementFactory} is used.
+ *
+ * @see ElementFactories
+ */
+public interface ElementFactory {
+    /**
+     * @param type An interface which extends {@link Element}.
+     */
+    <T extends Element> T element(Class<T> type, Locator locator);
+
+    /**
+     * @param type An interface which extends {@link Element}.
+     */
+    <T extends Element> List<T> elements(Class<T> type, Locator locator);
+}
@@ -23,11 +23,12 @@ import com.redhat.darcy.ui.NullContextException;
 import com.redhat.darcy.ui.api.ElementContext;
 import com.redhat.darcy.ui.api.Locator;
 import com.redhat.darcy.ui.api.elements.Element;
+import com.redhat.darcy.ui.internal.MethodDispatchTable.Dispatch;
 
 import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * The InvocationHandler for proxied {@link Element}s. Provides some of the convenience-related 
@@ -38,49 +39,127 @@ import java.util.Objects;
  * proxy effectively implements {@link com.redhat.darcy.ui.api.HasElementContext} and accepts the context with which to use to
  * find the element. (Though not always necessary -- the context may be passed in the constructor.)
  * </li>
+ * <li>If a call fails because the cached element went stale, finds the element again and retries
+ * the call, as decided by a {@link RelocationPolicy}.</li>
+ * <li>Implements {@link BatchFindable}, so the element may be found along with others.</li>
  * </ul>
- * 
+ * Methods are dispatched by looking them up in a {@link MethodDispatchTable} for the element type.
+ *
+ * <p>Proxies may be shared between threads. The context and the element found in it are
+ * published together as one immutable {@link Binding}, so a thread never uses an element found in
+ * a different context than the one it read, and no locks are taken. Threads which miss the cache
+ * at the same time may each find the element, in which case the first to finish is cached.
+ *
  * @see com.redhat.darcy.ui.api.HasElementContext
  * @see com.redhat.darcy.ui.Elements
  * @see com.redhat.darcy.ui.AbstractView
  */
 public class ElementHandler implements InvocationHandler {
-    private Class<? extends Element> type;
-    private Locator locator;
-    private ElementContext context;
-    
-    private Element cachedElement;
-    
+    private static final AtomicReferenceFieldUpdater<ElementHandler, Binding> BINDING =
+            AtomicReferenceFieldUpdater.newUpdater(ElementHandler.class, Binding.class, "binding");
+
+    private final Class<? extends Element> type;
+    private final Locator locator;
+    private final MethodDispatchTable dispatchTable;
+    private final RelocationPolicy relocationPolicy;
+
+    private volatile Binding binding = Binding.UNBOUND;
+
     public ElementHandler(Class<? extends Element> type, Locator locator) {
+        this(type, locator, RelocationPolicies.getDefault());
+    }
+
+    public ElementHandler(Class<? extends Element> type, Locator locator,
+            RelocationPolicy relocationPolicy) {
         this.type = Objects.requireNonNull(type);
         this.locator = Objects.requireNonNull(locator);
+        this.relocationPolicy = Objects.requireNonNull(relocationPolicy);
+        this.dispatchTable = MethodDispatchTable.forType(type);
     }
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        if ("setContext".equals(method.getName())) {
-            context = (ElementContext) args[0];
-            cachedElement = null;
-            
+        Dispatch dispatch = dispatchTable.get(method);
+
+        if (dispatch.kind() == MethodDispatchTable.Kind.SET_CONTEXT) {
+            binding = new Binding((ElementContext) args[0], null);
+
             return null;
         }
-        
-        if (context == null) {
-            throw new NullContextException();
+
+        if (dispatch.kind() == MethodDispatchTable.Kind.ADD_TO_BATCH) {
+            Binding current = binding;
+
+            if (current.context != null && current.element == null) {
+                ((FindBatch) args[0]).add(current.context, LocatorRequest.find(type, locator),
+                        found -> BINDING.compareAndSet(this, current,
+                                new Binding(current.context, (Element) found)));
+            }
+
+            return null;
         }
-        
-        if (cachedElement == null) {
-            cachedElement = locator.find(type, context);
+
+        Binding current = binding;
+
+        if (current.context == null) {
+            throw new NullContextException();
         }
 
-        if ("getWrappedElement".equals(method.getName())) {
-            return cachedElement;
+        for (int relocations = 0; ; relocations++) {
+            if (current.element == null) {
+                MetricsRecorders.getDefault().elementCacheMiss(type);
+                current = cache(current, Lookups.find(locator, type, current.context));
+            } else {
+                MetricsRecorders.getDefault().elementCacheHit(type);
+            }
+
+            if (dispatch.kind() == MethodDispatchTable.Kind.GET_WRAPPED_ELEMENT) {
+                return current.element;
+            }
+
+            try {
+                return dispatch.invoke(current.element, args);
+            } catch (Throwable t) {
+                if (!relocationPolicy.shouldRelocate(t, relocations)) {
+                    throw t;
+                }
+
+                relocationPolicy.relocating(locator, t);
+
+                Binding stale = current;
+                current = new Binding(stale.context, null);
+                BINDING.compareAndSet(this, stale, current);
+            }
         }
+    }
+
+    /**
+     * Caches the element found for a binding, unless another thread has since cached an element
+     * or set a new context.
+     *
+     * @return The binding to use for the rest of the call, which is always bound to the element
+     * that was found.
+     */
+    private Binding cache(Binding current, Element found) {
+        Binding withElement = new Binding(current.context, found);
+
+        BINDING.compareAndSet(this, current, withElement);
+
+        return withElement;
+    }
+
+    /**
+     * A context and, once found, the element found in it.
+     */
+    private static final class Binding {
+        static final Binding UNBOUND = new Binding(null, null);
+
+        final ElementContext context;
+        final Element element;
 
-        try {
-            return method.invoke(cachedElement, args);
-        } catch (InvocationTargetException e) {
-            throw e.getCause();
+        Binding(ElementContext context, Element element) {
+            this.context = context;
+            this.element = element;
         }
     }
 }
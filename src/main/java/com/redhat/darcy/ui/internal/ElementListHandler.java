@@ -23,49 +23,90 @@ import com.redhat.darcy.ui.NullContextException;
 import com.redhat.darcy.ui.api.ElementContext;
 import com.redhat.darcy.ui.api.Locator;
 import com.redhat.darcy.ui.api.elements.Element;
+import com.redhat.darcy.ui.internal.MethodDispatchTable.Dispatch;
 
 import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
- * Like {@link ElementHandler}, except proxies a List of elements.
+ * Like {@link ElementHandler}, except proxies a List of elements. Like ElementHandler, it may be
+ * shared between threads, and publishes the context and the list found in it together.
  * @see ElementHandler
  */
 public class ElementListHandler implements InvocationHandler {
-    private Class<? extends Element> type;
-    private Locator locator;
-    private ElementContext context;
-    
-    private List<? extends Element> cachedList;
-    
+    private static final MethodDispatchTable dispatchTable =
+            MethodDispatchTable.forType(List.class);
+
+    private static final AtomicReferenceFieldUpdater<ElementListHandler, Binding> BINDING =
+            AtomicReferenceFieldUpdater.newUpdater(ElementListHandler.class, Binding.class,
+                    "binding");
+
+    private final Class<? extends Element> type;
+    private final Locator locator;
+
+    private volatile Binding binding = Binding.UNBOUND;
+
     public ElementListHandler(Class<? extends Element> type, Locator locator) {
         this.type = type;
         this.locator = locator;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        if ("setContext".equals(method.getName())) {
-            context = (ElementContext) args[0];
-            cachedList = null;
-            
+        Dispatch dispatch = dispatchTable.get(method);
+
+        if (dispatch.kind() == MethodDispatchTable.Kind.SET_CONTEXT) {
+            binding = new Binding((ElementContext) args[0], null);
+
+            return null;
+        }
+
+        if (dispatch.kind() == MethodDispatchTable.Kind.ADD_TO_BATCH) {
+            Binding current = binding;
+
+            if (current.context != null && current.list == null) {
+                ((FindBatch) args[0]).add(current.context, LocatorRequest.findAll(type, locator),
+                        found -> BINDING.compareAndSet(this, current,
+                                new Binding(current.context, (List<? extends Element>) found)));
+            }
+
             return null;
         }
-        
-        if (context == null) {
+
+        Binding current = binding;
+
+        if (current.context == null) {
             throw new NullContextException();
         }
 
-        if (cachedList == null) {
-            cachedList = locator.findAll(type, context);
+        List<? extends Element> list = current.list;
+
+        if (list == null) {
+            MetricsRecorders.getDefault().elementCacheMiss(type);
+            list = Lookups.findAll(locator, type, current.context);
+            BINDING.compareAndSet(this, current, new Binding(current.context, list));
+        } else {
+            MetricsRecorders.getDefault().elementCacheHit(type);
         }
 
-        try {
-            return method.invoke(cachedList, args);
-        } catch (InvocationTargetException e) {
-            throw e.getCause();
+        return dispatch.invoke(list, args);
+    }
+
+    /**
+     * A context and, once found, the list found in it.
+     */
+    private static final class Binding {
+        static final Binding UNBOUND = new Binding(null, null);
+
+        final ElementContext context;
+        final List<? extends Element> list;
+
+        Binding(ElementContext context, List<? extends Element> list) {
+            this.context = context;
+            this.list = list;
         }
     }
 }
@@ -0,0 +1,164 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.DarcyException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+
+/**
+ * Reads and writes a single field through {@link java.lang.invoke.MethodHandle}s instead
+ * of {@link java.lang.reflect.Field#get(Object)} and
+ * {@link java.lang.reflect.Field#set(Object, Object)}. The handles are created once, when the
+ * accessor is created, and are typed as {@code (Object)Object} and {@code (Object,Object)void} so
+ * that they may be invoked exactly without boxing arguments into arrays or checking access on each
+ * call.
+ *
+ * <p>Accessors are meant to be created once per field and cached, as {@link ViewMetadata} does.
+ */
+public final class FieldAccessor {
+    private static final MethodType GETTER_TYPE =
+            MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE =
+            MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    /**
+     * @param field The field to access. The field will have its accessibility override flag set if
+     * it does not already. Static fields are supported; the target object is ignored for them, just
+     * as it is with {@link java.lang.reflect.Field#get(Object)}.
+     */
+    public FieldAccessor(Field field) {
+        this.field = Objects.requireNonNull(field, "field");
+
+        field.setAccessible(true);
+
+        // Handles unreflected from accessible fields skip access checks, so this works for private
+        // fields in any class without needing a lookup in the field's declaring class.
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        try {
+            getter = ignoreTargetIfStatic(lookup.unreflectGetter(field), field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new DarcyException("Couldn't access field, " + field, e);
+        }
+
+        setter = unreflectSetter(lookup, field);
+    }
+
+    /**
+     * Creates an accessor for a field declared by the specified class or one of its super classes.
+     *
+     * @param type The class to start looking for the field from.
+     * @param declaringClass The binary name of the class which declares the field.
+     * @param name The name of the field.
+     * @throws com.redhat.darcy.ui.DarcyException if no such field exists.
+     */
+    public static FieldAccessor forDeclaredField(Class<?> type, String declaringClass,
+            String name) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            if (current.getName().equals(declaringClass)) {
+                try {
+                    return new FieldAccessor(current.getDeclaredField(name));
+                } catch (NoSuchFieldException e) {
+                    throw new DarcyException("No field, " + name + ", in " + current, e);
+                }
+            }
+        }
+
+        throw new DarcyException(declaringClass + " is not " + type + " or one of its super "
+                + "classes.");
+    }
+
+    public Field field() {
+        return field;
+    }
+
+    /**
+     * @return The value of this field in the specified object.
+     */
+    public Object get(Object target) {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new DarcyException("Couldn't get value of field, " + field, t);
+        }
+    }
+
+    /**
+     * Assigns the value to this field in the specified object.
+     *
+     * @throws java.lang.ClassCastException if the value is not assignable to the field's type.
+     * @throws com.redhat.darcy.ui.DarcyException if the field cannot be written to, such as when it
+     * is static and final.
+     */
+    public void set(Object target, Object value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new DarcyException("Couldn't set value of field, " + field, t);
+        }
+    }
+
+    /**
+     * Method handles refuse to write final fields even when they are accessible, but
+     * {@link java.lang.reflect.Field#set(Object, Object)} will still assign final instance fields
+     * once accessibility is overridden. So for those, the setter falls back to that method, bound to
+     * the field.
+     */
+    private static MethodHandle unreflectSetter(MethodHandles.Lookup lookup, Field field) {
+        try {
+            return ignoreTargetIfStatic(lookup.unreflectSetter(field), field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            try {
+                return lookup.findVirtual(Field.class, "set", SETTER_TYPE).bindTo(field);
+            } catch (NoSuchMethodException | IllegalAccessException e2) {
+                throw new DarcyException("Couldn't access field, " + field, e2);
+            }
+        }
+    }
+
+    /**
+     * Static field handles take no target, so one is added and dropped to keep the handle types
+     * the same as they are for instance fields.
+     */
+    private static MethodHandle ignoreTargetIfStatic(MethodHandle handle, Field field) {
+        return Modifier.isStatic(field.getModifiers())
+                ? MethodHandles.dropArguments(handle, 0, Object.class)
+                : handle;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldAccessor: {field=" + field + "}";
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.DarcyException;
+import com.redhat.darcy.ui.api.Context;
+import com.redhat.darcy.ui.api.elements.Findable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Collects {@link LocatorRequest}s and resolves them with one call per context. Only requests in
+ * contexts which implement {@link FindsByBatch} are collected; other requests are ignored, and
+ * whatever made them is left to find things on its own as usual.
+ */
+public final class FindBatch {
+    private final Map<Context, List<Entry>> entriesByContext = new IdentityHashMap<>();
+
+    /**
+     * Finds whatever the {@link BatchFindable} objects have yet to find, in as few calls as
+     * possible. Objects that are not {@link BatchFindable} are ignored.
+     */
+    public static void findAll(Iterable<?> objects) {
+        FindBatch batch = new FindBatch();
+
+        for (Object object : objects) {
+            if (object instanceof BatchFindable) {
+                ((BatchFindable) object).addToBatch(batch);
+            }
+        }
+
+        batch.run();
+    }
+
+    /**
+     * @param onFound Called with the result when the batch is {@link #run()}.
+     */
+    public <T extends Findable> void add(Context context, LocatorRequest<T> request,
+            Consumer<Object> onFound) {
+        if (!(context instanceof FindsByBatch)) {
+            return;
+        }
+
+        entriesByContext.computeIfAbsent(context, c -> new ArrayList<>())
+                .add(new Entry(request, onFound));
+    }
+
+    public boolean isEmpty() {
+        return entriesByContext.isEmpty();
+    }
+
+    public void run() {
+        for (Map.Entry<Context, List<Entry>> contextEntries : entriesByContext.entrySet()) {
+            List<Entry> entries = contextEntries.getValue();
+            List<LocatorRequest<?>> requests = new ArrayList<>(entries.size());
+
+            for (Entry entry : entries) {
+                requests.add(entry.request);
+            }
+
+            List<Object> results = ((FindsByBatch) contextEntries.getKey()).findAllBatch(requests);
+
+            if (results.size() != requests.size()) {
+                throw new DarcyException("Expected " + requests.size() + " results from batch, "
+                        + "but got " + results.size() + ". Context was "
+                        + contextEntries.getKey());
+            }
+
+            for (int i = 0; i < entries.size(); i++) {
+                entries.get(i).onFound.accept(results.get(i));
+            }
+        }
+
+        entriesByContext.clear();
+    }
+
+    private static final class Entry {
+        private final LocatorRequest<?> request;
+        private final Consumer<Object> onFound;
+
+        Entry(LocatorRequest<?> request, Consumer<Object> onFound) {
+            this.request = request;
+            this.onFound = onFound;
+        }
+    }
+}
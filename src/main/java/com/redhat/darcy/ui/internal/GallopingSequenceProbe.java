@@ -0,0 +1,122 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.api.Context;
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.elements.Findable;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * Finds the end of a sequence by galloping: each time the iterator needs to know about an index
+ * beyond those known to be present, it checks an index twice as far ahead as the last time. Once
+ * an index is found not to be present, the end is binary searched for between it and the last
+ * index known to be present. Iterating over a sequence of n elements therefore takes about
+ * 2 log2(n) checks, rather than n + 1, and checking whether it is empty takes one.
+ *
+ * <p>Elements between indexes known to be present are assumed to be present too, so sequences
+ * must not have gaps.
+ */
+enum GallopingSequenceProbe implements SequenceProbe {
+    INSTANCE;
+
+    @Override
+    public <T extends Findable> Iterator<T> iterator(IntFunction<Locator> locatorAt, Class<T> type,
+            Context context) {
+        return new Iterator<T>() {
+            private int index;
+
+            /** Highest index known to be present, or -1. */
+            private int present = -1;
+
+            /** Lowest index known not to be present, or -1 if not known yet. */
+            private int absent = -1;
+
+            private int step = 1;
+
+            @Override
+            public boolean hasNext() {
+                if (index <= present) {
+                    return true;
+                }
+
+                if (absent < 0) {
+                    gallop();
+                }
+
+                if (absent >= 0 && index > present) {
+                    narrow();
+                }
+
+                return index <= present;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return locatorAt.apply(index++).find(type, context);
+            }
+
+            private void gallop() {
+                long probe = (long) index + step - 1;
+                step = step > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : step * 2;
+
+                if (probe >= Integer.MAX_VALUE) {
+                    absent = Integer.MAX_VALUE;
+                } else if (isPresent((int) probe)) {
+                    present = (int) probe;
+                } else {
+                    absent = (int) probe;
+                }
+            }
+
+            /**
+             * Binary searches between the highest index known to be present and the lowest known
+             * not to be, until they are adjacent.
+             */
+            private void narrow() {
+                while (absent - present > 1) {
+                    int mid = present + (absent - present) / 2;
+
+                    if (isPresent(mid)) {
+                        present = mid;
+                    } else {
+                        absent = mid;
+                    }
+                }
+            }
+
+            private boolean isPresent(int i) {
+                return locatorAt.apply(i).find(type, context).isPresent();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "SequenceProbe.galloping()";
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.internal;
+
+/**
+ * Implemented by contexts which can tell when what was found within them may no longer be valid,
+ * such as after the page changed or the context's cache was invalidated. Whatever is remembered
+ * about such a context, such as the ids in an {@link IdCache}, is only reused within the same
+ * generation.
+ */
+public interface HasGeneration {
+    /**
+     * @return A number which changes whenever things found within the context may no longer be
+     * valid.
+     */
+    long generation();
+}
@@ -0,0 +1,311 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.api.Locator;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Keeps counts and {@link LatencyHistogram latency histograms} in memory, per locator type,
+ * element type, and view type, so that they can be inspected or {@link #report() reported}, such
+ * as at the end of a test run to see which page objects find the most elements, or take longest
+ * to load.
+ *
+ * <pre><code>
+ * HistogramMetricsRecorder metrics = new HistogramMetricsRecorder();
+ * MetricsRecorders.setDefault(metrics);
+ * // ...
+ * System.out.println(metrics.report());
+ * </code></pre>
+ */
+public class HistogramMetricsRecorder implements MetricsRecorder {
+    private final Stats<LookupStats> lookups = new Stats<>(LookupStats::new);
+    private final Stats<CacheStats> elementCaches = new Stats<>(CacheStats::new);
+    private final Stats<EvaluationStats> loadConditions = new Stats<>(EvaluationStats::new);
+    private final Stats<TransitionStats> transitions = new Stats<>(TransitionStats::new);
+
+    @Override
+    public void lookup(Class<? extends Locator> locatorType, boolean list, long nanos) {
+        LookupStats stats = lookups.of(locatorType);
+        (list ? stats.findAll : stats.find).record(nanos);
+    }
+
+    @Override
+    public void elementCacheHit(Class<?> elementType) {
+        elementCaches.of(elementType).hits.increment();
+    }
+
+    @Override
+    public void elementCacheMiss(Class<?> elementType) {
+        elementCaches.of(elementType).misses.increment();
+    }
+
+    @Override
+    public void loadConditionsEvaluated(Class<?> viewType, int conditions, boolean met,
+            long nanos) {
+        EvaluationStats stats = loadConditions.of(viewType);
+
+        stats.conditions.add(conditions);
+        stats.latency.record(nanos);
+
+        if (met) {
+            stats.met.increment();
+        }
+    }
+
+    @Override
+    public void transitionPolled(Class<?> viewType, boolean loaded, long nanos) {
+        transitions.of(viewType).polls.record(nanos);
+    }
+
+    @Override
+    public void transitionFinished(Class<?> viewType, int polls, boolean arrived, long nanos) {
+        TransitionStats stats = transitions.of(viewType);
+
+        stats.pollsPerTransition.record(polls);
+        stats.latency.record(nanos);
+
+        if (arrived) {
+            stats.arrived.increment();
+        }
+    }
+
+    /**
+     * @return Lookups so far, by locator type.
+     */
+    public Map<Class<?>, LookupStats> lookups() {
+        return lookups.sorted();
+    }
+
+    /**
+     * @return Element cache hits and misses so far, by element type.
+     */
+    public Map<Class<?>, CacheStats> elementCaches() {
+        return elementCaches.sorted();
+    }
+
+    /**
+     * @return Load condition evaluations so far, by view type.
+     */
+    public Map<Class<?>, EvaluationStats> loadConditions() {
+        return loadConditions.sorted();
+    }
+
+    /**
+     * @return Transitions so far, by the type of view transitioned to.
+     */
+    public Map<Class<?>, TransitionStats> transitions() {
+        return transitions.sorted();
+    }
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    public void reset() {
+        lookups.clear();
+        elementCaches.clear();
+        loadConditions.clear();
+        transitions.clear();
+    }
+
+    /**
+     * @return A human readable report of everything recorded so far, one line per type.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+
+        appendSection(report, "Lookups by locator", lookups());
+        appendSection(report, "Element caches by element", elementCaches());
+        appendSection(report, "Load conditions by view", loadConditions());
+        appendSection(report, "Transitions by view", transitions());
+
+        return report.toString();
+    }
+
+    private static void appendSection(StringBuilder report, String title,
+            Map<Class<?>, ?> stats) {
+        report.append(title).append(':').append(System.lineSeparator());
+
+        stats.forEach((type, stat) -> report.append("  ").append(type.getName()).append(": ")
+                .append(stat).append(System.lineSeparator()));
+    }
+
+    public static class LookupStats {
+        private final LatencyHistogram find = new LatencyHistogram();
+        private final LatencyHistogram findAll = new LatencyHistogram();
+
+        public LatencyHistogram find() {
+            return find;
+        }
+
+        public LatencyHistogram findAll() {
+            return findAll;
+        }
+
+        @Override
+        public String toString() {
+            return "{find: " + find + ", findAll: " + findAll + "}";
+        }
+    }
+
+    public static class CacheStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        public long hits() {
+            return hits.sum();
+        }
+
+        public long misses() {
+            return misses.sum();
+        }
+
+        /**
+         * @return The fraction of uses which did not need to find the element, from 0 to 1.
+         */
+        public double hitRate() {
+            long hits = hits();
+            long total = hits + misses();
+
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return "{hits: " + hits() + ", misses: " + misses() + ", hitRate: " + hitRate() + "}";
+        }
+    }
+
+    public static class EvaluationStats {
+        private final LongAdder met = new LongAdder();
+        private final LongAdder conditions = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        public long evaluations() {
+            return latency.count();
+        }
+
+        /**
+         * @return How many evaluations found every condition met.
+         */
+        public long met() {
+            return met.sum();
+        }
+
+        /**
+         * @return The total of each evaluation's number of conditions.
+         */
+        public long conditions() {
+            return conditions.sum();
+        }
+
+        public LatencyHistogram latency() {
+            return latency;
+        }
+
+        @Override
+        public String toString() {
+            return "{evaluations: " + evaluations() + ", met: " + met() + ", conditions: "
+                    + conditions() + ", latency: " + latency + "}";
+        }
+    }
+
+    public static class TransitionStats {
+        private final LongAdder arrived = new LongAdder();
+        private final LatencyHistogram polls = new LatencyHistogram();
+        private final LatencyHistogram pollsPerTransition = new LatencyHistogram();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        public long transitions() {
+            return latency.count();
+        }
+
+        /**
+         * @return How many transitions ended with the view loaded.
+         */
+        public long arrived() {
+            return arrived.sum();
+        }
+
+        /**
+         * @return How long each poll took.
+         */
+        public LatencyHistogram polls() {
+            return polls;
+        }
+
+        /**
+         * @return How many polls each transition took. The histogram's values are counts, not
+         * nanoseconds.
+         */
+        public LatencyHistogram pollsPerTransition() {
+            return pollsPerTransition;
+        }
+
+        /**
+         * @return How long each transition took, from the start of waiting until the view loaded
+         * or the wait ended.
+         */
+        public LatencyHistogram latency() {
+            return latency;
+        }
+
+        @Override
+        public String toString() {
+            return "{transitions: " + transitions() + ", arrived: " + arrived() + ", polls: "
+                    + polls.count() + ", mean polls per transition: "
+                    + pollsPerTransition.mean() + ", latency: " + latency + "}";
+        }
+    }
+
+    /**
+     * Stats by type. Looking up the stats of a type which already has some does not allocate.
+     */
+    private static class Stats<S> {
+        private final ConcurrentMap<Class<?>, S> byType = new ConcurrentHashMap<>();
+        private final Supplier<S> factory;
+
+        Stats(Supplier<S> factory) {
+            this.factory = factory;
+        }
+
+        S of(Class<?> type) {
+            S stats = byType.get(type);
+            return stats != null ? stats : byType.computeIfAbsent(type, t -> factory.get());
+        }
+
+        Map<Class<?>, S> sorted() {
+            Map<Class<?>, S> sorted = new TreeMap<>((a, b) -> a.getName().compareTo(b.getName()));
+            sorted.putAll(byType);
+            return Collections.unmodifiableMap(sorted);
+        }
+
+        void clear() {
+            byType.clear();
+        }
+    }
+}
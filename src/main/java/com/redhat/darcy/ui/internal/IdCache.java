@@ -0,0 +1,224 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.api.Context;
+import com.redhat.darcy.ui.api.Locator;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Remembers the ids of what {@link com.redhat.darcy.ui.By.ByIdOf} locators found, per locator and
+ * context, so that once an element's id is known, it is found by that id from then on, even by
+ * elements and lists found later. Contexts are compared by identity, and are only weakly
+ * referenced, so remembering ids never keeps a context from being garbage collected.
+ *
+ * <p>Ids are forgotten when they may no longer be valid:
+ * <ul>
+ * <li>when the context's {@link HasGeneration generation} changes, for contexts which have one,
+ * such as a {@link com.redhat.darcy.ui.CachingContext} whose cache was invalidated;</li>
+ * <li>when the context {@link #invalidate(Context) is invalidated}, as is done whenever a
+ * {@link com.redhat.darcy.ui.api.Transition} waits within it;</li>
+ * <li>when they are {@link #invalidate(Locator, Context) invalidated} explicitly;</li>
+ * <li>and when more than a maximum number of entries are remembered, least recently used first.
+ * </li>
+ * </ul>
+ *
+ * <p>Only complete lists of ids are remembered, and never empty ones, since an empty list usually
+ * means the elements have yet to load.
+ *
+ * @see IdCaches
+ */
+public class IdCache {
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private final Map<Key, Entry> entries;
+    private final ReferenceQueue<Context> collected = new ReferenceQueue<>();
+
+    public IdCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public IdCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be 1 or greater, was: "
+                    + maxEntries);
+        }
+
+        entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return The id of the element the locator found in the context, or null if it is not known.
+     */
+    public synchronized String getId(Locator locator, Context context) {
+        return (String) get(new Key(locator, context, false, null));
+    }
+
+    public synchronized void putId(Locator locator, Context context, String id) {
+        put(locator, context, false, Objects.requireNonNull(id, "id"));
+    }
+
+    /**
+     * @return The ids of every element the locator found in the context, in order, or null if they
+     * are not known.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized List<String> getIds(Locator locator, Context context) {
+        return (List<String>) get(new Key(locator, context, true, null));
+    }
+
+    /**
+     * Remembers the ids of every element the locator found in the context, unless there are none.
+     */
+    public synchronized void putIds(Locator locator, Context context, List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        put(locator, context, true, Collections.unmodifiableList(new ArrayList<>(ids)));
+    }
+
+    /**
+     * Forgets the ids of the element, and of the list of elements, the locator found in the
+     * context.
+     */
+    public synchronized void invalidate(Locator locator, Context context) {
+        expungeCollected();
+
+        entries.remove(new Key(locator, context, false, null));
+        entries.remove(new Key(locator, context, true, null));
+    }
+
+    /**
+     * Forgets the ids of everything found in the context.
+     */
+    public synchronized void invalidate(Context context) {
+        expungeCollected();
+
+        entries.keySet().removeIf(k -> k.get() == context);
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        expungeCollected();
+
+        return entries.size();
+    }
+
+    private Object get(Key key) {
+        expungeCollected();
+
+        Entry entry = entries.get(key);
+
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.generation != generationOf(key.get())) {
+            entries.remove(key);
+            return null;
+        }
+
+        return entry.value;
+    }
+
+    private void put(Locator locator, Context context, boolean list, Object value) {
+        expungeCollected();
+
+        entries.put(new Key(locator, context, list, collected),
+                new Entry(generationOf(context), value));
+    }
+
+    private void expungeCollected() {
+        for (Reference<?> key; (key = collected.poll()) != null; ) {
+            entries.remove(key);
+        }
+    }
+
+    private static long generationOf(Object context) {
+        return context instanceof HasGeneration ? ((HasGeneration) context).generation() : 0;
+    }
+
+    private static final class Entry {
+        private final long generation;
+        private final Object value;
+
+        Entry(long generation, Object value) {
+            this.generation = generation;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Weakly references its context. Once the context is collected, the key is only equal to
+     * itself, so that it can still be removed.
+     */
+    private static final class Key extends WeakReference<Context> {
+        private final Locator locator;
+        private final boolean list;
+        private final int hash;
+
+        Key(Locator locator, Context context, boolean list, ReferenceQueue<Context> queue) {
+            super(Objects.requireNonNull(context, "context"), queue);
+            this.locator = Objects.requireNonNull(locator, "locator");
+            this.list = list;
+            this.hash = 31 * (31 * locator.hashCode() + System.identityHashCode(context))
+                    + Boolean.hashCode(list);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) o;
+            Context context = get();
+
+            return context != null && context == other.get() && list == other.list
+                    && locator.equals(other.locator);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
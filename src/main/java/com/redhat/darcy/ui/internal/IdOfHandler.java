@@ -25,58 +25,154 @@ import com.redhat.darcy.ui.api.Context;
 import com.redhat.darcy.ui.api.Locator;
 import com.redhat.darcy.ui.api.elements.Findable;
 import com.redhat.darcy.ui.api.elements.HasAttributes;
+import com.redhat.darcy.ui.internal.MethodDispatchTable.Dispatch;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.util.Optional;
-
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Forwards to an element found by the id of the element an original locator finds, once that id
+ * is known, and to the element the original locator finds until then. Ids are shared through an
+ * {@link IdCache}, so that if the id is already known, the original locator is never used. Once
+ * the cache forgets the id, such as after the page changed, the original locator is used again to
+ * find the element and its id anew. If an id from the cache finds nothing, it is forgotten, and
+ * the id is read again from the element the original locator finds, once per call.
+ *
+ * <p>Methods are dispatched by looking them up in a {@link MethodDispatchTable} for the element
+ * type. Proxies may be shared between threads. The elements in use and the id they were found by
+ * are published together as one immutable {@link State}, so no locks are taken.
+ */
 public class IdOfHandler implements InvocationHandler {
+    private static final AtomicReferenceFieldUpdater<IdOfHandler, State> STATE =
+            AtomicReferenceFieldUpdater.newUpdater(IdOfHandler.class, State.class, "state");
+
+    private final Locator locator;
     private final Context context;
     private final Class type;
-    private final Findable original;
+    private final IdCache ids;
+    private final MethodDispatchTable dispatchTable;
 
-    private Findable usingId;
+    private volatile State state = State.EMPTY;
 
     public IdOfHandler(Locator locator, Class type, Context context) {
+        this(locator, type, context, IdCaches.getDefault());
+    }
+
+    public IdOfHandler(Locator locator, Class type, Context context, IdCache ids) {
+        this.locator = locator;
         this.context = context;
         this.type = type;
+        this.ids = ids;
+        this.dispatchTable = MethodDispatchTable.forType(type);
+    }
 
-        original = locator.find(type, context);
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Dispatch dispatch = dispatchTable.get(method);
+        Findable findable = resolve().findable();
 
-        if (!(original instanceof HasAttributes)) {
-            throw new DarcyException("Cannot lookup an id for a Findable if it does not implement "
-                    + "HasAttributes. Findable was, " + original);
+        if (dispatch.kind() == MethodDispatchTable.Kind.GET_WRAPPED_ELEMENT) {
+            return findable;
         }
+
+        return dispatch.invoke(findable, args);
     }
 
-    @Override
-    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        if (usingId == null && original.isPresent()) {
-            Optional<String> id = getId((HasAttributes) original);
+    /**
+     * Brings the state up to date with the id cache, unless another thread has since done so.
+     *
+     * @return The state to use for the rest of the call.
+     */
+    private State resolve() {
+        State current = state;
+        String id = ids.getId(locator, context);
+
+        if (id != null && id.equals(current.id)) {
+            return current;
+        }
 
-            if (id.isPresent()) {
-                usingId = By.id(id.get()).find(type, context);
+        State resolved;
+
+        if (id != null) {
+            resolved = new State(null, id, findById(id));
+
+            if (!resolved.usingId.isPresent()) {
+                // The cached id finds nothing, such as when the element was replaced by one with
+                // a different id, so forget it and read the id again.
+                ids.invalidate(locator, context);
+                resolved = readId(null);
             }
+        } else {
+            // If the id was forgotten, it, and the original, may no longer be valid
+            resolved = readId(current.id == null ? current.original : null);
         }
 
-        if ("getWrappedElement".equals(method.getName())) {
-            return findable();
-        }
+        STATE.compareAndSet(this, current, resolved);
 
-        return method.invoke(findable(), args);
+        return resolved;
     }
 
-    private Optional<String> getId(HasAttributes hasAttributes) {
-        String id = hasAttributes.getAttribute("id");
+    /**
+     * Reads the id of the element the original locator finds, and remembers it if it has one.
+     *
+     * @param original The element the original locator found, or null to find it now.
+     */
+    private State readId(Findable original) {
+        if (original == null) {
+            original = findOriginal();
+        }
+
+        if (!original.isPresent()) {
+            return new State(original, null, null);
+        }
+
+        String id = ((HasAttributes) original).getAttribute("id");
 
         if (id == null || id.trim().isEmpty()) {
-            return Optional.empty();
+            return new State(original, null, null);
         }
 
-        return Optional.of(id);
+        ids.putId(locator, context, id);
+
+        return new State(original, id, findById(id));
     }
 
-    private Findable findable() {
-        return (usingId == null) ? original : usingId;
+    private Findable findOriginal() {
+        Findable found = (Findable) locator.find(type, context);
+
+        if (!(found instanceof HasAttributes)) {
+            throw new DarcyException("Cannot lookup an id for a Findable if it does not "
+                    + "implement HasAttributes. Findable was, " + found);
+        }
+
+        return found;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Findable findById(String id) {
+        return (Findable) By.id(id).find(type, context);
+    }
+
+    /**
+     * The element the original locator found, if it was needed, and the id read from it and the
+     * element found by that id, once they are known.
+     */
+    private static final class State {
+        static final State EMPTY = new State(null, null, null);
+
+        final Findable original;
+        final String id;
+        final Findable usingId;
+
+        State(Findable original, String id, Findable usingId) {
+            this.original = original;
+            this.id = id;
+            this.usingId = usingId;
+        }
+
+        Findable findable() {
+            return (usingId == null) ? original : usingId;
+        }
     }
 }
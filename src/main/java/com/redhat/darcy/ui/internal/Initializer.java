@@ -19,23 +19,16 @@
 
 package com.redhat.darcy.ui.internal;
 
-import com.redhat.darcy.ui.DarcyException;
-import com.redhat.darcy.ui.annotations.Context;
 import com.redhat.darcy.ui.api.ElementContext;
-import com.redhat.darcy.ui.api.HasElementContext;
 import com.redhat.darcy.ui.api.View;
-import com.redhat.darcy.ui.api.elements.Element;
-
-import java.lang.reflect.Field;
-import java.util.List;
 
 public class Initializer {
     private final View view;
-    private final List<Field> fields;
+    private final ViewBinder<Object> binder;
 
-    public Initializer(View view, List<Field> fields) {
+    public Initializer(View view, ViewBinder<Object> binder) {
         this.view = view;
-        this.fields = fields;
+        this.binder = binder;
     }
 
     /**
@@ -45,48 +38,6 @@ public class Initializer {
      * context itself if they are annotated with {@link com.redhat.darcy.ui.annotations.Context}.
      */
     public void initializeFields(ElementContext context) {
-        setContext(context);
-        assignContext(context);
-    }
-
-    /**
-     * Filters element or list fields, and if their associated objects implement
-     * {@link com.redhat.darcy.ui.api.HasElementContext}, calls
-     * {@link com.redhat.darcy.ui.api.HasElementContext#setContext(com.redhat.darcy.ui.api.ElementContext)}
-     * on those objects with the specified context.
-     */
-    private void setContext(ElementContext context) {
-        fields.stream()
-                .filter(f -> HasElementContext.class.isAssignableFrom(f.getType())
-                        || Element.class.isAssignableFrom(f.getType())
-                        || List.class.isAssignableFrom(f.getType()))
-                // TODO: .filter(f -> f.getAnnotation(IndependentContext.class) == null)
-                .map(f -> {
-                    try {
-                        return f.get(view);
-                    } catch (IllegalAccessException e) {
-                        throw new DarcyException(String.format("Couldn't retrieve get object " +
-                                "from field, %s, in view, %s", f, view), e);
-                    }
-                })
-                .filter(o -> o instanceof HasElementContext)
-                .map(e -> (HasElementContext) e)
-                .forEach(e -> e.setContext(context));
-    }
-
-    /**
-     * Sets fields annotated with {@link com.redhat.darcy.ui.annotations.Context @Context} with the
-     * specified context.
-     */
-    private void assignContext(ElementContext context) {
-        fields.stream()
-                .filter(f -> f.getAnnotation(Context.class) != null)
-                .forEach(f -> {
-                    try {
-                        f.set(view, context);
-                    } catch (IllegalAccessException | IllegalArgumentException e) {
-                        throw new DarcyException("Couldn't assign context to field," + f, e);
-                    }
-                });
+        binder.initializeFields(view, context);
     }
 }
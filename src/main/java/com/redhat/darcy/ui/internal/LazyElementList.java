@@ -0,0 +1,283 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.NullContextException;
+import com.redhat.darcy.ui.api.ElementContext;
+import com.redhat.darcy.ui.api.HasElementContext;
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.elements.Element;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * A list of elements which finds its elements when one of its methods is first called after being
+ * given a context, and then reuses that list until it is given another context. Every method of
+ * {@link List} is forwarded to the found list, as {@link ElementListHandler} would do.
+ *
+ * <p>Lists may be shared between threads. As in {@link ElementListHandler}, the context and the
+ * list found in it are published together as one immutable {@link Binding}, swapped atomically,
+ * so no locks are taken.
+ *
+ * @see DelegatingElementFactory
+ */
+class LazyElementList<T extends Element> implements List<T>, HasElementContext, BatchFindable {
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<LazyElementList, Binding> BINDING =
+            AtomicReferenceFieldUpdater.newUpdater(LazyElementList.class, Binding.class,
+                    "binding");
+
+    private final Class<T> type;
+    private final Locator locator;
+
+    private volatile Binding binding = Binding.UNBOUND;
+
+    LazyElementList(Class<T> type, Locator locator) {
+        this.type = type;
+        this.locator = locator;
+    }
+
+    @Override
+    public void setContext(ElementContext context) {
+        binding = new Binding(context, null);
+    }
+
+    @Override
+    public void addToBatch(FindBatch batch) {
+        Binding current = binding;
+
+        if (current.context != null && current.list == null) {
+            batch.add(current.context, LocatorRequest.findAll(type, locator),
+                    found -> BINDING.compareAndSet(this, current,
+                            new Binding(current.context, (List<?>) found)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> list() {
+        Binding current = binding;
+
+        if (current.context == null) {
+            throw new NullContextException();
+        }
+
+        if (current.list != null) {
+            MetricsRecorders.getDefault().elementCacheHit(type);
+            return (List<T>) current.list;
+        }
+
+        MetricsRecorders.getDefault().elementCacheMiss(type);
+
+        List<T> found = Lookups.findAll(locator, type, current.context);
+        BINDING.compareAndSet(this, current, new Binding(current.context, found));
+
+        return found;
+    }
+
+    @Override
+    public int size() {
+        return list().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return list().isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return list().contains(o);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return list().iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return list().toArray();
+    }
+
+    @Override
+    public <U> U[] toArray(U[] a) {
+        return list().toArray(a);
+    }
+
+    @Override
+    public boolean add(T t) {
+        return list().add(t);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return list().remove(o);
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        return list().containsAll(c);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        return list().addAll(c);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends T> c) {
+        return list().addAll(index, c);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return list().removeAll(c);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return list().retainAll(c);
+    }
+
+    @Override
+    public void clear() {
+        list().clear();
+    }
+
+    @Override
+    public T get(int index) {
+        return list().get(index);
+    }
+
+    @Override
+    public T set(int index, T element) {
+        return list().set(index, element);
+    }
+
+    @Override
+    public void add(int index, T element) {
+        list().add(index, element);
+    }
+
+    @Override
+    public T remove(int index) {
+        return list().remove(index);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return list().indexOf(o);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return list().lastIndexOf(o);
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        return list().listIterator();
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int index) {
+        return list().listIterator(index);
+    }
+
+    @Override
+    public List<T> subList(int fromIndex, int toIndex) {
+        return list().subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<T> operator) {
+        list().replaceAll(operator);
+    }
+
+    @Override
+    public void sort(Comparator<? super T> c) {
+        list().sort(c);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return list().spliterator();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        return list().removeIf(filter);
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return list().stream();
+    }
+
+    @Override
+    public Stream<T> parallelStream() {
+        return list().parallelStream();
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        list().forEach(action);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return list().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return list().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return list().toString();
+    }
+
+    /**
+     * A context and, once found, the list found in it.
+     */
+    private static final class Binding {
+        static final Binding UNBOUND = new Binding(null, null);
+
+        final ElementContext context;
+        final List<?> list;
+
+        Binding(ElementContext context, List<?> list) {
+            this.context = context;
+            this.list = list;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import java.util.Objects;
+
+/**
+ * How transitions check whether their destination view has loaded, each time they check. The mode
+ * used by transitions which were created without one is {@link #getDefault()}; initially
+ * {@link #FULL}, so that a view is only found loaded when all of its load conditions are met at
+ * once. The incremental modes skip conditions already met, which saves evaluating them while
+ * polling, and may be opted into with {@link #setDefault(LoadCheckMode)}.
+ *
+ * @see LoadCheckSession
+ */
+public enum LoadCheckMode {
+    /**
+     * Every check evaluates every load condition.
+     */
+    FULL,
+
+    /**
+     * Checks evaluate only the load conditions not met by earlier checks. Once they are all met,
+     * every condition is evaluated once more to confirm the view is loaded, unless they were all
+     * met in the same check.
+     */
+    INCREMENTAL,
+
+    /**
+     * Checks evaluate only the load conditions not met by earlier checks, and the view is loaded
+     * as soon as they have all been met, without confirming. Views whose elements come and go
+     * while loading may be found loaded when they are not.
+     */
+    INCREMENTAL_UNCONFIRMED;
+
+    private static volatile LoadCheckMode defaultMode = FULL;
+
+    public static LoadCheckMode getDefault() {
+        return defaultMode;
+    }
+
+    public static void setDefault(LoadCheckMode mode) {
+        defaultMode = Objects.requireNonNull(mode, "mode");
+    }
+
+    /**
+     * @return A session for a series of checks in this mode, or null if checks in this mode don't
+     * need one.
+     */
+    public LoadCheckSession newSession() {
+        return this == FULL ? null : new LoadCheckSession(this == INCREMENTAL);
+    }
+}
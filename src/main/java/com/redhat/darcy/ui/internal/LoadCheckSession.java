@@ -0,0 +1,134 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.synq.AbstractCondition;
+import com.redhat.synq.Condition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which of a view's load conditions have been met during a series of checks, such as
+ * while a transition waits for the view to load, so that later checks evaluate only the conditions
+ * which were not met yet. Once they are all met, the session may confirm that the view is loaded
+ * by evaluating every condition again, in case one which was met earlier no longer is.
+ *
+ * <p>Conditions are remembered by identity, so sessions rely on the view returning the same
+ * condition objects each time, as {@link Analyzer} does.
+ *
+ * @see LoadCheckMode
+ * @see IncrementallyLoadable
+ */
+public class LoadCheckSession {
+    private final boolean confirm;
+    private final Set<Condition<?>> met = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * @param confirm Whether to evaluate every condition again once they have all been met, unless
+     * they were all met in the same check.
+     */
+    public LoadCheckSession(boolean confirm) {
+        this.confirm = confirm;
+    }
+
+    /**
+     * @return Whether all the conditions are met, evaluating only those not met in an earlier call
+     * (and then, if confirming, all of them). Conditions met are remembered for the next call.
+     */
+    public boolean allMet(List<? extends Condition<?>> conditions, ConditionEvaluator evaluator) {
+        List<Condition<?>> unmet = new ArrayList<>(conditions.size());
+
+        for (Condition<?> condition : conditions) {
+            if (!met.contains(condition)) {
+                unmet.add(new Remembered<>(condition));
+            }
+        }
+
+        boolean metEarlier = unmet.size() < conditions.size();
+
+        if (!evaluator.allMet(unmet)) {
+            return false;
+        }
+
+        if (!confirm || !metEarlier) {
+            return true;
+        }
+
+        met.clear();
+
+        List<Condition<?>> all = new ArrayList<>(conditions.size());
+
+        for (Condition<?> condition : conditions) {
+            all.add(new Remembered<>(condition));
+        }
+
+        return evaluator.allMet(all);
+    }
+
+    /**
+     * @return How many conditions are remembered as met.
+     */
+    public int metCount() {
+        return met.size();
+    }
+
+    /**
+     * Forgets which conditions were met, so that the next check evaluates all of them.
+     */
+    public void reset() {
+        met.clear();
+    }
+
+    /**
+     * Forwards to a condition, remembering it if it is met.
+     */
+    private class Remembered<T> extends AbstractCondition<T> {
+        private final Condition<T> condition;
+
+        Remembered(Condition<T> condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        public boolean isMet() {
+            boolean isMet = condition.isMet();
+
+            if (isMet) {
+                met.add(condition);
+            }
+
+            return isMet;
+        }
+
+        @Override
+        public T lastResult() {
+            return condition.lastResult();
+        }
+
+        @Override
+        public String toString() {
+            return condition.toString();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.api.Context;
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.elements.Findable;
+
+import java.util.Objects;
+
+/**
+ * A request to find something by a {@link Locator}, either a single object of some type as by
+ * {@link Locator#find(Class, Context)}, or a list as by {@link Locator#findAll(Class, Context)}.
+ * Requests are resolved many at a time by contexts which implement {@link FindsByBatch}.
+ *
+ * @param <T> The type of object to find.
+ */
+public final class LocatorRequest<T extends Findable> {
+    private final Class<T> type;
+    private final Locator locator;
+    private final boolean list;
+
+    private LocatorRequest(Class<T> type, Locator locator, boolean list) {
+        this.type = Objects.requireNonNull(type, "type");
+        this.locator = Objects.requireNonNull(locator, "locator");
+        this.list = list;
+    }
+
+    public static <T extends Findable> LocatorRequest<T> find(Class<T> type, Locator locator) {
+        return new LocatorRequest<>(type, locator, false);
+    }
+
+    public static <T extends Findable> LocatorRequest<T> findAll(Class<T> type, Locator locator) {
+        return new LocatorRequest<>(type, locator, true);
+    }
+
+    public Class<T> type() {
+        return type;
+    }
+
+    public Locator locator() {
+        return locator;
+    }
+
+    /**
+     * @return Whether a list of objects is requested, as opposed to a single object.
+     */
+    public boolean isList() {
+        return list;
+    }
+
+    /**
+     * Resolves this request on its own in the specified context.
+     *
+     * @return An object of the requested type, or a list of them if {@link #isList()}.
+     */
+    public Object resolveIn(Context context) {
+        return list ? Lookups.findAll(locator, type, context) : Lookups.find(locator, type, context);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LocatorRequest)) {
+            return false;
+        }
+
+        LocatorRequest<?> other = (LocatorRequest<?>) o;
+
+        return list == other.list && type.equals(other.type) && locator.equals(other.locator);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, locator, list);
+    }
+
+    @Override
+    public String toString() {
+        return "LocatorRequest: {type: " + type + ", locator: " + locator + ", list: " + list + "}";
+    }
+}
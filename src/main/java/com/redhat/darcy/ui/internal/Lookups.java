@@ -0,0 +1,65 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.api.Context;
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.elements.Findable;
+
+import java.util.List;
+
+/**
+ * Finds with locators, and records each {@link MetricsRecorder#lookup lookup} with the default
+ * {@link MetricsRecorder}.
+ */
+abstract class Lookups {
+    static <T extends Findable> T find(Locator locator, Class<T> type, Context context) {
+        MetricsRecorder metrics = MetricsRecorders.getDefault();
+
+        if (!metrics.isRecording()) {
+            return locator.find(type, context);
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            return locator.find(type, context);
+        } finally {
+            metrics.lookup(locator.getClass(), false, System.nanoTime() - start);
+        }
+    }
+
+    static <T extends Findable> List<T> findAll(Locator locator, Class<T> type,
+            Context context) {
+        MetricsRecorder metrics = MetricsRecorders.getDefault();
+
+        if (!metrics.isRecording()) {
+            return locator.findAll(type, context);
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            return locator.findAll(type, context);
+        } finally {
+            metrics.lookup(locator.getClass(), true, System.nanoTime() - start);
+        }
+    }
+}
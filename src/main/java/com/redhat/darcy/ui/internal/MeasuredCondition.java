@@ -0,0 +1,129 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.synq.AbstractCondition;
+import com.redhat.synq.Condition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Forwards to a condition, and keeps track of its {@link ConditionCost}: moving averages of how
+ * often it is not met and how long it takes to evaluate. Because required conditions are all
+ * checked with short-circuiting, ordering them by {@link #expectedCostToFail()} means a condition
+ * which is not met is usually found sooner, such as while polling a page that has not finished
+ * loading.
+ *
+ * @see Analyzer
+ */
+class MeasuredCondition<T> extends AbstractCondition<T> {
+    private final int index;
+    private final Object subject;
+    private final Condition<T> condition;
+    private final ConditionCost cost = new ConditionCost();
+
+    /**
+     * @param index Position of the condition in declaration order.
+     * @param subject What the condition is about, such as a required element.
+     */
+    MeasuredCondition(int index, Object subject, Condition<T> condition) {
+        this.index = index;
+        this.subject = subject;
+        this.condition = Objects.requireNonNull(condition, "condition");
+    }
+
+    /**
+     * @return A copy of the conditions, cheapest expected cost to fail first. Conditions which have
+     * not been evaluated yet are first, in declaration order.
+     */
+    static List<Condition<?>> inCostOrder(List<MeasuredCondition<?>> conditions) {
+        return new ArrayList<>(sorted(conditions));
+    }
+
+    static List<ConditionStats> statsInCostOrder(List<MeasuredCondition<?>> conditions) {
+        List<ConditionStats> stats = new ArrayList<>(conditions.size());
+
+        for (MeasuredCondition<?> condition : sorted(conditions)) {
+            stats.add(condition.stats());
+        }
+
+        return stats;
+    }
+
+    /**
+     * Sorts by a snapshot of each condition's cost, since conditions may be evaluated, and their
+     * costs change, while sorting.
+     */
+    private static List<MeasuredCondition<?>> sorted(List<MeasuredCondition<?>> conditions) {
+        int size = conditions.size();
+        double[] costs = new double[size];
+        Integer[] order = new Integer[size];
+
+        for (int i = 0; i < size; i++) {
+            costs[i] = conditions.get(i).expectedCostToFail();
+            order[i] = i;
+        }
+
+        Arrays.sort(order, Comparator.comparingDouble(i -> costs[i]));
+
+        List<MeasuredCondition<?>> sorted = new ArrayList<>(size);
+
+        for (Integer i : order) {
+            sorted.add(conditions.get(i));
+        }
+
+        return sorted;
+    }
+
+    @Override
+    public boolean isMet() {
+        boolean met = false;
+        long start = System.nanoTime();
+
+        try {
+            met = condition.isMet();
+            return met;
+        } finally {
+            cost.record(met, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public T lastResult() {
+        return condition.lastResult();
+    }
+
+    double expectedCostToFail() {
+        return cost.expectedCostToFail();
+    }
+
+    ConditionStats stats() {
+        return cost.stats(index, subject);
+    }
+
+    @Override
+    public String toString() {
+        return "MeasuredCondition: {index: " + index + ", condition: " + condition + "}";
+    }
+}
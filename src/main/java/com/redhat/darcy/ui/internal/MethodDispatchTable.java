@@ -0,0 +1,167 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.DarcyException;
+import com.redhat.darcy.ui.api.ElementContext;
+import com.redhat.darcy.ui.api.HasElementContext;
+import com.redhat.darcy.ui.api.WrapsElement;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Decides, once per {@link Method}, how {@link ElementHandler}, {@link ElementListHandler}, and
+ * {@link IdOfHandler} should handle calls to it. A table exists per proxied interface. Proxies
+ * pass the same Method instances on every call, so a lookup normally ends at an identity
+ * comparison. Methods are keyed by equality rather than identity, since equal methods, passed by
+ * different proxy classes for the same interface, are dispatched the same way.
+ *
+ * <p>Methods are only handled by the proxy itself if they are, or override, the methods of
+ * {@link HasElementContext}, {@link WrapsElement}, or {@link BatchFindable}. Methods of the element
+ * which happen to share their names are forwarded.
+ *
+ * <p>Forwarded methods are called through a {@link MethodHandle} which spreads the proxy's
+ * argument array, rather than {@link Method#invoke(Object, Object...)}. Exceptions thrown by the
+ * target are thrown as is, rather than wrapped in an
+ * {@link java.lang.reflect.InvocationTargetException}.
+ */
+final class MethodDispatchTable {
+    private static final MethodType FORWARD_TYPE =
+            MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private static final ClassValue<MethodDispatchTable> tables =
+            new ClassValue<MethodDispatchTable>() {
+                @Override
+                protected MethodDispatchTable computeValue(Class<?> type) {
+                    return new MethodDispatchTable();
+                }
+            };
+
+    private final ConcurrentMap<Method, Dispatch> dispatches = new ConcurrentHashMap<>();
+
+    private MethodDispatchTable() {}
+
+    static MethodDispatchTable forType(Class<?> type) {
+        return tables.get(Objects.requireNonNull(type, "type"));
+    }
+
+    Dispatch get(Method method) {
+        Dispatch dispatch = dispatches.get(method);
+
+        if (dispatch == null) {
+            dispatch = dispatches.computeIfAbsent(method, Dispatch::forMethod);
+        }
+
+        return dispatch;
+    }
+
+    enum Kind {
+        /** {@link com.redhat.darcy.ui.api.HasElementContext#setContext} */
+        SET_CONTEXT,
+        /** {@link com.redhat.darcy.ui.api.WrapsElement#getWrappedElement()} */
+        GET_WRAPPED_ELEMENT,
+        /** {@link BatchFindable#addToBatch(FindBatch)} */
+        ADD_TO_BATCH,
+        /** Any other method, which is forwarded to the proxied object. */
+        FORWARD
+    }
+
+    static final class Dispatch {
+        private final Kind kind;
+        private final MethodHandle handle;
+
+        private Dispatch(Kind kind, MethodHandle handle) {
+            this.kind = kind;
+            this.handle = handle;
+        }
+
+        static Dispatch forMethod(Method method) {
+            return new Dispatch(kindOf(method), forwardingHandle(method));
+        }
+
+        private static Kind kindOf(Method method) {
+            if (overrides(method, HasElementContext.class, "setContext", ElementContext.class)) {
+                return Kind.SET_CONTEXT;
+            }
+
+            if (overrides(method, WrapsElement.class, "getWrappedElement")) {
+                return Kind.GET_WRAPPED_ELEMENT;
+            }
+
+            if (overrides(method, BatchFindable.class, "addToBatch", FindBatch.class)) {
+                return Kind.ADD_TO_BATCH;
+            }
+
+            return Kind.FORWARD;
+        }
+
+        Kind kind() {
+            return kind;
+        }
+
+        /**
+         * Calls the method on the target, whatever its kind, for proxies which only handle some of
+         * the methods the kind describes themselves. Arguments may be null if the method takes
+         * none, as they are for
+         * {@link java.lang.reflect.InvocationHandler#invoke(Object, Method, Object[])}.
+         */
+        Object invoke(Object target, Object[] args) throws Throwable {
+            return (Object) handle.invokeExact(target, args);
+        }
+
+        /**
+         * @return Whether the method is the one declared by the interface, or overrides it in a
+         * subinterface.
+         */
+        private static boolean overrides(Method method, Class<?> declaringInterface, String name,
+                Class<?>... parameterTypes) {
+            return method.getName().equals(name)
+                    && declaringInterface.isAssignableFrom(method.getDeclaringClass())
+                    && Arrays.equals(method.getParameterTypes(), parameterTypes);
+        }
+
+        private static MethodHandle forwardingHandle(Method method) {
+            MethodHandle handle;
+
+            try {
+                handle = MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException e) {
+                // Methods of interfaces which are not public
+                try {
+                    method.setAccessible(true);
+                    handle = MethodHandles.lookup().unreflect(method);
+                } catch (IllegalAccessException | SecurityException e1) {
+                    throw new DarcyException("Couldn't forward method, " + method, e1);
+                }
+            }
+
+            return handle.asFixedArity()
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(FORWARD_TYPE);
+        }
+    }
+}
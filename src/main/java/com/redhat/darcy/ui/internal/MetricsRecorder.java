@@ -0,0 +1,94 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.api.Locator;
+
+/**
+ * Records what darcy is doing on its hot paths: finding elements, reusing elements it already
+ * found, checking whether views are loaded, and polling for transitions. Recorders are called on
+ * every such operation, so they should be quick, and should not allocate.
+ *
+ * <p>Every method does nothing by default, so implementations need only override what they are
+ * interested in. The recorder in use is {@link MetricsRecorders#getDefault()}; it does nothing
+ * unless one is {@link MetricsRecorders#setDefault(MetricsRecorder) set}.
+ *
+ * @see HistogramMetricsRecorder
+ */
+public interface MetricsRecorder {
+    /**
+     * @return A recorder which records nothing.
+     */
+    static MetricsRecorder noop() {
+        return NoopMetricsRecorder.INSTANCE;
+    }
+
+    /**
+     * @return Whether anything is recorded at all. If not, callers may skip timing what they would
+     * record.
+     */
+    default boolean isRecording() {
+        return true;
+    }
+
+    /**
+     * A locator found something in a context.
+     *
+     * @param locatorType The class of the locator, such as {@link com.redhat.darcy.ui.By.ById}.
+     * @param list Whether a list was found, with {@link Locator#findAll}, rather than
+     * {@link Locator#find}.
+     */
+    default void lookup(Class<? extends Locator> locatorType, boolean list, long nanos) {}
+
+    /**
+     * An element, or list of elements, was used without being found again, because it was found
+     * before.
+     */
+    default void elementCacheHit(Class<?> elementType) {}
+
+    /**
+     * An element, or list of elements, was found, because it had not been found yet, or had to be
+     * found again.
+     */
+    default void elementCacheMiss(Class<?> elementType) {}
+
+    /**
+     * A view's load conditions were evaluated, as when checking if it is loaded.
+     *
+     * @param conditions How many load conditions were to be evaluated: all of the view's, or,
+     * when checked as part of a {@link LoadCheckSession}, those not met by earlier checks.
+     * @param met Whether they were all met.
+     */
+    default void loadConditionsEvaluated(Class<?> viewType, int conditions, boolean met,
+            long nanos) {}
+
+    /**
+     * A transition to a view checked once whether the view had loaded.
+     */
+    default void transitionPolled(Class<?> viewType, boolean loaded, long nanos) {}
+
+    /**
+     * A transition to a view finished waiting.
+     *
+     * @param polls How many times the transition checked whether the view had loaded.
+     * @param arrived Whether the view loaded, rather than the wait timing out or failing.
+     */
+    default void transitionFinished(Class<?> viewType, int polls, boolean arrived, long nanos) {}
+}
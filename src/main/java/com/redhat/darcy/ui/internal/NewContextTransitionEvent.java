@@ -21,19 +21,116 @@ package com.redhat.darcy.ui.internal;
 
 import static com.redhat.darcy.ui.matchers.DarcyMatchers.loadedInContext;
 
+import com.redhat.darcy.ui.api.ElementContext;
 import com.redhat.darcy.ui.api.Locator;
 import com.redhat.darcy.ui.api.ParentContext;
 import com.redhat.darcy.ui.api.View;
 import com.redhat.synq.Event;
 import com.redhat.synq.ForwardingPollEvent;
+import com.redhat.synq.PollEvent;
 import com.redhat.synq.Synq;
 
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
 public class NewContextTransitionEvent<T extends View> extends ForwardingPollEvent<T> implements Event<T> {
+    private final T destination;
+    private final PollRecordingMatcher<T> loaded;
+    private final ElementContext context;
+    private final ParentContext parentContext;
+    private final PollSchedule schedule;
+    private final LoadCheckSession session;
 
     public NewContextTransitionEvent(T destination, ParentContext parentContext,
             Locator contextLocator) {
-        super(Synq.expect(destination,
-                loadedInContext(parentContext.find().elementContext(contextLocator))));
+        this(destination, parentContext, contextLocator, PollSchedules.getDefault());
+    }
+
+    public NewContextTransitionEvent(T destination, ParentContext parentContext,
+            Locator contextLocator, PollSchedule schedule) {
+        this(destination, parentContext, parentContext.find().elementContext(contextLocator),
+                schedule);
+    }
+
+    private NewContextTransitionEvent(T destination, ParentContext parentContext,
+            ElementContext context, PollSchedule schedule) {
+        this(destination, parentContext, context, schedule,
+                LoadCheckMode.getDefault().newSession());
+    }
+
+    private NewContextTransitionEvent(T destination, ParentContext parentContext,
+            ElementContext context, PollSchedule schedule, LoadCheckSession session) {
+        this(destination, parentContext, context, schedule, session,
+                new PollRecordingMatcher<>(loadedInContext(context, session)));
+    }
+
+    private NewContextTransitionEvent(T destination, ParentContext parentContext,
+            ElementContext context, PollSchedule schedule, LoadCheckSession session,
+            PollRecordingMatcher<T> loaded) {
+        super(Synq.expect(destination, loaded));
+
+        this.destination = destination;
+        this.loaded = loaded;
+        this.context = context;
+        this.parentContext = parentContext;
+        this.schedule = Objects.requireNonNull(schedule, "schedule");
+        this.session = session;
+    }
+
+    /**
+     * Waits for the destination to load in the new context. If either the new context, or the
+     * context it is found in, is an {@link ObservableContext}, the destination is checked each
+     * time it changes, and only occasionally otherwise. Otherwise, it is checked as often as the
+     * transition's {@link PollSchedule} decides, or at synq's polling interval if the schedule is
+     * {@link PollSchedules#SYNQ_POLLING}.
+     */
+    @Override
+    public T waitUpTo(long timeout, TimeUnit unit) {
+        return await(() -> {
+            if (schedule == PollSchedules.SYNQ_POLLING
+                    && !ChangeSignal.anyObservable(context, parentContext)) {
+                return super.waitUpTo(timeout, unit);
+            }
+
+            if (ChangeSignal.awaitMatchIn(destination, loaded, timeout, unit, schedule, context,
+                    parentContext)) {
+                return destination;
+            }
+
+            // Check one last time, failing as a poll would if the destination still isn't loaded
+            return super.waitUpTo(0, unit);
+        });
+    }
+
+    /**
+     * Polls for the destination at the specified interval, whether or not either context is an
+     * {@link ObservableContext}.
+     */
+    @Override
+    public PollEvent<T> pollingEvery(long pollingInterval, TimeUnit unit) {
+        PollEvent<T> polling = super.pollingEvery(pollingInterval, unit);
+
+        return new ForwardingPollEvent<T>(polling) {
+            @Override
+            public T waitUpTo(long timeout, TimeUnit unit) {
+                return await(() -> super.waitUpTo(timeout, unit));
+            }
+        };
+    }
+
+    /**
+     * Starts a new series of checks, forgetting which load conditions were met while waiting
+     * before, and records how it went. Either context which is a
+     * {@link com.redhat.darcy.ui.CachingContext} starts a new generation.
+     */
+    private T await(Supplier<T> wait) {
+        if (session != null) {
+            session.reset();
+        }
+
+        SimpleTransitionEvent.startNewGeneration(context, parentContext);
+
+        return loaded.recordWait(destination, wait);
     }
-    
 }
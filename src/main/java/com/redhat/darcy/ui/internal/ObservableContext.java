@@ -0,0 +1,46 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+/**
+ * Implemented by contexts which can tell when something within them changes, such as when
+ * elements are added, removed, or change their attributes or text. Transitions to views within
+ * such contexts check whether the view has loaded when something changes, rather than at a fixed
+ * interval.
+ *
+ * <p>Contexts may signal changes which turn out not to matter, but should not miss any which do.
+ * Transitions still check now and then whether their view has loaded, in case they do.
+ *
+ * @see ChangeSignal
+ */
+public interface ObservableContext {
+    /**
+     * @param listener Run whenever something within the context changes. It may be run by any
+     * thread, possibly while the context is locked, so it should be quick and should not use the
+     * context.
+     */
+    void addChangeListener(Runnable listener);
+
+    /**
+     * Stops a listener, previously {@link #addChangeListener(Runnable) added}, from being run. Has
+     * no effect if it was not added.
+     */
+    void removeChangeListener(Runnable listener);
+}
@@ -0,0 +1,77 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.api.Context;
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.elements.Findable;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * Checks each index of a sequence in turn, until one is not present.
+ */
+enum OneByOneSequenceProbe implements SequenceProbe {
+    INSTANCE;
+
+    @Override
+    public <T extends Findable> Iterator<T> iterator(IntFunction<Locator> locatorAt, Class<T> type,
+            Context context) {
+        return new Iterator<T>() {
+            private int index;
+            private T next;
+            private boolean ended;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null && !ended) {
+                    T found = locatorAt.apply(index).find(type, context);
+
+                    if (found.isPresent()) {
+                        next = found;
+                        index++;
+                    } else {
+                        ended = true;
+                    }
+                }
+
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                T found = next;
+                next = null;
+                return found;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "SequenceProbe.oneByOne()";
+    }
+}
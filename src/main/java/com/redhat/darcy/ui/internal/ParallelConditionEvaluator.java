@@ -0,0 +1,132 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.DarcyException;
+import com.redhat.synq.Condition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+
+/**
+ * Evaluates conditions concurrently on an {@link Executor}, so that checking many slow conditions
+ * takes about as long as the slowest of them, rather than the sum. As soon as one condition is not
+ * met, or throws an exception, the others still outstanding are cancelled and interrupted.
+ *
+ * <p>The executor should be able to run as many conditions at once as are typically evaluated,
+ * such as a cached or suitably sized fixed thread pool; conditions queued behind others won't start
+ * until a thread is free. The executor is not shut down by this evaluator.
+ *
+ * <p>Conditions evaluated on the executor may themselves evaluate conditions, as a view's do when
+ * it requires nested views. Those nested conditions are evaluated one after another on the thread
+ * already running, rather than submitted to the same executor, so that conditions waiting on
+ * nested conditions never occupy every thread of a bounded pool while the nested conditions wait
+ * in its queue.
+ *
+ * <p>Each condition usually interacts with its own element, but elements and contexts shared by
+ * several conditions must tolerate being used from several threads.
+ */
+public class ParallelConditionEvaluator implements ConditionEvaluator {
+    /**
+     * The executor whose condition the current thread is evaluating, if any.
+     */
+    private static final ThreadLocal<Executor> evaluatingOn = new ThreadLocal<>();
+
+    private final Executor executor;
+
+    public ParallelConditionEvaluator(Executor executor) {
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    @Override
+    public boolean allMet(List<? extends Condition<?>> conditions) {
+        if (conditions.size() < 2 || evaluatingOn.get() == executor) {
+            return ConditionEvaluator.sequential().allMet(conditions);
+        }
+
+        CompletionService<Boolean> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Boolean>> futures = new ArrayList<>(conditions.size());
+
+        try {
+            for (Condition<?> condition : conditions) {
+                futures.add(completion.submit(() -> isMetOnExecutor(condition)));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                if (!resultOf(completion.take())) {
+                    return false;
+                }
+            }
+
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DarcyException("Interrupted while evaluating conditions.", e);
+        } finally {
+            for (Future<Boolean> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private boolean isMetOnExecutor(Condition<?> condition) {
+        Executor outer = evaluatingOn.get();
+        evaluatingOn.set(executor);
+
+        try {
+            return condition.isMet();
+        } finally {
+            if (outer == null) {
+                evaluatingOn.remove();
+            } else {
+                evaluatingOn.set(outer);
+            }
+        }
+    }
+
+    private static boolean resultOf(Future<Boolean> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new DarcyException("Condition could not be evaluated.", cause);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelConditionEvaluator: {executor: " + executor + "}";
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.api.View;
+
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Counts, and records, each time a transition checks whether its destination has loaded.
+ *
+ * @see SimpleTransitionEvent
+ * @see NewContextTransitionEvent
+ */
+class PollRecordingMatcher<T extends View> extends TypeSafeMatcher<T> {
+    private final Matcher<? super T> loaded;
+    private final AtomicInteger polls = new AtomicInteger();
+
+    PollRecordingMatcher(Matcher<? super T> loaded) {
+        this.loaded = loaded;
+    }
+
+    int polls() {
+        return polls.get();
+    }
+
+    /**
+     * Waits for a transition to the destination, and records how many times it checked whether
+     * the destination had loaded, whether it arrived, and how long it took.
+     */
+    T recordWait(T destination, Supplier<T> wait) {
+        MetricsRecorder metrics = MetricsRecorders.getDefault();
+
+        if (!metrics.isRecording()) {
+            return wait.get();
+        }
+
+        int pollsBefore = polls();
+        long start = System.nanoTime();
+        boolean arrived = false;
+
+        try {
+            T arrivedAt = wait.get();
+            arrived = true;
+            return arrivedAt;
+        } finally {
+            metrics.transitionFinished(destination.getClass(), polls() - pollsBefore, arrived,
+                    System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    protected boolean matchesSafely(T view) {
+        MetricsRecorder metrics = MetricsRecorders.getDefault();
+
+        if (!metrics.isRecording()) {
+            return loaded.matches(view);
+        }
+
+        polls.incrementAndGet();
+        long start = System.nanoTime();
+        boolean matches = false;
+
+        try {
+            matches = loaded.matches(view);
+            return matches;
+        } finally {
+            metrics.transitionPolled(view.getClass(), matches, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void describeTo(Description description) {
+        loaded.describeTo(description);
+    }
+
+    @Override
+    protected void describeMismatchSafely(T view, Description mismatchDescription) {
+        loaded.describeMismatch(view, mismatchDescription);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides how long a transition waits between checks of whether its destination view has loaded.
+ * Each check finds the view's required elements again, so checking too often multiplies the load
+ * on the user interface, or on the server automating it, while checking too rarely makes tests
+ * wait longer than they need to.
+ *
+ * @see BackoffPollSchedule
+ * @see PollSchedules
+ */
+@FunctionalInterface
+public interface PollSchedule {
+    /**
+     * @param checks How many times the destination has been checked so far; 1 after the first
+     * check.
+     * @param lastCheckNanos How long the last check took.
+     * @return How long to wait, in nanoseconds, before checking again.
+     */
+    long delayNanos(int checks, long lastCheckNanos);
+
+    /**
+     * @return A schedule which always waits the same interval between checks.
+     */
+    static PollSchedule fixed(long interval, TimeUnit unit) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("Interval must not be negative: " + interval);
+        }
+
+        long intervalNanos = unit.toNanos(interval);
+
+        return (checks, lastCheckNanos) -> intervalNanos;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import java.util.Objects;
+
+/**
+ * Holds the {@link PollSchedule} used by transitions which were not given one of their own.
+ * Transitions use the schedule that was the default at the time they were created. Initially, this
+ * is {@link #SYNQ_POLLING}, so transitions poll as they always have unless a schedule, such as a
+ * {@link BackoffPollSchedule}, is set as the default, or given to
+ * {@link com.redhat.darcy.ui.api.ElementContext#transition(PollSchedule)}.
+ */
+public abstract class PollSchedules {
+    /**
+     * Leaves polling to synq: transitions with this schedule check whether their destination has
+     * loaded at synq's fixed polling interval, or each time an
+     * {@link ObservableContext observable context} changes. It has no delays of its own.
+     */
+    public static final PollSchedule SYNQ_POLLING = new PollSchedule() {
+        @Override
+        public long delayNanos(int checks, long lastCheckNanos) {
+            throw new UnsupportedOperationException("Polling is left to synq.");
+        }
+
+        @Override
+        public String toString() {
+            return "SYNQ_POLLING";
+        }
+    };
+
+    private static volatile PollSchedule defaultSchedule = SYNQ_POLLING;
+
+    public static PollSchedule getDefault() {
+        return defaultSchedule;
+    }
+
+    public static void setDefault(PollSchedule schedule) {
+        defaultSchedule = Objects.requireNonNull(schedule, "schedule");
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.api.HasElementContext;
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.WrapsElement;
+import com.redhat.darcy.ui.api.elements.Element;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Creates {@link Proxy proxies} of any element interface, backed by {@link ElementHandler} and
+ * {@link ElementListHandler}. Every method call on these is dispatched reflectively.
+ *
+ * @see DelegatingElementFactory
+ */
+public class ProxyElementFactory implements ElementFactory {
+    private final Supplier<RelocationPolicy> relocationPolicy;
+
+    /**
+     * Creates elements which use the {@link RelocationPolicies#getDefault() default relocation
+     * policy} at the time they are created.
+     */
+    public ProxyElementFactory() {
+        relocationPolicy = RelocationPolicies::getDefault;
+    }
+
+    public ProxyElementFactory(RelocationPolicy relocationPolicy) {
+        Objects.requireNonNull(relocationPolicy, "relocationPolicy");
+
+        this.relocationPolicy = () -> relocationPolicy;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Element> T element(Class<T> type, Locator locator) {
+        return (T) Proxy.newProxyInstance(ProxyElementFactory.class.getClassLoader(),
+                new Class[] { type, HasElementContext.class, WrapsElement.class,
+                        BatchFindable.class },
+                new ElementHandler(type, locator, relocationPolicy.get()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Element> List<T> elements(Class<T> type, Locator locator) {
+        return (List<T>) Proxy.newProxyInstance(ProxyElementFactory.class.getClassLoader(),
+                new Class[] { List.class, HasElementContext.class, BatchFindable.class },
+                new ElementListHandler(type, locator));
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import java.util.List;
+
+/**
+ * Implemented by contexts which can read an attribute of many elements at once, such as in a
+ * single request to a remote automation server.
+ */
+public interface ReadsAttributesByBatch {
+    /**
+     * @param elements Elements found within this context.
+     * @return The value of the attribute of each element, in the same order as the elements, or
+     * null for elements which do not have it.
+     */
+    List<String> getAttributeOfAll(List<?> elements, String attribute);
+}
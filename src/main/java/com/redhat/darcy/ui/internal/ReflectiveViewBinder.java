@@ -0,0 +1,97 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.DarcyException;
+import com.redhat.darcy.ui.api.ElementContext;
+import com.redhat.darcy.ui.api.HasElementContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Binds any view using the fields described by its {@link ViewMetadata}.
+ */
+public class ReflectiveViewBinder implements ViewBinder<Object> {
+    private final ViewMetadata metadata;
+
+    public ReflectiveViewBinder(ViewMetadata metadata) {
+        this.metadata = Objects.requireNonNull(metadata, "metadata");
+    }
+
+    @Override
+    public void initializeFields(Object view, ElementContext context) {
+        setContext(view, context);
+        assignContext(view, context);
+    }
+
+    @Override
+    public List<Object> getRequiredObjects(Object view) {
+        List<Object> objects = new ArrayList<>(metadata.requiredObjects().size());
+
+        for (FieldAccessor field : metadata.requiredObjects()) {
+            objects.add(field.get(view));
+        }
+
+        return objects;
+    }
+
+    @Override
+    public List<RequiredList<Object>> getRequiredLists(Object view) {
+        List<RequiredList<Object>> lists = new ArrayList<>(metadata.requiredLists().size());
+
+        for (ViewMetadata.ListField field : metadata.requiredLists()) {
+            lists.add(new RequiredList<>(field, view));
+        }
+
+        return lists;
+    }
+
+    /**
+     * Filters element or list fields, and if their associated objects implement
+     * {@link com.redhat.darcy.ui.api.HasElementContext}, calls
+     * {@link com.redhat.darcy.ui.api.HasElementContext#setContext(com.redhat.darcy.ui.api.ElementContext)}
+     * on those objects with the specified context.
+     */
+    private void setContext(Object view, ElementContext context) {
+        for (FieldAccessor field : metadata.elementContextFields()) {
+            Object value = field.get(view);
+
+            if (value instanceof HasElementContext) {
+                ((HasElementContext) value).setContext(context);
+            }
+        }
+    }
+
+    /**
+     * Sets fields annotated with {@link com.redhat.darcy.ui.annotations.Context @Context} with the
+     * specified context.
+     */
+    private void assignContext(Object view, ElementContext context) {
+        for (FieldAccessor field : metadata.contextFields()) {
+            try {
+                field.set(view, context);
+            } catch (ClassCastException e) {
+                throw new DarcyException("Couldn't assign context to field," + field.field(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import java.util.Objects;
+
+/**
+ * Holds the {@link RelocationPolicy} used by elements created by the default element factories.
+ * Elements use the policy that was the default at the time they were created. Initially, this is
+ * a {@link DefaultRelocationPolicy}.
+ */
+public abstract class RelocationPolicies {
+    private static volatile RelocationPolicy defaultPolicy = new DefaultRelocationPolicy();
+
+    public static RelocationPolicy getDefault() {
+        return defaultPolicy;
+    }
+
+    public static void setDefault(RelocationPolicy policy) {
+        defaultPolicy = Objects.requireNonNull(policy, "policy");
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.api.Locator;
+
+/**
+ * Decides whether a lazy element should find its element again and retry a call, after the call
+ * failed on the element it had already found. Elements found by a locator may go stale, such as
+ * when a page re-renders part of itself; without re-locating, every later call on the lazy element
+ * would fail until it is given a new context.
+ *
+ * @see DefaultRelocationPolicy
+ * @see RelocationPolicies
+ */
+@FunctionalInterface
+public interface RelocationPolicy {
+    /**
+     * @param failure The exception thrown by the call on the found element.
+     * @param relocations How many times the element has already been found again for this call.
+     * @return Whether the element should be found again and the call retried.
+     */
+    boolean shouldRelocate(Throwable failure, int relocations);
+
+    /**
+     * Called each time an element is about to be found again, as decided by
+     * {@link #shouldRelocate(Throwable, int)}.
+     */
+    default void relocating(Locator locator, Throwable failure) {}
+
+    /**
+     * @return A policy that never re-locates elements.
+     */
+    static RelocationPolicy never() {
+        return (failure, relocations) -> false;
+    }
+}
@@ -19,10 +19,6 @@
 
 package com.redhat.darcy.ui.internal;
 
-import com.redhat.darcy.ui.DarcyException;
-import com.redhat.darcy.util.ReflectionUtil;
-
-import java.lang.reflect.Field;
 import java.util.List;
 
 public class RequiredList<T> {
@@ -31,19 +27,23 @@ public class RequiredList<T> {
     private final Class<?> genericType;
 
     @SuppressWarnings("unchecked")
-    public RequiredList(Field field, Object in) {
-        this.genericType = ReflectionUtil.getGenericTypeOfCollectionField(field);
-        this.bounds = new RequiredListBounds(field);
+    public RequiredList(ViewMetadata.ListField field, Object in) {
+        this.genericType = field.genericType();
+        this.bounds = field.bounds();
 
         try {
-            this.list = (List<T>) field.get(in);
-        } catch (IllegalAccessException iae) {
-            throw new DarcyException("Couldn't access value of object", iae);
+            this.list = (List<T>) field.field().get(in);
         } catch (ClassCastException cce) {
             throw new IllegalArgumentException("Can not cast field of object to List");
         }
     }
 
+    public RequiredList(List<T> list, Class<?> genericType, int atLeast, int atMost) {
+        this.list = list;
+        this.genericType = genericType;
+        this.bounds = new RequiredListBounds(atLeast, atMost);
+    }
+
     public List<T> list() {
         return list;
     }
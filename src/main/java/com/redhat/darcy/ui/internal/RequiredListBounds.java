@@ -41,6 +41,11 @@ public class RequiredListBounds {
         }
     }
 
+    public RequiredListBounds(int atLeast, int atMost) {
+        this.atLeast = atLeast;
+        this.atMost = atMost;
+    }
+
     public int atLeast() {
         return atLeast;
     }
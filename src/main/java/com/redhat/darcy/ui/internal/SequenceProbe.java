@@ -0,0 +1,84 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.api.Context;
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.elements.Findable;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+
+/**
+ * Decides how a {@link com.redhat.darcy.ui.By.BySequence} finds the end of its sequence: the first
+ * index whose element is not present. Each check of whether an element is present is usually a
+ * round trip to the user interface, so checking one index at a time costs as many round trips as
+ * there are elements, plus one.
+ *
+ * @see #oneByOne()
+ * @see #galloping()
+ * @see #inWindows(int)
+ */
+public interface SequenceProbe {
+    /**
+     * @param locatorAt Returns the locator of the element at an index of the sequence, counting
+     * from 0.
+     * @return An iterator over the sequence's elements, up to but excluding the first which is not
+     * present. Elements are found as the iterator reaches them.
+     */
+    <T extends Findable> Iterator<T> iterator(IntFunction<Locator> locatorAt, Class<T> type,
+            Context context);
+
+    /**
+     * @return A probe which checks each index in turn, until one is not present.
+     */
+    static SequenceProbe oneByOne() {
+        return OneByOneSequenceProbe.INSTANCE;
+    }
+
+    /**
+     * @return A probe which checks indexes exponentially further ahead until one is not present,
+     * and then binary searches for the end, taking a logarithmic rather than linear number of
+     * round trips. It assumes the sequence has no gaps: elements between two present elements are
+     * not checked, and are assumed to be present too.
+     */
+    static SequenceProbe galloping() {
+        return GallopingSequenceProbe.INSTANCE;
+    }
+
+    /**
+     * @return A probe which checks windows of indexes together, each window twice as large as the
+     * last, up to the maximum. Contexts which implement {@link FindsByBatch} find each window in a
+     * single batch. In other contexts, indexes within a window are checked one at a time.
+     */
+    static SequenceProbe inWindows(int maxWindow) {
+        return new WindowedSequenceProbe(maxWindow, null);
+    }
+
+    /**
+     * @return A probe which checks windows of indexes together, as with {@link #inWindows(int)},
+     * but which checks the indexes within a window concurrently on the executor, in contexts which
+     * do not implement {@link FindsByBatch}.
+     */
+    static SequenceProbe inWindows(int maxWindow, Executor executor) {
+        return new WindowedSequenceProbe(maxWindow, executor);
+    }
+}
@@ -23,16 +23,28 @@ import com.redhat.darcy.ui.api.ElementContext;
 import com.redhat.darcy.ui.api.Transition;
 import com.redhat.darcy.ui.api.View;
 
+import java.util.Objects;
+
 public class SimpleTransition implements Transition {
     private final ElementContext context;
+    private final PollSchedule schedule;
     
     public SimpleTransition(ElementContext context) {
+        this(context, PollSchedules.getDefault());
+    }
+
+    /**
+     * @param schedule Decides how often events of this transition check whether their destination
+     * has loaded, unless the context is an {@link ObservableContext}.
+     */
+    public SimpleTransition(ElementContext context, PollSchedule schedule) {
         this.context = context;
+        this.schedule = Objects.requireNonNull(schedule, "schedule");
     }
     
     @Override
     public <T extends View> SimpleTransitionEvent<T> to(T view) {
-        return new SimpleTransitionEvent<T>(view, context);
+        return new SimpleTransitionEvent<T>(view, context, schedule);
     }
     
 }
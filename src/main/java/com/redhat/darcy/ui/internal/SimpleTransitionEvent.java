@@ -22,6 +22,7 @@ package com.redhat.darcy.ui.internal;
 import static com.redhat.darcy.ui.matchers.DarcyMatchers.loadedInContext;
 
 import com.redhat.darcy.ui.By;
+import com.redhat.darcy.ui.CachingContext;
 import com.redhat.darcy.ui.api.ElementContext;
 import com.redhat.darcy.ui.api.Locator;
 import com.redhat.darcy.ui.api.ParentContext;
@@ -29,17 +30,89 @@ import com.redhat.darcy.ui.api.TransitionEvent;
 import com.redhat.darcy.ui.api.View;
 import com.redhat.synq.Event;
 import com.redhat.synq.ForwardingPollEvent;
+import com.redhat.synq.PollEvent;
 import com.redhat.synq.Synq;
 
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Waits for a view to load in a context, checking it as a {@link PollSchedule} decides.
+ *
+ * <p>Only {@link #waitUpTo(long, TimeUnit)}, and waiting on the event returned by
+ * {@link #pollingEvery(long, TimeUnit)}, go through this event. Any other method of
+ * {@link PollEvent} which returns a new event, such as {@code ignoring(...)} in synq versions which
+ * have it, returns synq's own event, which bypasses the schedule and polls at synq's interval.
+ */
 public class SimpleTransitionEvent<T extends View> extends ForwardingPollEvent<T> implements TransitionEvent<T> {
     private final T destination;
     private final ElementContext context;
+    private final PollRecordingMatcher<T> loaded;
+    private final PollSchedule schedule;
+    private final LoadCheckSession session;
     
     public SimpleTransitionEvent(T destination, ElementContext context) {
-        super(Synq.expect(destination, loadedInContext(context)));
+        this(destination, context, PollSchedules.getDefault());
+    }
+
+    public SimpleTransitionEvent(T destination, ElementContext context, PollSchedule schedule) {
+        this(destination, context, schedule, LoadCheckMode.getDefault().newSession());
+    }
+
+    private SimpleTransitionEvent(T destination, ElementContext context, PollSchedule schedule,
+            LoadCheckSession session) {
+        this(destination, context, schedule, session,
+                new PollRecordingMatcher<>(loadedInContext(context, session)));
+    }
+
+    private SimpleTransitionEvent(T destination, ElementContext context, PollSchedule schedule,
+            LoadCheckSession session, PollRecordingMatcher<T> loaded) {
+        super(Synq.expect(destination, loaded));
         
         this.destination = destination;
         this.context = context;
+        this.loaded = loaded;
+        this.schedule = Objects.requireNonNull(schedule, "schedule");
+        this.session = session;
+    }
+
+    /**
+     * Waits for the destination to load. If the context is an {@link ObservableContext}, the
+     * destination is checked each time the context changes, and only occasionally otherwise.
+     * Otherwise, it is checked as often as the transition's {@link PollSchedule} decides, or at
+     * synq's polling interval if the schedule is {@link PollSchedules#SYNQ_POLLING}.
+     */
+    @Override
+    public T waitUpTo(long timeout, TimeUnit unit) {
+        return await(() -> {
+            if (schedule == PollSchedules.SYNQ_POLLING && !ChangeSignal.anyObservable(context)) {
+                return super.waitUpTo(timeout, unit);
+            }
+
+            if (ChangeSignal.awaitMatchIn(destination, loaded, timeout, unit, schedule, context)) {
+                return destination;
+            }
+
+            // Check one last time, failing as a poll would if the destination still isn't loaded
+            return super.waitUpTo(0, unit);
+        });
+    }
+
+    /**
+     * Polls for the destination at the specified interval, whether or not the context is an
+     * {@link ObservableContext}.
+     */
+    @Override
+    public PollEvent<T> pollingEvery(long pollingInterval, TimeUnit unit) {
+        PollEvent<T> polling = super.pollingEvery(pollingInterval, unit);
+
+        return new ForwardingPollEvent<T>(polling) {
+            @Override
+            public T waitUpTo(long timeout, TimeUnit unit) {
+                return await(() -> super.waitUpTo(timeout, unit));
+            }
+        };
     }
     
     @Override
@@ -54,6 +127,40 @@ public class SimpleTransitionEvent<T extends View> extends ForwardingPollEvent<T
                     + " for View: " + context);
         }
         
-        return new NewContextTransitionEvent<>(destination, (ParentContext) context, locator);
+        return new NewContextTransitionEvent<>(destination, (ParentContext) context, locator,
+                schedule);
+    }
+
+    /**
+     * Starts a new series of checks, forgetting which load conditions were met while waiting
+     * before, and records how it went. Since the context is changing, a {@link CachingContext}
+     * starts a new generation, and ids remembered for the context are forgotten both before and
+     * after waiting.
+     */
+    private T await(Supplier<T> wait) {
+        if (session != null) {
+            session.reset();
+        }
+
+        startNewGeneration(context);
+        IdCaches.getDefault().invalidate(context);
+
+        try {
+            return loaded.recordWait(destination, wait);
+        } finally {
+            IdCaches.getDefault().invalidate(context);
+        }
+    }
+
+    /**
+     * Starts a new generation of each context which is a {@link CachingContext}, once per wait
+     * rather than once per check, so that the checks made while waiting share what they find.
+     */
+    static void startNewGeneration(Object... contexts) {
+        for (Object context : contexts) {
+            if (context instanceof CachingContext) {
+                ((CachingContext) context).invalidateCache();
+            }
+        }
     }
 }
@@ -0,0 +1,57 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.api.ElementContext;
+
+import java.util.List;
+
+/**
+ * Binds a view's fields to its context and exposes the fields that make up its load conditions. An
+ * implementation exists per view class. By default, views are bound reflectively by
+ * {@link ReflectiveViewBinder}. If the darcy-ui-processor annotation processor was used when
+ * compiling a view, a binder for that view will have been generated which accesses the fields
+ * directly, and {@link ViewBinders} will prefer it.
+ *
+ * @param <T> The type of view this binds.
+ * @see ViewBinders
+ */
+public interface ViewBinder<T> {
+    /**
+     * Sets the context on all fields of the view whose objects implement
+     * {@link com.redhat.darcy.ui.api.HasElementContext}, and assigns the context to fields
+     * annotated with {@link com.redhat.darcy.ui.annotations.Context @Context}.
+     *
+     * @throws com.redhat.darcy.ui.DarcyException if the context could not be assigned to a field
+     * annotated with {@link com.redhat.darcy.ui.annotations.Context @Context}, such as if the
+     * context does not implement that field's type.
+     */
+    void initializeFields(T view, ElementContext context);
+
+    /**
+     * @return The current values of the view's required fields which are not lists.
+     */
+    List<Object> getRequiredObjects(T view);
+
+    /**
+     * @return The current values of the view's required list fields, along with their bounds.
+     */
+    List<RequiredList<Object>> getRequiredLists(T view);
+}
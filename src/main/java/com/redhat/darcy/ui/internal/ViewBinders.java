@@ -0,0 +1,79 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.DarcyException;
+
+import java.util.Objects;
+
+/**
+ * Finds the {@link ViewBinder} to use for a view class. Binders generated at compile time are
+ * named after the binary name of the view class they bind, suffixed with {@link #SUFFIX}. If no
+ * such class exists, a {@link ReflectiveViewBinder} is used. Either way, the binder is looked up
+ * once per view class and cached.
+ */
+public abstract class ViewBinders {
+    /**
+     * Appended to the binary name of a view class to get the name of its generated binder.
+     */
+    public static final String SUFFIX = "_ViewBinder";
+
+    private static final ClassValue<ViewBinder<Object>> binders =
+            new ClassValue<ViewBinder<Object>>() {
+                @Override
+                protected ViewBinder<Object> computeValue(Class<?> type) {
+                    ViewBinder<Object> generated = generatedBinder(type);
+
+                    return generated != null
+                            ? generated
+                            : new ReflectiveViewBinder(ViewMetadata.forClass(type));
+                }
+            };
+
+    public static ViewBinder<Object> forClass(Class<?> type) {
+        return binders.get(Objects.requireNonNull(type, "type"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ViewBinder<Object> generatedBinder(Class<?> type) {
+        ClassLoader classLoader = type.getClassLoader() == null
+                ? ViewBinders.class.getClassLoader()
+                : type.getClassLoader();
+
+        Class<?> binderClass;
+
+        try {
+            binderClass = Class.forName(type.getName() + SUFFIX, true, classLoader);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+
+        if (!ViewBinder.class.isAssignableFrom(binderClass)) {
+            return null;
+        }
+
+        try {
+            return (ViewBinder<Object>) binderClass.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new DarcyException("Couldn't instantiate generated view binder, " + binderClass,
+                    e);
+        }
+    }
+}
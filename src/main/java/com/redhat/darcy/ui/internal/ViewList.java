@@ -33,10 +33,17 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.stream.Collectors;
 
+/**
+ * A list of nested views, each wrapping one of the elements a locator finds. The elements are
+ * found when the list is first used after each time the context is set. The backing list is
+ * published to other threads as soon as it is set.
+ *
+ * @see LazyList
+ */
 public class ViewList<T extends View> implements List<T>, HasElementContext {
     private final NestedViewFactory<? extends T> element;
     private final Locator locator;
-    private LazyList<T> backingList;
+    private volatile LazyList<T> backingList;
 
     public ViewList(NestedViewFactory<? extends T> element, Locator locator) {
         this.element = element;
@@ -45,7 +52,7 @@ public class ViewList<T extends View> implements List<T>, HasElementContext {
 
     @Override
     public void setContext(ElementContext elementContext) {
-        backingList = new LazyList<>(() -> locator.findAll(Element.class, elementContext)
+        backingList = new LazyList<>(() -> Lookups.findAll(locator, Element.class, elementContext)
                 .stream()
                 .map(e -> (T) element.newElement(e))
                 .peek(v -> v.setContext(elementContext))
@@ -178,6 +185,8 @@ public class ViewList<T extends View> implements List<T>, HasElementContext {
     }
 
     private List<T> backingList() {
+        List<T> backingList = this.backingList;
+
         if (backingList == null) {
             throw new NullContextException();
         }
@@ -0,0 +1,198 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.annotations.Context;
+import com.redhat.darcy.ui.annotations.NotRequired;
+import com.redhat.darcy.ui.annotations.Require;
+import com.redhat.darcy.ui.annotations.RequireAll;
+import com.redhat.darcy.ui.api.HasElementContext;
+import com.redhat.darcy.ui.api.View;
+import com.redhat.darcy.ui.api.elements.Element;
+import com.redhat.darcy.ui.api.elements.Findable;
+import com.redhat.darcy.util.ReflectionUtil;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * The reflective facts about a view class that {@link Analyzer} and {@link Initializer} need:
+ * which fields are required, which required fields are lists (and their bounds and generic types),
+ * which fields should be assigned the context, and which fields may need a context set on them.
+ *
+ * <p>None of this changes between instances of the same class, so it is computed once per class
+ * and cached for the life of that class, along with a {@link FieldAccessor} for each field. Only
+ * the values of these fields are read per instance.
+ */
+public class ViewMetadata {
+    private static final ClassValue<ViewMetadata> metadata = new ClassValue<ViewMetadata>() {
+        @Override
+        protected ViewMetadata computeValue(Class<?> type) {
+            return new ViewMetadata(ReflectionUtil.getAllDeclaredFields(type));
+        }
+    };
+
+    private final List<FieldAccessor> requiredObjects;
+    private final List<ListField> requiredLists;
+    private final List<FieldAccessor> contextFields;
+    private final List<FieldAccessor> elementContextFields;
+
+    /**
+     * @return The cached metadata for the specified class, computing it if this is the first time
+     * it has been requested.
+     */
+    public static ViewMetadata forClass(Class<?> type) {
+        return metadata.get(Objects.requireNonNull(type, "type"));
+    }
+
+    /**
+     * @param fields All of the fields declared for some view class (including fields in parent
+     * classes}. Fields are expected to be accessible.
+     */
+    ViewMetadata(List<Field> fields) {
+        List<Field> required = fields.stream()
+                .filter(ViewMetadata::isViewElementFindableOrList)
+                .filter(ViewMetadata::isNotAnnotatedWithContext)
+                .filter(ViewMetadata::isRequired)
+                .collect(Collectors.toList());
+
+        requiredObjects = Collections.unmodifiableList(required.stream()
+                .filter(f -> !isList(f))
+                .map(FieldAccessor::new)
+                .collect(Collectors.toList()));
+
+        requiredLists = Collections.unmodifiableList(required.stream()
+                .filter(ViewMetadata::isList)
+                .map(ListField::new)
+                .filter(l -> Element.class.isAssignableFrom(l.genericType()) ||
+                        View.class.isAssignableFrom(l.genericType()) ||
+                        Findable.class.isAssignableFrom(l.genericType()))
+                .collect(Collectors.toList()));
+
+        contextFields = Collections.unmodifiableList(fields.stream()
+                .filter(f -> f.getAnnotation(Context.class) != null)
+                .map(FieldAccessor::new)
+                .collect(Collectors.toList()));
+
+        elementContextFields = Collections.unmodifiableList(fields.stream()
+                .filter(f -> HasElementContext.class.isAssignableFrom(f.getType())
+                        || Element.class.isAssignableFrom(f.getType())
+                        || List.class.isAssignableFrom(f.getType()))
+                .map(FieldAccessor::new)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Required fields that are not lists, and are either a
+     * {@link com.redhat.darcy.ui.api.View}, {@link com.redhat.darcy.ui.api.elements.Element}, or
+     * {@link com.redhat.darcy.ui.api.elements.Findable}.
+     */
+    public List<FieldAccessor> requiredObjects() {
+        return requiredObjects;
+    }
+
+    /**
+     * Required fields that are lists of {@link com.redhat.darcy.ui.api.View Views},
+     * {@link com.redhat.darcy.ui.api.elements.Element Elements}, or
+     * {@link com.redhat.darcy.ui.api.elements.Findable Findables}.
+     */
+    public List<ListField> requiredLists() {
+        return requiredLists;
+    }
+
+    /**
+     * Fields annotated with {@link com.redhat.darcy.ui.annotations.Context @Context}.
+     */
+    public List<FieldAccessor> contextFields() {
+        return contextFields;
+    }
+
+    /**
+     * Fields whose values might implement {@link com.redhat.darcy.ui.api.HasElementContext}. The
+     * value itself still has to be checked, since a List or Element field may hold an object that
+     * does not.
+     */
+    public List<FieldAccessor> elementContextFields() {
+        return elementContextFields;
+    }
+
+    private static boolean isList(Field f) {
+        return List.class.isAssignableFrom(f.getType());
+    }
+
+    /**
+     * Those are only supported types which make sense to look at.
+     */
+    private static boolean isViewElementFindableOrList(Field field) {
+        Class<?> fieldType = field.getType();
+        return View.class.isAssignableFrom(fieldType)
+                || Element.class.isAssignableFrom(fieldType)
+                || Findable.class.isAssignableFrom(fieldType)
+                || List.class.isAssignableFrom(fieldType);
+    }
+
+    /**
+     * Contexts must be implicitly present if anything in this view is is to be present.
+     */
+    private static boolean isNotAnnotatedWithContext(Field field) {
+        return field.getAnnotation(Context.class) == null;
+    }
+
+    /**
+     * Determines whether a field is required or not based on combination of Require, RequireAll,
+     * and NotRequired annotations.
+     */
+    private static boolean isRequired(Field field) {
+        return field.getAnnotation(Require.class) != null
+                // Use the field's declaring class for RequireAll; may be a super class
+                || (field.getDeclaringClass().getAnnotation(RequireAll.class) != null
+                && field.getAnnotation(NotRequired.class) == null);
+    }
+
+    /**
+     * A required list field, along with its bounds and the type of its elements.
+     */
+    public static class ListField {
+        private final FieldAccessor field;
+        private final RequiredListBounds bounds;
+        private final Class<?> genericType;
+
+        ListField(Field field) {
+            this.field = new FieldAccessor(field);
+            this.bounds = new RequiredListBounds(field);
+            this.genericType = ReflectionUtil.getGenericTypeOfCollectionField(field);
+        }
+
+        public FieldAccessor field() {
+            return field;
+        }
+
+        public RequiredListBounds bounds() {
+            return bounds;
+        }
+
+        public Class<?> genericType() {
+            return genericType;
+        }
+    }
+}
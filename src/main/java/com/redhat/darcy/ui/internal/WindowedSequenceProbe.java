@@ -0,0 +1,190 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import com.redhat.darcy.ui.DarcyException;
+import com.redhat.darcy.ui.api.Context;
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.elements.Findable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+
+/**
+ * Checks windows of indexes of a sequence together, each window twice as large as the last, up to
+ * a maximum, until a window has an element which is not present. Every index up to the end is
+ * checked, so sequences may have gaps, but only a logarithmic number of windows are needed to
+ * reach the end, rather than one round trip per element. Checking whether a sequence is empty
+ * checks a window of one.
+ *
+ * <p>In contexts which implement {@link FindsByBatch}, each window is found in one batch.
+ * Otherwise, if there is an executor, indexes within a window are checked concurrently; if not,
+ * they are checked one at a time.
+ */
+class WindowedSequenceProbe implements SequenceProbe {
+    private final int maxWindow;
+    private final Executor executor;
+
+    WindowedSequenceProbe(int maxWindow, Executor executor) {
+        if (maxWindow < 1) {
+            throw new IllegalArgumentException("maxWindow must be 1 or greater, was: " + maxWindow);
+        }
+
+        this.maxWindow = maxWindow;
+        this.executor = executor;
+    }
+
+    @Override
+    public <T extends Findable> Iterator<T> iterator(IntFunction<Locator> locatorAt, Class<T> type,
+            Context context) {
+        return new Iterator<T>() {
+            private final List<T> found = new ArrayList<>();
+            private int index;
+            private int window = 1;
+            private boolean ended;
+
+            @Override
+            public boolean hasNext() {
+                while (index >= found.size() && !ended) {
+                    List<T> present = probe(locatorAt, type, context, found.size(), window);
+
+                    found.addAll(present);
+                    ended = present.size() < window;
+                    window = (int) Math.min(window * 2L, maxWindow);
+                }
+
+                return index < found.size();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return found.get(index++);
+            }
+        };
+    }
+
+    /**
+     * @return The elements at each index of the window, in order, up to but excluding the first
+     * which is not present.
+     */
+    private <T extends Findable> List<T> probe(IntFunction<Locator> locatorAt, Class<T> type,
+            Context context, int from, int size) {
+        List<T> present = new ArrayList<>(size);
+
+        if (context instanceof FindsByBatch) {
+            List<LocatorRequest<?>> requests = new ArrayList<>(size);
+
+            for (int i = from; i < from + size; i++) {
+                requests.add(LocatorRequest.find(type, locatorAt.apply(i)));
+            }
+
+            List<Object> results = ((FindsByBatch) context).findAllBatch(requests);
+
+            if (results.size() != requests.size()) {
+                throw new DarcyException("Expected " + requests.size() + " results from batch, "
+                        + "but got " + results.size() + ". Context was " + context);
+            }
+
+            for (Object result : results) {
+                T element = type.cast(result);
+
+                if (!element.isPresent()) {
+                    break;
+                }
+
+                present.add(element);
+            }
+        } else if (executor != null && size > 1) {
+            List<T> elements = new ArrayList<>(size);
+            List<CompletableFuture<Boolean>> presence = new ArrayList<>(size);
+
+            for (int i = from; i < from + size; i++) {
+                T element = locatorAt.apply(i).find(type, context);
+
+                elements.add(element);
+                presence.add(CompletableFuture.supplyAsync(element::isPresent, executor));
+            }
+
+            for (int i = 0; i < size; i++) {
+                try {
+                    if (!presence.get(i).join()) {
+                        break;
+                    }
+
+                    present.add(elements.get(i));
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause();
+
+                    throw cause instanceof RuntimeException
+                            ? (RuntimeException) cause
+                            : new DarcyException(cause);
+                }
+            }
+        } else {
+            for (int i = from; i < from + size; i++) {
+                T element = locatorAt.apply(i).find(type, context);
+
+                if (!element.isPresent()) {
+                    break;
+                }
+
+                present.add(element);
+            }
+        }
+
+        return present;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof WindowedSequenceProbe)) {
+            return false;
+        }
+
+        WindowedSequenceProbe other = (WindowedSequenceProbe) o;
+
+        return maxWindow == other.maxWindow && Objects.equals(executor, other.executor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxWindow, executor);
+    }
+
+    @Override
+    public String toString() {
+        return "WindowedSequenceProbe: {maxWindow: " + maxWindow + ", executor: " + executor + "}";
+    }
+}
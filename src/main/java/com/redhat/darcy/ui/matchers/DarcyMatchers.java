@@ -25,6 +25,7 @@ import com.redhat.darcy.ui.api.elements.Element;
 import com.redhat.darcy.ui.api.elements.Findable;
 import com.redhat.darcy.ui.api.elements.Requireable;
 import com.redhat.darcy.ui.api.elements.Text;
+import com.redhat.darcy.ui.internal.LoadCheckSession;
 
 import org.hamcrest.Matcher;
 
@@ -52,6 +53,16 @@ public abstract class DarcyMatchers {
     public static <T extends View> Matcher<T> loadedInContext(ElementContext context) {
         return new ViewIsLoadedInContext<T>(context);
     }
+
+    /**
+     * Like {@link #loadedInContext(ElementContext)}, but checks views as part of a
+     * {@link LoadCheckSession}, if not null, so that each check evaluates only the load conditions
+     * not met by earlier checks.
+     */
+    public static <T extends View> Matcher<T> loadedInContext(ElementContext context,
+            LoadCheckSession session) {
+        return new ViewIsLoadedInContext<T>(context, session);
+    }
     
     public static <T extends Text> Matcher<T> elementText(Matcher<? super String> matcher) {
         return new ElementText<>(matcher);
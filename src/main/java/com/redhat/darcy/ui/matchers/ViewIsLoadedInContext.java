@@ -21,20 +21,36 @@ package com.redhat.darcy.ui.matchers;
 
 import com.redhat.darcy.ui.api.ElementContext;
 import com.redhat.darcy.ui.api.View;
+import com.redhat.darcy.ui.internal.IncrementallyLoadable;
+import com.redhat.darcy.ui.internal.LoadCheckSession;
 
 import org.hamcrest.Description;
 import org.hamcrest.TypeSafeMatcher;
 
 public class ViewIsLoadedInContext<T extends View> extends TypeSafeMatcher<T> {
     private ElementContext context;
+    private LoadCheckSession session;
     
     public ViewIsLoadedInContext(ElementContext context) {
+        this(context, null);
+    }
+
+    /**
+     * @param session If not null, views which are {@link IncrementallyLoadable} are checked as part
+     * of the session, evaluating only the load conditions not met by earlier checks.
+     */
+    public ViewIsLoadedInContext(ElementContext context, LoadCheckSession session) {
         this.context = context;
+        this.session = session;
     }
     
     @Override
     public boolean matchesSafely(T view) {
         view.setContext(context);
+
+        if (session != null && view instanceof IncrementallyLoadable) {
+            return ((IncrementallyLoadable) view).isLoaded(session);
+        }
         
         return view.isLoaded();
     }
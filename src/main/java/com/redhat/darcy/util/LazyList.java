@@ -23,11 +23,24 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Supplier;
 
+/**
+ * A list which gets its contents from a supplier the first time it is used, and uses those
+ * contents until the cache is {@link #invalidateCache() invalidated}.
+ *
+ * <p>The cached list is published without locking. If threads use the list for the first time at
+ * once, each may call the supplier, but all go on to use whichever list was cached first. The
+ * cached list itself is only as safe to share as the list the supplier returns.
+ */
 public class LazyList<T> implements List<T>, Caching {
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<LazyList, List> CACHED_LIST =
+            AtomicReferenceFieldUpdater.newUpdater(LazyList.class, List.class, "cachedList");
+
     private final Supplier<List<T>> list;
-    private List<T> cachedList;
+    private volatile List<T> cachedList;
 
     public LazyList(Supplier<List<T>> list) {
         this.list = list;
@@ -153,11 +166,22 @@ public class LazyList<T> implements List<T>, Caching {
         return list().subList(fromIndex, toIndex);
     }
 
+    @SuppressWarnings("unchecked")
     private List<T> list() {
-        if (cachedList == null) {
-            cachedList = list.get();
+        List<T> cached = cachedList;
+
+        if (cached != null) {
+            return cached;
         }
 
-        return cachedList;
+        List<T> supplied = list.get();
+
+        if (CACHED_LIST.compareAndSet(this, null, supplied)) {
+            return supplied;
+        }
+
+        cached = cachedList;
+
+        return cached == null ? supplied : cached;
     }
 }
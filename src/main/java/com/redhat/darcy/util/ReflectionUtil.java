@@ -35,8 +35,16 @@ public abstract class ReflectionUtil {
      * override flag set.
      */
     public static List<Field> getAllDeclaredFields(Object object) {
+        return getAllDeclaredFields(object.getClass());
+    }
+
+    /**
+     * Like {@link #getAllDeclaredFields(Object)}, but for a class instead of an instance of that
+     * class.
+     */
+    public static List<Field> getAllDeclaredFields(Class<?> type) {
         List<Field> allFields = new ArrayList<>();
-        Class<?> objClass = object.getClass();
+        Class<?> objClass = type;
         
         // Loop through the class hierarchy
         while (objClass != Object.class) {
@@ -0,0 +1,220 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.util;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * A read-only list whose elements are pulled from a source only as they are needed, rather than
+ * all at once like {@link LazyList}. {@link #isEmpty()} pulls at most one element,
+ * {@link #get(int) get(i)} pulls at most i + 1, and iterating or streaming pulls each element as
+ * it is reached, so that {@code stream().findFirst()} pulls only the first. Only
+ * {@link #size()}, and methods which need every element, such as {@link #equals(Object)}, pull
+ * the whole source.
+ *
+ * <p>Elements pulled are kept, and reused, until the cache is {@link #invalidateCache()
+ * invalidated}, after which they are pulled from a new source.
+ *
+ * <p>The list may be shared between threads. Each source is pulled from by one thread at a time,
+ * and invalidating swaps in a new, empty {@link Pull} as a single volatile write, so a thread
+ * never sees elements pulled from two different sources.
+ *
+ * @see #fromIndex(IntFunction)
+ */
+public class StreamingLazyList<T> extends AbstractList<T> implements Caching {
+    private final Supplier<? extends Iterator<? extends T>> source;
+
+    private volatile Pull<T> pull = new Pull<>();
+
+    /**
+     * @param source Supplies a new iterator of the list's elements, each time the list is pulled
+     * from after being created or invalidated.
+     */
+    public StreamingLazyList(Supplier<? extends Iterator<? extends T>> source) {
+        this.source = Objects.requireNonNull(source, "source");
+    }
+
+    /**
+     * @param elementAt Returns the element at an index, or null if the index is past the end of the
+     * list. It is called with each index in turn, from 0, until it returns null.
+     */
+    public static <T> StreamingLazyList<T> fromIndex(IntFunction<? extends T> elementAt) {
+        Objects.requireNonNull(elementAt, "elementAt");
+
+        return new StreamingLazyList<>(() -> new IndexIterator<>(elementAt));
+    }
+
+    @Override
+    public void invalidateCache() {
+        pull = new Pull<>();
+    }
+
+    @Override
+    public T get(int index) {
+        Pull<T> current = pull;
+
+        if (index < 0 || !current.pullTo(index, source)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        return current.get(index);
+    }
+
+    @Override
+    public int size() {
+        Pull<T> current = pull;
+        current.pullTo(Integer.MAX_VALUE, source);
+
+        return current.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !pull.pullTo(0, source);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        Pull<T> current = pull;
+
+        return new Iterator<T>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return current.pullTo(next, source);
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return current.get(next++);
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        int index = 0;
+
+        for (T element : this) {
+            if (Objects.equals(o, element)) {
+                return index;
+            }
+
+            index++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return How many elements have been pulled from the source so far.
+     */
+    public int pulledSize() {
+        return pull.size();
+    }
+
+    /**
+     * The elements pulled from one source, and what remains of it.
+     */
+    private static final class Pull<T> {
+        private final List<T> pulled = new ArrayList<>();
+        private Iterator<? extends T> remaining;
+
+        /**
+         * Pulls elements until there is one at the index, or the source runs out.
+         *
+         * @return Whether there is an element at the index.
+         */
+        synchronized boolean pullTo(int index, Supplier<? extends Iterator<? extends T>> source) {
+            if (index < pulled.size()) {
+                return true;
+            }
+
+            if (remaining == null) {
+                remaining = source.get();
+            }
+
+            while (pulled.size() <= index && remaining.hasNext()) {
+                pulled.add(remaining.next());
+            }
+
+            return index < pulled.size();
+        }
+
+        synchronized T get(int index) {
+            return pulled.get(index);
+        }
+
+        synchronized int size() {
+            return pulled.size();
+        }
+    }
+
+    private static class IndexIterator<T> implements Iterator<T> {
+        private final IntFunction<? extends T> elementAt;
+
+        private int index;
+        private T next;
+
+        IndexIterator(IntFunction<? extends T> elementAt) {
+            this.elementAt = elementAt;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && index >= 0) {
+                next = elementAt.apply(index);
+                index = next == null ? -1 : index + 1;
+            }
+
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            T element = next;
+            next = null;
+            return element;
+        }
+    }
+}
@@ -40,8 +40,6 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
-import java.lang.reflect.Proxy;
-
 @RunWith(JUnit4.class)
 public class AbstractViewElementTest {
     @Test
@@ -63,12 +61,12 @@ public class AbstractViewElementTest {
     }
 
     @Test
-    public void shouldAssignParentElementToElementProxyIfConstructedWithLocator() {
+    public void shouldAssignParentElementToLazyElementIfConstructedWithLocator() {
         TestElementContext mockContext = mock(TestElementContext.class);
 
         AbstractViewElement viewElement = new AbstractViewElement(By.id("test")) {};
 
-        assertThat(viewElement.parent, instanceOf(Proxy.class));
+        assertThat(viewElement.parent, instanceOf(HasElementContext.class));
 
         ((HasElementContext) viewElement.parent).setContext(mockContext);
         ((WrapsElement) viewElement.parent).getWrappedElement(); // Causes the element reference to
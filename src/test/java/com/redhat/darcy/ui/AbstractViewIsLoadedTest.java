@@ -21,7 +21,9 @@ package com.redhat.darcy.ui;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyList;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,6 +35,9 @@ import com.redhat.darcy.ui.api.Locator;
 import com.redhat.darcy.ui.api.View;
 import com.redhat.darcy.ui.api.elements.Element;
 import com.redhat.darcy.ui.api.elements.Findable;
+import com.redhat.darcy.ui.internal.ConditionEvaluator;
+import com.redhat.darcy.ui.internal.LoadCheckSession;
+import com.redhat.darcy.ui.internal.ParallelConditionEvaluator;
 import com.redhat.darcy.ui.testing.doubles.AlwaysDisplayedLabel;
 import com.redhat.darcy.ui.testing.doubles.NeverDisplayedElement;
 
@@ -42,6 +47,8 @@ import org.junit.runners.JUnit4;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @SuppressWarnings("unused")
 @RunWith(JUnit4.class)
@@ -471,5 +478,104 @@ public class AbstractViewIsLoadedTest {
         testView.isLoaded();
     }
 
+    @Test
+    public void shouldEvaluateLoadConditionsWithConditionEvaluatorIfSet() {
+        ConditionEvaluator mockEvaluator = mock(ConditionEvaluator.class);
+        when(mockEvaluator.allMet(anyList())).thenReturn(true);
+
+        class TestView extends AbstractView {
+            @Require
+            private Element notDisplayed = new NeverDisplayedElement();
+
+            TestView() {
+                setConditionEvaluator(mockEvaluator);
+            }
+        }
+
+        TestView testView = new TestView();
+
+        assertTrue(testView.isLoaded());
+        verify(mockEvaluator).allMet(anyList());
+    }
+
+    @Test
+    public void shouldEvaluateLoadConditionsInParallelIfConfiguredTo() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        class TestView extends AbstractView {
+            @Require
+            private Element displayed = new AlwaysDisplayedLabel();
+            @Require
+            private Element notDisplayed = new NeverDisplayedElement();
+
+            TestView() {
+                setConditionEvaluator(new ParallelConditionEvaluator(executor));
+            }
+        }
+
+        try {
+            assertFalse(new TestView().isLoaded());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void shouldEvaluateNestedViewsInParallelOnASingleThreadedExecutor() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ParallelConditionEvaluator evaluator = new ParallelConditionEvaluator(executor);
+
+        class NestedView extends AbstractView {
+            @Require
+            private Element first = new AlwaysDisplayedLabel();
+            @Require
+            private Element second = new AlwaysDisplayedLabel();
+
+            NestedView() {
+                setConditionEvaluator(evaluator);
+            }
+        }
+
+        class TestView extends AbstractView {
+            @Require
+            private View first = new NestedView();
+            @Require
+            private View second = new NestedView();
+
+            TestView() {
+                setConditionEvaluator(evaluator);
+            }
+        }
+
+        try {
+            assertTrue(new TestView().isLoaded());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     class TestException extends RuntimeException {}
+
+    @Test
+    public void shouldOnlyCheckElementsNotAlreadyDisplayedWhenCheckedInASession() {
+        Element displayed = mock(Element.class);
+        Element notYetDisplayed = mock(Element.class);
+
+        when(displayed.isDisplayed()).thenReturn(true);
+        when(notYetDisplayed.isDisplayed()).thenReturn(false, true);
+
+        @RequireAll class TestView extends AbstractView {
+            private Element first = displayed;
+            private Element second = notYetDisplayed;
+        }
+
+        TestView testView = new TestView();
+        LoadCheckSession session = new LoadCheckSession(false);
+
+        assertFalse(testView.isLoaded(session));
+        assertTrue(testView.isLoaded(session));
+
+        verify(displayed, times(1)).isDisplayed();
+        verify(notYetDisplayed, times(2)).isDisplayed();
+    }
 }
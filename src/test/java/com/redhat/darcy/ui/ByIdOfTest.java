@@ -21,19 +21,35 @@ package com.redhat.darcy.ui;
 
 import static com.redhat.darcy.ui.matchers.DarcyMatchers.present;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import com.redhat.darcy.ui.api.WrapsElement;
 import com.redhat.darcy.ui.api.elements.Button;
 import com.redhat.darcy.ui.api.elements.HasAttributes;
 import com.redhat.darcy.ui.api.elements.Label;
+import com.redhat.darcy.ui.inmemory.ElementTree;
+import com.redhat.darcy.ui.inmemory.Node;
+import com.redhat.darcy.ui.internal.IdCache;
+import com.redhat.darcy.ui.internal.IdCaches;
+import com.redhat.darcy.ui.internal.ReadsAttributesByBatch;
 import com.redhat.darcy.ui.testing.doubles.AlwaysDisplayedLabel;
 
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -43,6 +59,11 @@ import java.util.List;
 
 @RunWith(JUnit4.class)
 public class ByIdOfTest {
+    @Before
+    public void useFreshIdCache() {
+        IdCaches.setDefault(new IdCache());
+    }
+
     @Test
     public void shouldUseIdOfElementForSubsequentLookups() {
         ByTest.FindsByAll mockContext = mock(ByTest.FindsByAll.class);
@@ -99,6 +120,194 @@ public class ByIdOfTest {
                 sameInstance(labelFoundById3)));
     }
 
+    @Test
+    public void shouldNotFindOriginalElementUntilUsed() {
+        ByTest.FindsByAll mockContext = mock(ByTest.FindsByAll.class);
+
+        By.idOf(By.textContent("test")).find(Button.class, mockContext);
+
+        verifyZeroInteractions(mockContext);
+    }
+
+    @Test
+    public void shouldReuseKnownIdForElementsFoundLater() {
+        ByTest.FindsByAll mockContext = mock(ByTest.FindsByAll.class);
+        ButtonWithAttributes mockButton = mock(ButtonWithAttributes.class);
+        Button mockButtonFoundById = mock(Button.class);
+
+        when(mockContext.findByTextContent(Button.class, "test")).thenReturn(mockButton);
+        when(mockContext.findById(Button.class, "theId")).thenReturn(mockButtonFoundById);
+        when(mockButton.getAttribute("id")).thenReturn("theId");
+        when(mockButton.isPresent()).thenReturn(true);
+        when(mockButtonFoundById.isPresent()).thenReturn(true);
+
+        By.idOf(By.textContent("test")).find(Button.class, mockContext).isPresent();
+        By.idOf(By.textContent("test")).find(Button.class, mockContext).isPresent();
+
+        verify(mockContext, times(1)).findByTextContent(Button.class, "test");
+        verify(mockContext, times(2)).findById(Button.class, "theId");
+    }
+
+    @Test
+    public void shouldReadIdAgainOnceIfKnownIdFindsNothing() {
+        ByTest.FindsByAll mockContext = mock(ByTest.FindsByAll.class);
+        ButtonWithAttributes mockButton = mock(ButtonWithAttributes.class);
+        Button mockButtonFoundByOldId = mock(Button.class, "foundByOldId");
+        Button mockButtonFoundByNewId = mock(Button.class, "foundByNewId");
+
+        when(mockContext.findByTextContent(Button.class, "test")).thenReturn(mockButton);
+        when(mockContext.findById(Button.class, "oldId")).thenReturn(mockButtonFoundByOldId);
+        when(mockContext.findById(Button.class, "newId")).thenReturn(mockButtonFoundByNewId);
+        when(mockButton.getAttribute("id")).thenReturn("newId");
+        when(mockButton.isPresent()).thenReturn(true);
+        when(mockButtonFoundByNewId.isPresent()).thenReturn(true);
+
+        IdCaches.getDefault().putId(By.textContent("test"), mockContext, "oldId");
+
+        Button button = By.idOf(By.textContent("test")).find(Button.class, mockContext);
+
+        assertSame(mockButtonFoundByNewId, ((WrapsElement) button).getWrappedElement());
+        assertThat(IdCaches.getDefault().getId(By.textContent("test"), mockContext),
+                equalTo("newId"));
+        verify(mockContext, times(1)).findByTextContent(Button.class, "test");
+    }
+
+    @Test
+    public void shouldForwardToOriginalElementIfKnownIdFindsNothingAndOriginalIsNotPresent() {
+        ByTest.FindsByAll mockContext = mock(ByTest.FindsByAll.class);
+        ButtonWithAttributes mockButton = mock(ButtonWithAttributes.class);
+
+        when(mockContext.findByTextContent(Button.class, "test")).thenReturn(mockButton);
+        when(mockContext.findById(Button.class, "oldId")).thenReturn(mock(Button.class));
+
+        IdCaches.getDefault().putId(By.textContent("test"), mockContext, "oldId");
+
+        Button button = By.idOf(By.textContent("test")).find(Button.class, mockContext);
+
+        assertSame(mockButton, ((WrapsElement) button).getWrappedElement());
+        assertThat(IdCaches.getDefault().getId(By.textContent("test"), mockContext),
+                nullValue());
+    }
+
+    @Test
+    public void shouldReuseKnownIdsForListsFoundLater() {
+        ByTest.FindsByAll mockContext = mock(ByTest.FindsByAll.class);
+
+        when(mockContext.findAllByTextContent(Label.class, "test"))
+                .thenReturn(Arrays.asList(new LabelWithId("id1"), new LabelWithId("id2")));
+        when(mockContext.findById(eq(Label.class), any(String.class)))
+                .thenReturn(new AlwaysDisplayedLabel());
+
+        By.idOf(By.textContent("test")).findAll(Label.class, mockContext).size();
+        By.idOf(By.textContent("test")).findAll(Label.class, mockContext).size();
+
+        verify(mockContext, times(1)).findAllByTextContent(Label.class, "test");
+    }
+
+    @Test
+    public void shouldFindIdsAgainByOriginalLocatorOnceInvalidated() {
+        ByTest.FindsByAll mockContext = mock(ByTest.FindsByAll.class);
+
+        when(mockContext.findAllByTextContent(Label.class, "test"))
+                .thenReturn(Arrays.asList(new LabelWithId("id1")))
+                .thenReturn(Arrays.asList(new LabelWithId("id2")));
+        when(mockContext.findById(eq(Label.class), any(String.class)))
+                .thenReturn(new AlwaysDisplayedLabel());
+
+        By.ByIdOf byIdOf = By.idOf(By.textContent("test"));
+
+        byIdOf.findAll(Label.class, mockContext).size();
+        byIdOf.invalidate(mockContext);
+        byIdOf.findAll(Label.class, mockContext).size();
+
+        verify(mockContext, times(2)).findAllByTextContent(Label.class, "test");
+        verify(mockContext).findById(Label.class, "id2");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldReadIdsOfListInOneBatchIfReadingInBatch() {
+        BatchReadingContext mockContext = mock(BatchReadingContext.class);
+        List<Label> originals = Arrays.asList(new LabelWithId("id1"), new LabelWithId("id2"));
+
+        when(mockContext.findAllByTextContent(Label.class, "test")).thenReturn(originals);
+        when(mockContext.getAttributeOfAll(originals, "id"))
+                .thenReturn(Arrays.asList("id1", "id2"));
+        when(mockContext.findById(eq(Label.class), any(String.class)))
+                .thenReturn(new AlwaysDisplayedLabel());
+
+        List<Label> labels = By.idOf(By.textContent("test")).readingIdsInBatch()
+                .findAll(Label.class, mockContext);
+
+        labels.get(0);
+
+        verify(mockContext, times(1)).getAttributeOfAll(anyList(), eq("id"));
+        verify(mockContext).findById(Label.class, "id1");
+        verify(mockContext, never()).findById(Label.class, "id2");
+    }
+
+    @Test
+    public void shouldNotBeEqualToLocatorWhichReadsIdsDifferently() {
+        By.ByIdOf byIdOf = By.idOf(By.textContent("test"));
+
+        assertThat(byIdOf.readingIdsInBatch(), not(equalTo(byIdOf)));
+        assertThat(byIdOf.readingIdsInBatch(), equalTo(byIdOf.readingIdsInBatch()));
+    }
+
+    @Test
+    public void shouldFindElementsWhichLoadAfterALookupFoundNone() {
+        ElementTree tree = new ElementTree();
+        Node body = new Node("body");
+        tree.root().append(body);
+
+        By.ByIdOf rows = By.idOf(By.attribute("class", "row"));
+
+        assertThat(rows.findAll(Label.class, tree.context()).size(), equalTo(0));
+
+        body.append(new Node("div").setAttribute("class", "row").setAttribute("id", "r1"),
+                new Node("div").setAttribute("class", "row").setAttribute("id", "r2"));
+
+        assertThat(By.idOf(By.attribute("class", "row")).findAll(Label.class, tree.context())
+                .size(), equalTo(2));
+    }
+
+    @Test
+    public void shouldFindIdsAgainOnceContextChanges() {
+        ElementTree tree = new ElementTree();
+        Node body = new Node("body");
+        tree.root().append(body);
+        body.append(new Node("div").setAttribute("class", "row").setAttribute("id", "r1"));
+
+        By.ByIdOf rows = By.idOf(By.attribute("class", "row"));
+
+        assertThat(rows.findAll(Label.class, tree.context()).size(), equalTo(1));
+
+        body.append(new Node("div").setAttribute("class", "row").setAttribute("id", "r2"));
+
+        assertThat(rows.findAll(Label.class, tree.context()).size(), equalTo(2));
+    }
+
+    @Test
+    public void shouldFindElementByNewIdAfterPageChanges() {
+        ElementTree tree = new ElementTree();
+        Node body = new Node("body");
+        Node before = new Node("h1").setAttribute("class", "title").setAttribute("id", "old")
+                .setText("before");
+        tree.root().append(body.append(before));
+
+        Label title = By.idOf(By.attribute("class", "title")).find(Label.class, tree.context());
+
+        assertThat(title.getText(), equalTo("before"));
+
+        before.remove();
+        body.append(new Node("h1").setAttribute("class", "title").setAttribute("id", "new")
+                .setText("after"));
+
+        assertThat(title.getText(), equalTo("after"));
+    }
+
+    interface BatchReadingContext extends ByTest.FindsByAll, ReadsAttributesByBatch {}
+
     interface ButtonWithAttributes extends Button, HasAttributes {}
 
     class LabelWithId extends AlwaysDisplayedLabel implements HasAttributes {
@@ -109,6 +109,26 @@ public class BySequenceTest {
         assertThat(actuallyFound, is(not(present())));
     }
 
+    @Test
+    public void shouldOnlyFindAsManyElementsAsAreNeeded() {
+        TestContext mockContext = mock(TestContext.class);
+
+        Label label0 = new AlwaysDisplayedLabel();
+
+        when(mockContext.findById(Label.class, "0")).thenReturn(label0);
+
+        By.BySequence bySequence = By.sequence(i -> By.id(i.toString()));
+
+        List<Label> found = bySequence.findAll(Label.class, mockContext);
+
+        assertThat(found.isEmpty(), is(false));
+        assertThat(found.stream().findFirst().get(), equalTo(label0));
+        assertThat(found.get(0), equalTo(label0));
+
+        verify(mockContext).findById(Label.class, "0");
+        verifyNoMoreInteractions(mockContext);
+    }
+
     @Test
     public void shouldReturnLazilyEvaluatedList() {
         TestContext mockContext = mock(TestContext.class);
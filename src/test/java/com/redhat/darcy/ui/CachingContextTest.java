@@ -0,0 +1,223 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui;
+
+import static com.redhat.darcy.ui.matchers.DarcyMatchers.loadedInContext;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.redhat.darcy.ui.api.ElementContext;
+import com.redhat.darcy.ui.api.FindableElementContext;
+import com.redhat.darcy.ui.api.ParentContext;
+import com.redhat.darcy.ui.api.Transition;
+import com.redhat.darcy.ui.api.elements.Button;
+import com.redhat.darcy.ui.api.elements.Element;
+import com.redhat.darcy.ui.api.elements.Label;
+import com.redhat.darcy.ui.internal.FindsById;
+import com.redhat.darcy.ui.internal.FindsByName;
+import com.redhat.darcy.ui.internal.LocatorRequest;
+import com.redhat.darcy.ui.internal.PollSchedule;
+import com.redhat.darcy.ui.internal.SimpleTransitionEvent;
+import com.redhat.darcy.ui.testing.doubles.AlwaysDisplayedLabel;
+import com.redhat.darcy.ui.testing.doubles.AlwaysLoadedView;
+import com.redhat.darcy.ui.testing.doubles.InMemoryBatchContext;
+import com.redhat.darcy.util.Caching;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(JUnit4.class)
+public class CachingContextTest {
+    TestElementContext mockContext;
+    CachingElementContext cachingContext;
+
+    @Before
+    public void setup() {
+        mockContext = mock(TestElementContext.class);
+        cachingContext = new CachingElementContext(mockContext);
+    }
+
+    @Test
+    public void shouldReuseFoundElementForSameLocatorAndType() {
+        Button button = mock(Button.class);
+        when(mockContext.findById(Button.class, "test")).thenReturn(button);
+
+        assertThat(By.id("test").find(Button.class, cachingContext), sameInstance(button));
+        assertThat(By.id("test").find(Button.class, cachingContext), sameInstance(button));
+
+        verify(mockContext, times(1)).findById(Button.class, "test");
+    }
+
+    @Test
+    public void shouldReuseFoundListForSameLocatorAndType() {
+        List<Button> buttons = Arrays.asList(mock(Button.class), mock(Button.class));
+        when(mockContext.findAllById(Button.class, "test")).thenReturn(buttons);
+
+        assertThat(By.id("test").findAll(Button.class, cachingContext), sameInstance(buttons));
+        assertThat(By.id("test").findAll(Button.class, cachingContext), sameInstance(buttons));
+
+        verify(mockContext, times(1)).findAllById(Button.class, "test");
+    }
+
+    @Test
+    public void shouldNotReuseResultsForDifferentLocatorsOrTypes() {
+        cachingContext.findById(Button.class, "test");
+        cachingContext.findById(Button.class, "other");
+        cachingContext.findById(Label.class, "test");
+        cachingContext.findByName(Button.class, "test");
+        cachingContext.findAllById(Button.class, "test");
+
+        verify(mockContext).findById(Button.class, "test");
+        verify(mockContext).findById(Button.class, "other");
+        verify(mockContext).findById(Label.class, "test");
+        verify(mockContext).findByName(Button.class, "test");
+        verify(mockContext).findAllById(Button.class, "test");
+    }
+
+    @Test
+    public void shouldFindAgainAfterInvalidatingCache() {
+        long generation = cachingContext.generation();
+
+        cachingContext.findById(Button.class, "test");
+        cachingContext.invalidateCache();
+        cachingContext.findById(Button.class, "test");
+
+        assertThat(cachingContext.generation(), equalTo(generation + 1));
+        verify(mockContext, times(2)).findById(Button.class, "test");
+    }
+
+    @Test
+    public void shouldStartNewGenerationWhenCreatingTransition() {
+        long generation = cachingContext.generation();
+
+        cachingContext.transition();
+
+        assertThat(cachingContext.generation(), not(equalTo(generation)));
+    }
+
+    @Test
+    public void shouldStartNewGenerationWhenCreatingTransitionWithSchedule() {
+        PollSchedule schedule = PollSchedule.fixed(1, TimeUnit.MILLISECONDS);
+        long generation = cachingContext.generation();
+
+        cachingContext.findById(Button.class, "test");
+        cachingContext.transition(schedule);
+        cachingContext.findById(Button.class, "test");
+
+        assertThat(cachingContext.generation(), not(equalTo(generation)));
+        verify(mockContext, times(2)).findById(Button.class, "test");
+    }
+
+    @Test
+    public void shouldCreateTransitionsWithWrappedContext() {
+        PollSchedule schedule = PollSchedule.fixed(1, TimeUnit.MILLISECONDS);
+        Transition transition = mock(Transition.class);
+        Transition scheduled = mock(Transition.class);
+        when(mockContext.transition()).thenReturn(transition);
+        when(mockContext.transition(schedule)).thenReturn(scheduled);
+
+        assertThat(cachingContext.transition(), sameInstance(transition));
+        assertThat(cachingContext.transition(schedule), sameInstance(scheduled));
+    }
+
+    @Test
+    public void shouldNotStartNewGenerationWhenCheckingIfViewIsLoadedInContext() {
+        long generation = cachingContext.generation();
+
+        assertThat(new AlwaysLoadedView(), loadedInContext(cachingContext));
+
+        assertThat(cachingContext.generation(), equalTo(generation));
+    }
+
+    @Test
+    public void shouldStartOneNewGenerationPerTransitionWait() {
+        long generation = cachingContext.generation();
+
+        new SimpleTransitionEvent<>(new AlwaysLoadedView(), cachingContext)
+                .waitUpTo(1, TimeUnit.SECONDS);
+
+        assertThat(cachingContext.generation(), equalTo(generation + 1));
+    }
+
+    @Test
+    public void shouldNotInvalidateOtherCachingContextsWhenCheckingIfViewIsLoaded() {
+        CachingTestContext context = mock(CachingTestContext.class);
+
+        assertThat(new AlwaysLoadedView(), loadedInContext(context));
+
+        verify(context, never()).invalidateCache();
+    }
+
+    @Test(expected = LocatorNotSupportedException.class)
+    public void shouldThrowLocatorNotSupportedExceptionIfWrappedContextDoesNotSupportLocator() {
+        By.xpath("//test").find(Element.class, cachingContext);
+    }
+
+    @Test
+    public void shouldCacheFindingContextsInParentContext() {
+        TestParentContext mockParent = mock(TestParentContext.class);
+        FindableElementContext found = mock(FindableElementContext.class);
+        when(mockParent.findById(FindableElementContext.class, "frame")).thenReturn(found);
+
+        CachingParentContext cachingParent = new CachingParentContext(mockParent);
+
+        cachingParent.find().contextOfType(FindableElementContext.class, By.id("frame"));
+        cachingParent.find().contextOfType(FindableElementContext.class, By.id("frame"));
+
+        verify(mockParent, times(1)).findById(FindableElementContext.class, "frame");
+    }
+
+    @Test
+    public void shouldOnlyBatchWhatIsNotAlreadyFound() {
+        InMemoryBatchContext batchContext = new InMemoryBatchContext()
+                .with("first", new AlwaysDisplayedLabel())
+                .with("second", new AlwaysDisplayedLabel());
+        CachingElementContext caching = new CachingElementContext(batchContext);
+
+        Object first = caching.findById(Label.class, "first");
+        List<Object> results = caching.findAllBatch(Arrays.asList(
+                LocatorRequest.find(Label.class, By.id("first")),
+                LocatorRequest.find(Label.class, By.id("second"))));
+        Object second = caching.findById(Label.class, "second");
+
+        assertThat(results.get(0), sameInstance(first));
+        assertThat(results.get(1), sameInstance(second));
+        assertThat(batchContext.getRoundTrips(), equalTo(2));
+    }
+
+    interface TestElementContext extends ElementContext, FindsById, FindsByName {}
+
+    interface TestParentContext extends ParentContext, FindsById {}
+
+    interface CachingTestContext extends ElementContext, Caching {}
+}
@@ -21,12 +21,11 @@ package com.redhat.darcy.ui;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
 
 import com.redhat.darcy.ui.api.HasElementContext;
 import com.redhat.darcy.ui.api.WrapsElement;
 import com.redhat.darcy.ui.api.elements.Element;
-import com.redhat.darcy.ui.internal.ElementHandler;
-import com.redhat.darcy.ui.internal.ElementListHandler;
 import com.redhat.darcy.ui.testing.doubles.AlwaysDisplayedLabel;
 
 import org.junit.Test;
@@ -39,25 +38,31 @@ import java.util.List;
 @RunWith(JUnit4.class)
 public class ElementsTest {
     @Test
-    public void shouldCreateProxyImplementingLazyElementUsingElementHandlerForElements() {
+    public void shouldCreateLazyElementWithoutProxyForBuiltInElementTypes() {
         Element element = Elements.element(By.id("test"));
 
+        assertThat(element, not(instanceOf(Proxy.class)));
+        assertThat(element, instanceOf(HasElementContext.class));
+    }
+
+    @Test
+    public void shouldCreateProxyImplementingLazyElementForOtherElementTypes() {
+        CustomElement element = Elements.element(CustomElement.class, By.id("test"));
+
         assertThat(element, instanceOf(Proxy.class));
         assertThat(element, instanceOf(HasElementContext.class));
-        assertThat(Proxy.getInvocationHandler(element), instanceOf(ElementHandler.class));
+        assertThat(element, instanceOf(WrapsElement.class));
     }
 
     @Test
-    public void shouldCreateProxyImplementingLazyElementUsingElementListHandlerForElementLists() {
+    public void shouldCreateLazyListImplementingHasElementContextForElementLists() {
         List<Element> elementList = Elements.elements(By.id("test"));
 
-        assertThat(elementList, instanceOf(Proxy.class));
         assertThat(elementList, instanceOf(HasElementContext.class));
-        assertThat(Proxy.getInvocationHandler(elementList), instanceOf(ElementListHandler.class));
     }
 
     @Test
-    public void shouldCreateProxyImplementingWrapsElementForElements() {
+    public void shouldCreateLazyElementImplementingWrapsElementForElements() {
         Element element = Elements.element(By.id("test"));
 
         assertThat(element, instanceOf(WrapsElement.class));
@@ -72,4 +77,6 @@ public class ElementsTest {
     public void shouldThrowExceptionIfElementTypeIsNotAnInterfaceForElements() {
         Elements.elements(AlwaysDisplayedLabel.class, By.id("test"));
     }
+
+    interface CustomElement extends Element {}
 }
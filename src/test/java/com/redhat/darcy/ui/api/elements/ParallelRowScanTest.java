@@ -0,0 +1,311 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.api.elements;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertTrue;
+
+import com.redhat.darcy.ui.testing.doubles.StubTable;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@RunWith(JUnit4.class)
+public class ParallelRowScanTest {
+    ExecutorService executor;
+
+    @Before
+    public void startExecutor() {
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @After
+    public void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldGetRowsWhereInTableOrder() {
+        StubTable table = tableOf(200);
+
+        List<Integer> rows = table.getRowsWhere(slowIndex(), i -> i % 3 == 0, executor)
+                .map(Table.Row::getIndex)
+                .collect(Collectors.toList());
+
+        assertThat(rows, equalTo(multiplesOf3UpTo(200)));
+    }
+
+    @Test
+    public void shouldGetCellsWhereInTableOrder() {
+        StubTable table = tableOf(200);
+
+        List<Integer> cells = table.getCellsWhere(slowIndex(), i -> i % 3 == 0, executor)
+                .collect(Collectors.toList());
+
+        assertThat(cells, equalTo(multiplesOf3UpTo(200)));
+    }
+
+    @Test
+    public void shouldReadCellsConcurrently() {
+        StubTable table = tableOf(128);
+        AtomicInteger reading = new AtomicInteger();
+        AtomicInteger mostReading = new AtomicInteger();
+
+        Table.Column<StubTable, Integer> column = (t, r) -> {
+            mostReading.accumulateAndGet(reading.incrementAndGet(), Math::max);
+            sleep(1);
+            reading.decrementAndGet();
+            return r;
+        };
+
+        table.getRowsWhere(column, i -> true, executor).count();
+
+        assertThat(mostReading.get(), greaterThan(1));
+    }
+
+    @Test
+    public void shouldReadBulkColumnOncePerChunk() {
+        StubTable table = tableOf(ParallelRowScan.DEFAULT_CHUNK_SIZE * 4);
+        AtomicInteger bulkReads = new AtomicInteger();
+
+        Table.BulkColumn<StubTable, Integer> column = new Table.BulkColumn<StubTable, Integer>() {
+            @Override
+            public List<Integer> getCells(StubTable table, int fromRow, int toRow) {
+                bulkReads.incrementAndGet();
+
+                List<Integer> cells = new ArrayList<>();
+
+                for (int row = fromRow; row <= toRow; row++) {
+                    cells.add(row);
+                }
+
+                return cells;
+            }
+
+            @Override
+            public Integer getCell(StubTable table, int rowIndex) {
+                throw new AssertionError("Should read in bulk");
+            }
+        };
+
+        assertThat(table.getCellsWhere(column, i -> true, executor).count(),
+                equalTo((long) ParallelRowScan.DEFAULT_CHUNK_SIZE * 4));
+        assertThat(bulkReads.get(), equalTo(4));
+    }
+
+    @Test
+    public void shouldNotReadAnythingUntilStreamIsUsed() {
+        StubTable table = new StubTable();
+
+        table.getRowsWhere((t, r) -> r, i -> true, executor);
+        table.getCellsWhere((t, r) -> r, i -> true, executor);
+    }
+
+    @Test
+    public void shouldFindNothingInAnEmptyTable() {
+        assertThat(tableOf(0).getRowsWhere((t, r) -> r, i -> true, executor).count(),
+                equalTo(0L));
+    }
+
+    @Test
+    public void shouldRethrowWhatCellLookupThrew() {
+        StubTable table = tableOf(100);
+        IllegalStateException thrown = new IllegalStateException("stale");
+
+        try {
+            table.getRowsWhere((t, r) -> {
+                if (r == 50) {
+                    throw thrown;
+                }
+                return r;
+            }, i -> true, executor).count();
+        } catch (IllegalStateException e) {
+            assertThat(e, equalTo(thrown));
+            return;
+        }
+
+        throw new AssertionError("Expected exception to be rethrown");
+    }
+
+    @Test
+    public void shouldStopIssuingLookupsOnceALookupFails() throws InterruptedException {
+        StubTable table = tableOf(1000);
+        AtomicInteger lookups = new AtomicInteger();
+
+        try {
+            table.getRowsWhere((t, r) -> {
+                lookups.incrementAndGet();
+
+                if (r == 1) {
+                    throw new IllegalStateException("stale");
+                }
+                return r;
+            }, i -> true, executor).count();
+        } catch (IllegalStateException expected) {
+            // Lookups already submitted may still finish
+        }
+
+        awaitTermination();
+
+        assertThat(lookups.get(), lessThanOrEqualTo(
+                ParallelRowScan.DEFAULT_CHUNKS_AHEAD * ParallelRowScan.DEFAULT_CHUNK_SIZE));
+    }
+
+    @Test
+    public void shouldOnlyReadAFewChunksAheadOfAShortCircuitedStream()
+            throws InterruptedException {
+        StubTable table = tableOf(1000);
+        AtomicInteger lookups = new AtomicInteger();
+
+        Optional<Integer> first = table.getCellsWhere((t, r) -> {
+            lookups.incrementAndGet();
+            return r;
+        }, i -> true, executor).findFirst();
+
+        awaitTermination();
+
+        assertThat(first.get(), equalTo(1));
+        assertThat(lookups.get(), lessThanOrEqualTo(
+                ParallelRowScan.DEFAULT_CHUNKS_AHEAD * ParallelRowScan.DEFAULT_CHUNK_SIZE));
+    }
+
+    @Test
+    public void shouldCancelChunksNotYetStartedWhenStreamIsClosed() throws InterruptedException {
+        executor.shutdownNow();
+        executor = Executors.newSingleThreadExecutor();
+
+        StubTable table = tableOf(100);
+        AtomicInteger lookups = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (Stream<Integer> cells = new ParallelRowScan<>(table, (t, r) -> {
+            lookups.incrementAndGet();
+
+            if (r == 2) {
+                await(release);
+            }
+            return r;
+        }, i -> true, executor, 1, 8).cells()) {
+            assertThat(cells.findFirst().get(), equalTo(1));
+        } finally {
+            release.countDown();
+        }
+
+        awaitTermination();
+
+        assertThat(lookups.get(), lessThanOrEqualTo(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRequireAtLeastOneChunkAhead() {
+        new ParallelRowScan<>(new StubTable(), (t, r) -> r, i -> true, executor, 1, 0);
+    }
+
+    @Test
+    public void shouldUseChunksOfTheSpecifiedSize() {
+        StubTable table = tableOf(10);
+
+        List<Integer> rows = new ParallelRowScan<>(table, (t, r) -> r, i -> i > 7, executor, 3)
+                .rows()
+                .map(Table.Row::getIndex)
+                .collect(Collectors.toList());
+
+        assertThat(rows, contains(8, 9, 10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRequireChunksOfAtLeastOneRow() {
+        new ParallelRowScan<>(new StubTable(), (t, r) -> r, i -> true, executor, 0);
+    }
+
+    /**
+     * Waits for every lookup already submitted to finish.
+     */
+    void awaitTermination() throws InterruptedException {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    static StubTable tableOf(int rowCount) {
+        return new StubTable() {
+            @Override
+            public int getRowCount() {
+                return rowCount;
+            }
+        };
+    }
+
+    /**
+     * Each cell's contents are its row index, read after a random delay so that chunks finish out
+     * of order.
+     */
+    static Table.Column<StubTable, Integer> slowIndex() {
+        return (t, r) -> {
+            if (ThreadLocalRandom.current().nextInt(10) == 0) {
+                sleep(1);
+            }
+            return r;
+        };
+    }
+
+    static List<Integer> multiplesOf3UpTo(int last) {
+        List<Integer> multiples = new ArrayList<>();
+
+        for (int i = 3; i <= last; i += 3) {
+            multiples.add(i);
+        }
+
+        return multiples;
+    }
+
+    static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
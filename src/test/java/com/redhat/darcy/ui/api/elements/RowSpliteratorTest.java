@@ -0,0 +1,164 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.api.elements;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.redhat.darcy.ui.testing.doubles.CountingTable;
+import com.redhat.darcy.ui.testing.doubles.StubTable;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+@RunWith(JUnit4.class)
+public class RowSpliteratorTest {
+    @Test
+    public void shouldReadRowCountOncePerIteration() {
+        CountingTable table = new CountingTable(20);
+
+        int rows = 0;
+
+        for (Table.Row<StubTable> ignored : table.rows()) {
+            rows++;
+        }
+
+        assertThat(rows, equalTo(20));
+        assertThat(table.getRowCountReads(), equalTo(1));
+    }
+
+    @Test
+    public void shouldReadRowCountOnceForGetRowsWhere() {
+        CountingTable table = new CountingTable(20);
+
+        long matching = table.getRowsWhere((t, r) -> r, i -> i % 2 == 0).count();
+
+        assertThat(matching, equalTo(10L));
+        assertThat(table.getRowCountReads(), equalTo(1));
+    }
+
+    @Test
+    public void shouldNotReadRowCountUntilTraversalBegins() {
+        CountingTable table = new CountingTable(20);
+
+        table.rows().iterator();
+        table.getRowsWhere((t, r) -> r, i -> true);
+
+        assertThat(table.getRowCountReads(), equalTo(0));
+    }
+
+    @Test
+    public void shouldIncludeRowsAddedWhileIteratingLiveRows() {
+        CountingTable table = new CountingTable(3);
+        List<Integer> indexes = new ArrayList<>();
+
+        for (Table.Row<StubTable> row : table.liveRows()) {
+            indexes.add(row.getIndex());
+
+            if (row.getIndex() == 3) {
+                table.setRowCount(5);
+            }
+        }
+
+        assertThat(indexes, contains(1, 2, 3, 4, 5));
+    }
+
+    @Test
+    public void shouldNotIncludeRowsAddedWhileIteratingRows() {
+        CountingTable table = new CountingTable(3);
+        List<Integer> indexes = new ArrayList<>();
+
+        for (Table.Row<StubTable> row : table.rows()) {
+            indexes.add(row.getIndex());
+            table.setRowCount(5);
+        }
+
+        assertThat(indexes, contains(1, 2, 3));
+    }
+
+    @Test
+    public void shouldBeSizedOrderedAndSortedByNaturalOrder() {
+        Spliterator<Table.Row<StubTable>> rows = new CountingTable(20).rowSpliterator();
+
+        assertThat(rows.estimateSize(), equalTo(20L));
+        assertThat(rows.getExactSizeIfKnown(), equalTo(20L));
+        assertTrue(rows.hasCharacteristics(Spliterator.ORDERED));
+        assertTrue(rows.hasCharacteristics(Spliterator.SORTED));
+        assertTrue(rows.hasCharacteristics(Spliterator.SUBSIZED));
+        assertNull(rows.getComparator());
+    }
+
+    @Test
+    public void shouldNotBeSizedOrSplittableInLiveMode() {
+        Spliterator<Table.Row<StubTable>> rows = RowSpliterator.live(new CountingTable(20));
+
+        assertFalse(rows.hasCharacteristics(Spliterator.SIZED));
+        assertNull(rows.trySplit());
+    }
+
+    @Test
+    public void shouldSplitIntoRangesWhichCoverEveryRowOnce() {
+        CountingTable table = new CountingTable(101);
+        Spliterator<Table.Row<StubTable>> suffix = table.rowSpliterator();
+        Spliterator<Table.Row<StubTable>> prefix = suffix.trySplit();
+
+        assertThat(prefix.estimateSize() + suffix.estimateSize(), equalTo(101L));
+
+        List<Integer> indexes = new ArrayList<>();
+        prefix.forEachRemaining(r -> indexes.add(r.getIndex()));
+        suffix.forEachRemaining(r -> indexes.add(r.getIndex()));
+
+        List<Integer> expected = new ArrayList<>();
+
+        for (int i = 1; i <= 101; i++) {
+            expected.add(i);
+        }
+
+        assertThat(indexes, equalTo(expected));
+        assertThat(table.getRowCountReads(), equalTo(1));
+    }
+
+    @Test
+    public void shouldCollectAllRowsInOrderInParallel() {
+        CountingTable table = new CountingTable(1000);
+
+        List<Integer> indexes = StreamSupport.stream(table.rowSpliterator(), true)
+                .map(Table.Row::getIndex)
+                .collect(Collectors.toList());
+
+        assertThat(indexes.size(), equalTo(1000));
+        assertThat(indexes.get(999), equalTo(1000));
+    }
+
+    @Test
+    public void shouldNotSplitASingleRow() {
+        assertNull(new CountingTable(1).rowSpliterator().trySplit());
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.api.elements;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+
+import com.redhat.darcy.ui.testing.doubles.CountingTable;
+import com.redhat.darcy.ui.testing.doubles.StubTable;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@RunWith(JUnit4.class)
+public class TableQueryTest {
+    @Test
+    public void shouldGetRowsWhichMeetEveryConditionInOrder() {
+        CountingTable table = new CountingTable(100);
+
+        List<Integer> rows = table.query()
+                .where(table.index(), i -> i % 2 == 0)
+                .and(table.tens(), t -> t == 5)
+                .rows()
+                .map(Table.Row::getIndex)
+                .collect(Collectors.toList());
+
+        assertThat(rows, contains(50, 52, 54, 56, 58));
+    }
+
+    @Test
+    public void shouldSupportMatchers() {
+        CountingTable table = new CountingTable(100);
+
+        assertThat(table.query()
+                .where(table.index(), greaterThan(90))
+                .and(table.tens(), equalTo(9))
+                .count(), equalTo(9L));
+    }
+
+    @Test
+    public void shouldSelectCellsOfRowsWhichMeetEveryCondition() {
+        CountingTable table = new CountingTable(100);
+
+        List<Integer> tens = table.query()
+                .where(table.index(), i -> i % 25 == 0)
+                .select(table.tens())
+                .collect(Collectors.toList());
+
+        assertThat(tens, contains(2, 5, 7, 10));
+    }
+
+    @Test
+    public void shouldGetFirstRowWithoutReadingRowsAfterIt() {
+        CountingTable table = new CountingTable(100);
+
+        assertThat(table.query().where(table.index(), i -> i > 9).firstRow().get().getIndex(),
+                equalTo(10));
+        assertThat(table.getCellReads(table.index()), equalTo(10));
+    }
+
+    @Test
+    public void shouldGetEveryRowIfThereAreNoConditions() {
+        CountingTable table = new CountingTable(30);
+
+        assertThat(table.query().count(), equalTo(30L));
+        assertThat(table.getCellReads(table.index()), equalTo(0));
+    }
+
+    @Test
+    public void shouldReadEachColumnAtMostOncePerRow() {
+        CountingTable table = new CountingTable(100);
+
+        List<Integer> selected = table.query()
+                .where(table.index(), i -> i > 0)
+                .and(table.index(), i -> i < 1000)
+                .select(table.index())
+                .collect(Collectors.toList());
+
+        assertThat(selected.size(), equalTo(100));
+        assertThat(table.getCellReads(table.index()), equalTo(100));
+    }
+
+    @Test
+    public void shouldNotReadColumnsOfLaterConditionsOnceARowIsRejected() {
+        CountingTable table = new CountingTable(TableQuery.REORDER_INTERVAL);
+
+        table.query()
+                .where(table.index(), i -> i > TableQuery.REORDER_INTERVAL - 2)
+                .and(table.tens(), t -> true)
+                .count();
+
+        assertThat(table.getCellReads(table.tens()), equalTo(2));
+    }
+
+    @Test
+    public void shouldCheckConditionsWhichRejectMostRowsFirst() {
+        CountingTable table = new CountingTable(1000);
+
+        long matching = table.query()
+                .where(table.tens(), t -> true)
+                .and(table.index(), i -> i % 10 == 0)
+                .count();
+
+        assertThat(matching, equalTo(100L));
+        assertThat(table.getCellReads(table.tens()), lessThan(500));
+    }
+
+    @Test
+    public void shouldReadRowCountOncePerRun() {
+        CountingTable table = new CountingTable(100);
+
+        table.query().where(table.index(), i -> true).count();
+
+        assertThat(table.getRowCountReads(), equalTo(1));
+    }
+
+    @Test
+    public void shouldDescribeTableInToString() {
+        CountingTable table = new CountingTable(1);
+
+        assertThat(table.query().toString(), containsString("table: CountingTable"));
+    }
+
+    /**
+     * Counts reads of its row count and cells. Each row's "index" cell is its row index, and its
+     * "tens" cell is its row index divided by 10.
+     */
+    @Test
+    public void shouldGetTheSameRowsFromAParallelStream() {
+        CountingTable table = new CountingTable(1000);
+        TableQuery<StubTable> query = table.query()
+                .where(table.index(), i -> i % 3 == 0)
+                .and(table.tens(), t -> t % 2 == 0);
+
+        List<Integer> sequential = query.rows()
+                .map(Table.Row::getIndex)
+                .collect(Collectors.toList());
+        List<Integer> parallel = query.rows()
+                .parallel()
+                .map(Table.Row::getIndex)
+                .collect(Collectors.toList());
+
+        assertThat(parallel, equalTo(sequential));
+        assertThat(parallel.size(), equalTo(166));
+    }
+
+    @Test
+    public void shouldRunTheSameQueryFromManyThreadsAtOnce() throws Exception {
+        CountingTable table = new CountingTable(1000);
+        TableQuery<StubTable> query = table.query()
+                .where(table.index(), i -> i % 3 == 0)
+                .and(table.tens(), t -> t % 2 == 0);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<Long>> counts = new ArrayList<>();
+
+            for (int i = 0; i < 8; i++) {
+                counts.add(executor.submit(query::count));
+            }
+
+            for (Future<Long> count : counts) {
+                assertThat(count.get(10, TimeUnit.SECONDS), equalTo(166L));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
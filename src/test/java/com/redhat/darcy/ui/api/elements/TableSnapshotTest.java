@@ -0,0 +1,188 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.api.elements;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.redhat.darcy.ui.testing.doubles.CountingTable;
+import com.redhat.darcy.ui.testing.doubles.StubTable;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@RunWith(JUnit4.class)
+public class TableSnapshotTest {
+    @Test
+    public void shouldReadRowCountAndEachColumnOnlyOnce() {
+        CountingTable table = new CountingTable(50);
+
+        TableSnapshot<StubTable> snapshot = table.snapshot(table.index(), table.doubled());
+
+        snapshot.getRowsWhere(table.index(), i -> i > 10).count();
+        snapshot.getCellsWhere(table.doubled(), i -> i > 10).count();
+        snapshot.getFirstRowWhere(table.index(), i -> i > 10);
+        snapshot.getCell(table.doubled(), 3);
+
+        assertThat(table.getRowCountReads(), equalTo(1));
+        assertThat(table.getCellReads(), equalTo(100));
+    }
+
+    @Test
+    public void shouldReadBulkColumnsInOneLookup() {
+        CountingTable table = new CountingTable(50);
+        TableTest.CountingBulkColumn bulk = new TableTest.CountingBulkColumn();
+
+        table.snapshot(bulk);
+
+        assertThat(bulk.bulkReads, equalTo(1));
+        assertThat(bulk.cellReads, equalTo(0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldThrowIfColumnDoesNotReturnOneCellPerRow() {
+        CountingTable table = new CountingTable(50);
+
+        table.snapshot(new TableTest.CountingBulkColumn() {
+            @Override
+            public List<Integer> getCells(StubTable table, int fromRow, int toRow) {
+                return super.getCells(table, fromRow, toRow - 1);
+            }
+        });
+    }
+
+    @Test
+    public void shouldGetRowsWhereInOrder() {
+        CountingTable table = new CountingTable(50);
+        TableSnapshot<StubTable> snapshot = table.snapshot(table.index());
+
+        List<Table.Row<StubTable>> rows = snapshot.getRowsWhere(table.index(), i -> i > 47)
+                .collect(Collectors.toList());
+
+        assertThat(rows, contains(table.getRow(48), table.getRow(49), table.getRow(50)));
+        assertThat(rows.get(0).getTable(), sameInstance(table));
+    }
+
+    @Test
+    public void shouldGetRowsWhereWithMatcherInOrder() {
+        CountingTable table = new CountingTable(50);
+        TableSnapshot<StubTable> snapshot = table.snapshot(table.index());
+
+        List<Integer> rows = snapshot.getRowsWhere(table.index(), greaterThan(47))
+                .map(Table.Row::getIndex)
+                .collect(Collectors.toList());
+
+        assertThat(rows, contains(48, 49, 50));
+    }
+
+    @Test
+    public void shouldGetFirstRowWhere() {
+        CountingTable table = new CountingTable(50);
+        TableSnapshot<StubTable> snapshot = table.snapshot(table.index());
+
+        Optional<Table.Row<StubTable>> row =
+                snapshot.getFirstRowWhere(table.index(), greaterThan(10));
+
+        assertThat(row.get().getIndex(), equalTo(11));
+        assertFalse(snapshot.getFirstRowWhere(table.index(), i -> i > 50).isPresent());
+    }
+
+    @Test
+    public void shouldGetCellsWhereInOrder() {
+        CountingTable table = new CountingTable(50);
+        TableSnapshot<StubTable> snapshot = table.snapshot(table.doubled());
+
+        assertThat(snapshot.getCellsWhere(table.doubled(), i -> i > 94)
+                .collect(Collectors.toList()), contains(96, 98, 100));
+        assertThat(snapshot.getCellsWhere(table.doubled(), greaterThan(94))
+                .collect(Collectors.toList()), contains(96, 98, 100));
+    }
+
+    @Test
+    public void shouldGetCapturedCells() {
+        CountingTable table = new CountingTable(3);
+        TableSnapshot<StubTable> snapshot = table.snapshot(table.index(), table.doubled());
+
+        assertThat(snapshot.getCells(table.doubled()), contains(2, 4, 6));
+        assertThat(snapshot.getCell(table.index(), 2), equalTo(2));
+        assertThat(snapshot.getRowCount(), equalTo(3));
+        assertThat(snapshot.getColumns(), contains(table.index(), table.doubled()));
+    }
+
+    @Test
+    public void shouldBeEmptyIfTableHadNoRows() {
+        CountingTable table = new CountingTable(0);
+
+        assertTrue(table.snapshot(table.index()).isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldBeImmutable() {
+        CountingTable table = new CountingTable(3);
+
+        table.snapshot(table.index()).getCells(table.index()).set(0, 100);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowIfColumnWasNotCaptured() {
+        CountingTable table = new CountingTable(3);
+
+        table.snapshot(table.index()).getCellsWhere(table.doubled(), i -> true);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldThrowIfRowIndexIsOutOfBounds() {
+        CountingTable table = new CountingTable(3);
+
+        table.snapshot(table.index()).getCell(table.index(), 4);
+    }
+
+    @Test
+    public void shouldBeEquivalentToSnapshotsWithTheSameContents() {
+        CountingTable table = new CountingTable(3);
+
+        assertThat(table.snapshot(table.index()),
+                equalTo(table.snapshot(Arrays.asList(table.index()))));
+        assertThat(table.snapshot(table.index()).hashCode(),
+                equalTo(table.snapshot(table.index()).hashCode()));
+    }
+
+    @Test
+    public void shouldDescribeTableAndRowCountInToString() {
+        CountingTable table = new CountingTable(3);
+
+        assertThat(table.snapshot(table.index()).toString(), containsString("rowCount: 3"));
+    }
+
+    /**
+     * Counts reads of its row count and of its cells.
+     */
+}
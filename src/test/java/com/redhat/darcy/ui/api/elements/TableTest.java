@@ -20,6 +20,7 @@
 package com.redhat.darcy.ui.api.elements;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.junit.Assert.assertSame;
@@ -247,6 +248,113 @@ public class TableTest {
         assertThat("Did not return all cells that satisfied matcher.", cells, equalTo(expected));
     }
 
+    @Test
+    public void shouldGetCellsOneAtATimeFromColumnsWhichAreNotBulk() {
+        Table.Column<StubTable, Integer> testColumn = (t, r) -> r * 2;
+        StubTable testTable = new StubTable();
+
+        assertThat(testTable.getCells(testColumn, 3, 5), contains(6, 8, 10));
+    }
+
+    @Test
+    public void shouldGetCellsOfBulkColumnsAllAtOnce() {
+        CountingBulkColumn testColumn = new CountingBulkColumn();
+        StubTable testTable = new StubTable();
+
+        assertThat(testTable.getCells(testColumn, 3, 5), contains(3, 4, 5));
+        assertThat(testColumn.bulkReads, equalTo(1));
+        assertThat(testColumn.cellReads, equalTo(0));
+    }
+
+    @Test
+    public void shouldGetRowsWhereWithOneReadOfBulkColumn() {
+        CountingBulkColumn testColumn = new CountingBulkColumn();
+        StubTable testTable = new StubTable() {
+            @Override
+            public int getRowCount() {
+                return 50;
+            }
+        };
+
+        List<Integer> rows = testTable.getRowsWhere(testColumn, i -> i > 47)
+                .map(Table.Row::getIndex)
+                .collect(Collectors.toList());
+
+        assertThat(rows, contains(48, 49, 50));
+        assertThat(testColumn.bulkReads, equalTo(1));
+        assertThat(testColumn.cellReads, equalTo(0));
+    }
+
+    @Test
+    public void shouldGetCellsWhereWithOneReadOfBulkColumn() {
+        CountingBulkColumn testColumn = new CountingBulkColumn();
+        StubTable testTable = new StubTable() {
+            @Override
+            public int getRowCount() {
+                return 50;
+            }
+        };
+
+        List<Integer> cells = testTable.getCellsWhere(testColumn, i -> i > 47)
+                .collect(Collectors.toList());
+
+        assertThat(cells, contains(48, 49, 50));
+        assertThat(testColumn.bulkReads, equalTo(1));
+        assertThat(testColumn.cellReads, equalTo(0));
+    }
+
+    @Test
+    public void shouldGetAllCellsOfTableColumnWithOneReadOfBulkColumn() {
+        CountingBulkColumn testColumn = new CountingBulkColumn();
+        StubTable testTable = new StubTable() {
+            @Override
+            public int getRowCount() {
+                return 3;
+            }
+        };
+
+        assertThat(testTable.getColumn(testColumn).getCells(), contains(1, 2, 3));
+        assertThat(testColumn.bulkReads, equalTo(1));
+    }
+
+    @Test
+    public void shouldNotReadBulkColumnUntilStreamIsUsed() {
+        CountingBulkColumn testColumn = new CountingBulkColumn();
+        StubTable testTable = new StubTable();
+
+        testTable.getRowsWhere(testColumn, i -> true);
+        testTable.getCellsWhere(testColumn, i -> true);
+
+        assertThat(testColumn.bulkReads, equalTo(0));
+    }
+
     interface TestColumn extends Table.Column<StubTable, Integer> {}
     interface TestColumnWithHeader extends Table.ColumnWithHeader<StubTable, Integer, String> {}
+
+    /**
+     * Each cell's contents are its row index.
+     */
+    static class CountingBulkColumn implements Table.BulkColumn<StubTable, Integer> {
+        int cellReads;
+        int bulkReads;
+
+        @Override
+        public Integer getCell(StubTable table, int rowIndex) {
+            cellReads++;
+            return rowIndex;
+        }
+
+        @Override
+        public List<Integer> getCells(StubTable table, int fromRow, int toRow) {
+            bulkReads++;
+
+            List<Integer> cells = new ArrayList<>();
+
+            for (int row = fromRow; row <= toRow; row++) {
+                cells.add(row);
+            }
+
+            return cells;
+        }
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.inmemory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+
+import com.redhat.darcy.ui.AbstractView;
+import com.redhat.darcy.ui.By;
+import com.redhat.darcy.ui.Elements;
+import com.redhat.darcy.ui.annotations.Require;
+import com.redhat.darcy.ui.api.FindableElementContext;
+import com.redhat.darcy.ui.api.elements.Label;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ElementForestTest {
+    private ElementForest forest;
+    private ElementTree main;
+    private ElementTree popup;
+
+    @Before
+    public void setUp() {
+        main = new ElementTree(new Node("html").setAttribute("id", "main")
+                .setAttribute("title", "Home"));
+        popup = new ElementTree(new Node("html").setAttribute("id", "popup"));
+        popup.root().append(new Node("p").setAttribute("id", "message"));
+
+        forest = new ElementForest().add(main).add(popup);
+    }
+
+    @Test
+    public void shouldFindTreeContextsByRootAttributes() {
+        ElementTreeContext byId = (ElementTreeContext) forest.find()
+                .elementContext(By.id("popup"));
+        ElementTreeContext byTitle = (ElementTreeContext) forest.find()
+                .elementContext(By.title("Home"));
+
+        assertThat(byId.tree(), sameInstance(popup));
+        assertThat(byTitle.tree(), sameInstance(main));
+    }
+
+    @Test
+    public void shouldFindTreeContextInWhichViewIsLoaded() {
+        FindableElementContext context = forest.find().elementContext(By.view(new PopupView()));
+
+        assertThat(((ElementTreeContext) context).tree(), sameInstance(popup));
+    }
+
+    @Test
+    public void shouldFindContextWhichIsNotPresentIfNoTreeMatches() {
+        assertFalse(forest.find().elementContext(By.id("missing")).isPresent());
+    }
+
+    @Test
+    public void shouldFindElementsWithinChainedContexts() {
+        Label message = By.chained(By.id("popup"), By.id("message")).find(Label.class, forest);
+
+        assertThat(((NodeElement) message).node().tree(), sameInstance(popup));
+    }
+
+    static class PopupView extends AbstractView {
+        @Require
+        private Label message = Elements.element(Label.class, By.id("message"));
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.inmemory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.redhat.darcy.ui.AbstractView;
+import com.redhat.darcy.ui.By;
+import com.redhat.darcy.ui.Elements;
+import com.redhat.darcy.ui.annotations.RequireAll;
+import com.redhat.darcy.ui.api.elements.Element;
+import com.redhat.darcy.ui.api.elements.Label;
+import com.redhat.darcy.ui.api.elements.Link;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+@RunWith(JUnit4.class)
+public class ElementTreeContextTest {
+    private ElementTree tree;
+    private ElementTreeContext context;
+
+    private Node header;
+    private Node list;
+    private Node first;
+    private Node second;
+    private Node link;
+
+    @Before
+    public void setUp() {
+        tree = new ElementTree();
+        context = tree.context();
+
+        header = new Node("h1").setAttribute("id", "header").setAttribute("title", "Welcome")
+                .setText("Hello world");
+        first = new Node("li").setAttribute("class", "item").setAttribute("name", "first")
+                .setText("one");
+        second = new Node("li").setAttribute("class", "item").setText("two");
+        list = new Node("ul").setAttribute("id", "list").append(first, second);
+        link = new Node("a").setAttribute("id", "home").setText("Home");
+
+        tree.root().append(new Node("body").append(header, list, link));
+    }
+
+    @Test
+    public void shouldFindById() {
+        assertThat(nodeOf(By.id("header").find(Label.class, context)), sameInstance(header));
+    }
+
+    @Test
+    public void shouldFindByName() {
+        assertThat(nodeOf(By.name("first").find(Label.class, context)), sameInstance(first));
+    }
+
+    @Test
+    public void shouldFindByTitle() {
+        assertThat(nodeOf(By.title("Welcome").find(Label.class, context)), sameInstance(header));
+    }
+
+    @Test
+    public void shouldFindAllByAttributeInDocumentOrder() {
+        List<Label> items = By.attribute("class", "item").findAll(Label.class, context);
+
+        assertThat(nodesOf(items), contains(sameInstance(first), sameInstance(second)));
+    }
+
+    @Test
+    public void shouldFindInDocumentOrderRegardlessOfWhenNodesWereAdded() {
+        Node zeroth = new Node("li").setAttribute("class", "item");
+        list.append(zeroth);
+        list.append(first, second);
+
+        List<Label> items = By.attribute("class", "item").findAll(Label.class, context);
+
+        assertThat(nodesOf(items),
+                contains(sameInstance(zeroth), sameInstance(first), sameInstance(second)));
+    }
+
+    @Test
+    public void shouldFindByTextContent() {
+        assertThat(nodeOf(By.textContent("two").find(Label.class, context)), sameInstance(second));
+    }
+
+    @Test
+    public void shouldFindByPartialTextContent() {
+        assertThat(nodeOf(By.partialTextContent("world").find(Label.class, context)),
+                sameInstance(header));
+    }
+
+    @Test
+    public void shouldFindOnlyLinksByLinkText() {
+        first.setText("Home");
+
+        assertThat(nodesOf(By.linkText("Home").findAll(Link.class, context)),
+                contains(sameInstance(link)));
+    }
+
+    @Test
+    public void shouldFindByXPath() {
+        assertThat(nodesOf(By.xpath("//ul/li[@class='item']").findAll(Label.class, context)),
+                contains(sameInstance(first), sameInstance(second)));
+    }
+
+    @Test
+    public void shouldFindByXPathAfterTreeChanges() {
+        By.xpath("//li").findAll(Label.class, context);
+        second.remove();
+
+        assertThat(nodesOf(By.xpath("//li").findAll(Label.class, context)),
+                contains(sameInstance(first)));
+    }
+
+    @Test
+    public void shouldFindNestedElementsWithinParent() {
+        Element parent = By.id("list").find(Element.class, context);
+
+        assertThat(nodesOf(By.nested(parent, By.attribute("class", "item"))
+                        .findAll(Label.class, context)),
+                contains(sameInstance(first), sameInstance(second)));
+        assertFalse(By.nested(parent, By.id("header")).find(Label.class, context).isPresent());
+    }
+
+    @Test
+    public void shouldFindChainedElements() {
+        assertThat(nodeOf(By.chained(By.id("list"), By.textContent("two"))
+                        .find(Label.class, context)),
+                sameInstance(second));
+    }
+
+    @Test
+    public void shouldFindElementsWhichAreNotPresentIfNothingMatches() {
+        Label missing = By.id("missing").find(Label.class, context);
+
+        assertFalse(missing.isPresent());
+        assertFalse(missing.isDisplayed());
+        assertThat(By.id("missing").findAll(Label.class, context), empty());
+    }
+
+    @Test
+    public void shouldReindexChangedAttributesAndText() {
+        header.setAttribute("id", "title");
+        second.setText("deux");
+
+        assertFalse(By.id("header").find(Label.class, context).isPresent());
+        assertThat(nodeOf(By.id("title").find(Label.class, context)), sameInstance(header));
+        assertThat(By.textContent("two").findAll(Label.class, context), empty());
+        assertThat(nodeOf(By.textContent("deux").find(Label.class, context)),
+                sameInstance(second));
+    }
+
+    @Test
+    public void shouldNotFindRemovedNodes() {
+        list.remove();
+
+        assertThat(By.attribute("class", "item").findAll(Label.class, context), empty());
+    }
+
+    @Test
+    public void shouldFindAmongManyNodes() {
+        Node body = new Node("body");
+
+        for (int i = 0; i < 100_000; i++) {
+            body.append(new Node("div").setAttribute("id", "div" + i).setText("text" + i));
+        }
+
+        tree.root().append(body);
+
+        assertThat(By.id("div99999").find(Label.class, context).getText(),
+                equalTo("text99999"));
+        assertThat(By.textContent("text5").findAll(Label.class, context), hasSize(1));
+    }
+
+    @Test
+    public void shouldLoadViewsInContext() {
+        LoginView view = new LoginView();
+        view.setContext(context);
+
+        assertFalse(view.isLoaded());
+
+        tree.root().append(new Node("input").setAttribute("id", "username"));
+
+        assertTrue(view.isLoaded());
+    }
+
+    @Test
+    public void shouldNotifyChangeListenersOfChanges() {
+        AtomicInteger changes = new AtomicInteger();
+        Runnable listener = changes::incrementAndGet;
+
+        context.addChangeListener(listener);
+        header.setText("Goodbye");
+        second.remove();
+        context.removeChangeListener(listener);
+        header.setText("Hello again");
+
+        assertThat(changes.get(), equalTo(2));
+    }
+
+    @Test
+    public void shouldTransitionAsSoonAsTheTreeChanges() throws Exception {
+        Thread loader = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            tree.root().append(new Node("input").setAttribute("id", "username"));
+        });
+        loader.start();
+
+        long start = System.nanoTime();
+        context.transition().to(new LoginView()).waitUpTo(5, TimeUnit.SECONDS);
+
+        loader.join();
+
+        assertThat(System.nanoTime() - start, lessThan(TimeUnit.SECONDS.toNanos(2)));
+    }
+
+    @RequireAll
+    static class LoginView extends AbstractView {
+        private Label header = Elements.element(Label.class, By.id("header"));
+        private Label username = Elements.element(Label.class, By.id("username"));
+    }
+
+    private static Node nodeOf(Object element) {
+        return ((NodeElement) element).node();
+    }
+
+    private static List<Node> nodesOf(List<?> elements) {
+        return elements.stream()
+                .map(ElementTreeContextTest::nodeOf)
+                .collect(Collectors.toList());
+    }
+}
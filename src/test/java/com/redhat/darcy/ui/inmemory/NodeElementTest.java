@@ -0,0 +1,234 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.inmemory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.redhat.darcy.ui.By;
+import com.redhat.darcy.ui.FindableNotPresentException;
+import com.redhat.darcy.ui.api.elements.Button;
+import com.redhat.darcy.ui.api.elements.Checkbox;
+import com.redhat.darcy.ui.api.elements.DateInput;
+import com.redhat.darcy.ui.api.elements.Label;
+import com.redhat.darcy.ui.api.elements.Radio;
+import com.redhat.darcy.ui.api.elements.TextInput;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+@RunWith(JUnit4.class)
+public class NodeElementTest {
+    private ElementTree tree;
+    private ElementTreeContext context;
+
+    @Before
+    public void setUp() {
+        tree = new ElementTree();
+        context = tree.context();
+    }
+
+    @Test
+    public void shouldToggleCheckboxesWhenClicked() {
+        tree.root().append(new Node("input").setAttribute("type", "checkbox")
+                .setAttribute("id", "agree"));
+
+        Checkbox checkbox = By.id("agree").find(Checkbox.class, context);
+
+        checkbox.click();
+        assertTrue(checkbox.isChecked());
+
+        checkbox.check();
+        assertTrue(checkbox.isChecked());
+
+        checkbox.toggle();
+        assertFalse(checkbox.isChecked());
+    }
+
+    @Test
+    public void shouldDeselectOtherRadiosOfTheSameName() {
+        tree.root().append(
+                new Node("input").setAttribute("type", "radio").setAttribute("name", "size")
+                        .setAttribute("id", "small"),
+                new Node("input").setAttribute("type", "radio").setAttribute("name", "size")
+                        .setAttribute("id", "large"));
+
+        Radio small = By.id("small").find(Radio.class, context);
+        Radio large = By.id("large").find(Radio.class, context);
+
+        small.select();
+        large.select();
+
+        assertFalse(small.isSelected());
+        assertTrue(large.isSelected());
+    }
+
+    @Test
+    public void shouldSelectOneOptionOfASelect() {
+        tree.root().append(new Node("select").setAttribute("id", "colour").append(
+                new Node("option").setText("red").setAttribute("selected"),
+                new Node("option").setText("blue")));
+
+        NodeElement select = By.id("colour").find(NodeElement.class, context);
+
+        select.select(By.textContent("blue"));
+
+        assertThat(select.getSelectedOption().get().getText(), equalTo("blue"));
+        assertThat(select.getSelectedOptions().size(), equalTo(1));
+        assertThat(texts(select.getOptions()), contains("red", "blue"));
+    }
+
+    @Test
+    public void shouldSelectManyOptionsOfAMultipleSelect() {
+        tree.root().append(new Node("select").setAttribute("id", "colours")
+                .setAttribute("multiple").append(
+                        new Node("option").setText("red").setAttribute("selected"),
+                        new Node("option").setText("blue")));
+
+        NodeElement select = By.id("colours").find(NodeElement.class, context);
+
+        select.select(By.textContent("blue"));
+
+        assertThat(texts(select.getSelectedOptions()), contains("red", "blue"));
+    }
+
+    @Test
+    public void shouldTypeIntoValue() {
+        tree.root().append(new Node("input").setAttribute("id", "name"));
+
+        TextInput input = By.id("name").find(TextInput.class, context);
+
+        input.type("Jane");
+        input.type(" ", "Doe");
+        assertThat(input.getValue(), equalTo("Jane Doe"));
+
+        input.clearAndType("John");
+        assertThat(input.getValue(), equalTo("John"));
+
+        input.clear();
+        assertThat(input.getValue(), equalTo(""));
+    }
+
+    @Test
+    public void shouldSetAndGetDates() {
+        tree.root().append(new Node("input").setAttribute("id", "birthday"));
+
+        DateInput input = By.id("birthday").find(DateInput.class, context);
+
+        assertThat(input.getDate(), nullValue());
+
+        input.setDate(LocalDate.of(2014, 6, 1));
+
+        assertThat(input.getDate(), equalTo(LocalDate.of(2014, 6, 1)));
+    }
+
+    @Test
+    public void shouldFireClickHandlersUnlessDisabled() {
+        AtomicInteger clicks = new AtomicInteger();
+        Node node = new Node("button").setAttribute("id", "submit").on("click",
+                clicks::incrementAndGet);
+        tree.root().append(node);
+
+        Button button = By.id("submit").find(Button.class, context);
+
+        button.click();
+        node.setAttribute("disabled");
+        button.click();
+
+        assertThat(clicks.get(), equalTo(1));
+        assertFalse(button.isEnabled());
+    }
+
+    @Test
+    public void shouldNotBeDisplayedIfAnAncestorIsHidden() {
+        Node section = new Node("div").append(new Node("span").setAttribute("id", "text"));
+        tree.root().append(section);
+
+        Label label = By.id("text").find(Label.class, context);
+
+        assertTrue(label.isDisplayed());
+
+        section.setAttribute("hidden");
+
+        assertFalse(label.isDisplayed());
+        assertTrue(label.isPresent());
+    }
+
+    @Test
+    public void shouldFindNodeAgainIfNotFoundBefore() {
+        Label label = By.id("later").find(Label.class, context);
+
+        assertFalse(label.isPresent());
+
+        tree.root().append(new Node("span").setAttribute("id", "later").setText("here"));
+
+        assertThat(label.getText(), equalTo("here"));
+    }
+
+    @Test(expected = FindableNotPresentException.class)
+    public void shouldThrowFindableNotPresentExceptionIfNodeOfListElementIsRemoved() {
+        Node node = new Node("span").setAttribute("class", "item");
+        tree.root().append(node);
+
+        Label label = By.attribute("class", "item").findAll(Label.class, context).get(0);
+
+        node.remove();
+
+        label.getText();
+    }
+
+    @Test
+    public void shouldBeEqualIfOfTheSameNode() {
+        tree.root().append(new Node("span").setAttribute("class", "item"));
+
+        assertThat(By.attribute("class", "item").findAll(Label.class, context),
+                equalTo(By.attribute("class", "item").findAll(Label.class, context)));
+    }
+
+    @Test
+    public void shouldTakeLatencyForEachCall() {
+        tree.root().append(new Node("span").setAttribute("id", "text"));
+        tree.setLatency(TimeUnit.MILLISECONDS.toNanos(5));
+
+        long start = System.nanoTime();
+
+        By.id("text").find(Label.class, context).getText();
+
+        assertThat(System.nanoTime() - start,
+                greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(10)));
+    }
+
+    private static List<String> texts(List<NodeElement> elements) {
+        return elements.stream().map(NodeElement::getText).collect(Collectors.toList());
+    }
+}
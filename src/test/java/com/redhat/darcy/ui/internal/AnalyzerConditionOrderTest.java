@@ -0,0 +1,228 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import com.redhat.darcy.ui.annotations.RequireAll;
+import com.redhat.darcy.ui.api.elements.Element;
+import com.redhat.darcy.ui.testing.doubles.AlwaysDisplayedLabel;
+import com.redhat.darcy.ui.testing.doubles.NeverDisplayedElement;
+import com.redhat.darcy.ui.testing.doubles.NeverMetCondition;
+import com.redhat.synq.AbstractCondition;
+import com.redhat.synq.Condition;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(JUnit4.class)
+public class AnalyzerConditionOrderTest {
+    @RequireAll
+    static class TestView {
+        Element first = new AlwaysDisplayedLabel();
+        Element second = new AlwaysDisplayedLabel();
+        Element notDisplayed = new NeverDisplayedElement();
+    }
+
+    @Test
+    public void shouldKeepDeclarationOrderBeforeAnyConditionIsEvaluated() {
+        TestView view = new TestView();
+        Analyzer analyzer = new Analyzer(view, ViewBinders.forClass(TestView.class));
+
+        analyzer.getLoadConditions();
+
+        assertThat(subjects(analyzer.getLoadConditionStats()),
+                contains(sameInstance(view.first), sameInstance(view.second),
+                        sameInstance(view.notDisplayed)));
+    }
+
+    @Test
+    public void shouldOrderConditionsWhichAreNotMetFirst() {
+        TestView view = new TestView();
+        Analyzer analyzer = new Analyzer(view, ViewBinders.forClass(TestView.class));
+
+        for (Condition<?> condition : analyzer.getLoadConditions()) {
+            condition.isMet();
+        }
+
+        assertThat(analyzer.getLoadConditionStats().get(0).subject(),
+                sameInstance(view.notDisplayed));
+        assertFalse(analyzer.getLoadConditions().get(0).isMet());
+    }
+
+    @Test
+    public void shouldRecordEvaluationsAndFailures() {
+        TestView view = new TestView();
+        Analyzer analyzer = new Analyzer(view, ViewBinders.forClass(TestView.class));
+
+        for (int i = 0; i < 3; i++) {
+            for (Condition<?> condition : analyzer.getLoadConditions()) {
+                condition.isMet();
+            }
+        }
+
+        ConditionStats notDisplayed = statsOf(view.notDisplayed, analyzer);
+        ConditionStats displayed = statsOf(view.first, analyzer);
+
+        assertThat(notDisplayed.index(), equalTo(2));
+        assertThat(notDisplayed.evaluations(), equalTo(3L));
+        assertThat(notDisplayed.failures(), equalTo(3L));
+        assertThat(displayed.evaluations(), equalTo(3L));
+        assertThat(displayed.failures(), equalTo(0L));
+        assertThat(notDisplayed.failureRate(), greaterThan(displayed.failureRate()));
+    }
+
+    @Test
+    public void shouldOrderConditionsThatFailAsOftenByLatency() {
+        MeasuredCondition<Object> slow = new MeasuredCondition<>(0, "slow",
+                new SlowCondition(TimeUnit.MILLISECONDS.toNanos(5)));
+        MeasuredCondition<Object> fast = new MeasuredCondition<>(1, "fast",
+                new NeverMetCondition<>());
+
+        slow.isMet();
+        fast.isMet();
+
+        assertThat(MeasuredCondition.inCostOrder(Arrays.asList(slow, fast)),
+                contains(sameInstance(fast), sameInstance(slow)));
+    }
+
+    @Test
+    public void shouldCountConditionsThatThrowAsFailures() {
+        MeasuredCondition<Object> throwing = new MeasuredCondition<>(0, "throwing",
+                new AbstractCondition<Object>() {
+                    @Override
+                    public boolean isMet() {
+                        throw new IllegalStateException();
+                    }
+
+                    @Override
+                    public Object lastResult() {
+                        return null;
+                    }
+                });
+
+        try {
+            throwing.isMet();
+            fail("Expected exception to be rethrown");
+        } catch (IllegalStateException expected) {
+        }
+
+        assertThat(throwing.stats().failures(), equalTo(1L));
+    }
+
+    @Test
+    public void shouldMoveConditionsBackAsTheyStartToBeMet() {
+        ToggleCondition toggle = new ToggleCondition();
+        MeasuredCondition<Object> loading = new MeasuredCondition<>(0, "loading", toggle);
+        MeasuredCondition<Object> failing = new MeasuredCondition<>(1, "failing",
+                new NeverMetCondition<>());
+        List<MeasuredCondition<?>> conditions = Arrays.asList(loading, failing);
+
+        for (int i = 0; i < 5; i++) {
+            loading.isMet();
+        }
+
+        for (int i = 0; i < 5; i++) {
+            failing.isMet();
+        }
+
+        toggle.met = true;
+
+        for (int i = 0; i < 20; i++) {
+            loading.isMet();
+        }
+
+        assertThat(MeasuredCondition.inCostOrder(conditions),
+                contains(sameInstance(failing), sameInstance(loading)));
+    }
+
+    /**
+     * Looks up stats by subject, since the order of the stats depends on measured latencies.
+     */
+    private static ConditionStats statsOf(Object subject, Analyzer analyzer) {
+        for (ConditionStats stats : analyzer.getLoadConditionStats()) {
+            if (stats.subject() == subject) {
+                return stats;
+            }
+        }
+
+        throw new AssertionError("No stats for " + subject);
+    }
+
+    private static List<Object> subjects(List<ConditionStats> stats) {
+        List<Object> subjects = new ArrayList<>();
+
+        for (ConditionStats stat : stats) {
+            subjects.add(stat.subject());
+        }
+
+        return subjects;
+    }
+
+    static class ToggleCondition extends AbstractCondition<Object> {
+        boolean met;
+
+        @Override
+        public boolean isMet() {
+            return met;
+        }
+
+        @Override
+        public Object lastResult() {
+            return null;
+        }
+    }
+
+    static class SlowCondition extends AbstractCondition<Object> {
+        private final long nanos;
+
+        SlowCondition(long nanos) {
+            this.nanos = nanos;
+        }
+
+        @Override
+        public boolean isMet() {
+            long end = System.nanoTime() + nanos;
+
+            while (System.nanoTime() < end) {
+                Thread.yield();
+            }
+
+            return false;
+        }
+
+        @Override
+        public Object lastResult() {
+            return null;
+        }
+    }
+}
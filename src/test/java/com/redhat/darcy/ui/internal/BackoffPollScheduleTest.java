@@ -0,0 +1,91 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.concurrent.TimeUnit;
+
+@RunWith(JUnit4.class)
+public class BackoffPollScheduleTest {
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void shouldCheckAgainSoonAfterTheFirstCheck() {
+        PollSchedule schedule = new BackoffPollSchedule(10, 2, 1000, TimeUnit.MILLISECONDS, 0, 1);
+
+        assertThat(schedule.delayNanos(1, 0), equalTo(10 * MS));
+    }
+
+    @Test
+    public void shouldBackOffExponentiallyUpToTheMaximumDelay() {
+        PollSchedule schedule = new BackoffPollSchedule(10, 2, 1000, TimeUnit.MILLISECONDS, 0, 1);
+
+        assertThat(schedule.delayNanos(2, 0), equalTo(20 * MS));
+        assertThat(schedule.delayNanos(3, 0), equalTo(40 * MS));
+        assertThat(schedule.delayNanos(7, 0), equalTo(640 * MS));
+        assertThat(schedule.delayNanos(8, 0), equalTo(1000 * MS));
+        assertThat(schedule.delayNanos(1000, 0), equalTo(1000 * MS));
+    }
+
+    @Test
+    public void shouldShortenDelaysByAtMostTheJitter() {
+        PollSchedule schedule = new BackoffPollSchedule(100, 1, 100, TimeUnit.MILLISECONDS, 0.25,
+                1);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(schedule.delayNanos(1, 0),
+                    both(greaterThanOrEqualTo(75 * MS)).and(lessThanOrEqualTo(100 * MS)));
+        }
+    }
+
+    @Test
+    public void shouldKeepTimeSpentCheckingWithinBudget() {
+        PollSchedule schedule = new BackoffPollSchedule(10, 2, 1000, TimeUnit.MILLISECONDS, 0,
+                0.1);
+
+        // A check of 200ms within a budget of 10% allows one check per 2 seconds
+        assertThat(schedule.delayNanos(1, 200 * MS), equalTo(1800 * MS));
+        assertThat(schedule.delayNanos(1, 0), equalTo(10 * MS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptAMultiplierLessThan1() {
+        new BackoffPollSchedule(10, 0.5, 1000, TimeUnit.MILLISECONDS, 0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptAZeroBudget() {
+        new BackoffPollSchedule(10, 2, 1000, TimeUnit.MILLISECONDS, 0, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptAMaximumDelayShorterThanTheFirst() {
+        new BackoffPollSchedule(10, 2, 5, TimeUnit.MILLISECONDS, 0, 1);
+    }
+}
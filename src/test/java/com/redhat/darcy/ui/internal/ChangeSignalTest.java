@@ -0,0 +1,199 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(JUnit4.class)
+public class ChangeSignalTest {
+    private static final PollSchedule SLOW = PollSchedule.fixed(10, TimeUnit.SECONDS);
+
+    private final FakeObservableContext context = new FakeObservableContext();
+    private final AtomicBoolean ready = new AtomicBoolean();
+    private final CountingMatcher isReady = new CountingMatcher();
+
+    @Test
+    public void shouldReturnImmediatelyIfAlreadyMatched() {
+        ready.set(true);
+
+        assertTrue(ChangeSignal.awaitMatch(context, ready, isReady, 1, TimeUnit.SECONDS, SLOW));
+        assertThat(isReady.checks.get(), equalTo(1));
+    }
+
+    @Test
+    public void shouldCheckOnlyWhenTheContextChanges() throws Exception {
+        Thread changer = new Thread(() -> {
+            sleep(100);
+            context.change();
+            sleep(100);
+            ready.set(true);
+            context.change();
+        });
+        changer.start();
+
+        long start = System.nanoTime();
+        boolean matched = ChangeSignal.awaitMatch(context, ready, isReady, 5, TimeUnit.SECONDS,
+                SLOW);
+        long elapsed = System.nanoTime() - start;
+
+        changer.join();
+
+        assertTrue(matched);
+        assertThat(isReady.checks.get(), lessThanOrEqualTo(3));
+        assertThat(elapsed, lessThan(TimeUnit.SECONDS.toNanos(2)));
+    }
+
+    @Test
+    public void shouldStillCheckAtTheFallbackIntervalWithoutChanges() throws Exception {
+        Thread changer = new Thread(() -> {
+            sleep(100);
+            ready.set(true);
+        });
+        changer.start();
+
+        assertTrue(ChangeSignal.awaitMatch(context, ready, isReady, 5, TimeUnit.SECONDS,
+                PollSchedule.fixed(20, TimeUnit.MILLISECONDS)));
+
+        changer.join();
+    }
+
+    @Test
+    public void shouldReturnFalseAfterTimeout() {
+        assertFalse(ChangeSignal.awaitMatch(context, ready, isReady, 50, TimeUnit.MILLISECONDS,
+                SLOW));
+    }
+
+    @Test
+    public void shouldStopListeningAfterWaiting() {
+        ChangeSignal.awaitMatch(context, ready, isReady, 10, TimeUnit.MILLISECONDS, SLOW);
+
+        assertTrue(context.listeners.isEmpty());
+    }
+
+    @Test
+    public void shouldNotMissChangesMadeWhileChecking() {
+        Matcher<AtomicBoolean> readyOnSecondCheck = new TypeSafeMatcher<AtomicBoolean>() {
+            int checks;
+
+            @Override
+            protected boolean matchesSafely(AtomicBoolean item) {
+                if (++checks == 1) {
+                    context.change();
+                    return false;
+                }
+
+                return true;
+            }
+
+            @Override
+            public void describeTo(Description description) {
+                description.appendText("ready on second check");
+            }
+        };
+
+        long start = System.nanoTime();
+
+        assertTrue(ChangeSignal.awaitMatch(context, ready, readyOnSecondCheck, 5, TimeUnit.SECONDS,
+                SLOW));
+        assertThat(System.nanoTime() - start, lessThan(TimeUnit.SECONDS.toNanos(2)));
+    }
+
+    @Test
+    public void shouldCheckAsScheduledWithoutAContextToListenTo() {
+        List<Integer> scheduledChecks = new CopyOnWriteArrayList<>();
+        PollSchedule schedule = (checks, lastCheckNanos) -> {
+            scheduledChecks.add(checks);
+            return TimeUnit.MILLISECONDS.toNanos(5);
+        };
+
+        assertFalse(ChangeSignal.awaitMatch(null, ready, isReady, 100, TimeUnit.MILLISECONDS,
+                schedule));
+        assertThat(scheduledChecks.get(0), equalTo(1));
+        assertThat(scheduledChecks.get(1), equalTo(2));
+        assertThat(isReady.checks.get(), equalTo(scheduledChecks.size() + 1));
+    }
+
+    @Test
+    public void shouldListenToTheFirstObservableContext() {
+        ChangeSignal.awaitMatchIn(ready, isReady, 10, TimeUnit.MILLISECONDS, SLOW, new Object(),
+                context);
+
+        assertThat(isReady.checks.get(), lessThanOrEqualTo(2));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static class FakeObservableContext implements ObservableContext {
+        final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void addChangeListener(Runnable listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void removeChangeListener(Runnable listener) {
+            listeners.remove(listener);
+        }
+
+        void change() {
+            listeners.forEach(Runnable::run);
+        }
+    }
+
+    static class CountingMatcher extends TypeSafeMatcher<AtomicBoolean> {
+        final AtomicInteger checks = new AtomicInteger();
+
+        @Override
+        protected boolean matchesSafely(AtomicBoolean item) {
+            checks.incrementAndGet();
+            return item.get();
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            description.appendText("ready");
+        }
+    }
+}
@@ -0,0 +1,435 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.internal;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.redhat.darcy.ui.annotations.RequireAll;
+import com.redhat.darcy.ui.api.Context;
+import com.redhat.darcy.ui.api.ElementContext;
+import com.redhat.darcy.ui.api.HasElementContext;
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.WrapsElement;
+import com.redhat.darcy.ui.api.elements.Element;
+import com.redhat.darcy.ui.api.elements.Findable;
+import com.redhat.darcy.ui.api.elements.Label;
+import com.redhat.darcy.ui.testing.doubles.AlwaysDisplayedLabel;
+import com.redhat.darcy.ui.testing.doubles.DummyContext;
+import com.redhat.darcy.util.LazyList;
+import com.redhat.darcy.util.StreamingLazyList;
+import com.redhat.synq.Condition;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Has many threads use the same proxies, delegating elements, lists, and analyzers at once, many
+ * times over, and checks that every thread sees a consistent result.
+ */
+@RunWith(JUnit4.class)
+public class ConcurrentAccessStressTest {
+    static final int THREADS = 8;
+    static final int ROUNDS = 200;
+
+    @Test
+    public void shouldCacheOneListWhenLazyListIsFirstUsedByManyThreadsAtOnce() throws Throwable {
+        for (int round = 0; round < ROUNDS; round++) {
+            AtomicInteger supplied = new AtomicInteger();
+            LazyList<Object> list = new LazyList<>(() -> {
+                List<Object> contents = new ArrayList<>();
+                contents.add(supplied.incrementAndGet());
+                return contents;
+            });
+
+            List<Object> seen = runConcurrently(() -> list.get(0));
+
+            for (Object each : seen) {
+                assertThat(each, sameInstance(list.get(0)));
+            }
+        }
+    }
+
+    @Test
+    public void shouldCacheOneElementWhenProxyIsFirstUsedByManyThreadsAtOnce() throws Throwable {
+        Method getWrappedElement = WrapsElement.class.getMethod("getWrappedElement");
+
+        for (int round = 0; round < ROUNDS; round++) {
+            CountingLocator locator = new CountingLocator();
+            ElementHandler handler = new ElementHandler(Label.class, locator);
+            handler.invoke(null, setContext(), new Object[] { mock(DummyContext.class) });
+
+            runConcurrently(() -> handler.invoke(null, getWrappedElement, null));
+
+            Object cached = handler.invoke(null, getWrappedElement, null);
+
+            assertThat(handler.invoke(null, getWrappedElement, null), sameInstance(cached));
+            assertThat(locator.finds.get(), lessThanOrEqualTo(THREADS));
+        }
+    }
+
+    @Test
+    public void shouldAlwaysUseAnElementFoundInAContextWhileContextIsChanging()
+            throws Throwable {
+        Method getWrappedElement = WrapsElement.class.getMethod("getWrappedElement");
+        Method getText = Label.class.getMethod("getText");
+        DummyContext first = mock(DummyContext.class, "first");
+        DummyContext last = mock(DummyContext.class, "last");
+        ElementHandler handler = new ElementHandler(Label.class, new CountingLocator());
+        AtomicBoolean changing = new AtomicBoolean(true);
+
+        handler.invoke(null, setContext(), new Object[] { first });
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+
+            for (int i = 0; i < THREADS - 1; i++) {
+                readers.add(executor.submit(unchecked(() -> {
+                    while (changing.get()) {
+                        assertThat(handler.invoke(null, getWrappedElement, null), notNullValue());
+                        assertThat(handler.invoke(null, getText, null), notNullValue());
+                    }
+                    return null;
+                })));
+            }
+
+            for (int i = 0; i < ROUNDS * 10; i++) {
+                handler.invoke(null, setContext(), new Object[] { i % 2 == 0 ? last : first });
+            }
+
+            handler.invoke(null, setContext(), new Object[] { last });
+            changing.set(false);
+
+            for (Future<?> reader : readers) {
+                reader.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        FoundLabel found = (FoundLabel) handler.invoke(null, getWrappedElement, null);
+
+        assertThat(found.context, sameInstance(last));
+    }
+
+    @Test
+    public void shouldCacheOneListWhenListProxyIsFirstUsedByManyThreadsAtOnce()
+            throws Throwable {
+        Method size = List.class.getMethod("size");
+        Method get = List.class.getMethod("get", int.class);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            CountingLocator locator = new CountingLocator();
+            ElementListHandler handler = new ElementListHandler(Label.class, locator);
+            handler.invoke(null, setContext(), new Object[] { mock(DummyContext.class) });
+
+            List<Object> sizes = runConcurrently(() -> handler.invoke(null, size, null));
+
+            for (Object each : sizes) {
+                assertThat(each, equalTo(1));
+            }
+
+            Object cached = handler.invoke(null, get, new Object[] { 0 });
+
+            assertThat(handler.invoke(null, get, new Object[] { 0 }), sameInstance(cached));
+        }
+    }
+
+    @Test
+    public void shouldCacheOneElementWhenDelegatingElementIsFirstUsedByManyThreadsAtOnce()
+            throws Throwable {
+        for (int round = 0; round < ROUNDS; round++) {
+            CountingLocator locator = new CountingLocator();
+            Label label = new DelegatingElementFactory().element(Label.class, locator);
+            ((HasElementContext) label).setContext(mock(DummyContext.class));
+
+            runConcurrently(() -> ((WrapsElement) label).getWrappedElement());
+
+            Object cached = ((WrapsElement) label).getWrappedElement();
+
+            assertThat(((WrapsElement) label).getWrappedElement(), sameInstance(cached));
+            assertThat(locator.finds.get(), lessThanOrEqualTo(THREADS));
+        }
+    }
+
+    @Test
+    public void shouldAlwaysUseAnElementFoundInAContextWhileDelegatingElementContextIsChanging()
+            throws Throwable {
+        DummyContext first = mock(DummyContext.class, "first");
+        DummyContext last = mock(DummyContext.class, "last");
+        Label label = new DelegatingElementFactory().element(Label.class, new CountingLocator());
+        HasElementContext hasContext = (HasElementContext) label;
+        AtomicBoolean changing = new AtomicBoolean(true);
+
+        hasContext.setContext(first);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+
+            for (int i = 0; i < THREADS - 1; i++) {
+                readers.add(executor.submit(unchecked(() -> {
+                    while (changing.get()) {
+                        assertThat(((WrapsElement) label).getWrappedElement(), notNullValue());
+                        assertThat(label.getText(), notNullValue());
+                    }
+                    return null;
+                })));
+            }
+
+            for (int i = 0; i < ROUNDS * 10; i++) {
+                hasContext.setContext(i % 2 == 0 ? last : first);
+            }
+
+            hasContext.setContext(last);
+            changing.set(false);
+
+            for (Future<?> reader : readers) {
+                reader.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        FoundLabel found = (FoundLabel) ((WrapsElement) label).getWrappedElement();
+
+        assertThat(found.context, sameInstance(last));
+    }
+
+    @Test
+    public void shouldCacheOneListWhenDelegatingListIsFirstUsedByManyThreadsAtOnce()
+            throws Throwable {
+        for (int round = 0; round < ROUNDS; round++) {
+            CountingLocator locator = new CountingLocator();
+            List<Label> list = new DelegatingElementFactory().elements(Label.class, locator);
+            ((HasElementContext) list).setContext(mock(DummyContext.class));
+
+            List<Object> sizes = runConcurrently(list::size);
+
+            for (Object each : sizes) {
+                assertThat(each, equalTo(1));
+            }
+
+            assertThat(list.get(0), sameInstance(list.get(0)));
+            assertThat(locator.finds.get(), lessThanOrEqualTo(THREADS));
+        }
+    }
+
+    @Test
+    public void shouldPullEachElementOnceWhenStreamingListIsIteratedByManyThreadsAtOnce()
+            throws Throwable {
+        int size = 50;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            AtomicInteger sources = new AtomicInteger();
+            StreamingLazyList<Integer> list = new StreamingLazyList<>(() -> {
+                sources.incrementAndGet();
+                return IntStream.range(0, size).iterator();
+            });
+
+            List<Object> seen = runConcurrently(() -> {
+                List<Integer> copy = new ArrayList<>();
+                list.forEach(copy::add);
+                return copy;
+            });
+
+            List<Integer> expected = IntStream.range(0, size).boxed().collect(Collectors.toList());
+
+            for (Object each : seen) {
+                assertThat(each, equalTo(expected));
+            }
+
+            assertThat(sources.get(), equalTo(1));
+            assertThat(list.pulledSize(), equalTo(size));
+        }
+    }
+
+    @Test
+    public void shouldNeverMixSourcesWhenStreamingListIsInvalidatedWhileBeingRead()
+            throws Throwable {
+        AtomicInteger sources = new AtomicInteger();
+        StreamingLazyList<Integer> list = new StreamingLazyList<>(() -> {
+            int source = sources.incrementAndGet();
+            return IntStream.range(0, 20).map(i -> source).iterator();
+        });
+        AtomicBoolean invalidating = new AtomicBoolean(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+
+            for (int i = 0; i < THREADS - 1; i++) {
+                readers.add(executor.submit(unchecked(() -> {
+                    while (invalidating.get()) {
+                        List<Integer> copy = new ArrayList<>();
+                        list.forEach(copy::add);
+
+                        assertThat(copy.size(), equalTo(20));
+                        assertThat(new HashSet<>(copy).size(), equalTo(1));
+                    }
+                    return null;
+                })));
+            }
+
+            for (int i = 0; i < ROUNDS * 10; i++) {
+                list.invalidateCache();
+            }
+
+            invalidating.set(false);
+
+            for (Future<?> reader : readers) {
+                reader.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldRecordEveryEvaluationWhenAnalyzerIsFirstUsedByManyThreadsAtOnce()
+            throws Throwable {
+        for (int round = 0; round < ROUNDS; round++) {
+            TestView view = new TestView();
+            Analyzer analyzer = new Analyzer(view, ViewBinders.forClass(TestView.class));
+
+            runConcurrently(() -> {
+                for (Condition<?> condition : analyzer.getLoadConditions()) {
+                    condition.isMet();
+                }
+                return null;
+            });
+
+            for (ConditionStats stats : analyzer.getLoadConditionStats()) {
+                assertThat(stats.evaluations(), equalTo((long) THREADS));
+            }
+        }
+    }
+
+    @RequireAll
+    static class TestView {
+        Element first = new AlwaysDisplayedLabel();
+        Element second = new AlwaysDisplayedLabel();
+        Element third = new AlwaysDisplayedLabel();
+    }
+
+    static Method setContext() throws NoSuchMethodException {
+        return HasElementContext.class.getMethod("setContext", ElementContext.class);
+    }
+
+    /**
+     * Calls the task from {@link #THREADS} threads, released at the same time.
+     *
+     * @return What each thread's call returned.
+     */
+    static List<Object> runConcurrently(ThrowingCallable task) throws Throwable {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+
+        try {
+            List<Future<Object>> calls = new ArrayList<>();
+
+            for (int i = 0; i < THREADS; i++) {
+                calls.add(executor.submit(unchecked(() -> {
+                    start.await();
+                    return task.call();
+                })));
+            }
+
+            List<Object> results = new ArrayList<>();
+
+            for (Future<Object> call : calls) {
+                results.add(call.get(10, TimeUnit.SECONDS));
+            }
+
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static Callable<Object> unchecked(ThrowingCallable task) {
+        return () -> {
+            try {
+                return task.call();
+            } catch (Error | Exception e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new AssertionError(t);
+            }
+        };
+    }
+
+    interface ThrowingCallable {
+        Object call() throws Throwable;
+    }
+
+    static class FoundLabel extends AlwaysDisplayedLabel {
+        final Context context;
+
+        FoundLabel(Context context) {
+            this.context = context;
+        }
+    }
+
+    /**
+     * Finds a new {@link FoundLabel} each time, which remembers the context it was found in.
+     */
+    static class CountingLocator implements Locator {
+        final AtomicInteger finds = new AtomicInteger();
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T extends Findable> List<T> findAll(Class<T> type, Context context) {
+            finds.incrementAndGet();
+            return Collections.singletonList((T) new FoundLabel(context));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T extends Findable> T find(Class<T> type, Context context) {
+            finds.incrementAndGet();
+            return (T) new FoundLabel(context);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ConditionCostTest {
+    ConditionCost cost = new ConditionCost();
+
+    @Test
+    public void shouldExpectNoCostBeforeFirstCheck() {
+        assertThat(cost.expectedCostToFail(), equalTo(0.0));
+    }
+
+    @Test
+    public void shouldUseFirstLatencyAsIs() {
+        cost.record(false, 1000);
+
+        assertThat(cost.stats(0, null).latencyNanos(), equalTo(1000L));
+    }
+
+    @Test
+    public void shouldWeighNewestCheckByAlpha() {
+        cost.record(false, 1000);
+        cost.record(true, 2000);
+
+        ConditionStats stats = cost.stats(0, null);
+
+        assertThat(stats.latencyNanos(), equalTo(1250L));
+        assertThat(stats.failureRate(), closeTo(0.75 * (0.25 + 0.75 * 0.5), 1e-9));
+        assertThat(stats.evaluations(), equalTo(2L));
+        assertThat(stats.failures(), equalTo(1L));
+    }
+
+    @Test
+    public void shouldExpectConditionsWhichRarelyFailToCostMore() {
+        ConditionCost rarelyFails = new ConditionCost();
+
+        for (int i = 0; i < 20; i++) {
+            cost.record(false, 1000);
+            rarelyFails.record(true, 1000);
+        }
+
+        assertThat(rarelyFails.expectedCostToFail(), greaterThan(cost.expectedCostToFail()));
+    }
+
+    @Test
+    public void shouldBoundFailureRateUsedForCost() {
+        for (int i = 0; i < 200; i++) {
+            cost.record(true, 1000);
+        }
+
+        assertThat(cost.expectedCostToFail(),
+                closeTo(1000 / ConditionCost.MIN_FAILURE_RATE, 1e-6));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.redhat.darcy.ui.By;
+import com.redhat.darcy.ui.DarcyException;
+import com.redhat.darcy.ui.FindableNotPresentException;
+import com.redhat.darcy.ui.api.elements.Element;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class DefaultRelocationPolicyTest {
+    @Test
+    public void shouldRelocateOnceWhenFindableIsNotPresentByDefault() {
+        DefaultRelocationPolicy policy = new DefaultRelocationPolicy();
+        FindableNotPresentException notPresent =
+                new FindableNotPresentException(mock(Element.class));
+
+        assertTrue(policy.shouldRelocate(notPresent, 0));
+        assertFalse(policy.shouldRelocate(notPresent, 1));
+    }
+
+    @Test
+    public void shouldNotRelocateForOtherExceptions() {
+        DefaultRelocationPolicy policy = new DefaultRelocationPolicy();
+
+        assertFalse(policy.shouldRelocate(new DarcyException(), 0));
+        assertFalse(policy.shouldRelocate(new AssertionError(), 0));
+    }
+
+    @Test
+    public void shouldRelocateIfCauseIsStale() {
+        DefaultRelocationPolicy policy = new DefaultRelocationPolicy(3, StaleException.class);
+
+        assertTrue(policy.shouldRelocate(new DarcyException(new StaleException()), 2));
+        assertFalse(policy.shouldRelocate(new DarcyException(new StaleException()), 3));
+    }
+
+    @Test
+    public void shouldNeverRelocateIfMaxRelocationsIsZero() {
+        DefaultRelocationPolicy policy = new DefaultRelocationPolicy(0, StaleException.class);
+
+        assertFalse(policy.shouldRelocate(new StaleException(), 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowNegativeMaxRelocations() {
+        new DefaultRelocationPolicy(-1);
+    }
+
+    @Test
+    public void shouldCountRelocationsInTotalAndPerLocator() {
+        DefaultRelocationPolicy policy = new DefaultRelocationPolicy();
+
+        policy.relocating(By.id("a"), new StaleException());
+        policy.relocating(By.id("a"), new StaleException());
+        policy.relocating(By.id("b"), new StaleException());
+
+        assertThat(policy.getRelocationCount(), equalTo(3L));
+        assertThat(policy.getRelocationCounts(), hasEntry(By.id("a"), 2L));
+        assertThat(policy.getRelocationCounts(), hasEntry(By.id("b"), 1L));
+    }
+
+    @Test
+    public void shouldOnlyCountALimitedNumberOfLocatorsSeparately() {
+        DefaultRelocationPolicy policy = new DefaultRelocationPolicy();
+        int locators = DefaultRelocationPolicy.MAX_LOCATORS_COUNTED + 10;
+
+        for (int i = 0; i < locators; i++) {
+            policy.relocating(By.id("id" + i), new StaleException());
+        }
+
+        policy.relocating(By.id("id0"), new StaleException());
+
+        assertThat(policy.getRelocationCount(), equalTo((long) locators + 1));
+        assertThat(policy.getRelocationCounts().size(),
+                equalTo(DefaultRelocationPolicy.MAX_LOCATORS_COUNTED));
+        assertThat(policy.getRelocationCounts(), hasEntry(By.id("id0"), 2L));
+        assertThat(policy.getRelocationCounts(), not(hasKey(By.id("id" + (locators - 1)))));
+    }
+
+    @Test
+    public void shouldResetCounts() {
+        DefaultRelocationPolicy policy = new DefaultRelocationPolicy();
+
+        policy.relocating(By.id("a"), new StaleException());
+        policy.reset();
+
+        assertThat(policy.getRelocationCount(), equalTo(0L));
+        assertTrue(policy.getRelocationCounts().isEmpty());
+    }
+
+    @Test
+    public void shouldNeverRelocateWithNeverPolicy() {
+        assertFalse(RelocationPolicy.never().shouldRelocate(new StaleException(), 0));
+    }
+
+    private static class StaleException extends RuntimeException {}
+}
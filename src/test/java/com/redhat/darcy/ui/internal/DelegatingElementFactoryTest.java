@@ -0,0 +1,297 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.redhat.darcy.ui.FindableNotPresentException;
+import com.redhat.darcy.ui.NullContextException;
+import com.redhat.darcy.ui.api.ElementContext;
+import com.redhat.darcy.ui.api.HasElementContext;
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.WrapsElement;
+import com.redhat.darcy.ui.api.elements.Button;
+import com.redhat.darcy.ui.api.elements.Checkbox;
+import com.redhat.darcy.ui.api.elements.DateInput;
+import com.redhat.darcy.ui.api.elements.Element;
+import com.redhat.darcy.ui.api.elements.FileSelect;
+import com.redhat.darcy.ui.api.elements.Form;
+import com.redhat.darcy.ui.api.elements.Label;
+import com.redhat.darcy.ui.api.elements.Link;
+import com.redhat.darcy.ui.api.elements.MultiSelect;
+import com.redhat.darcy.ui.api.elements.Radio;
+import com.redhat.darcy.ui.api.elements.Select;
+import com.redhat.darcy.ui.api.elements.SelectOption;
+import com.redhat.darcy.ui.api.elements.Text;
+import com.redhat.darcy.ui.api.elements.TextInput;
+import com.redhat.darcy.ui.testing.doubles.DummyContext;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+@RunWith(JUnit4.class)
+public class DelegatingElementFactoryTest {
+    static final List<Class<? extends Element>> BUILT_IN_TYPES = Arrays.asList(Element.class,
+            Button.class, Checkbox.class, DateInput.class, FileSelect.class, Form.class, Label.class,
+            Link.class, MultiSelect.class, Radio.class, Select.class, SelectOption.class, Text.class,
+            TextInput.class);
+
+    DelegatingElementFactory factory;
+    ElementContext mockContext;
+    Locator mockLocator;
+
+    @Before
+    public void setup() {
+        factory = new DelegatingElementFactory();
+        mockContext = mock(DummyContext.class);
+        mockLocator = mock(Locator.class);
+    }
+
+    @Test
+    public void shouldCreateElementsOfBuiltInTypesWithoutProxies() {
+        for (Class<? extends Element> type : BUILT_IN_TYPES) {
+            Element element = factory.element(type, mockLocator);
+
+            assertTrue(DelegatingElementFactory.isSupported(type));
+            assertThat(element, instanceOf(type));
+            assertThat(element, instanceOf(HasElementContext.class));
+            assertThat(element, instanceOf(WrapsElement.class));
+            assertThat(element, not(instanceOf(Proxy.class)));
+        }
+    }
+
+    @Test
+    public void shouldImplementEveryMethodOfBuiltInTypesIncludingDefaultMethods()
+            throws NoSuchMethodException {
+        for (Class<? extends Element> type : BUILT_IN_TYPES) {
+            Class<?> implementation = factory.element(type, mockLocator).getClass();
+
+            for (Method method : type.getMethods()) {
+                Method implemented = implementation.getMethod(method.getName(),
+                        method.getParameterTypes());
+
+                assertFalse(implemented + " is not implemented by " + implementation,
+                        implemented.getDeclaringClass().isInterface());
+            }
+        }
+    }
+
+    @Test
+    public void shouldUseFallbackFactoryForOtherTypes() {
+        ElementFactory fallback = mock(ElementFactory.class);
+        CustomElement custom = mock(CustomElement.class);
+
+        when(fallback.element(CustomElement.class, mockLocator)).thenReturn(custom);
+
+        factory = new DelegatingElementFactory(fallback);
+
+        assertFalse(DelegatingElementFactory.isSupported(CustomElement.class));
+        assertThat(factory.element(CustomElement.class, mockLocator), sameInstance(custom));
+    }
+
+    @Test
+    public void shouldUseProxyElementFactoryAsDefaultFallback() {
+        CustomElement element = factory.element(CustomElement.class, mockLocator);
+
+        assertThat(element, instanceOf(Proxy.class));
+    }
+
+    @Test
+    public void shouldLookupElementWithAppropriateTypeUsingContext() {
+        TextInput mockTextInput = mock(TextInput.class);
+        when(mockLocator.find(TextInput.class, mockContext)).thenReturn(mockTextInput);
+
+        TextInput textInput = factory.element(TextInput.class, mockLocator);
+        ((HasElementContext) textInput).setContext(mockContext);
+        textInput.isDisplayed();
+
+        verify(mockLocator).find(eq(TextInput.class), eq(mockContext));
+    }
+
+    @Test
+    public void shouldForwardMethodsToFoundElement() {
+        TextInput mockTextInput = mock(TextInput.class);
+        when(mockLocator.find(TextInput.class, mockContext)).thenReturn(mockTextInput);
+        when(mockTextInput.getValue()).thenReturn("value");
+
+        TextInput textInput = factory.element(TextInput.class, mockLocator);
+        ((HasElementContext) textInput).setContext(mockContext);
+
+        textInput.clearAndType("a", "b");
+        textInput.click();
+
+        assertEquals("value", textInput.getValue());
+        verify(mockTextInput).clearAndType("a", "b");
+        verify(mockTextInput).click();
+    }
+
+    @Test
+    public void shouldForwardDefaultMethodsToFoundElement() {
+        FileSelect mockFileSelect = mock(FileSelect.class);
+        when(mockLocator.find(FileSelect.class, mockContext)).thenReturn(mockFileSelect);
+
+        FileSelect fileSelect = factory.element(FileSelect.class, mockLocator);
+        ((HasElementContext) fileSelect).setContext(mockContext);
+
+        fileSelect.setFilePath(Paths.get("file"));
+
+        verify(mockFileSelect).setFilePath(Paths.get("file"));
+    }
+
+    @Test
+    public void shouldCacheAndReuseFoundElement() {
+        Button mockButton = mock(Button.class);
+        when(mockLocator.find(Button.class, mockContext)).thenReturn(mockButton);
+
+        Button button = factory.element(Button.class, mockLocator);
+        ((HasElementContext) button).setContext(mockContext);
+
+        button.click();
+        button.click();
+
+        verify(mockLocator, times(1)).find(anyObject(), anyObject());
+        verify(mockButton, times(2)).click();
+    }
+
+    @Test
+    public void shouldFindElementAgainAfterContextIsSet() {
+        Button mockButton = mock(Button.class);
+        when(mockLocator.find(Button.class, mockContext)).thenReturn(mockButton);
+
+        Button button = factory.element(Button.class, mockLocator);
+        ((HasElementContext) button).setContext(mockContext);
+        button.click();
+        ((HasElementContext) button).setContext(mockContext);
+        button.click();
+
+        verify(mockLocator, times(2)).find(anyObject(), anyObject());
+    }
+
+    @Test
+    public void shouldImplementWrapsElement() {
+        Label mockLabel = mock(Label.class);
+        when(mockLocator.find(Label.class, mockContext)).thenReturn(mockLabel);
+
+        Label label = factory.element(Label.class, mockLocator);
+        ((HasElementContext) label).setContext(mockContext);
+
+        assertThat(((WrapsElement) label).getWrappedElement(), sameInstance(mockLabel));
+    }
+
+    @Test(expected = NullContextException.class)
+    public void shouldThrowNullContextExceptionIfMethodIsCalledWithoutAContextBeingSet() {
+        factory.element(Button.class, mockLocator).click();
+    }
+
+    @Test
+    public void shouldNotLookupElementToDescribeIt() {
+        factory.element(Button.class, mockLocator).toString();
+
+        verify(mockLocator, times(0)).find(anyObject(), anyObject());
+    }
+
+    @Test
+    public void shouldFindElementAgainAndRetryIfPolicySaysTo() {
+        Button staleButton = mock(Button.class);
+        Button mockButton = mock(Button.class);
+        FindableNotPresentException notPresent = new FindableNotPresentException(staleButton);
+        doThrow(notPresent).when(staleButton).click();
+        when(mockLocator.find(Button.class, mockContext)).thenReturn(staleButton, mockButton);
+
+        DefaultRelocationPolicy policy = new DefaultRelocationPolicy();
+        factory = new DelegatingElementFactory(new ProxyElementFactory(), policy);
+
+        Button button = factory.element(Button.class, mockLocator);
+        ((HasElementContext) button).setContext(mockContext);
+        button.click();
+
+        verify(mockButton).click();
+        assertEquals(1, policy.getRelocationCount());
+        assertThat(policy.getRelocationCounts(), hasEntry(mockLocator, 1L));
+    }
+
+    @Test
+    public void shouldNotRetryIfPolicySaysNotTo() {
+        Button mockButton = mock(Button.class);
+        FindableNotPresentException notPresent = new FindableNotPresentException(mockButton);
+        doThrow(notPresent).when(mockButton).click();
+        when(mockLocator.find(Button.class, mockContext)).thenReturn(mockButton);
+
+        factory = new DelegatingElementFactory(new ProxyElementFactory(), RelocationPolicy.never());
+
+        Button button = factory.element(Button.class, mockLocator);
+        ((HasElementContext) button).setContext(mockContext);
+
+        try {
+            button.click();
+            fail("Expected FindableNotPresentException");
+        } catch (FindableNotPresentException expected) {
+            verify(mockLocator, times(1)).find(anyObject(), anyObject());
+        }
+    }
+
+    @Test
+    public void shouldForwardListMethodsToFoundList() {
+        Label first = mock(Label.class);
+        Label second = mock(Label.class);
+        when(mockLocator.findAll(Label.class, mockContext)).thenReturn(Arrays.asList(first, second));
+
+        List<Label> labels = factory.elements(Label.class, mockLocator);
+        ((HasElementContext) labels).setContext(mockContext);
+
+        assertEquals(2, labels.size());
+        assertThat(labels.get(1), sameInstance(second));
+        assertThat(labels, contains(first, second));
+        assertThat(labels, equalTo(Arrays.asList(first, second)));
+        verify(mockLocator, times(1)).findAll(anyObject(), anyObject());
+    }
+
+    @Test(expected = NullContextException.class)
+    public void shouldThrowNullContextExceptionIfListMethodIsCalledWithoutAContextBeingSet() {
+        factory.elements(Label.class, mockLocator).size();
+    }
+
+    interface CustomElement extends Element {}
+}
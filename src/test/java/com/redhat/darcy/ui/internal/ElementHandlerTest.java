@@ -19,6 +19,7 @@
 
 package com.redhat.darcy.ui.internal;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.eq;
@@ -27,6 +28,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.redhat.darcy.ui.FindableNotPresentException;
 import com.redhat.darcy.ui.NullContextException;
 import com.redhat.darcy.ui.api.ElementContext;
 import com.redhat.darcy.ui.api.HasElementContext;
@@ -139,5 +141,40 @@ public class ElementHandlerTest {
         assertSame(mockElement, element);
     }
 
+    @Test
+    public void shouldFindElementAgainAndRetryIfPolicySaysTo() throws Throwable {
+        Element staleElement = mock(Element.class);
+        FindableNotPresentException notPresent = new FindableNotPresentException(staleElement);
+        when(staleElement.isDisplayed()).thenThrow(notPresent);
+        when(mockLocator.find(anyObject(), anyObject())).thenReturn(staleElement, mockElement);
+        when(mockElement.isDisplayed()).thenReturn(true);
+
+        DefaultRelocationPolicy policy = new DefaultRelocationPolicy();
+        handler = new ElementHandler(TextInput.class, mockLocator, policy);
+        handler.invoke(null, setContext, new Object[] { mockContext });
+
+        Object displayed = handler.invoke(null, Element.class.getMethod("isDisplayed"), null);
+
+        assertEquals(true, displayed);
+        verify(mockLocator, times(2)).find(anyObject(), anyObject());
+        assertEquals(1, policy.getRelocationCount());
+    }
+
+    @Test(expected = FindableNotPresentException.class)
+    public void shouldThrowIfStillFailingAfterPolicyStopsRelocating() throws Throwable {
+        FindableNotPresentException notPresent = new FindableNotPresentException(mockElement);
+        when(mockElement.isDisplayed()).thenThrow(notPresent);
+
+        handler = new ElementHandler(TextInput.class, mockLocator,
+                new DefaultRelocationPolicy(2, FindableNotPresentException.class));
+        handler.invoke(null, setContext, new Object[] { mockContext });
+
+        try {
+            handler.invoke(null, Element.class.getMethod("isDisplayed"), null);
+        } finally {
+            verify(mockLocator, times(3)).find(anyObject(), anyObject());
+        }
+    }
+
     private class TestException extends RuntimeException {}
 }
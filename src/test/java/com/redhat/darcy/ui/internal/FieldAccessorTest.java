@@ -0,0 +1,107 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class FieldAccessorTest {
+    static class TestObject {
+        private String privateField = "private";
+        private final String finalField = new String("final");
+        private static String staticField;
+    }
+
+    @Test
+    public void shouldGetValueOfPrivateField() throws Exception {
+        FieldAccessor accessor = new FieldAccessor(
+                TestObject.class.getDeclaredField("privateField"));
+
+        assertEquals("private", accessor.get(new TestObject()));
+    }
+
+    @Test
+    public void shouldSetValueOfPrivateField() throws Exception {
+        FieldAccessor accessor = new FieldAccessor(
+                TestObject.class.getDeclaredField("privateField"));
+        TestObject testObject = new TestObject();
+
+        accessor.set(testObject, "changed");
+
+        assertEquals("changed", testObject.privateField);
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void shouldThrowClassCastExceptionIfValueIsNotAssignableToField() throws Exception {
+        FieldAccessor accessor = new FieldAccessor(
+                TestObject.class.getDeclaredField("privateField"));
+
+        accessor.set(new TestObject(), 1);
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void shouldThrowClassCastExceptionIfTargetIsNotOfDeclaringType() throws Exception {
+        FieldAccessor accessor = new FieldAccessor(
+                TestObject.class.getDeclaredField("privateField"));
+
+        accessor.get(new Object());
+    }
+
+    @Test
+    public void shouldGetValueOfFinalField() throws Exception {
+        FieldAccessor accessor = new FieldAccessor(
+                TestObject.class.getDeclaredField("finalField"));
+
+        assertEquals("final", accessor.get(new TestObject()));
+    }
+
+    @Test
+    public void shouldSetValueOfFinalField() throws Exception {
+        FieldAccessor accessor = new FieldAccessor(
+                TestObject.class.getDeclaredField("finalField"));
+        TestObject testObject = new TestObject();
+
+        accessor.set(testObject, "changed");
+
+        assertEquals("changed", testObject.finalField);
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void shouldThrowClassCastExceptionIfValueIsNotAssignableToFinalField() throws Exception {
+        FieldAccessor accessor = new FieldAccessor(
+                TestObject.class.getDeclaredField("finalField"));
+
+        accessor.set(new TestObject(), 1);
+    }
+
+    @Test
+    public void shouldGetValueOfStaticFieldRegardlessOfTarget() throws Exception {
+        TestObject.staticField = "static";
+        FieldAccessor accessor = new FieldAccessor(
+                TestObject.class.getDeclaredField("staticField"));
+
+        assertEquals("static", accessor.get(new TestObject()));
+        assertEquals("static", accessor.get(null));
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import static com.redhat.darcy.ui.Elements.element;
+import static com.redhat.darcy.ui.Elements.label;
+import static com.redhat.darcy.ui.Elements.labels;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.redhat.darcy.ui.AbstractView;
+import com.redhat.darcy.ui.By;
+import com.redhat.darcy.ui.DarcyException;
+import com.redhat.darcy.ui.annotations.Require;
+import com.redhat.darcy.ui.api.ElementContext;
+import com.redhat.darcy.ui.api.HasElementContext;
+import com.redhat.darcy.ui.api.WrapsElement;
+import com.redhat.darcy.ui.api.elements.Element;
+import com.redhat.darcy.ui.api.elements.Label;
+import com.redhat.darcy.ui.testing.doubles.AlwaysDisplayedLabel;
+import com.redhat.darcy.ui.testing.doubles.DummyContext;
+import com.redhat.darcy.ui.testing.doubles.InMemoryBatchContext;
+import com.redhat.darcy.ui.testing.doubles.InMemoryContext;
+import com.redhat.darcy.ui.testing.doubles.NeverFoundElement;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@RunWith(JUnit4.class)
+public class FindBatchTest {
+    AlwaysDisplayedLabel first = new AlwaysDisplayedLabel();
+    AlwaysDisplayedLabel second = new AlwaysDisplayedLabel();
+    InMemoryBatchContext context = new InMemoryBatchContext()
+            .with("first", first)
+            .with("second", second);
+
+    @Test
+    public void shouldFindLazyElementsAndListsInOneRoundTrip() {
+        Label delegating = new DelegatingElementFactory().element(Label.class, By.id("first"));
+        Label proxied = new ProxyElementFactory().element(Label.class, By.id("second"));
+        List<Label> list = new DelegatingElementFactory().elements(Label.class, By.id("first"));
+        List<Label> proxiedList = new ProxyElementFactory().elements(Label.class, By.id("second"));
+
+        for (Object lazy : Arrays.asList(delegating, proxied, list, proxiedList)) {
+            ((HasElementContext) lazy).setContext(context);
+        }
+
+        FindBatch.findAll(Arrays.asList(delegating, proxied, list, proxiedList));
+
+        assertThat(context.getRoundTrips(), equalTo(1));
+        assertThat(((WrapsElement) delegating).getWrappedElement(), sameInstance(first));
+        assertThat(((WrapsElement) proxied).getWrappedElement(), sameInstance(second));
+        assertThat(list, contains(first));
+        assertThat(proxiedList, contains(second));
+        assertThat(context.getRoundTrips(), equalTo(1));
+    }
+
+    @Test
+    public void shouldNotRequestWhatIsAlreadyFound() {
+        Label label = new DelegatingElementFactory().element(Label.class, By.id("first"));
+        ((HasElementContext) label).setContext(context);
+        label.getText();
+
+        FindBatch batch = new FindBatch();
+        ((BatchFindable) label).addToBatch(batch);
+
+        assertTrue(batch.isEmpty());
+    }
+
+    @Test
+    public void shouldNotRequestWithoutContext() {
+        Label label = new DelegatingElementFactory().element(Label.class, By.id("first"));
+
+        FindBatch batch = new FindBatch();
+        ((BatchFindable) label).addToBatch(batch);
+
+        assertTrue(batch.isEmpty());
+    }
+
+    @Test
+    public void shouldIgnoreRequestsInContextsWhichCannotFindByBatch() {
+        Label label = new DelegatingElementFactory().element(Label.class, By.id("first"));
+        ((HasElementContext) label).setContext(new DummyContext());
+
+        FindBatch batch = new FindBatch();
+        ((BatchFindable) label).addToBatch(batch);
+
+        assertTrue(batch.isEmpty());
+    }
+
+    @Test(expected = DarcyException.class)
+    public void shouldThrowIfContextReturnsWrongNumberOfResults() {
+        BatchContext mockContext = mock(BatchContext.class);
+        when(mockContext.findAllBatch(anyList())).thenReturn(Collections.emptyList());
+
+        FindBatch batch = new FindBatch();
+        batch.add(mockContext, LocatorRequest.find(Element.class, By.id("first")), found -> {});
+
+        batch.run();
+    }
+
+    @Test
+    public void shouldFindRequiredElementsOfViewInOneRoundTrip() {
+        BatchView view = new BatchView();
+        view.setContext(context);
+
+        assertFalse(view.isLoaded());
+        assertThat(context.getRoundTrips(), equalTo(1));
+    }
+
+    @Test
+    public void shouldFindRequiredElementsOfViewSeparatelyWithoutBatchSupport() {
+        InMemoryContext unbatched = new InMemoryContext()
+                .with("first", first)
+                .with("second", second);
+
+        BatchView view = new BatchView();
+        view.setContext(unbatched);
+
+        assertFalse(view.isLoaded());
+        // Found up to and including the first element which is not displayed
+        assertThat(unbatched.getRoundTrips(), equalTo(3));
+    }
+
+    @Test
+    public void shouldResolveRequestsOneAtATimeInDefaultElementSelectionWithoutBatchSupport() {
+        DummyContext dummyContext = new DummyContext();
+
+        List<Object> results = new DefaultElementSelection(dummyContext).findAllBatch(Arrays.asList(
+                LocatorRequest.find(Label.class, By.id("test")),
+                LocatorRequest.findAll(Label.class, By.id("test"))));
+
+        assertThat(results.get(0), instanceOf(AlwaysDisplayedLabel.class));
+        assertThat(results.get(1), instanceOf(List.class));
+    }
+
+    @Test
+    public void shouldUseBatchOfContextInDefaultElementSelection() {
+        List<Object> results = new DefaultElementSelection(context).findAllBatch(Arrays.asList(
+                LocatorRequest.find(Label.class, By.id("first")),
+                LocatorRequest.find(Element.class, By.id("missing")),
+                LocatorRequest.findAll(Label.class, By.id("second"))));
+
+        assertThat(context.getRoundTrips(), equalTo(1));
+        assertThat(results.get(0), sameInstance(first));
+        assertThat(results.get(1), instanceOf(NeverFoundElement.class));
+        assertThat((List<?>) results.get(2), contains(second));
+    }
+
+    interface BatchContext extends ElementContext, FindsByBatch {}
+
+    static class BatchView extends AbstractView {
+        @Require
+        Label first = label(By.id("first"));
+        @Require
+        Label second = label(By.id("second"));
+        @Require
+        Element missing = element(By.id("missing"));
+        @Require
+        List<Label> labels = labels(By.id("first"));
+    }
+}
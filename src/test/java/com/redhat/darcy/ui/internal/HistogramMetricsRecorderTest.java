@@ -0,0 +1,157 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasKey;
+import static org.junit.Assert.fail;
+
+import com.redhat.darcy.ui.AbstractView;
+import com.redhat.darcy.ui.By;
+import com.redhat.darcy.ui.Elements;
+import com.redhat.darcy.ui.annotations.Require;
+import com.redhat.darcy.ui.api.HasElementContext;
+import com.redhat.darcy.ui.api.elements.Label;
+import com.redhat.darcy.ui.inmemory.ElementTree;
+import com.redhat.darcy.ui.inmemory.Node;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.concurrent.TimeUnit;
+
+@RunWith(JUnit4.class)
+public class HistogramMetricsRecorderTest {
+    private HistogramMetricsRecorder metrics;
+    private ElementTree tree;
+
+    @Before
+    public void recordMetrics() {
+        metrics = new HistogramMetricsRecorder();
+        MetricsRecorders.setDefault(metrics);
+
+        tree = new ElementTree();
+    }
+
+    @After
+    public void stopRecordingMetrics() {
+        MetricsRecorders.setDefault(MetricsRecorder.noop());
+    }
+
+    @Test
+    public void shouldRecordLookupsAndElementCacheHitsAndMisses() {
+        tree.root().append(new Node("h1").setAttribute("id", "header"));
+
+        Label header = Elements.label(By.id("header"));
+        ((HasElementContext) header).setContext(tree.context());
+
+        header.isDisplayed();
+        header.isDisplayed();
+
+        assertThat(metrics.lookups(), hasKey(By.ById.class));
+        assertThat(metrics.lookups().get(By.ById.class).find().count(), equalTo(1L));
+        assertThat(metrics.elementCaches().get(Label.class).misses(), equalTo(1L));
+        assertThat(metrics.elementCaches().get(Label.class).hits(), equalTo(1L));
+    }
+
+    @Test
+    public void shouldRecordLoadConditionEvaluations() {
+        HeaderView view = new HeaderView();
+        view.setContext(tree.context());
+
+        view.isLoaded();
+        tree.root().append(new Node("h1").setAttribute("id", "header"));
+        view.isLoaded();
+
+        HistogramMetricsRecorder.EvaluationStats stats = metrics.loadConditions()
+                .get(HeaderView.class);
+
+        assertThat(stats.evaluations(), equalTo(2L));
+        assertThat(stats.met(), equalTo(1L));
+        assertThat(stats.latency().count(), equalTo(2L));
+    }
+
+    @Test
+    public void shouldRecordTransitionPollsAndWhetherTheyArrived() {
+        tree.root().append(new Node("h1").setAttribute("id", "header"));
+
+        tree.context().transition().to(new HeaderView()).waitUpTo(1, TimeUnit.SECONDS);
+
+        HistogramMetricsRecorder.TransitionStats stats = metrics.transitions()
+                .get(HeaderView.class);
+
+        assertThat(stats.transitions(), equalTo(1L));
+        assertThat(stats.arrived(), equalTo(1L));
+        assertThat(stats.polls().count(), greaterThan(0L));
+    }
+
+    @Test
+    public void shouldRecordTransitionsWhichDoNotArrive() {
+        try {
+            tree.context().transition().to(new HeaderView())
+                    .waitUpTo(50, TimeUnit.MILLISECONDS);
+            fail("Expected the transition to time out");
+        } catch (RuntimeException expected) {
+            // The header never appears
+        }
+
+        HistogramMetricsRecorder.TransitionStats stats = metrics.transitions()
+                .get(HeaderView.class);
+
+        assertThat(stats.transitions(), equalTo(1L));
+        assertThat(stats.arrived(), equalTo(0L));
+    }
+
+    @Test
+    public void shouldForgetEverythingOnReset() {
+        tree.root().append(new Node("h1").setAttribute("id", "header"));
+        HeaderView view = new HeaderView();
+        view.setContext(tree.context());
+        view.isLoaded();
+
+        metrics.reset();
+
+        assertThat(metrics.lookups().isEmpty(), equalTo(true));
+        assertThat(metrics.loadConditions().isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void shouldRecordNothingWithTheNoopRecorder() {
+        MetricsRecorders.setDefault(MetricsRecorder.noop());
+        tree.root().append(new Node("h1").setAttribute("id", "header"));
+
+        HeaderView view = new HeaderView();
+        view.setContext(tree.context());
+        view.isLoaded();
+
+        assertThat(metrics.lookups().isEmpty(), equalTo(true));
+        assertThat(metrics.loadConditions().isEmpty(), equalTo(true));
+    }
+
+    static class HeaderView extends AbstractView {
+        @Require
+        Label header = Elements.label(By.id("header"));
+    }
+}
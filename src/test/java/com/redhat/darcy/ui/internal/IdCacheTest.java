@@ -0,0 +1,171 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.internal;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.redhat.darcy.ui.By;
+import com.redhat.darcy.ui.api.Context;
+import com.redhat.darcy.ui.testing.doubles.NullContext;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
+
+@RunWith(JUnit4.class)
+public class IdCacheTest {
+    private final Context context = mock(Context.class);
+
+    @Test
+    public void shouldRememberIdsPerLocatorAndContext() {
+        IdCache cache = new IdCache();
+
+        cache.putId(By.name("a"), context, "id1");
+
+        assertThat(cache.getId(By.name("a"), context), equalTo("id1"));
+        assertThat(cache.getId(By.name("b"), context), nullValue());
+        assertThat(cache.getId(By.name("a"), mock(Context.class)), nullValue());
+    }
+
+    @Test
+    public void shouldKeepIdsOfListsSeparateFromIdsOfSingleElements() {
+        IdCache cache = new IdCache();
+
+        cache.putIds(By.name("a"), context, Arrays.asList("id1", "id2"));
+
+        assertThat(cache.getId(By.name("a"), context), nullValue());
+        assertThat(cache.getIds(By.name("a"), context), contains("id1", "id2"));
+    }
+
+    @Test
+    public void shouldForgetBothElementAndListIdsWhenInvalidated() {
+        IdCache cache = new IdCache();
+
+        cache.putId(By.name("a"), context, "id1");
+        cache.putIds(By.name("a"), context, Arrays.asList("id1", "id2"));
+        cache.putId(By.name("b"), context, "id3");
+
+        cache.invalidate(By.name("a"), context);
+
+        assertThat(cache.getId(By.name("a"), context), nullValue());
+        assertThat(cache.getIds(By.name("a"), context), nullValue());
+        assertThat(cache.getId(By.name("b"), context), equalTo("id3"));
+    }
+
+    @Test
+    public void shouldForgetLeastRecentlyUsedEntriesBeyondMaximum() {
+        IdCache cache = new IdCache(2);
+
+        cache.putId(By.name("a"), context, "id1");
+        cache.putId(By.name("b"), context, "id2");
+        cache.getId(By.name("a"), context);
+        cache.putId(By.name("c"), context, "id3");
+
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.getId(By.name("a"), context), equalTo("id1"));
+        assertThat(cache.getId(By.name("b"), context), nullValue());
+        assertThat(cache.getId(By.name("c"), context), equalTo("id3"));
+    }
+
+    @Test
+    public void shouldForgetEverythingWhenAllInvalidated() {
+        IdCache cache = new IdCache();
+
+        cache.putId(By.name("a"), context, "id1");
+        cache.putIds(By.name("b"), context, Arrays.asList("id2"));
+
+        cache.invalidateAll();
+
+        assertThat(cache.size(), equalTo(0));
+    }
+
+    @Test
+    public void shouldNotRememberEmptyLists() {
+        IdCache cache = new IdCache();
+
+        cache.putIds(By.name("a"), context, Collections.emptyList());
+
+        assertThat(cache.getIds(By.name("a"), context), nullValue());
+        assertThat(cache.size(), equalTo(0));
+    }
+
+    @Test
+    public void shouldForgetIdsFoundInAnEarlierGeneration() {
+        IdCache cache = new IdCache();
+        GenerationalContext generational = mock(GenerationalContext.class);
+
+        when(generational.generation()).thenReturn(1L);
+        cache.putId(By.name("a"), generational, "id1");
+
+        assertThat(cache.getId(By.name("a"), generational), equalTo("id1"));
+
+        when(generational.generation()).thenReturn(2L);
+
+        assertThat(cache.getId(By.name("a"), generational), nullValue());
+        assertThat(cache.size(), equalTo(0));
+    }
+
+    @Test
+    public void shouldForgetEverythingFoundInAnInvalidatedContext() {
+        IdCache cache = new IdCache();
+        Context other = mock(Context.class);
+
+        cache.putId(By.name("a"), context, "id1");
+        cache.putIds(By.name("b"), context, Arrays.asList("id2"));
+        cache.putId(By.name("a"), other, "id3");
+
+        cache.invalidate(context);
+
+        assertThat(cache.getId(By.name("a"), context), nullValue());
+        assertThat(cache.getIds(By.name("b"), context), nullValue());
+        assertThat(cache.getId(By.name("a"), other), equalTo("id3"));
+    }
+
+    @Test
+    public void shouldNotKeepContextsFromBeingCollected() throws InterruptedException {
+        IdCache cache = new IdCache();
+        WeakReference<Context> collectable = new WeakReference<>(new NullContext());
+
+        cache.putId(By.name("a"), collectable.get(), "id1");
+
+        for (int i = 0; i < 50 && collectable.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(collectable.get(), nullValue());
+        assertThat(cache.size(), equalTo(0));
+    }
+
+    interface GenerationalContext extends Context, HasGeneration {}
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRequireRoomForAtLeastOneEntry() {
+        new IdCache(0);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class LatencyHistogramTest {
+    @Test
+    public void shouldReportZerosWhenNothingIsRecorded() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.count(), equalTo(0L));
+        assertThat(histogram.max(), equalTo(0L));
+        assertThat(histogram.mean(), equalTo(0.0));
+        assertThat(histogram.percentile(99), equalTo(0L));
+    }
+
+    @Test
+    public void shouldRecordSmallValuesExactly() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (long i = 1; i <= 20; i++) {
+            histogram.record(i);
+        }
+
+        assertThat(histogram.count(), equalTo(20L));
+        assertThat(histogram.max(), equalTo(20L));
+        assertThat(histogram.mean(), equalTo(10.5));
+        assertThat(histogram.percentile(50), equalTo(10L));
+        assertThat(histogram.percentile(100), equalTo(20L));
+    }
+
+    @Test
+    public void shouldReportPercentilesOfLargeValuesWithinRelativeAccuracy() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000);
+        }
+
+        long p90 = histogram.percentile(90);
+
+        assertThat(p90, greaterThanOrEqualTo(900_000L));
+        assertThat(p90, lessThanOrEqualTo(900_000L + 900_000L / LatencyHistogram.SUB_BUCKETS));
+        assertThat(histogram.percentile(100), equalTo(1_000_000L));
+    }
+
+    @Test
+    public void shouldRecordNegativeDurationsAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(-5);
+
+        assertThat(histogram.count(), equalTo(1L));
+        assertThat(histogram.max(), equalTo(0L));
+    }
+
+    @Test
+    public void shouldPlaceEveryValueInABucketWhoseHighestValueIsAtLeastIt() {
+        long[] values = { 0, 1, 31, 32, 33, 63, 64, 1_000, 123_456_789, Long.MAX_VALUE };
+
+        for (long value : values) {
+            int bucket = LatencyHistogram.bucketOf(value);
+
+            assertThat(LatencyHistogram.highestValueIn(bucket), greaterThanOrEqualTo(value));
+
+            if (bucket > 0) {
+                assertThat(LatencyHistogram.highestValueIn(bucket - 1), lessThanOrEqualTo(value));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptPercentilesAbove100() {
+        new LatencyHistogram().percentile(101);
+    }
+}
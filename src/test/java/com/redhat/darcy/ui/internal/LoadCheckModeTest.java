@@ -0,0 +1,65 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class LoadCheckModeTest {
+    @After
+    public void restoreDefault() {
+        LoadCheckMode.setDefault(LoadCheckMode.FULL);
+    }
+
+    @Test
+    public void shouldCheckEveryLoadConditionByDefault() {
+        assertThat(LoadCheckMode.getDefault(), equalTo(LoadCheckMode.FULL));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldNotAllowNullDefault() {
+        LoadCheckMode.setDefault(null);
+    }
+
+    @Test
+    public void shouldUseModeSetAsDefault() {
+        LoadCheckMode.setDefault(LoadCheckMode.INCREMENTAL);
+
+        assertThat(LoadCheckMode.getDefault(), equalTo(LoadCheckMode.INCREMENTAL));
+    }
+
+    @Test
+    public void shouldNotNeedSessionForFullChecks() {
+        assertThat(LoadCheckMode.FULL.newSession(), nullValue());
+    }
+
+    @Test
+    public void shouldNeedSessionForIncrementalChecks() {
+        assertThat(LoadCheckMode.INCREMENTAL.newSession(), notNullValue());
+        assertThat(LoadCheckMode.INCREMENTAL_UNCONFIRMED.newSession(), notNullValue());
+    }
+}
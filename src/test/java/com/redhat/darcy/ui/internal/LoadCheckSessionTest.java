@@ -0,0 +1,145 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.redhat.synq.Condition;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@RunWith(JUnit4.class)
+public class LoadCheckSessionTest {
+    private final Condition<?> first = mock(Condition.class);
+    private final Condition<?> second = mock(Condition.class);
+    private final List<Condition<?>> conditions = Arrays.asList(first, second);
+
+    private final ConditionEvaluator evaluator = ConditionEvaluator.sequential();
+
+    @Test
+    public void shouldNotEvaluateConditionsAgainOnceMet() {
+        LoadCheckSession session = new LoadCheckSession(false);
+
+        when(first.isMet()).thenReturn(true);
+        when(second.isMet()).thenReturn(false);
+
+        assertFalse(session.allMet(conditions, evaluator));
+        assertFalse(session.allMet(conditions, evaluator));
+
+        verify(first, times(1)).isMet();
+        verify(second, times(2)).isMet();
+        assertEquals(1, session.metCount());
+    }
+
+    @Test
+    public void shouldBeMetWithoutConfirmingOnceEachConditionHasBeenMet() {
+        LoadCheckSession session = new LoadCheckSession(false);
+
+        when(first.isMet()).thenReturn(true, false);
+        when(second.isMet()).thenReturn(false, true);
+
+        assertFalse(session.allMet(conditions, evaluator));
+        assertTrue(session.allMet(conditions, evaluator));
+
+        verify(first, times(1)).isMet();
+    }
+
+    @Test
+    public void shouldConfirmByEvaluatingEveryConditionOnceEachHasBeenMet() {
+        LoadCheckSession session = new LoadCheckSession(true);
+
+        when(first.isMet()).thenReturn(true, false);
+        when(second.isMet()).thenReturn(false, true);
+
+        assertFalse(session.allMet(conditions, evaluator));
+        assertFalse(session.allMet(conditions, evaluator));
+
+        verify(first, times(2)).isMet();
+    }
+
+    @Test
+    public void shouldRememberConditionsMetWhileConfirming() {
+        LoadCheckSession session = new LoadCheckSession(true);
+
+        when(first.isMet()).thenReturn(true, true);
+        when(second.isMet()).thenReturn(false, true, false);
+
+        assertFalse(session.allMet(conditions, evaluator));
+        assertFalse(session.allMet(conditions, evaluator));
+
+        assertEquals(1, session.metCount());
+    }
+
+    @Test
+    public void shouldNotConfirmIfEveryConditionWasMetInTheSameCheck() {
+        LoadCheckSession session = new LoadCheckSession(true);
+
+        when(first.isMet()).thenReturn(true);
+        when(second.isMet()).thenReturn(true);
+
+        assertTrue(session.allMet(conditions, evaluator));
+
+        verify(first, times(1)).isMet();
+        verify(second, times(1)).isMet();
+    }
+
+    @Test
+    public void shouldEvaluateEveryConditionAgainAfterReset() {
+        LoadCheckSession session = new LoadCheckSession(false);
+
+        when(first.isMet()).thenReturn(true);
+        when(second.isMet()).thenReturn(false);
+
+        session.allMet(conditions, evaluator);
+        session.reset();
+        session.allMet(conditions, evaluator);
+
+        verify(first, times(2)).isMet();
+    }
+
+    @Test
+    public void shouldRememberConditionsMetWhenEvaluatedInParallel() {
+        LoadCheckSession session = new LoadCheckSession(false);
+        ExecutorService executor = Executors.newCachedThreadPool();
+
+        when(first.isMet()).thenReturn(true);
+        when(second.isMet()).thenReturn(true);
+
+        try {
+            assertTrue(session.allMet(conditions, new ParallelConditionEvaluator(executor)));
+            assertEquals(2, session.metCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
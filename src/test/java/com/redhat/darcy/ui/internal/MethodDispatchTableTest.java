@@ -0,0 +1,184 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.redhat.darcy.ui.api.ElementContext;
+import com.redhat.darcy.ui.api.HasElementContext;
+import com.redhat.darcy.ui.api.WrapsElement;
+import com.redhat.darcy.ui.api.elements.Element;
+import com.redhat.darcy.ui.api.elements.Link;
+import com.redhat.darcy.ui.api.elements.TextInput;
+import com.redhat.darcy.ui.internal.MethodDispatchTable.Dispatch;
+import com.redhat.darcy.ui.internal.MethodDispatchTable.Kind;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Arrays;
+import java.util.List;
+
+@RunWith(JUnit4.class)
+public class MethodDispatchTableTest {
+    MethodDispatchTable table = MethodDispatchTable.forType(TextInput.class);
+
+    @Test
+    public void shouldShareTablePerType() {
+        assertThat(MethodDispatchTable.forType(TextInput.class), sameInstance(table));
+    }
+
+    @Test
+    public void shouldReuseDispatchForSameMethod() throws NoSuchMethodException {
+        Dispatch dispatch = table.get(TextInput.class.getMethod("clear"));
+
+        assertThat(table.get(TextInput.class.getMethod("clear")), sameInstance(dispatch));
+    }
+
+    @Test
+    public void shouldRecognizeSetContextAndGetWrappedElement() throws NoSuchMethodException {
+        assertThat(table.get(HasElementContext.class.getMethod("setContext", ElementContext.class))
+                .kind(), equalTo(Kind.SET_CONTEXT));
+        assertThat(table.get(WrapsElement.class.getMethod("getWrappedElement")).kind(),
+                equalTo(Kind.GET_WRAPPED_ELEMENT));
+        assertThat(table.get(Element.class.getMethod("isDisplayed")).kind(),
+                equalTo(Kind.FORWARD));
+    }
+
+    @Test
+    public void shouldRecognizeAddToBatch() throws NoSuchMethodException {
+        assertThat(table.get(BatchFindable.class.getMethod("addToBatch", FindBatch.class)).kind(),
+                equalTo(Kind.ADD_TO_BATCH));
+    }
+
+    @Test
+    public void shouldForwardMethodsWhichOnlyShareANameWithProxyMethods() throws Throwable {
+        MethodDispatchTable table = MethodDispatchTable.forType(SimilarlyNamedElement.class);
+        SimilarlyNamedElement element = mock(SimilarlyNamedElement.class);
+        when(element.getWrappedElement(1)).thenReturn("wrapped");
+
+        assertThat(table.get(SimilarlyNamedElement.class.getMethod("setContext", String.class))
+                .kind(), equalTo(Kind.FORWARD));
+        assertThat(table.get(SimilarlyNamedElement.class.getMethod("addToBatch")).kind(),
+                equalTo(Kind.FORWARD));
+        assertThat(table.get(SimilarlyNamedElement.class.getMethod("getWrappedElement", int.class))
+                .invoke(element, new Object[] { 1 }), equalTo("wrapped"));
+    }
+
+    @Test
+    public void shouldRecognizeProxyMethodsRedeclaredBySubinterfaces()
+            throws NoSuchMethodException {
+        MethodDispatchTable table = MethodDispatchTable.forType(RedeclaringElement.class);
+
+        assertThat(table.get(RedeclaringElement.class.getMethod("setContext",
+                ElementContext.class)).kind(), equalTo(Kind.SET_CONTEXT));
+    }
+
+    @Test
+    public void shouldForwardMethodsWithoutArguments() throws Throwable {
+        TextInput mockTextInput = mock(TextInput.class);
+        when(mockTextInput.isEnabled()).thenReturn(true);
+
+        Object result = table.get(TextInput.class.getMethod("isEnabled"))
+                .invoke(mockTextInput, null);
+
+        assertThat(result, equalTo(true));
+    }
+
+    @Test
+    public void shouldForwardVarargsMethodsWithArgumentArray() throws Throwable {
+        TextInput mockTextInput = mock(TextInput.class);
+        CharSequence[] keys = new CharSequence[] { "a", "b" };
+
+        Object result = table.get(TextInput.class.getMethod("type", CharSequence[].class))
+                .invoke(mockTextInput, new Object[] { keys });
+
+        assertThat(result, nullValue());
+        verify(mockTextInput).type("a", "b");
+    }
+
+    @Test
+    public void shouldForwardDefaultMethods() throws Throwable {
+        Link mockLink = mock(Link.class);
+        when(mockLink.getText()).thenReturn("text");
+
+        Object result = MethodDispatchTable.forType(Link.class)
+                .get(Link.class.getMethod("getText"))
+                .invoke(mockLink, null);
+
+        assertThat(result, equalTo("text"));
+    }
+
+    @Test
+    public void shouldForwardObjectMethods() throws Throwable {
+        List<String> list = Arrays.asList("a", "b");
+
+        Object result = MethodDispatchTable.forType(List.class)
+                .get(Object.class.getMethod("equals", Object.class))
+                .invoke(list, new Object[] { Arrays.asList("a", "b") });
+
+        assertThat(result, equalTo(true));
+    }
+
+    @Test(expected = TestException.class)
+    public void shouldThrowExceptionsOfTargetAsIs() throws Throwable {
+        TextInput mockTextInput = mock(TextInput.class);
+        when(mockTextInput.isDisplayed()).thenThrow(new TestException());
+
+        table.get(Element.class.getMethod("isDisplayed")).invoke(mockTextInput, new Object[0]);
+    }
+
+    @Test
+    public void shouldForwardMethodsOfInterfacesWhichAreNotPublic() throws Throwable {
+        PackagePrivateElement element = () -> true;
+
+        Object result = MethodDispatchTable.forType(PackagePrivateElement.class)
+                .get(PackagePrivateElement.class.getMethod("isSpecial"))
+                .invoke(element, null);
+
+        assertThat(result, equalTo(true));
+    }
+
+    interface PackagePrivateElement {
+        boolean isSpecial();
+    }
+
+    interface SimilarlyNamedElement {
+        void setContext(String context);
+
+        void addToBatch();
+
+        Object getWrappedElement(int index);
+    }
+
+    interface RedeclaringElement extends Element, HasElementContext {
+        @Override
+        void setContext(ElementContext context);
+    }
+
+    private static class TestException extends RuntimeException {}
+}
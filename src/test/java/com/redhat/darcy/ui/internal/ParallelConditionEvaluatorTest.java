@@ -0,0 +1,151 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.redhat.darcy.ui.testing.doubles.AlwaysMetCondition;
+import com.redhat.darcy.ui.testing.doubles.NeverMetCondition;
+import com.redhat.synq.AbstractCondition;
+import com.redhat.synq.Condition;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(JUnit4.class)
+public class ParallelConditionEvaluatorTest {
+    ExecutorService executor = Executors.newCachedThreadPool();
+    ParallelConditionEvaluator evaluator = new ParallelConditionEvaluator(executor);
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldReturnTrueIfAllConditionsAreMet() {
+        assertTrue(evaluator.allMet(Arrays.asList(new AlwaysMetCondition<>(),
+                new AlwaysMetCondition<>(), new AlwaysMetCondition<>())));
+    }
+
+    @Test
+    public void shouldReturnTrueIfThereAreNoConditions() {
+        assertTrue(evaluator.allMet(Collections.emptyList()));
+    }
+
+    @Test
+    public void shouldReturnFalseIfAnyConditionIsNotMet() {
+        assertFalse(evaluator.allMet(Arrays.asList(new AlwaysMetCondition<>(),
+                new NeverMetCondition<>(), new AlwaysMetCondition<>())));
+    }
+
+    @Test(timeout = 5000)
+    public void shouldEvaluateConditionsConcurrently() {
+        int count = 5;
+        CountDownLatch allStarted = new CountDownLatch(count);
+        List<Condition<?>> conditions = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            // Each condition is only met once all of them have started.
+            conditions.add(new TestCondition(() -> {
+                allStarted.countDown();
+                allStarted.await();
+                return true;
+            }));
+        }
+
+        assertTrue(evaluator.allMet(conditions));
+    }
+
+    @Test(timeout = 5000)
+    public void shouldCancelOutstandingConditionsOnceOneIsNotMet() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        Condition<?> blocking = new TestCondition(() -> {
+            started.countDown();
+
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return true;
+        });
+
+        // Only fail once the blocking condition is running, or it would be cancelled before it
+        // started, and never interrupted.
+        Condition<?> notMet = new TestCondition(() -> {
+            started.await();
+            return false;
+        });
+
+        assertFalse(evaluator.allMet(Arrays.asList(blocking, notMet)));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test(expected = TestException.class, timeout = 5000)
+    public void shouldThrowExceptionsThrownByConditions() {
+        evaluator.allMet(Arrays.asList(new AlwaysMetCondition<>(), new TestCondition(() -> {
+            throw new TestException();
+        })));
+    }
+
+    interface IsMet {
+        boolean isMet() throws InterruptedException;
+    }
+
+    static class TestCondition extends AbstractCondition<Object> {
+        private final IsMet isMet;
+
+        TestCondition(IsMet isMet) {
+            this.isMet = isMet;
+        }
+
+        @Override
+        public boolean isMet() {
+            try {
+                return isMet.isMet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        @Override
+        public Object lastResult() {
+            return null;
+        }
+    }
+
+    static class TestException extends RuntimeException {}
+}
@@ -0,0 +1,81 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+
+import com.redhat.darcy.ui.api.ElementContext;
+import com.redhat.darcy.ui.testing.doubles.AlwaysLoadedView;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.concurrent.TimeUnit;
+
+@RunWith(JUnit4.class)
+public class PollSchedulesTest {
+    @After
+    public void restoreDefault() {
+        PollSchedules.setDefault(PollSchedules.SYNQ_POLLING);
+    }
+
+    @Test
+    public void shouldLeavePollingToSynqByDefault() {
+        assertThat(PollSchedules.getDefault(), sameInstance(PollSchedules.SYNQ_POLLING));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldNotAllowNullDefault() {
+        PollSchedules.setDefault(null);
+    }
+
+    @Test
+    public void shouldUseScheduleSetAsDefaultForNewTransitions() {
+        PollSchedule schedule = new BackoffPollSchedule();
+
+        PollSchedules.setDefault(schedule);
+
+        assertThat(PollSchedules.getDefault(), sameInstance(schedule));
+    }
+
+    @Test(timeout = 5000)
+    public void shouldWaitForDestinationWithSynqPolling() {
+        LoadsOnThirdCheck destination = new LoadsOnThirdCheck();
+
+        SimpleTransitionEvent<LoadsOnThirdCheck> event = new SimpleTransitionEvent<>(
+                destination, mock(ElementContext.class), PollSchedules.SYNQ_POLLING);
+
+        assertThat(event.waitUpTo(5, TimeUnit.SECONDS), sameInstance(destination));
+        assertThat(destination.checks, equalTo(3));
+    }
+
+    static class LoadsOnThirdCheck extends AlwaysLoadedView {
+        int checks;
+
+        @Override
+        public boolean isLoaded() {
+            return ++checks >= 3;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.mockito.Mockito.mock;
+
+import com.redhat.darcy.ui.api.HasElementContext;
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.WrapsElement;
+import com.redhat.darcy.ui.api.elements.Element;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+@RunWith(JUnit4.class)
+public class ProxyElementFactoryTest {
+    ProxyElementFactory factory = new ProxyElementFactory();
+
+    @Test
+    public void shouldCreateProxyImplementingLazyElementUsingElementHandlerForElements() {
+        Element element = factory.element(Element.class, mock(Locator.class));
+
+        assertThat(element, instanceOf(Proxy.class));
+        assertThat(element, instanceOf(HasElementContext.class));
+        assertThat(element, instanceOf(WrapsElement.class));
+        assertThat(Proxy.getInvocationHandler(element), instanceOf(ElementHandler.class));
+    }
+
+    @Test
+    public void shouldCreateProxyImplementingLazyElementUsingElementListHandlerForElementLists() {
+        List<Element> elementList = factory.elements(Element.class, mock(Locator.class));
+
+        assertThat(elementList, instanceOf(Proxy.class));
+        assertThat(elementList, instanceOf(HasElementContext.class));
+        assertThat(Proxy.getInvocationHandler(elementList), instanceOf(ElementListHandler.class));
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.redhat.darcy.ui.By;
+import com.redhat.darcy.ui.api.ElementContext;
+import com.redhat.darcy.ui.api.Locator;
+import com.redhat.darcy.ui.api.elements.Findable;
+import com.redhat.darcy.ui.api.elements.Label;
+import com.redhat.darcy.ui.testing.doubles.AlwaysDisplayedLabel;
+import com.redhat.darcy.ui.testing.doubles.NeverFoundLabel;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(JUnit4.class)
+public class SequenceProbeTest {
+    private static final Locator ITEM = By.id("item");
+
+    @Test
+    public void shouldProbeEachIndexOneByOne() {
+        SequenceContext context = new SequenceContext(10);
+
+        assertThat(findAll(SequenceProbe.oneByOne(), context), hasSize(10));
+        assertThat(context.probes.get(), equalTo(11));
+    }
+
+    @Test
+    public void shouldFindTheEndOfLongSequencesInLogarithmicProbesByGalloping() {
+        SequenceContext context = new SequenceContext(500);
+
+        assertThat(findAll(SequenceProbe.galloping(), context), hasSize(500));
+        assertThat(context.probes.get(), lessThanOrEqualTo(2 * 10));
+    }
+
+    @Test
+    public void shouldGallopToTheExactEndOfSequencesOfEverySize() {
+        for (int size = 0; size < 70; size++) {
+            assertThat(findAll(SequenceProbe.galloping(), new SequenceContext(size)),
+                    hasSize(size));
+        }
+    }
+
+    @Test
+    public void shouldProbeOnlyTheFirstIndexToDetermineIfEmpty() {
+        for (SequenceProbe probe : new SequenceProbe[] {SequenceProbe.oneByOne(),
+                SequenceProbe.galloping(), SequenceProbe.inWindows(64)}) {
+            SequenceContext context = new SequenceContext(100);
+
+            assertTrue(probe.iterator(SequenceContext::locatorAt, Label.class, context).hasNext());
+            assertThat(probe.toString(), context.probes.get(), equalTo(1));
+        }
+    }
+
+    @Test
+    public void shouldFindEachWindowInOneBatchInBatchContexts() {
+        BatchSequenceContext context = new BatchSequenceContext(100);
+
+        assertThat(findAll(SequenceProbe.inWindows(32), context), hasSize(100));
+        // Windows of 1, 2, 4, 8, 16, 32, 32 reach index 94; one more reaches the end
+        assertThat(context.batches.get(), equalTo(8));
+    }
+
+    @Test
+    public void shouldStopAtGapsWhenProbingInWindows() {
+        BatchSequenceContext context = new BatchSequenceContext(100);
+        context.gap = 40;
+
+        assertThat(findAll(SequenceProbe.inWindows(32), context), hasSize(40));
+    }
+
+    @Test
+    public void shouldProbeWindowsConcurrentlyWithAnExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            SequenceContext context = new SequenceContext(50);
+
+            assertThat(findAll(SequenceProbe.inWindows(16, executor), context), hasSize(50));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldBeEmptyIfFirstIsNotPresent() {
+        for (SequenceProbe probe : new SequenceProbe[] {SequenceProbe.oneByOne(),
+                SequenceProbe.galloping(), SequenceProbe.inWindows(8)}) {
+            assertFalse(probe.iterator(SequenceContext::locatorAt, Label.class,
+                    new SequenceContext(0)).hasNext());
+        }
+    }
+
+    @Test
+    public void shouldBeEquivalentToWindowedProbesWithTheSameSettings() {
+        assertThat(SequenceProbe.inWindows(8), equalTo(SequenceProbe.inWindows(8)));
+        assertFalse(SequenceProbe.inWindows(8).equals(SequenceProbe.inWindows(16)));
+    }
+
+    private static List<Label> findAll(SequenceProbe probe, SequenceContext context) {
+        return By.sequence(i -> SequenceContext.locatorAt(i)).probedBy(probe)
+                .findAll(Label.class, context);
+    }
+
+    /**
+     * A context with labels whose ids are "0", "1", and so on, up to its size, or up to its gap,
+     * counting how many are checked for presence. Checks may be concurrent.
+     */
+    static class SequenceContext implements ElementContext, FindsById {
+        final int size;
+        int gap = -1;
+
+        final AtomicInteger probes = new AtomicInteger();
+
+        SequenceContext(int size) {
+            this.size = size;
+        }
+
+        static Locator locatorAt(int index) {
+            return By.id(Integer.toString(index));
+        }
+
+        @Override
+        public <T> List<T> findAllById(Class<T> type, String id) {
+            List<T> found = new ArrayList<>();
+            found.add(findById(type, id));
+            return found;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T findById(Class<T> type, String id) {
+            int index = Integer.parseInt(id);
+
+            if (index < size && index != gap) {
+                return (T) new AlwaysDisplayedLabel() {
+                    @Override
+                    public boolean isPresent() {
+                        probes.incrementAndGet();
+                        return true;
+                    }
+                };
+            }
+
+            return (T) new NeverFoundLabel() {
+                @Override
+                public boolean isPresent() {
+                    probes.incrementAndGet();
+                    return false;
+                }
+            };
+        }
+
+    }
+
+    /**
+     * A {@link SequenceContext} which finds batches, counting them.
+     */
+    static class BatchSequenceContext extends SequenceContext implements FindsByBatch {
+        final AtomicInteger batches = new AtomicInteger();
+
+        BatchSequenceContext(int size) {
+            super(size);
+        }
+
+        @Override
+        public List<Object> findAllBatch(List<LocatorRequest<?>> requests) {
+            batches.incrementAndGet();
+
+            List<Object> results = new ArrayList<>();
+
+            for (LocatorRequest<?> request : requests) {
+                results.add(find(request));
+            }
+
+            return results;
+        }
+
+        private <T extends Findable> T find(LocatorRequest<T> request) {
+            return request.locator().find(request.type(), this);
+        }
+    }
+}
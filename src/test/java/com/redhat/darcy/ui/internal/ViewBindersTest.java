@@ -0,0 +1,123 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.redhat.darcy.ui.AbstractView;
+import com.redhat.darcy.ui.annotations.Context;
+import com.redhat.darcy.ui.annotations.Require;
+import com.redhat.darcy.ui.api.ElementContext;
+import com.redhat.darcy.ui.api.elements.Element;
+import com.redhat.darcy.ui.testing.doubles.AlwaysDisplayedLabel;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@RunWith(JUnit4.class)
+public class ViewBindersTest {
+    public static class BoundView extends AbstractView {
+        ElementContext boundContext;
+    }
+
+    /**
+     * Stands in for a binder generated by darcy-ui-processor, which would be named after the
+     * binary name of the view it binds.
+     */
+    public static class BoundView_ViewBinder implements ViewBinder<Object> {
+        @Override
+        public void initializeFields(Object view, ElementContext context) {
+            ((BoundView) view).boundContext = context;
+        }
+
+        @Override
+        public List<Object> getRequiredObjects(Object view) {
+            List<Object> objects = new ArrayList<>();
+            objects.add(new AlwaysDisplayedLabel());
+            return objects;
+        }
+
+        @Override
+        public List<RequiredList<Object>> getRequiredLists(Object view) {
+            return Collections.emptyList();
+        }
+    }
+
+    static class UnboundView extends AbstractView {
+        @Require
+        private Element element = new AlwaysDisplayedLabel();
+    }
+
+    static class FinalContextView extends AbstractView {
+        @Require
+        private Element element = new AlwaysDisplayedLabel();
+
+        @Context
+        private final ElementContext context = null;
+    }
+
+    @Test
+    public void shouldUseGeneratedBinderIfOneExists() {
+        assertTrue(ViewBinders.forClass(BoundView.class) instanceof BoundView_ViewBinder);
+    }
+
+    @Test
+    public void shouldUseReflectiveBinderIfNoGeneratedBinderExists() {
+        assertTrue(ViewBinders.forClass(UnboundView.class) instanceof ReflectiveViewBinder);
+    }
+
+    @Test
+    public void shouldReturnSameBinderForSameClass() {
+        assertSame(ViewBinders.forClass(UnboundView.class),
+                ViewBinders.forClass(UnboundView.class));
+    }
+
+    @Test
+    public void shouldInitializeViewWithGeneratedBinder() {
+        BoundView view = new BoundView();
+        ElementContext context = mock(ElementContext.class);
+
+        view.setContext(context);
+
+        assertSame(context, view.boundContext);
+    }
+
+    @Test
+    public void shouldDetermineLoadConditionsWithGeneratedBinder() {
+        assertTrue(new BoundView().isLoaded());
+    }
+
+    @Test
+    public void shouldAssignFinalContextFieldsWithReflectiveBinder() {
+        FinalContextView view = new FinalContextView();
+        ElementContext context = mock(ElementContext.class);
+
+        view.setContext(context);
+
+        assertSame(context, view.context);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.redhat.darcy.ui.AbstractView;
+import com.redhat.darcy.ui.annotations.Context;
+import com.redhat.darcy.ui.annotations.NotRequired;
+import com.redhat.darcy.ui.annotations.Require;
+import com.redhat.darcy.ui.annotations.RequireAll;
+import com.redhat.darcy.ui.api.ElementContext;
+import com.redhat.darcy.ui.api.elements.Element;
+import com.redhat.darcy.ui.api.elements.Label;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@SuppressWarnings("unused")
+@RunWith(JUnit4.class)
+public class ViewMetadataTest {
+    static class TestView extends AbstractView {
+        @Context
+        private ElementContext context;
+        @Require
+        private Element required;
+        private Element notRequired;
+        @Require(atLeast = 2, atMost = 4)
+        private List<Label> labels;
+        @Require
+        private List<String> strings;
+        private String notAnElement;
+    }
+
+    @RequireAll
+    static class TestRequireAllView extends AbstractView {
+        private Element required;
+        @NotRequired
+        private Element notRequired;
+    }
+
+    static class TestStaticFieldView extends AbstractView {
+        private static final List<String> labels = new ArrayList<>();
+    }
+
+    @Test
+    public void shouldReturnSameMetadataForSameClass() {
+        assertSame(ViewMetadata.forClass(TestView.class), ViewMetadata.forClass(TestView.class));
+    }
+
+    @Test
+    public void shouldOnlyIncludeRequiredNonListFieldsInRequiredObjects() {
+        assertThat(names(ViewMetadata.forClass(TestView.class).requiredObjects()),
+                contains("required"));
+    }
+
+    @Test
+    public void shouldUseRequireAllAndNotRequiredToDetermineRequiredObjects() {
+        assertThat(names(ViewMetadata.forClass(TestRequireAllView.class).requiredObjects()),
+                contains("required"));
+    }
+
+    @Test
+    public void shouldOnlyIncludeListsOfFindablesInRequiredLists() {
+        List<ViewMetadata.ListField> lists = ViewMetadata.forClass(TestView.class)
+                .requiredLists();
+
+        assertEquals(1, lists.size());
+        assertEquals("labels", lists.get(0).field().field().getName());
+        assertEquals(Label.class, lists.get(0).genericType());
+        assertEquals(2, lists.get(0).bounds().atLeast());
+        assertEquals(4, lists.get(0).bounds().atMost());
+    }
+
+    @Test
+    public void shouldIncludeFieldsAnnotatedWithContextInContextFields() {
+        assertThat(names(ViewMetadata.forClass(TestView.class).contextFields()),
+                contains("context"));
+    }
+
+    @Test
+    public void shouldIncludeElementAndListFieldsInElementContextFields() {
+        assertThat(names(ViewMetadata.forClass(TestView.class).elementContextFields()),
+                containsInAnyOrder("required", "notRequired", "labels", "strings"));
+    }
+
+    @Test
+    public void shouldAllowStaticFields() {
+        assertThat(names(ViewMetadata.forClass(TestStaticFieldView.class).elementContextFields()),
+                contains("labels"));
+    }
+
+    @Test
+    public void shouldNotRequireAnyFieldsOfAViewWithoutAnnotations() {
+        class NoAnnotations extends AbstractView {
+            private Element element;
+        }
+
+        assertThat(ViewMetadata.forClass(NoAnnotations.class).requiredObjects(), empty());
+        assertThat(ViewMetadata.forClass(NoAnnotations.class).requiredLists(), empty());
+    }
+
+    private static List<String> names(List<FieldAccessor> fields) {
+        return fields.stream()
+                .map(FieldAccessor::field)
+                .map(Field::getName)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.redhat.darcy.ui.testing.doubles;
+
+import com.redhat.darcy.ui.api.elements.Table;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A table of a set number of rows, which counts how many times its row count and its cells are
+ * read, in total and per column. Each cell of the {@link #index()} column is its row's index, each
+ * cell of the {@link #doubled()} column is twice that, and each cell of the {@link #tens()} column
+ * is its row's index divided by ten.
+ */
+public class CountingTable extends StubTable {
+    private volatile int rowCount;
+
+    private final AtomicInteger rowCountReads = new AtomicInteger();
+    private final AtomicInteger cellReads = new AtomicInteger();
+    private final AtomicInteger indexReads = new AtomicInteger();
+    private final AtomicInteger doubledReads = new AtomicInteger();
+    private final AtomicInteger tensReads = new AtomicInteger();
+
+    private final Table.Column<StubTable, Integer> index = (t, r) -> {
+        read(indexReads);
+        return r;
+    };
+
+    private final Table.Column<StubTable, Integer> doubled = (t, r) -> {
+        read(doubledReads);
+        return r * 2;
+    };
+
+    private final Table.Column<StubTable, Integer> tens = (t, r) -> {
+        read(tensReads);
+        return r / 10;
+    };
+
+    public CountingTable(int rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    @Override
+    public int getRowCount() {
+        rowCountReads.incrementAndGet();
+        return rowCount;
+    }
+
+    /**
+     * Changes the row count, as if rows were added or removed.
+     */
+    public void setRowCount(int rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public Table.Column<StubTable, Integer> index() {
+        return index;
+    }
+
+    public Table.Column<StubTable, Integer> doubled() {
+        return doubled;
+    }
+
+    public Table.Column<StubTable, Integer> tens() {
+        return tens;
+    }
+
+    public int getRowCountReads() {
+        return rowCountReads.get();
+    }
+
+    public int getCellReads() {
+        return cellReads.get();
+    }
+
+    /**
+     * @param column One of this table's columns.
+     * @return How many cells of that column have been read.
+     */
+    public int getCellReads(Table.Column<StubTable, ?> column) {
+        if (column == index) {
+            return indexReads.get();
+        }
+
+        if (column == doubled) {
+            return doubledReads.get();
+        }
+
+        if (column == tens) {
+            return tensReads.get();
+        }
+
+        throw new IllegalArgumentException("Not a column of this table: " + column);
+    }
+
+    private void read(AtomicInteger columnReads) {
+        cellReads.incrementAndGet();
+        columnReads.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "CountingTable";
+    }
+}
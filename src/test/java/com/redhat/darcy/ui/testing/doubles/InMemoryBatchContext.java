@@ -0,0 +1,70 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.testing.doubles;
+
+import com.redhat.darcy.ui.api.ElementContext;
+import com.redhat.darcy.ui.internal.FindsByBatch;
+import com.redhat.darcy.ui.internal.FindsById;
+import com.redhat.darcy.ui.internal.LocatorRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An {@link InMemoryContext} which also resolves batches of requests, counting each batch as a
+ * single round trip.
+ */
+public class InMemoryBatchContext extends InMemoryContext implements FindsByBatch {
+    private final Lookup lookup = new Lookup();
+
+    @Override
+    public InMemoryBatchContext with(String id, Object element) {
+        super.with(id, element);
+        return this;
+    }
+
+    @Override
+    public List<Object> findAllBatch(List<LocatorRequest<?>> requests) {
+        countRoundTrip();
+
+        List<Object> results = new ArrayList<>(requests.size());
+
+        for (LocatorRequest<?> request : requests) {
+            results.add(request.resolveIn(lookup));
+        }
+
+        return results;
+    }
+
+    /**
+     * Finds in the same elements, without counting round trips.
+     */
+    private class Lookup implements ElementContext, FindsById {
+        @Override
+        public <T> List<T> findAllById(Class<T> type, String id) {
+            return lookupAll(type, id);
+        }
+
+        @Override
+        public <T> T findById(Class<T> type, String id) {
+            return lookup(type, id);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.ui.testing.doubles;
+
+import com.redhat.darcy.ui.api.ElementContext;
+import com.redhat.darcy.ui.internal.FindsById;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An in-memory context that finds elements by id, and counts each call as a round trip, as a
+ * remote automation library would make. Ids which were not given an element find a
+ * {@link NeverFoundElement}.
+ */
+public class InMemoryContext implements ElementContext, FindsById {
+    private final Map<String, Object> elements = new HashMap<>();
+    private int roundTrips = 0;
+
+    public InMemoryContext with(String id, Object element) {
+        elements.put(id, element);
+        return this;
+    }
+
+    public int getRoundTrips() {
+        return roundTrips;
+    }
+
+    @Override
+    public <T> List<T> findAllById(Class<T> type, String id) {
+        roundTrips++;
+
+        return lookupAll(type, id);
+    }
+
+    @Override
+    public <T> T findById(Class<T> type, String id) {
+        roundTrips++;
+
+        return lookup(type, id);
+    }
+
+    protected void countRoundTrip() {
+        roundTrips++;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T> List<T> lookupAll(Class<T> type, String id) {
+        return elements.containsKey(id)
+                ? Collections.singletonList((T) elements.get(id))
+                : Collections.emptyList();
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T> T lookup(Class<T> type, String id) {
+        return elements.containsKey(id) ? (T) elements.get(id) : (T) new NeverFoundElement();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ Copyright 2014 Red Hat, Inc. and/or its affiliates.
+
+ This file is part of darcy-ui.
+
+ This program is free software: you can redistribute it and/or modify
+ it under the terms of the GNU General Public License as published by
+ the Free Software Foundation, either version 3 of the License, or
+ (at your option) any later version.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.redhat.darcy.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(JUnit4.class)
+public class StreamingLazyListTest {
+    private final AtomicInteger calls = new AtomicInteger();
+
+    /**
+     * A list of the numbers from 0 to 99, counting each element pulled.
+     */
+    private final StreamingLazyList<Integer> list = StreamingLazyList.fromIndex(i -> {
+        calls.incrementAndGet();
+        return i < 100 ? i : null;
+    });
+
+    @Test
+    public void shouldNotPullAnythingUntilNeeded() {
+        assertThat(calls.get(), equalTo(0));
+    }
+
+    @Test
+    public void shouldPullOnlyTheFirstElementToDetermineIfEmpty() {
+        assertFalse(list.isEmpty());
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    public void shouldPullOnlyUpToTheIndexOfAnElement() {
+        assertThat(list.get(4), equalTo(4));
+        assertThat(calls.get(), equalTo(5));
+    }
+
+    @Test
+    public void shouldPullOnlyTheFirstElementToFindTheFirstInAStream() {
+        assertThat(list.stream().findFirst().get(), equalTo(0));
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    public void shouldPullOnlyAsFarAsIteratedOrSearched() {
+        Iterator<Integer> iterator = list.iterator();
+        iterator.next();
+        iterator.next();
+
+        assertThat(calls.get(), equalTo(2));
+        assertThat(list.indexOf(9), equalTo(9));
+        assertThat(calls.get(), equalTo(10));
+    }
+
+    @Test
+    public void shouldReuseElementsAlreadyPulled() {
+        list.get(4);
+        list.get(2);
+        list.stream().limit(5).count();
+
+        assertThat(calls.get(), equalTo(5));
+        assertThat(list.pulledSize(), equalTo(5));
+    }
+
+    @Test
+    public void shouldPullEverythingForSize() {
+        assertThat(list.size(), equalTo(100));
+        assertThat(calls.get(), equalTo(101));
+    }
+
+    @Test
+    public void shouldNotCallIndexSourceAgainOnceItHasRunOut() {
+        list.size();
+        list.size();
+        list.iterator().hasNext();
+
+        assertThat(calls.get(), equalTo(101));
+    }
+
+    @Test
+    public void shouldPullFromANewSourceAfterInvalidation() {
+        list.get(0);
+        list.invalidateCache();
+        list.get(0);
+
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    @Test
+    public void shouldPullFromIterators() {
+        List<String> source = Arrays.asList("a", "b", "c");
+        StreamingLazyList<String> strings = new StreamingLazyList<>(source::iterator);
+
+        assertThat(strings, contains("a", "b", "c"));
+        assertThat(strings, equalTo(source));
+    }
+
+    @Test
+    public void shouldBeEmptyIfSourceIsEmpty() {
+        assertTrue(StreamingLazyList.fromIndex(i -> null).isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldThrowIndexOutOfBoundsExceptionPastTheEnd() {
+        list.get(100);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotBeModifiable() {
+        list.add(100);
+    }
+}